@@ -0,0 +1,228 @@
+package Assets;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The list of game assets shipped under {@value #ASSET_LOCATION}.
+ * <p>
+ * The manifest is a plain text resource with one file name per line, optionally followed by
+ * the size the image is displayed at: either a height ({@code 150}, width follows the aspect
+ * ratio) or an exact {@code WIDTHxHEIGHT}. Images marked with a trailing {@code atlas} are
+ * gameplay sprites packed into the sprite atlas at build time by the {@link AtlasPacker}.
+ * Blank lines and lines starting with {@code #} are ignored.
+ * </p>
+ */
+public final class AssetManifest {
+
+	/**
+	 * The resource directory holding all images and sounds.
+	 */
+	public static final String ASSET_LOCATION = "/com/example/demo/images/";
+
+	/**
+	 * The resource path of the manifest file.
+	 */
+	private static final String MANIFEST_PATH = ASSET_LOCATION + "assets.manifest";
+
+	/**
+	 * The entries listed in the manifest, in file order.
+	 */
+	private final List<Entry> entries;
+
+	/**
+	 * Constructs a manifest from a list of entries.
+	 *
+	 * @param entries the parsed manifest entries.
+	 */
+	private AssetManifest(List<Entry> entries) {
+		this.entries = Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * Reads the manifest bundled with the game.
+	 *
+	 * @return the parsed manifest.
+	 * @throws IOException if the manifest is missing or cannot be read.
+	 */
+	public static AssetManifest load() throws IOException {
+		InputStream stream = AssetPack.openStream(MANIFEST_PATH);
+		if (stream == null) {
+			throw new IOException("Asset manifest not found: " + MANIFEST_PATH);
+		}
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+			return parse(reader);
+		}
+	}
+
+	/**
+	 * Parses manifest lines into entries.
+	 *
+	 * @param reader the reader supplying the manifest text.
+	 * @return the parsed manifest.
+	 * @throws IOException if the text cannot be read or a size is malformed.
+	 */
+	static AssetManifest parse(BufferedReader reader) throws IOException {
+		List<Entry> entries = new ArrayList<>();
+		String line;
+		while ((line = reader.readLine()) != null) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] parts = line.split("\\s+");
+			double width = 0;
+			double height = 0;
+			if (parts.length > 1) {
+				try {
+					int separator = parts[1].indexOf('x');
+					if (separator >= 0) {
+						width = Double.parseDouble(parts[1].substring(0, separator));
+						height = Double.parseDouble(parts[1].substring(separator + 1));
+					} else {
+						height = Double.parseDouble(parts[1]);
+					}
+				} catch (NumberFormatException e) {
+					throw new IOException("Malformed size in asset manifest: " + line, e);
+				}
+			}
+			boolean packed = parts.length > 2 && parts[2].equals("atlas");
+			entries.add(new Entry(ASSET_LOCATION + parts[0], width, height, packed));
+		}
+		return new AssetManifest(entries);
+	}
+
+	/**
+	 * Gets the entries listed in the manifest.
+	 *
+	 * @return an unmodifiable list of entries.
+	 */
+	public List<Entry> getEntries() {
+		return entries;
+	}
+
+	/**
+	 * Gets the absolute resource paths listed in the manifest.
+	 *
+	 * @return a list of resource paths, in manifest order.
+	 */
+	public List<String> getResourcePaths() {
+		List<String> paths = new ArrayList<>(entries.size());
+		for (Entry entry : entries) {
+			paths.add(entry.getResourcePath());
+		}
+		return paths;
+	}
+
+	/**
+	 * Checks whether a resource path refers to an image.
+	 *
+	 * @param resourcePath the resource path to check.
+	 * @return {@code true} for PNG resources, {@code false} otherwise.
+	 */
+	public static boolean isImage(String resourcePath) {
+		return resourcePath.endsWith(".png");
+	}
+
+	/**
+	 * Checks whether a resource path refers to a sound.
+	 *
+	 * @param resourcePath the resource path to check.
+	 * @return {@code true} for WAV resources, {@code false} otherwise.
+	 */
+	public static boolean isSound(String resourcePath) {
+		return resourcePath.endsWith(".wav");
+	}
+
+	/**
+	 * A single manifest line: an asset and the size it is displayed at.
+	 */
+	public static final class Entry {
+
+		/**
+		 * The absolute resource path of the asset.
+		 */
+		private final String resourcePath;
+
+		/**
+		 * The displayed width, or 0 to follow the aspect ratio.
+		 */
+		private final double width;
+
+		/**
+		 * The displayed height, or 0 if the asset is used at its natural size.
+		 */
+		private final double height;
+
+		/**
+		 * Whether the asset is packed into the sprite atlas.
+		 */
+		private final boolean packed;
+
+		/**
+		 * Constructs a manifest entry.
+		 *
+		 * @param resourcePath the absolute resource path of the asset.
+		 * @param width        the displayed width, or 0 to follow the aspect ratio.
+		 * @param height       the displayed height, or 0 for the natural size.
+		 * @param packed       whether the asset is packed into the sprite atlas.
+		 */
+		Entry(String resourcePath, double width, double height, boolean packed) {
+			this.resourcePath = resourcePath;
+			this.width = width;
+			this.height = height;
+			this.packed = packed;
+		}
+
+		/**
+		 * Gets the file name of the asset, without its directory.
+		 *
+		 * @return the file name.
+		 */
+		public String getFileName() {
+			return resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
+		}
+
+		/**
+		 * Gets the absolute resource path of the asset.
+		 *
+		 * @return the resource path.
+		 */
+		public String getResourcePath() {
+			return resourcePath;
+		}
+
+		/**
+		 * Gets the displayed width.
+		 *
+		 * @return the width, or 0 to follow the aspect ratio.
+		 */
+		public double getWidth() {
+			return width;
+		}
+
+		/**
+		 * Gets the displayed height.
+		 *
+		 * @return the height, or 0 for the natural size.
+		 */
+		public double getHeight() {
+			return height;
+		}
+
+		/**
+		 * Checks whether the asset is packed into the sprite atlas.
+		 *
+		 * @return {@code true} for atlas sprites, {@code false} otherwise.
+		 */
+		public boolean isPacked() {
+			return packed;
+		}
+	}
+}
@@ -0,0 +1,288 @@
+package Assets;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serves game assets from the single packed archive built by the {@link AssetPackBuilder}.
+ * <p>
+ * The archive is memory-mapped once on first use and every asset is handed out as a
+ * read-only {@link ByteBuffer} slice of that mapping, so loading an asset neither looks it up
+ * through the class loader nor copies its bytes. Lookups by resource path go through a hash
+ * index built from the archive directory. Resources missing from the archive (or every
+ * resource, when the build produced no archive) fall back to the class path.
+ * </p>
+ * <p>
+ * Archive format (big-endian): {@code int magic, int version, int count}, then per entry
+ * {@code short nameLength, UTF-8 name, long offset, int length}, then the payloads, each starting on a
+ * {@value #ALIGNMENT} byte boundary.
+ * </p>
+ */
+public final class AssetPack {
+
+	/**
+	 * The resource path of the archive.
+	 */
+	public static final String PACK_PATH = "/com/example/demo/assets.pack";
+
+	/**
+	 * Marks an asset archive ("CWPK").
+	 */
+	static final int MAGIC = 0x4357504B;
+
+	/**
+	 * The archive format version.
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * Byte boundary every payload starts on.
+	 */
+	static final int ALIGNMENT = 64;
+
+	/**
+	 * Singleton instance of the archive, mapped on first use.
+	 */
+	private static AssetPack instance;
+
+	/**
+	 * Read-only slices of the mapped archive, keyed by resource path.
+	 */
+	private final Map<String, ByteBuffer> entries;
+
+	/**
+	 * Constructs an archive view from its indexed entries.
+	 *
+	 * @param entries the payload slices keyed by resource path.
+	 */
+	private AssetPack(Map<String, ByteBuffer> entries) {
+		this.entries = entries;
+	}
+
+	/**
+	 * Retrieves the archive, mapping it on first use. An archive that is missing or unreadable
+	 * yields an empty pack, so every lookup falls back to the class path.
+	 *
+	 * @return the shared archive.
+	 */
+	public static synchronized AssetPack getInstance() {
+		if (instance == null) {
+			try {
+				instance = new AssetPack(index(map()));
+				System.out.println("Mapped asset pack with " + instance.entries.size() + " entries");
+			} catch (FileNotFoundException e) {
+				System.out.println("No asset pack found, loading assets from the class path");
+				instance = new AssetPack(Collections.emptyMap());
+			} catch (IOException e) {
+				System.err.println("Failed to map asset pack: " + e.getMessage());
+				instance = new AssetPack(Collections.emptyMap());
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Gets the contents of an asset.
+	 *
+	 * @param resourcePath the absolute resource path of the asset.
+	 * @return a read-only buffer positioned at the start of the asset; the caller may move its position freely.
+	 * @throws FileNotFoundException if the asset is neither packed nor on the class path.
+	 * @throws IOException           if the class path fallback cannot be read.
+	 */
+	public static ByteBuffer open(String resourcePath) throws IOException {
+		ByteBuffer packed = getInstance().entries.get(resourcePath);
+		if (packed != null) {
+			return packed.duplicate();
+		}
+		try (InputStream stream = AssetPack.class.getResourceAsStream(resourcePath)) {
+			if (stream == null) {
+				throw new FileNotFoundException("Asset not found: " + resourcePath);
+			}
+			return ByteBuffer.wrap(stream.readAllBytes()).asReadOnlyBuffer();
+		}
+	}
+
+	/**
+	 * Opens an asset as a stream, for APIs that only accept streams.
+	 *
+	 * @param resourcePath the absolute resource path of the asset.
+	 * @return a stream over the asset, or {@code null} if it does not exist.
+	 * @throws IOException if the class path fallback cannot be read.
+	 */
+	public static InputStream openStream(String resourcePath) throws IOException {
+		try {
+			return asStream(open(resourcePath));
+		} catch (FileNotFoundException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks whether an asset exists, in the archive or on the class path.
+	 *
+	 * @param resourcePath the absolute resource path of the asset.
+	 * @return {@code true} if the asset can be opened.
+	 */
+	public static boolean exists(String resourcePath) {
+		return getInstance().entries.containsKey(resourcePath) || AssetPack.class.getResource(resourcePath) != null;
+	}
+
+	/**
+	 * Wraps a buffer in a stream that reads it without copying. The stream supports
+	 * mark and reset, as required by the audio decoders.
+	 *
+	 * @param buffer the buffer to read, from its position to its limit.
+	 * @return a stream over the buffer.
+	 */
+	public static InputStream asStream(ByteBuffer buffer) {
+		return new BufferInputStream(buffer.duplicate());
+	}
+
+	/**
+	 * Memory-maps the archive. An archive inside a jar cannot be mapped in place, so it is
+	 * copied to a temporary file first.
+	 *
+	 * @return the mapped archive.
+	 * @throws FileNotFoundException if there is no archive.
+	 * @throws IOException           if the archive cannot be mapped.
+	 */
+	private static ByteBuffer map() throws IOException {
+		URL url = AssetPack.class.getResource(PACK_PATH);
+		if (url == null) {
+			throw new FileNotFoundException(PACK_PATH);
+		}
+		Path file;
+		if ("file".equals(url.getProtocol())) {
+			try {
+				file = Path.of(url.toURI());
+			} catch (URISyntaxException e) {
+				throw new IOException(e);
+			}
+		} else {
+			file = Files.createTempFile("cw2024", ".pack");
+			file.toFile().deleteOnExit();
+			try (InputStream stream = url.openStream()) {
+				Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+	/**
+	 * Reads the archive directory and slices every payload out of the mapping.
+	 *
+	 * @param archive the mapped archive.
+	 * @return the payload slices keyed by resource path.
+	 * @throws IOException if the archive is malformed.
+	 */
+	static Map<String, ByteBuffer> index(ByteBuffer archive) throws IOException {
+		if (archive.remaining() < 3 * Integer.BYTES || archive.getInt() != MAGIC) {
+			throw new IOException("Not an asset pack");
+		}
+		int version = archive.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported asset pack version " + version);
+		}
+		int count = archive.getInt();
+		Map<String, ByteBuffer> entries = new HashMap<>(count * 2);
+		try {
+			for (int i = 0; i < count; i++) {
+				byte[] name = new byte[Short.toUnsignedInt(archive.getShort())];
+				archive.get(name);
+				long offset = archive.getLong();
+				int length = archive.getInt();
+				ByteBuffer payload = archive.slice((int) offset, length).asReadOnlyBuffer();
+				entries.put(new String(name, StandardCharsets.UTF_8), payload);
+			}
+		} catch (RuntimeException e) {
+			throw new IOException("Corrupt asset pack directory", e);
+		}
+		return entries;
+	}
+
+	/**
+	 * A stream reading a buffer in place.
+	 */
+	private static final class BufferInputStream extends InputStream {
+
+		/**
+		 * The buffer being read; its position is the stream position.
+		 */
+		private final ByteBuffer buffer;
+
+		/**
+		 * The position saved by {@link #mark(int)}.
+		 */
+		private int mark;
+
+		/**
+		 * Constructs a stream over a buffer.
+		 *
+		 * @param buffer the buffer to read.
+		 */
+		BufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+			this.mark = buffer.position();
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, count);
+			return count;
+		}
+
+		@Override
+		public long skip(long count) {
+			int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+			buffer.position(buffer.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+
+		@Override
+		public boolean markSupported() {
+			return true;
+		}
+
+		@Override
+		public void mark(int readLimit) {
+			mark = buffer.position();
+		}
+
+		@Override
+		public void reset() {
+			buffer.position(mark);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package Assets;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Build-time tool that writes the asset archive read by {@link AssetPack}.
+ * <p>
+ * Maven runs the builder after the {@link AtlasPacker} (see the {@code exec-maven-plugin}
+ * executions in the pom). The archive holds the asset manifest, every asset it lists and the
+ * packed sprite atlases, each payload aligned to {@value AssetPack#ALIGNMENT} bytes.
+ * </p>
+ */
+public final class AssetPackBuilder {
+
+	/**
+	 * Prevents instantiation of this utility class.
+	 */
+	private AssetPackBuilder() {
+	}
+
+	/**
+	 * Builds the archive.
+	 *
+	 * @param args the compiled resources directory and the archive file to write.
+	 * @throws IOException if an asset cannot be read or the archive cannot be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			throw new IllegalArgumentException("Usage: AssetPackBuilder <resourcesDirectory> <packFile>");
+		}
+		Path root = Path.of(args[0]);
+		Path packFile = Path.of(args[1]);
+
+		String manifestPath = AssetManifest.ASSET_LOCATION + "assets.manifest";
+		List<String> resourcePaths = new ArrayList<>();
+		resourcePaths.add(manifestPath);
+		try (BufferedReader reader = Files.newBufferedReader(resolve(root, manifestPath), StandardCharsets.UTF_8)) {
+			resourcePaths.addAll(AssetManifest.parse(reader).getResourcePaths());
+		}
+		Path atlasDirectory = resolve(root, SpriteAtlas.ATLAS_LOCATION);
+		if (Files.isDirectory(atlasDirectory)) {
+			try (Stream<Path> files = Files.list(atlasDirectory)) {
+				files.map(file -> SpriteAtlas.ATLAS_LOCATION + file.getFileName()).sorted().forEach(resourcePaths::add);
+			}
+		}
+
+		List<byte[]> payloads = new ArrayList<>();
+		for (String resourcePath : new ArrayList<>(resourcePaths)) {
+			Path file = resolve(root, resourcePath);
+			if (Files.isRegularFile(file)) {
+				payloads.add(Files.readAllBytes(file));
+			} else {
+				System.out.println("Not packing missing asset " + resourcePath);
+				resourcePaths.remove(resourcePath);
+			}
+		}
+
+		try (OutputStream stream = Files.newOutputStream(packFile)) {
+			write(resourcePaths, payloads, stream);
+		}
+		System.out.println("Packed " + resourcePaths.size() + " assets into " + packFile.getFileName()
+				+ " (" + Files.size(packFile) / 1024 + " KB)");
+	}
+
+	/**
+	 * Writes an archive of named payloads.
+	 *
+	 * @param names    the resource path of each payload.
+	 * @param payloads the contents, in the same order as the names.
+	 * @param out      the stream receiving the archive.
+	 * @throws IOException if the archive cannot be written.
+	 */
+	static void write(List<String> names, List<byte[]> payloads, OutputStream out) throws IOException {
+		long offset = 3L * Integer.BYTES;
+		for (String name : names) {
+			offset += Short.BYTES + name.getBytes(StandardCharsets.UTF_8).length + Long.BYTES + Integer.BYTES;
+		}
+
+		ByteArrayOutputStream directory = new ByteArrayOutputStream();
+		DataOutputStream header = new DataOutputStream(directory);
+		header.writeInt(AssetPack.MAGIC);
+		header.writeInt(AssetPack.VERSION);
+		header.writeInt(names.size());
+		long[] offsets = new long[names.size()];
+		for (int i = 0; i < names.size(); i++) {
+			offset = align(offset);
+			offsets[i] = offset;
+			byte[] name = names.get(i).getBytes(StandardCharsets.UTF_8);
+			header.writeShort(name.length);
+			header.write(name);
+			header.writeLong(offset);
+			header.writeInt(payloads.get(i).length);
+			offset += payloads.get(i).length;
+		}
+
+		DataOutputStream data = new DataOutputStream(out);
+		directory.writeTo(data);
+		long position = directory.size();
+		for (int i = 0; i < payloads.size(); i++) {
+			data.write(new byte[(int) (offsets[i] - position)]);
+			data.write(payloads.get(i));
+			position = offsets[i] + payloads.get(i).length;
+		}
+		data.flush();
+	}
+
+	/**
+	 * Rounds an offset up to the payload alignment.
+	 *
+	 * @param offset the offset to align.
+	 * @return the next aligned offset.
+	 */
+	private static long align(long offset) {
+		return (offset + AssetPack.ALIGNMENT - 1) / AssetPack.ALIGNMENT * AssetPack.ALIGNMENT;
+	}
+
+	/**
+	 * Resolves an absolute resource path against the resources directory.
+	 *
+	 * @param root         the compiled resources directory.
+	 * @param resourcePath the absolute resource path.
+	 * @return the file holding the resource.
+	 */
+	private static Path resolve(Path root, String resourcePath) {
+		return root.resolve(resourcePath.substring(1));
+	}
+}
@@ -0,0 +1,99 @@
+package Assets;
+
+import javafx.scene.image.Image;
+import sounds.MusicPlayer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Decodes every asset listed in the {@link AssetManifest} before the first level starts.
+ * <p>
+ * Each asset is decoded on its own virtual thread, so slow decodes overlap instead of running
+ * one after another on the JavaFX application thread. Images are decoded at the display size
+ * given in the manifest and go into the {@link SpriteCache}, except for sprites packed into the
+ * {@link SpriteAtlas}, which are covered by the single atlas decode. Sounds go into the
+ * {@link MusicPlayer} effect cache. A failed asset is
+ * logged and skipped; it will simply be loaded lazily on first use instead.
+ * </p>
+ */
+public final class AssetPreloader {
+
+	/**
+	 * Prevents instantiation of this utility class.
+	 */
+	private AssetPreloader() {
+	}
+
+	/**
+	 * Starts preloading all manifest assets in the background.
+	 * <p>
+	 * The progress callback receives a value between 0 and 1 after every finished asset and
+	 * is invoked from the decoding threads, so callers that update UI must hand it over to
+	 * their UI thread themselves.
+	 * </p>
+	 *
+	 * @param onProgress receives the fraction of assets finished so far.
+	 * @return a future completed once every asset has been decoded or skipped.
+	 */
+	public static CompletableFuture<Void> preload(DoubleConsumer onProgress) {
+		List<AssetManifest.Entry> entries;
+		try {
+			entries = AssetManifest.load().getEntries();
+		} catch (IOException e) {
+			System.err.println("Skipping asset preload: " + e.getMessage());
+			onProgress.accept(1.0);
+			return CompletableFuture.completedFuture(null);
+		}
+
+		long start = System.nanoTime();
+		int total = entries.size();
+		AtomicInteger finished = new AtomicInteger();
+		onProgress.accept(0.0);
+		SpriteCache.getDeviceScale(); // Query the screen once, before the decoding threads start
+
+		ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+		CompletableFuture<?>[] tasks = entries.stream()
+				.map(entry -> CompletableFuture.runAsync(() -> {
+					try {
+						decode(entry);
+					} catch (Exception e) {
+						System.err.println("Failed to preload " + entry.getResourcePath() + ": " + e.getMessage());
+					}
+					onProgress.accept((double) finished.incrementAndGet() / total);
+				}, executor))
+				.toArray(CompletableFuture[]::new);
+
+		return CompletableFuture.allOf(tasks).whenComplete((result, error) -> {
+			executor.shutdown();
+			System.out.println("Preloaded " + total + " assets in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+			SpriteCache.printMemoryReport();
+		});
+	}
+
+	/**
+	 * Decodes a single asset and stores it in the matching cache.
+	 *
+	 * @param entry the manifest entry of the asset.
+	 * @throws IOException if the asset cannot be read.
+	 */
+	private static void decode(AssetManifest.Entry entry) throws IOException {
+		String resourcePath = entry.getResourcePath();
+		if (entry.isPacked() && SpriteAtlas.contains(resourcePath)) {
+			return; // Shown from the atlas, which the first packed entry decoded
+		}
+		if (AssetManifest.isImage(resourcePath)) {
+			Image image = SpriteCache.get(resourcePath, entry.getWidth(), entry.getHeight());
+			if (image.isError()) {
+				throw new IOException(String.valueOf(image.getException()));
+			}
+		} else if (AssetManifest.isSound(resourcePath)) {
+			MusicPlayer.cacheEffect(resourcePath, AssetPack.open(resourcePath));
+		}
+	}
+}
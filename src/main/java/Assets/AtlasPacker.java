@@ -0,0 +1,313 @@
+package Assets;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Build-time tool that packs the gameplay sprites into texture atlases.
+ * <p>
+ * Maven runs the packer after compiling (see the {@code exec-maven-plugin} execution in the
+ * pom). It reads the {@link AssetManifest}, resizes every sprite marked {@code atlas} to its
+ * display size and shelf-packs them into one atlas image per device scale, next to a compact
+ * binary index of the sub-rectangles. At runtime the {@link SpriteAtlas} decodes each atlas
+ * once and every sprite view renders from its region of it.
+ * </p>
+ * <p>
+ * The packer also rasterizes the printable ASCII glyphs of the HUD font into the same atlas,
+ * one white sprite per character named by {@link SpriteAtlas#glyphName(char)}, so HUD text
+ * can be drawn as sub-images without laying out or rasterizing text at runtime.
+ * </p>
+ * <p>
+ * Index format (big-endian): {@code int magic, int atlasWidth, int atlasHeight, int count},
+ * then per sprite {@code UTF name, short x, short y, short width, short height}, then
+ * {@code int glyphAscent}, the distance in atlas pixels from the top of a glyph to its baseline.
+ * </p>
+ */
+public final class AtlasPacker {
+
+	/**
+	 * Marks an atlas index file ("ATL1").
+	 */
+	static final int MAGIC = 0x41544C31;
+
+	/**
+	 * The device scales an atlas is generated for.
+	 */
+	static final int[] SCALES = {1, 2};
+
+	/**
+	 * Width of the 1x atlas; the 2x atlas is twice as wide.
+	 */
+	private static final int ATLAS_WIDTH = 1024;
+
+	/**
+	 * Transparent gap between packed sprites, so smoothing never samples a neighbour.
+	 */
+	private static final int PADDING = 2;
+
+	/**
+	 * The font the HUD glyphs are rasterized from; AWT substitutes a default font if missing.
+	 */
+	private static final String GLYPH_FONT_NAME = "Arial";
+
+	/**
+	 * The size of the HUD font at 1x, in pixels.
+	 */
+	private static final int GLYPH_FONT_SIZE = 16;
+
+	/**
+	 * Prevents instantiation of this utility class.
+	 */
+	private AtlasPacker() {
+	}
+
+	/**
+	 * Packs the atlases.
+	 *
+	 * @param args the image source directory holding the manifest, and the atlas output directory.
+	 * @throws IOException if a sprite cannot be read or an atlas cannot be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			throw new IllegalArgumentException("Usage: AtlasPacker <imageDirectory> <outputDirectory>");
+		}
+		Path imageDirectory = Path.of(args[0]);
+		Path outputDirectory = Path.of(args[1]);
+		Files.createDirectories(outputDirectory);
+
+		AssetManifest manifest;
+		try (BufferedReader reader = Files.newBufferedReader(imageDirectory.resolve("assets.manifest"), StandardCharsets.UTF_8)) {
+			manifest = AssetManifest.parse(reader);
+		}
+
+		for (int scale : SCALES) {
+			List<Sprite> sprites = new ArrayList<>();
+			for (AssetManifest.Entry entry : manifest.getEntries()) {
+				if (entry.isPacked()) {
+					BufferedImage source = ImageIO.read(imageDirectory.resolve(entry.getFileName()).toFile());
+					if (source == null) {
+						throw new IOException("Unreadable sprite: " + entry.getFileName());
+					}
+					sprites.add(new Sprite(entry.getFileName(), resize(source, entry, scale)));
+				}
+			}
+			int glyphAscent = rasterizeGlyphs(sprites, scale);
+			int height = pack(sprites, ATLAS_WIDTH * scale, PADDING * scale);
+			write(sprites, ATLAS_WIDTH * scale, height, glyphAscent, outputDirectory, SpriteAtlas.baseName(scale));
+			System.out.println("Packed " + sprites.size() + " sprites into a " + ATLAS_WIDTH * scale + "x" + height
+					+ " atlas at " + scale + "x");
+		}
+	}
+
+	/**
+	 * Places sprites on shelves, tallest first, and assigns their atlas positions.
+	 *
+	 * @param sprites    the sprites to place; their {@code x} and {@code y} are updated.
+	 * @param width      the width of the atlas.
+	 * @param padding    the gap kept around each sprite.
+	 * @return the atlas height needed, rounded up to a power of two.
+	 * @throws IllegalArgumentException if a sprite is wider than the atlas.
+	 */
+	static int pack(List<Sprite> sprites, int width, int padding) {
+		List<Sprite> order = new ArrayList<>(sprites);
+		order.sort(Comparator.comparingInt((Sprite sprite) -> sprite.height).reversed());
+		int x = padding;
+		int y = padding;
+		int shelfHeight = 0;
+		for (Sprite sprite : order) {
+			if (sprite.width + 2 * padding > width) {
+				throw new IllegalArgumentException("Sprite " + sprite.name + " is wider than the atlas");
+			}
+			if (x + sprite.width + padding > width) {
+				x = padding;
+				y += shelfHeight + padding;
+				shelfHeight = 0;
+			}
+			sprite.x = x;
+			sprite.y = y;
+			x += sprite.width + padding;
+			shelfHeight = Math.max(shelfHeight, sprite.height);
+		}
+		return Integer.highestOneBit(Math.max(1, y + shelfHeight + padding - 1)) << 1;
+	}
+
+	/**
+	 * Scales a sprite to its display size at a device scale, halving in steps for quality.
+	 *
+	 * @param source the full-size sprite.
+	 * @param entry  the manifest entry giving the display size.
+	 * @param scale  the device scale.
+	 * @return the resized sprite, or the source if it is not larger than the target.
+	 */
+	private static BufferedImage resize(BufferedImage source, AssetManifest.Entry entry, int scale) {
+		double aspectRatio = (double) source.getWidth() / source.getHeight();
+		double displayHeight = entry.getHeight() != 0 ? entry.getHeight() : entry.getWidth() / aspectRatio;
+		double displayWidth = entry.getWidth() != 0 ? entry.getWidth() : displayHeight * aspectRatio;
+		int targetWidth = (int) Math.round(displayWidth * scale);
+		int targetHeight = (int) Math.round(displayHeight * scale);
+		if (targetWidth >= source.getWidth() && targetHeight >= source.getHeight()) {
+			return source;
+		}
+
+		BufferedImage image = source;
+		do {
+			int width = Math.max(targetWidth, image.getWidth() / 2);
+			int height = Math.max(targetHeight, image.getHeight() / 2);
+			BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D graphics = step.createGraphics();
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			graphics.drawImage(image, 0, 0, width, height, null);
+			graphics.dispose();
+			image = step;
+		} while (image.getWidth() != targetWidth || image.getHeight() != targetHeight);
+		return image;
+	}
+
+	/**
+	 * Renders every HUD glyph into its own sprite. Each glyph is as wide as its advance and as
+	 * tall as the font line, with the baseline at the same height in every glyph.
+	 *
+	 * @param sprites receives one sprite per glyph.
+	 * @param scale   the device scale.
+	 * @return the distance from the top of a glyph to its baseline, in atlas pixels.
+	 */
+	private static int rasterizeGlyphs(List<Sprite> sprites, int scale) {
+		BufferedImage probe = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D probeGraphics = probe.createGraphics();
+		Font font = new Font(GLYPH_FONT_NAME, Font.PLAIN, GLYPH_FONT_SIZE * scale);
+		FontMetrics metrics = probeGraphics.getFontMetrics(font);
+		probeGraphics.dispose();
+		int ascent = metrics.getAscent();
+		int height = ascent + metrics.getDescent();
+		for (char c = SpriteAtlas.FIRST_GLYPH; c <= SpriteAtlas.LAST_GLYPH; c++) {
+			BufferedImage glyph = new BufferedImage(Math.max(1, metrics.charWidth(c)), height, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D graphics = glyph.createGraphics();
+			graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+			graphics.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_OFF);
+			graphics.setFont(font);
+			graphics.setColor(Color.WHITE);
+			graphics.drawString(String.valueOf(c), 0, ascent);
+			graphics.dispose();
+			sprites.add(new Sprite(SpriteAtlas.glyphName(c), glyph));
+		}
+		return ascent;
+	}
+
+	/**
+	 * Draws the placed sprites into an atlas image and writes it with its index.
+	 *
+	 * @param sprites         the placed sprites.
+	 * @param width           the width of the atlas.
+	 * @param height          the height of the atlas.
+	 * @param glyphAscent     the baseline of the glyph sprites, in atlas pixels.
+	 * @param outputDirectory the directory receiving the files.
+	 * @param baseName        the file name of the atlas without extension.
+	 * @throws IOException if a file cannot be written.
+	 */
+	private static void write(List<Sprite> sprites, int width, int height, int glyphAscent, Path outputDirectory,
+			String baseName) throws IOException {
+		BufferedImage atlas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = atlas.createGraphics();
+		for (Sprite sprite : sprites) {
+			graphics.drawImage(sprite.image, sprite.x, sprite.y, null);
+		}
+		graphics.dispose();
+		File imageFile = outputDirectory.resolve(baseName + SpriteAtlas.IMAGE_EXTENSION).toFile();
+		ImageIO.write(atlas, "png", imageFile);
+
+		File indexFile = outputDirectory.resolve(baseName + SpriteAtlas.INDEX_EXTENSION).toFile();
+		try (DataOutputStream index = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)))) {
+			index.writeInt(MAGIC);
+			index.writeInt(width);
+			index.writeInt(height);
+			index.writeInt(sprites.size());
+			for (Sprite sprite : sprites) {
+				index.writeUTF(sprite.name);
+				index.writeShort(sprite.x);
+				index.writeShort(sprite.y);
+				index.writeShort(sprite.width);
+				index.writeShort(sprite.height);
+			}
+			index.writeInt(glyphAscent);
+		}
+	}
+
+	/**
+	 * A resized sprite and its position in the atlas.
+	 */
+	static final class Sprite {
+
+		/**
+		 * The file name the sprite is looked up by.
+		 */
+		final String name;
+
+		/**
+		 * The resized pixels, or {@code null} when only the layout is needed.
+		 */
+		final BufferedImage image;
+
+		/**
+		 * The width of the sprite in atlas pixels.
+		 */
+		final int width;
+
+		/**
+		 * The height of the sprite in atlas pixels.
+		 */
+		final int height;
+
+		/**
+		 * The left edge of the sprite in the atlas, assigned by {@link #pack}.
+		 */
+		int x;
+
+		/**
+		 * The top edge of the sprite in the atlas, assigned by {@link #pack}.
+		 */
+		int y;
+
+		/**
+		 * Constructs a sprite from resized pixels.
+		 *
+		 * @param name  the file name of the sprite.
+		 * @param image the resized pixels.
+		 */
+		Sprite(String name, BufferedImage image) {
+			this(name, image, image.getWidth(), image.getHeight());
+		}
+
+		/**
+		 * Constructs a sprite.
+		 *
+		 * @param name   the file name of the sprite.
+		 * @param image  the resized pixels, or {@code null}.
+		 * @param width  the width in atlas pixels.
+		 * @param height the height in atlas pixels.
+		 */
+		Sprite(String name, BufferedImage image, int width, int height) {
+			this.name = name;
+			this.image = image;
+			this.width = width;
+			this.height = height;
+		}
+	}
+}
@@ -0,0 +1,237 @@
+package Assets;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of decoded image pixels, so warm starts skip PNG decoding entirely.
+ * <p>
+ * Every image the {@link SpriteCache} decodes is also written to a local cache directory as
+ * raw premultiplied BGRA pixels at its decoded size. Files are named after a SHA-256 hash of
+ * the source resource bytes and the decoded size, so an edited sprite or a new display size
+ * simply misses the cache. On the next launch the file is memory-mapped with
+ * {@link FileChannel#map} and wrapped straight into a {@link PixelBuffer} backed
+ * {@link WritableImage}, without copying or decoding the pixels.
+ * </p>
+ * <p>
+ * The directory defaults to {@code ~/.cw2024/pixel-cache} and can be moved with
+ * {@code -Dpixelcache.dir}. {@code -Dpixelcache.enabled=false} turns the cache off and
+ * {@code -Dpixelcache.clear=true} empties it at startup to measure a cold start.
+ * </p>
+ */
+public final class PixelCache {
+
+	/**
+	 * Bytes per cached pixel in the premultiplied BGRA format.
+	 */
+	private static final int BYTES_PER_PIXEL = 4;
+
+	/**
+	 * Size of the file header: width and height as two ints.
+	 */
+	private static final int HEADER_SIZE = 8;
+
+	/**
+	 * File extension of a cached pixel file.
+	 */
+	private static final String EXTENSION = ".bgra";
+
+	/**
+	 * The cache directory, or {@code null} if the cache is disabled or unusable.
+	 */
+	private static final Path DIRECTORY = openDirectory();
+
+	/**
+	 * Number of images served from the cache since startup.
+	 */
+	private static final AtomicInteger HITS = new AtomicInteger();
+
+	/**
+	 * Number of images that had to be decoded since startup.
+	 */
+	private static final AtomicInteger MISSES = new AtomicInteger();
+
+	/**
+	 * Prevents instantiation of this utility class.
+	 */
+	private PixelCache() {
+	}
+
+	/**
+	 * Gets an image from the cache, or decodes it with the given loader and caches the result.
+	 *
+	 * @param source  the contents of the source image, hashed for the cache key.
+	 * @param width   the requested pixel width, part of the cache key.
+	 * @param height  the requested pixel height, part of the cache key.
+	 * @param decoder decodes the image on a cache miss.
+	 * @return the cached or freshly decoded image.
+	 */
+	static Image get(ByteBuffer source, double width, double height, Supplier<Image> decoder) {
+		if (DIRECTORY == null) {
+			return decoder.get();
+		}
+		Path file = DIRECTORY.resolve(key(source, width, height) + EXTENSION);
+
+		if (Files.isRegularFile(file)) {
+			try {
+				Image image = map(file);
+				HITS.incrementAndGet();
+				return image;
+			} catch (IOException | RuntimeException e) {
+				System.err.println("Discarding unreadable pixel cache entry " + file + ": " + e.getMessage());
+			}
+		}
+
+		MISSES.incrementAndGet();
+		Image image = decoder.get();
+		if (!image.isError()) {
+			try {
+				write(image, file);
+			} catch (IOException | RuntimeException e) {
+				System.err.println("Failed to cache pixels in " + file + ": " + e.getMessage());
+			}
+		}
+		return image;
+	}
+
+	/**
+	 * Gets the number of images served from the cache since startup.
+	 *
+	 * @return the hit count.
+	 */
+	public static int getHits() {
+		return HITS.get();
+	}
+
+	/**
+	 * Gets the number of images decoded because they were not cached.
+	 *
+	 * @return the miss count.
+	 */
+	public static int getMisses() {
+		return MISSES.get();
+	}
+
+	/**
+	 * Gets the cache directory.
+	 *
+	 * @return the directory, or {@code null} if the cache is disabled.
+	 */
+	public static Path getDirectory() {
+		return DIRECTORY;
+	}
+
+	/**
+	 * Maps a cached pixel file into an image without copying its pixels.
+	 *
+	 * @param file the cached pixel file.
+	 * @return an image backed by the mapped file.
+	 * @throws IOException if the file cannot be mapped or is truncated.
+	 */
+	private static Image map(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			// A private mapping stays valid after the channel is closed and never writes back to the file
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.PRIVATE, 0, channel.size());
+			int width = mapped.getInt(0);
+			int height = mapped.getInt(4);
+			long size = (long) width * height * BYTES_PER_PIXEL;
+			if (width <= 0 || height <= 0 || channel.size() != HEADER_SIZE + size) {
+				throw new IOException("Truncated pixel cache entry");
+			}
+			ByteBuffer pixels = mapped.slice(HEADER_SIZE, (int) size);
+			PixelBuffer<ByteBuffer> buffer = new PixelBuffer<>(width, height, pixels, PixelFormat.getByteBgraPreInstance());
+			return new WritableImage(buffer);
+		}
+	}
+
+	/**
+	 * Writes the pixels of a decoded image to the cache. The file is written under a temporary
+	 * name and moved into place, so concurrent readers never see a partial entry.
+	 *
+	 * @param image the decoded image.
+	 * @param file  the cache file to create.
+	 * @throws IOException if the file cannot be written.
+	 */
+	private static void write(Image image, Path file) throws IOException {
+		int width = (int) image.getWidth();
+		int height = (int) image.getHeight();
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + width * height * BYTES_PER_PIXEL);
+		buffer.putInt(width).putInt(height);
+		image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getByteBgraPreInstance(),
+				buffer.array(), HEADER_SIZE, width * BYTES_PER_PIXEL);
+
+		Path temporary = Files.createTempFile(DIRECTORY, "pixels", ".tmp");
+		try {
+			Files.write(temporary, buffer.array());
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * Builds the cache key from the source bytes and the requested size.
+	 *
+	 * @param source the contents of the source image.
+	 * @param width  the requested pixel width.
+	 * @param height the requested pixel height.
+	 * @return the hexadecimal key.
+	 */
+	private static String key(ByteBuffer source, double width, double height) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(source.duplicate());
+			digest.update(ByteBuffer.allocate(2 * Double.BYTES).putDouble(width).putDouble(height).array());
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	/**
+	 * Resolves and prepares the cache directory from the system properties.
+	 *
+	 * @return the directory, or {@code null} if the cache is disabled or cannot be created.
+	 */
+	private static Path openDirectory() {
+		if (!Boolean.parseBoolean(System.getProperty("pixelcache.enabled", "true"))) {
+			return null;
+		}
+		Path directory = Path.of(System.getProperty("pixelcache.dir",
+				Path.of(System.getProperty("user.home"), ".cw2024", "pixel-cache").toString()));
+		try {
+			Files.createDirectories(directory);
+			if (Boolean.getBoolean("pixelcache.clear")) {
+				try (Stream<Path> files = Files.list(directory)) {
+					for (Path file : (Iterable<Path>) files::iterator) {
+						if (file.toString().endsWith(EXTENSION)) {
+							Files.deleteIfExists(file);
+						}
+					}
+				}
+				System.out.println("Cleared pixel cache " + directory);
+			}
+			return directory;
+		} catch (IOException e) {
+			System.err.println("Pixel cache disabled: " + e.getMessage());
+			return null;
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package Assets;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runtime access to the sprite atlas packed at build time by the {@link AtlasPacker}.
+ * <p>
+ * The atlas matching the device scale is decoded once, and every gameplay sprite is shown as
+ * a viewport into that single shared image, so all sprites share one texture. When the build
+ * did not produce an atlas (for example when running straight from an IDE) or a sprite is not
+ * packed, the loose image is loaded from the {@link SpriteCache} instead.
+ * </p>
+ */
+public final class SpriteAtlas {
+
+	/**
+	 * The resource directory the packer writes the atlases to.
+	 */
+	public static final String ATLAS_LOCATION = "/com/example/demo/atlas/";
+
+	/**
+	 * File extension of an atlas image.
+	 */
+	static final String IMAGE_EXTENSION = ".png";
+
+	/**
+	 * File extension of an atlas index.
+	 */
+	static final String INDEX_EXTENSION = ".idx";
+
+	/**
+	 * The first character rasterized into the atlas as a HUD glyph.
+	 */
+	public static final char FIRST_GLYPH = ' ';
+
+	/**
+	 * The last character rasterized into the atlas as a HUD glyph.
+	 */
+	public static final char LAST_GLYPH = '~';
+
+	/**
+	 * Prefix of the atlas names of HUD glyph sprites.
+	 */
+	private static final String GLYPH_PREFIX = "glyph:";
+
+	/**
+	 * The decoded atlas image, or {@code null} if no atlas is available.
+	 */
+	private static Image atlasImage;
+
+	/**
+	 * The packed sprite regions in atlas pixels, keyed by file name.
+	 */
+	private static Map<String, Rectangle2D> regions;
+
+	/**
+	 * The device scale of the loaded atlas.
+	 */
+	private static int atlasScale = 1;
+
+	/**
+	 * The distance from the top of a glyph sprite to its baseline, in atlas pixels.
+	 */
+	private static int glyphAscent;
+
+	/**
+	 * Prevents instantiation of this utility class.
+	 */
+	private SpriteAtlas() {
+	}
+
+	/**
+	 * Gets the atlas file name, without extension, for a device scale.
+	 *
+	 * @param scale the device scale of the atlas.
+	 * @return the base name of the atlas files.
+	 */
+	static String baseName(int scale) {
+		return "sprites@" + scale + "x";
+	}
+
+	/**
+	 * Gets the atlas name of the glyph sprite for a character.
+	 *
+	 * @param c a character between {@link #FIRST_GLYPH} and {@link #LAST_GLYPH}.
+	 * @return the name the glyph is packed under.
+	 */
+	public static String glyphName(char c) {
+		return GLYPH_PREFIX + (int) c;
+	}
+
+	/**
+	 * Decodes the atlas for the current device scale if it has not been loaded yet.
+	 *
+	 * @return {@code true} if an atlas is available.
+	 */
+	public static synchronized boolean load() {
+		if (regions != null) {
+			return atlasImage != null;
+		}
+		int scale = SpriteCache.getDeviceScale() > 1 ? AtlasPacker.SCALES[AtlasPacker.SCALES.length - 1] : 1;
+		String basePath = ATLAS_LOCATION + baseName(scale);
+		Map<String, Rectangle2D> packed = new HashMap<>();
+		try (InputStream stream = AssetPack.openStream(basePath + INDEX_EXTENSION)) {
+			if (stream == null) {
+				System.out.println("No sprite atlas found, using loose sprites");
+				regions = Collections.emptyMap();
+				return false;
+			}
+			DataInputStream index = new DataInputStream(stream);
+			if (index.readInt() != AtlasPacker.MAGIC) {
+				throw new IOException("Not an atlas index: " + basePath + INDEX_EXTENSION);
+			}
+			index.readInt(); // Atlas width and height, implied by the image
+			index.readInt();
+			int count = index.readInt();
+			for (int i = 0; i < count; i++) {
+				String name = index.readUTF();
+				packed.put(name, new Rectangle2D(index.readShort(), index.readShort(), index.readShort(), index.readShort()));
+			}
+			glyphAscent = index.readInt();
+			Image image = SpriteCache.get(basePath + IMAGE_EXTENSION);
+			if (image.isError()) {
+				throw new IOException(String.valueOf(image.getException()));
+			}
+			atlasImage = image;
+			atlasScale = scale;
+			regions = packed;
+			System.out.println("Loaded sprite atlas " + basePath + " with " + count + " sprites");
+		} catch (IOException | IllegalArgumentException e) {
+			System.err.println("Failed to load sprite atlas: " + e.getMessage());
+			regions = Collections.emptyMap();
+		}
+		return atlasImage != null;
+	}
+
+	/**
+	 * Checks whether an image is packed into the atlas.
+	 *
+	 * @param resourcePath the absolute resource path of the loose image.
+	 * @return {@code true} if the image is shown from the atlas.
+	 */
+	public static boolean contains(String resourcePath) {
+		return load() && regions.containsKey(fileName(resourcePath));
+	}
+
+	/**
+	 * Shows a sprite in a view, from its atlas region if it is packed and from the loose image
+	 * decoded at the display size otherwise. The caller still sizes the view itself.
+	 *
+	 * @param view         the view to show the sprite in.
+	 * @param resourcePath the absolute resource path of the loose image.
+	 * @param width        the displayed width, or 0 to follow the aspect ratio.
+	 * @param height       the displayed height, or 0 to follow the aspect ratio.
+	 */
+	public static void show(ImageView view, String resourcePath, double width, double height) {
+		if (contains(resourcePath)) {
+			view.setImage(atlasImage);
+			view.setViewport(regions.get(fileName(resourcePath)));
+		} else {
+			view.setViewport(null);
+			view.setImage(SpriteCache.get(resourcePath, width, height));
+		}
+	}
+
+	/**
+	 * Gets the region of a packed sprite by its atlas name.
+	 *
+	 * @param name the file name of a sprite, or a {@link #glyphName(char) glyph name}.
+	 * @return the region in atlas pixels, or {@code null} if it is not packed.
+	 */
+	public static Rectangle2D region(String name) {
+		return load() ? regions.get(name) : null;
+	}
+
+	/**
+	 * Gets the decoded atlas image.
+	 *
+	 * @return the atlas image, or {@code null} if no atlas is available.
+	 */
+	public static Image getImage() {
+		load();
+		return atlasImage;
+	}
+
+	/**
+	 * Gets the device scale of the loaded atlas. Regions are in atlas pixels and must be divided
+	 * by this scale to get their display size.
+	 *
+	 * @return the atlas scale, 1 if no atlas is available.
+	 */
+	public static int getScale() {
+		load();
+		return atlasScale;
+	}
+
+	/**
+	 * Gets the distance from the top of a glyph sprite to its baseline.
+	 *
+	 * @return the glyph ascent in atlas pixels.
+	 */
+	public static int getGlyphAscent() {
+		load();
+		return glyphAscent;
+	}
+
+	/**
+	 * Strips the directory from a resource path.
+	 *
+	 * @param resourcePath the absolute resource path.
+	 * @return the file name.
+	 */
+	private static String fileName(String resourcePath) {
+		return resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
+	}
+}
@@ -0,0 +1,229 @@
+package Assets;
+
+import javafx.scene.image.Image;
+import javafx.stage.Screen;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of decoded images, keyed by resource path and decoded size.
+ * <p>
+ * Every actor, HUD element and overlay fetches its image through this cache, so each image
+ * resource is decoded once and the resulting {@link Image} is shared by all views showing it.
+ * Images requested with a display size are decoded directly at that size (times the device
+ * scale on HiDPI screens) instead of being decoded at full resolution and shrunk by the
+ * {@code ImageView} every frame. Images are never decoded larger than their source.
+ * The {@link AssetPreloader} fills the cache at startup; anything it missed is decoded on
+ * first request. Decoded pixels are also kept on disk by the {@link PixelCache}, so warm
+ * starts map them instead of decoding the PNGs again.
+ * </p>
+ */
+public final class SpriteCache {
+
+	/**
+	 * Number of bytes used by one decoded ARGB pixel.
+	 */
+	private static final int BYTES_PER_PIXEL = 4;
+
+	/**
+	 * Offset of the width field in a PNG file (8 byte signature, 8 byte IHDR chunk header).
+	 */
+	private static final int PNG_WIDTH_OFFSET = 16;
+
+	/**
+	 * The decoded images, keyed by {@link #key(String, double, double, double)}.
+	 */
+	private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+
+	/**
+	 * Source and decoded byte counts per cached image, used for the memory report.
+	 */
+	private static final Map<String, long[]> FOOTPRINTS = new ConcurrentHashMap<>();
+
+	/**
+	 * The output scale of the primary screen, or 0 until first queried.
+	 */
+	private static volatile double deviceScale;
+
+	/**
+	 * Prevents instantiation of this utility class.
+	 */
+	private SpriteCache() {
+	}
+
+	/**
+	 * Gets the full-resolution image for a resource path, decoding it if it is not cached yet.
+	 *
+	 * @param resourcePath the absolute resource path of the image.
+	 * @return the shared decoded image.
+	 * @throws IllegalArgumentException if the resource does not exist.
+	 */
+	public static Image get(String resourcePath) {
+		return get(resourcePath, 0, 0);
+	}
+
+	/**
+	 * Gets an image decoded for the size it is displayed at on the primary screen.
+	 *
+	 * @param resourcePath the absolute resource path of the image.
+	 * @param width        the displayed width, or 0 to follow the aspect ratio.
+	 * @param height       the displayed height, or 0 to follow the aspect ratio.
+	 * @return the shared decoded image.
+	 * @throws IllegalArgumentException if the resource does not exist.
+	 */
+	public static Image get(String resourcePath, double width, double height) {
+		return get(resourcePath, width, height, getDeviceScale());
+	}
+
+	/**
+	 * Gets an image decoded for a display size at an explicit device scale, such as 2.0
+	 * for a HiDPI variant.
+	 *
+	 * @param resourcePath the absolute resource path of the image.
+	 * @param width        the displayed width, or 0 to follow the aspect ratio.
+	 * @param height       the displayed height, or 0 to follow the aspect ratio.
+	 * @param scale        the device scale the image will be shown at.
+	 * @return the shared decoded image.
+	 * @throws IllegalArgumentException if the resource does not exist.
+	 */
+	public static Image get(String resourcePath, double width, double height, double scale) {
+		// Decode outside the map, so concurrent preloads neither block each other on a map bin
+		// nor pin their virtual threads; two threads racing for one key only decode it twice
+		String key = key(resourcePath, width, height, scale);
+		Image cached = IMAGES.get(key);
+		if (cached == null) {
+			Image loaded = load(resourcePath, width * scale, height * scale);
+			cached = IMAGES.putIfAbsent(key, loaded);
+			if (cached == null) {
+				cached = loaded;
+			}
+		}
+		return cached;
+	}
+
+	/**
+	 * Gets the output scale of the primary screen. Falls back to 1 when no screen is available.
+	 *
+	 * @return the device scale used for decoding.
+	 */
+	public static double getDeviceScale() {
+		if (deviceScale == 0) {
+			double scale;
+			try {
+				scale = Math.max(1.0, Screen.getPrimary().getOutputScaleX());
+			} catch (RuntimeException | Error e) {
+				scale = 1.0;
+			}
+			deviceScale = scale;
+		}
+		return deviceScale;
+	}
+
+	/**
+	 * Prints the bytes saved by decoding each cached image at its display size.
+	 */
+	public static void printMemoryReport() {
+		long totalSource = 0;
+		long totalDecoded = 0;
+		System.out.println("Sprite memory report (full-size ARGB -> decoded ARGB):");
+		for (Map.Entry<String, long[]> entry : new TreeMap<>(FOOTPRINTS).entrySet()) {
+			long source = entry.getValue()[0];
+			long decoded = entry.getValue()[1];
+			totalSource += source;
+			totalDecoded += decoded;
+			System.out.println("  " + entry.getKey() + ": " + source / 1024 + " KB -> " + decoded / 1024
+					+ " KB, saved " + (source - decoded) / 1024 + " KB");
+		}
+		System.out.println("  total: " + totalSource / 1024 + " KB -> " + totalDecoded / 1024
+				+ " KB, saved " + (totalSource - totalDecoded) / 1024 + " KB");
+	}
+
+	/**
+	 * Builds the cache key for an image variant.
+	 *
+	 * @param resourcePath the absolute resource path of the image.
+	 * @param width        the displayed width.
+	 * @param height       the displayed height.
+	 * @param scale        the device scale.
+	 * @return the cache key.
+	 */
+	private static String key(String resourcePath, double width, double height, double scale) {
+		return resourcePath + '@' + (int) width + 'x' + (int) height + '*' + scale;
+	}
+
+	/**
+	 * Decodes an image resource synchronously at the requested pixel size, or maps its pixels
+	 * from the {@link PixelCache} if they were decoded on an earlier run.
+	 * A requested size that is not smaller than the source decodes the source unchanged.
+	 *
+	 * @param resourcePath the absolute resource path of the image.
+	 * @param width        the requested pixel width, or 0 to follow the aspect ratio.
+	 * @param height       the requested pixel height, or 0 to follow the aspect ratio.
+	 * @return the decoded image.
+	 * @throws IllegalArgumentException if the resource does not exist.
+	 */
+	static Image load(String resourcePath, double width, double height) {
+		ByteBuffer source;
+		try {
+			source = AssetPack.open(resourcePath);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Image not found: " + resourcePath, e);
+		}
+		int[] sourceSize = readPngSize(source);
+		if (sourceSize != null && !shrinks(sourceSize, width, height)) {
+			width = 0; // Decoding at the requested size would not save memory
+			height = 0;
+		}
+
+		double decodeWidth = width;
+		double decodeHeight = height;
+		Image image = PixelCache.get(source, width, height, () -> decodeWidth == 0 && decodeHeight == 0
+				? new Image(AssetPack.asStream(source))
+				: new Image(AssetPack.asStream(source), decodeWidth, decodeHeight, decodeWidth == 0 || decodeHeight == 0, true));
+
+		if (sourceSize != null && !image.isError()) {
+			long sourceBytes = (long) sourceSize[0] * sourceSize[1] * BYTES_PER_PIXEL;
+			long decodedBytes = (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL;
+			String name = resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
+			FOOTPRINTS.put(name + " " + (int) image.getWidth() + "x" + (int) image.getHeight(),
+					new long[]{sourceBytes, decodedBytes});
+		}
+		return image;
+	}
+
+	/**
+	 * Checks whether decoding at a requested size produces fewer pixels than the source.
+	 *
+	 * @param sourceSize the width and height of the source image.
+	 * @param width      the requested pixel width, or 0 to follow the aspect ratio.
+	 * @param height     the requested pixel height, or 0 to follow the aspect ratio.
+	 * @return {@code true} if the requested size is smaller than the source.
+	 */
+	private static boolean shrinks(int[] sourceSize, double width, double height) {
+		if (width == 0 && height == 0) {
+			return false;
+		}
+		double aspectRatio = (double) sourceSize[0] / sourceSize[1];
+		double targetWidth = width != 0 ? width : height * aspectRatio;
+		double targetHeight = height != 0 ? height : width / aspectRatio;
+		return targetWidth * targetHeight < (double) sourceSize[0] * sourceSize[1];
+	}
+
+	/**
+	 * Reads the pixel size of a PNG from its header without decoding it.
+	 *
+	 * @param source the contents of the PNG.
+	 * @return the width and height, or {@code null} if the source is too short to be a PNG.
+	 */
+	private static int[] readPngSize(ByteBuffer source) {
+		int offset = source.position() + PNG_WIDTH_OFFSET;
+		if (source.limit() < offset + 2 * Integer.BYTES) {
+			return null;
+		}
+		return new int[]{source.getInt(offset), source.getInt(offset + Integer.BYTES)};
+	}
+}
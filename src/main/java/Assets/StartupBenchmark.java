@@ -0,0 +1,96 @@
+package Assets;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Measures time-to-first-frame and compares cold and warm {@link PixelCache} starts.
+ * <p>
+ * Every launch appends its time from process start to the first rendered level frame to
+ * {@code startup-benchmark.csv} next to the pixel cache, labelled {@code cold} when any image
+ * had to be decoded and {@code warm} when every image was mapped from the cache. The averages
+ * of both kinds are printed after each launch; run once with {@code -Dpixelcache.clear=true}
+ * to record a cold start.
+ * </p>
+ */
+public final class StartupBenchmark {
+
+	/**
+	 * File name of the benchmark log.
+	 */
+	private static final String LOG_NAME = "startup-benchmark.csv";
+
+	/**
+	 * Fallback start time for when the process start time is unavailable.
+	 */
+	private static final Instant CLASS_LOAD_TIME = Instant.now();
+
+	/**
+	 * Whether the first frame has already been recorded.
+	 */
+	private static boolean recorded;
+
+	/**
+	 * Prevents instantiation of this utility class.
+	 */
+	private StartupBenchmark() {
+	}
+
+	/**
+	 * Records the first rendered frame of the game. Later calls are ignored.
+	 */
+	public static synchronized void recordFirstFrame() {
+		if (recorded) {
+			return;
+		}
+		recorded = true;
+		Instant start = ProcessHandle.current().info().startInstant().orElse(CLASS_LOAD_TIME);
+		long millis = Duration.between(start, Instant.now()).toMillis();
+		String mode = PixelCache.getDirectory() == null ? "uncached" : PixelCache.getMisses() == 0 ? "warm" : "cold";
+		System.out.println("Time to first frame: " + millis + " ms (" + mode + ", " + PixelCache.getHits()
+				+ " images mapped, " + PixelCache.getMisses() + " decoded)");
+
+		if (PixelCache.getDirectory() == null) {
+			return;
+		}
+		Path log = PixelCache.getDirectory().resolveSibling(LOG_NAME);
+		try {
+			Files.writeString(log, mode + "," + millis + System.lineSeparator(), StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+			List<String> lines = Files.readAllLines(log, StandardCharsets.UTF_8);
+			System.out.println("Startup benchmark: cold " + average(lines, "cold") + ", warm " + average(lines, "warm"));
+		} catch (IOException e) {
+			System.err.println("Failed to update startup benchmark: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Averages the recorded times of one kind of start.
+	 *
+	 * @param lines the lines of the benchmark log.
+	 * @param mode  the kind of start to average.
+	 * @return a readable average with its sample count.
+	 */
+	static String average(List<String> lines, String mode) {
+		long total = 0;
+		int count = 0;
+		for (String line : lines) {
+			String[] fields = line.split(",");
+			if (fields.length == 2 && fields[0].equals(mode)) {
+				try {
+					total += Long.parseLong(fields[1].trim());
+					count++;
+				} catch (NumberFormatException e) {
+					// Skip lines that were not written by this benchmark
+				}
+			}
+		}
+		return count == 0 ? "no runs" : total / count + " ms over " + count + (count == 1 ? " run" : " runs");
+	}
+}
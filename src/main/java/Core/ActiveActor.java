@@ -1,5 +1,6 @@
 package Core;
 
+import Assets.SpriteAtlas;
 import javafx.scene.image.ImageView;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
@@ -21,6 +22,41 @@ public abstract class ActiveActor extends ImageView {
 	 */
 	private Rectangle hitbox; // The hitbox used for collision detection
 
+	/**
+	 * The simulated horizontal offset of the actor from its layout position.
+	 * The node's translation follows this value, immediately or through a {@link FrameSnapshot}.
+	 */
+	private double offsetX;
+
+	/**
+	 * The simulated vertical offset of the actor from its layout position.
+	 * The node's translation follows this value, immediately or through a {@link FrameSnapshot}.
+	 */
+	private double offsetY;
+
+	/**
+	 * Whether the actor moves on fixed-point values, as chosen by {@link Fixed#isEnabled()} when
+	 * it was made. Its offsets are then kept as {@link #fixedOffsetX} and {@link #fixedOffsetY},
+	 * and {@link #offsetX} and {@link #offsetY} only mirror them.
+	 */
+	private final boolean fixedPoint = Fixed.isEnabled();
+
+	/**
+	 * The horizontal offset in 16.16 fixed point, in the deterministic physics mode.
+	 */
+	private int fixedOffsetX;
+
+	/**
+	 * The vertical offset in 16.16 fixed point, in the deterministic physics mode.
+	 */
+	private int fixedOffsetY;
+
+	/**
+	 * Whether node updates are deferred to the frame snapshot instead of written immediately.
+	 * Set while the actor is simulated off the JavaFX thread.
+	 */
+	private volatile boolean syncDeferred;
+
 	/**
 	 * Constructs an ActiveActor instance with the specified image, size, and initial position.
 	 *
@@ -30,9 +66,9 @@ public abstract class ActiveActor extends ImageView {
 	 * @param initialYPos the initial Y position of the actor
 	 */
 	public ActiveActor(String imageName, int imageHeight, double initialXPos, double initialYPos) {
-		this.setImage(new javafx.scene.image.Image(getClass().getResource(IMAGE_LOCATION + imageName).toExternalForm()));
-		this.setLayoutX(initialXPos);
-		this.setLayoutY(initialYPos);
+		SpriteAtlas.show(this, IMAGE_LOCATION + imageName, 0, imageHeight);
+		this.setLayoutX(fixedPoint ? Fixed.quantize(initialXPos) : initialXPos);
+		this.setLayoutY(fixedPoint ? Fixed.quantize(initialYPos) : initialYPos);
 		this.setFitHeight(imageHeight);
 		this.setPreserveRatio(true);
 
@@ -53,8 +89,28 @@ public abstract class ActiveActor extends ImageView {
 	 * Updates the position of the hitbox to match the actor's current position.
 	 */
 	protected void updateHitbox() {
-		hitbox.setX(getLayoutX() + getTranslateX());
-		hitbox.setY(getLayoutY() + getTranslateY());
+		if (hitbox.getX() != getPositionX()) {
+			hitbox.setX(getPositionX());
+		}
+		if (hitbox.getY() != getPositionY()) {
+			hitbox.setY(getPositionY());
+		}
+	}
+
+	/**
+	 * Moves the hitbox to a position, writing only the coordinates that changed.
+	 * Used by actors whose hitbox is offset from the image.
+	 *
+	 * @param x the new X position of the hitbox
+	 * @param y the new Y position of the hitbox
+	 */
+	protected void placeHitbox(double x, double y) {
+		if (hitbox.getLayoutX() != x) {
+			hitbox.setLayoutX(x);
+		}
+		if (hitbox.getLayoutY() != y) {
+			hitbox.setLayoutY(y);
+		}
 	}
 
 	/**
@@ -88,22 +144,217 @@ public abstract class ActiveActor extends ImageView {
 	}
 
 	/**
-	 * Moves the actor horizontally by a specified amount and updates the hitbox.
+	 * Gets the simulated horizontal position of the actor, its layout position plus its offset.
+	 *
+	 * @return the X position
+	 */
+	public double getPositionX() {
+		return getLayoutX() + offsetX;
+	}
+
+	/**
+	 * Gets the simulated vertical position of the actor, its layout position plus its offset.
+	 *
+	 * @return the Y position
+	 */
+	public double getPositionY() {
+		return getLayoutY() + offsetY;
+	}
+
+	/**
+	 * Gets the simulated horizontal offset of the actor from its layout position.
+	 *
+	 * @return the X offset
+	 */
+	public double getOffsetX() {
+		return offsetX;
+	}
+
+	/**
+	 * Gets the simulated vertical offset of the actor from its layout position.
+	 *
+	 * @return the Y offset
+	 */
+	public double getOffsetY() {
+		return offsetY;
+	}
+
+	/**
+	 * Gets the simulated horizontal position of the actor in 16.16 fixed point.
+	 *
+	 * @return the X position
+	 */
+	public int getFixedPositionX() {
+		return fixedPoint ? Fixed.fromDouble(getLayoutX()) + fixedOffsetX : Fixed.fromDouble(getPositionX());
+	}
+
+	/**
+	 * Gets the simulated vertical position of the actor in 16.16 fixed point.
+	 *
+	 * @return the Y position
+	 */
+	public int getFixedPositionY() {
+		return fixedPoint ? Fixed.fromDouble(getLayoutY()) + fixedOffsetY : Fixed.fromDouble(getPositionY());
+	}
+
+	/**
+	 * Sets the horizontal offset of the actor from its layout position. In the deterministic
+	 * physics mode the offset is rounded to fixed point.
+	 *
+	 * @param offsetX the new X offset
+	 */
+	protected void setOffsetX(double offsetX) {
+		if (fixedPoint) {
+			setFixedOffsetX(Fixed.fromDouble(offsetX));
+		} else {
+			applyOffsetX(offsetX);
+		}
+	}
+
+	/**
+	 * Sets the vertical offset of the actor from its layout position. In the deterministic
+	 * physics mode the offset is rounded to fixed point.
+	 *
+	 * @param offsetY the new Y offset
+	 */
+	protected void setOffsetY(double offsetY) {
+		if (fixedPoint) {
+			setFixedOffsetY(Fixed.fromDouble(offsetY));
+		} else {
+			applyOffsetY(offsetY);
+		}
+	}
+
+	/**
+	 * Sets the fixed-point horizontal offset and mirrors it into the node.
+	 *
+	 * @param offsetX the new X offset in 16.16 fixed point
+	 */
+	private void setFixedOffsetX(int offsetX) {
+		this.fixedOffsetX = offsetX;
+		applyOffsetX(Fixed.toDouble(offsetX));
+	}
+
+	/**
+	 * Sets the fixed-point vertical offset and mirrors it into the node.
+	 *
+	 * @param offsetY the new Y offset in 16.16 fixed point
+	 */
+	private void setFixedOffsetY(int offsetY) {
+		this.fixedOffsetY = offsetY;
+		applyOffsetY(Fixed.toDouble(offsetY));
+	}
+
+	/**
+	 * Records the horizontal offset and writes it to the node, unless node updates are deferred.
+	 *
+	 * @param offsetX the new X offset
+	 */
+	private void applyOffsetX(double offsetX) {
+		this.offsetX = offsetX;
+		if (!syncDeferred && getTranslateX() != offsetX) {
+			setTranslateX(offsetX);
+		}
+	}
+
+	/**
+	 * Records the vertical offset and writes it to the node, unless node updates are deferred.
+	 *
+	 * @param offsetY the new Y offset
+	 */
+	private void applyOffsetY(double offsetY) {
+		this.offsetY = offsetY;
+		if (!syncDeferred && getTranslateY() != offsetY) {
+			setTranslateY(offsetY);
+		}
+	}
+
+	/**
+	 * Chooses whether node updates are deferred to the frame snapshot. Levels defer them while
+	 * simulating on their own thread, since only the JavaFX thread may touch a node in a live scene;
+	 * a standalone actor writes its position straight to the node.
+	 *
+	 * @param syncDeferred {@code true} to defer node updates to {@link #publish(FrameSnapshot)}
+	 */
+	public void setSyncDeferred(boolean syncDeferred) {
+		this.syncDeferred = syncDeferred;
+	}
+
+	/**
+	 * Checks whether node updates are deferred to the frame snapshot.
+	 *
+	 * @return {@code true} if the node only changes when a snapshot is applied
+	 */
+	protected boolean isSyncDeferred() {
+		return syncDeferred;
+	}
+
+	/**
+	 * Records the visual state of the actor, and of any nodes it owns, into a frame snapshot.
+	 *
+	 * @param frame the snapshot being recorded
+	 */
+	public void publish(FrameSnapshot frame) {
+		frame.add(this, offsetX, offsetY);
+	}
+
+	/**
+	 * Places the actor at a simulated position and updates the hitbox. Used by the
+	 * {@link MovementSystem} to make an actor follow its entity.
+	 *
+	 * @param x the new X position
+	 * @param y the new Y position
+	 */
+	public void moveTo(double x, double y) {
+		setOffsetX(x - getLayoutX());
+		setOffsetY(y - getLayoutY());
+		updateHitbox();
+	}
+
+	/**
+	 * Places the actor at a simulated position given in 16.16 fixed point and updates the hitbox.
+	 * Used by the {@link MovementSystem} in the deterministic physics mode.
+	 *
+	 * @param x the new X position
+	 * @param y the new Y position
+	 */
+	public void moveToFixed(int x, int y) {
+		if (!fixedPoint) {
+			moveTo(Fixed.toDouble(x), Fixed.toDouble(y));
+			return;
+		}
+		setFixedOffsetX(x - Fixed.fromDouble(getLayoutX()));
+		setFixedOffsetY(y - Fixed.fromDouble(getLayoutY()));
+		updateHitbox();
+	}
+
+	/**
+	 * Moves the actor horizontally by a specified amount and updates the hitbox. In the
+	 * deterministic physics mode the amount is rounded to fixed point and added as an integer.
 	 *
 	 * @param horizontalMove the amount to move horizontally
 	 */
 	protected void moveHorizontally(double horizontalMove) {
-		this.setTranslateX(getTranslateX() + horizontalMove);
+		if (fixedPoint) {
+			setFixedOffsetX(fixedOffsetX + Fixed.fromDouble(horizontalMove));
+		} else {
+			setOffsetX(offsetX + horizontalMove);
+		}
 		updateHitbox();
 	}
 
 	/**
-	 * Moves the actor vertically by a specified amount and updates the hitbox.
+	 * Moves the actor vertically by a specified amount and updates the hitbox. In the
+	 * deterministic physics mode the amount is rounded to fixed point and added as an integer.
 	 *
 	 * @param verticalMove the amount to move vertically
 	 */
 	protected void moveVertically(double verticalMove) {
-		this.setTranslateY(getTranslateY() + verticalMove);
+		if (fixedPoint) {
+			setFixedOffsetY(fixedOffsetY + Fixed.fromDouble(verticalMove));
+		} else {
+			setOffsetY(offsetY + verticalMove);
+		}
 		updateHitbox();
 	}
 }
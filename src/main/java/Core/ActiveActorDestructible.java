@@ -12,6 +12,11 @@ public abstract class ActiveActorDestructible extends ActiveActor implements Des
 	 */
 	private boolean isDestroyed;
 
+	/**
+	 * The id of the actor's entity in a {@link World}, or {@link World#NONE} while it has none.
+	 */
+	private int entity = World.NONE;
+
 	/**
 	 * Constructs an {@code ActiveActorDestructible} instance with the specified parameters.
 	 *
@@ -45,6 +50,108 @@ public abstract class ActiveActorDestructible extends ActiveActor implements Des
 	@Override
 	public abstract void takeDamage();
 
+	/**
+	 * Gets how strongly this actor should be kept when its {@link EntityBudget} category is full.
+	 * Actors with a lower priority are evicted first.
+	 *
+	 * @return the eviction priority, 0 unless a subclass says otherwise.
+	 */
+	public int getEvictionPriority() {
+		return 0;
+	}
+
+	/**
+	 * Gets the archetype the actor's entity is laid out by when it joins a {@link World}.
+	 *
+	 * @return the archetype, or {@code null} if the actor cannot join a world.
+	 */
+	public Archetype getArchetype() {
+		return null;
+	}
+
+	/**
+	 * Gets the horizontal distance the actor travels on each tick, for archetypes with a
+	 * {@link Component#VELOCITY velocity}. Read once, when the actor joins a world.
+	 *
+	 * @return the velocity, 0 unless a subclass says otherwise.
+	 */
+	public double getVelocityX() {
+		return 0;
+	}
+
+	/**
+	 * Gets the vertical distance the actor travels on each tick, for archetypes with a
+	 * {@link Component#VELOCITY velocity}. Read once, when the actor joins a world.
+	 *
+	 * @return the velocity, 0 unless a subclass says otherwise.
+	 */
+	public double getVelocityY() {
+		return 0;
+	}
+
+	/**
+	 * Gets the hits the actor can still take.
+	 *
+	 * @return the health, 1 unless a subclass keeps track of it.
+	 */
+	public int getHealth() {
+		return 1;
+	}
+
+	/**
+	 * Gets the id of the actor's entity.
+	 *
+	 * @return the entity id, or {@link World#NONE} if the actor is not in a world.
+	 */
+	public int getEntity() {
+		return entity;
+	}
+
+	/**
+	 * Records the id of the actor's entity. Called by the {@link World}.
+	 *
+	 * @param entity the entity id, or {@link World#NONE}.
+	 */
+	void setEntity(int entity) {
+		this.entity = entity;
+	}
+
+	/**
+	 * Writes the actor's state into a record of a snapshot: its position, velocity, health and
+	 * whether it is destroyed. Subclasses with more state add it to the record's slots.
+	 *
+	 * @param snapshot the snapshot being captured.
+	 * @param record   the actor's record.
+	 */
+	public void saveState(StateSnapshot snapshot, int record) {
+		snapshot.setLayout(record, getLayoutX(), getLayoutY());
+		snapshot.setOffset(record, getOffsetX(), getOffsetY());
+		snapshot.setVelocity(record, getVelocityX(), getVelocityY());
+		snapshot.setHealth(record, getHealth());
+		snapshot.setDestroyed(record, isDestroyed());
+	}
+
+	/**
+	 * Puts the actor back into the state saved in a record of a snapshot. The velocity is left
+	 * to the subclasses, which fix it when the actor is created. The layout position is only
+	 * written if it differs, since it never changes for an actor already in the scene.
+	 *
+	 * @param snapshot the snapshot being restored.
+	 * @param record   the actor's record.
+	 */
+	public void restoreState(StateSnapshot snapshot, int record) {
+		if (getLayoutX() != snapshot.getLayoutX(record)) {
+			setLayoutX(snapshot.getLayoutX(record));
+		}
+		if (getLayoutY() != snapshot.getLayoutY(record)) {
+			setLayoutY(snapshot.getLayoutY(record));
+		}
+		setOffsetX(snapshot.getOffsetX(record));
+		setOffsetY(snapshot.getOffsetY(record));
+		setDestroyed(snapshot.isDestroyed(record));
+		updateHitbox();
+	}
+
 	/**
 	 * Marks this actor as destroyed and sets its destroyed state.
 	 * This method is inherited from the {@link Destructible} interface.
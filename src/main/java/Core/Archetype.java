@@ -0,0 +1,120 @@
+package Core;
+
+/**
+ * The kinds of entity in the game, each described by the components it is made of and the
+ * side it collides for. The actor classes name their archetype through
+ * {@link ActiveActorDestructible#getArchetype()}, so the {@link World} can lay out an entity
+ * without asking what class its actor is.
+ */
+public enum Archetype {
+
+	/**
+	 * The player's plane, driven by input and firing through its weapon.
+	 */
+	USER_PLANE(Role.FRIENDLY_PLANE, Component.POSITION, Component.HITBOX, Component.HEALTH, Component.WEAPON, Component.SPRITE),
+
+	/**
+	 * A regular enemy plane, driven by its own movement pattern.
+	 */
+	ENEMY_PLANE(Role.ENEMY_PLANE, Component.POSITION, Component.HITBOX, Component.HEALTH, Component.SPRITE),
+
+	/**
+	 * A boss, driven by its own movement pattern and shield.
+	 */
+	BOSS(Role.ENEMY_PLANE, Component.POSITION, Component.HITBOX, Component.HEALTH, Component.SPRITE),
+
+	/**
+	 * The boss's mutation, with a movement pattern and volleys of its own.
+	 */
+	MUTATION_BOSS(Role.ENEMY_PLANE, Component.POSITION, Component.HITBOX, Component.HEALTH, Component.SPRITE),
+
+	/**
+	 * A shot fired by the player, flying at a fixed velocity.
+	 */
+	USER_PROJECTILE(Role.FRIENDLY_SHOT, Component.POSITION, Component.VELOCITY, Component.HITBOX, Component.HEALTH, Component.SPRITE),
+
+	/**
+	 * A shot fired by an enemy plane, flying at a fixed velocity.
+	 */
+	ENEMY_PROJECTILE(Role.ENEMY_SHOT, Component.POSITION, Component.VELOCITY, Component.HITBOX, Component.HEALTH, Component.SPRITE),
+
+	/**
+	 * A fireball fired by a boss, flying straight or at an angle.
+	 */
+	BOSS_PROJECTILE(Role.ENEMY_SHOT, Component.POSITION, Component.VELOCITY, Component.HITBOX, Component.HEALTH, Component.SPRITE);
+
+	/**
+	 * The sides entities collide for. The {@link CollisionSystem} checks one role against another.
+	 */
+	public enum Role {
+
+		/**
+		 * The player's plane.
+		 */
+		FRIENDLY_PLANE,
+
+		/**
+		 * Enemy planes and bosses.
+		 */
+		ENEMY_PLANE,
+
+		/**
+		 * Shots fired by the player.
+		 */
+		FRIENDLY_SHOT,
+
+		/**
+		 * Shots fired by enemies.
+		 */
+		ENEMY_SHOT
+	}
+
+	/**
+	 * The side the entity collides for.
+	 */
+	private final Role role;
+
+	/**
+	 * The components the entity is made of.
+	 */
+	private final int mask;
+
+	/**
+	 * Creates an archetype.
+	 *
+	 * @param role       the side the entity collides for.
+	 * @param components the components the entity is made of.
+	 */
+	Archetype(Role role, Component... components) {
+		this.role = role;
+		this.mask = Component.mask(components);
+	}
+
+	/**
+	 * Gets the side entities of this archetype collide for.
+	 *
+	 * @return the role.
+	 */
+	public Role getRole() {
+		return role;
+	}
+
+	/**
+	 * Gets the components entities of this archetype are made of.
+	 *
+	 * @return the component mask.
+	 */
+	public int getMask() {
+		return mask;
+	}
+
+	/**
+	 * Checks whether entities of this archetype carry a component.
+	 *
+	 * @param component the component.
+	 * @return {@code true} if the component is part of the archetype.
+	 */
+	public boolean has(Component component) {
+		return (mask & component.bit()) != 0;
+	}
+}
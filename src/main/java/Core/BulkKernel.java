@@ -0,0 +1,51 @@
+package Core;
+
+/**
+ * The inner loops of the entity systems, run over whole columns of the {@link World} at once.
+ * <p>
+ * The scalar kernel is always available. The vector kernel processes several entities per
+ * instruction through the incubating Vector API and is used when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}; {@link BulkKernels#get()} picks one. Both give
+ * the same results.
+ * </p>
+ */
+public interface BulkKernel {
+
+	/**
+	 * Adds one array to another, element by element: {@code values[i] += deltas[i]}.
+	 *
+	 * @param values the array to update.
+	 * @param deltas the amounts to add.
+	 * @param count  the number of elements, from the start of both arrays.
+	 */
+	void add(double[] values, double[] deltas, int count);
+
+	/**
+	 * Adds one array of fixed-point values to another, element by element:
+	 * {@code values[i] += deltas[i]}. Integer addition gives the same bits in any order.
+	 *
+	 * @param values the array to update.
+	 * @param deltas the amounts to add.
+	 * @param count  the number of elements, from the start of both arrays.
+	 */
+	void add(int[] values, int[] deltas, int count);
+
+	/**
+	 * Tests one box against many and lists the boxes that overlap it. Boxes touching at an edge
+	 * overlap.
+	 *
+	 * @param minX    the left edge of the box.
+	 * @param minY    the top edge of the box.
+	 * @param maxX    the right edge of the box.
+	 * @param maxY    the bottom edge of the box.
+	 * @param boxMinX the left edges of the other boxes.
+	 * @param boxMinY the top edges of the other boxes.
+	 * @param boxMaxX the right edges of the other boxes.
+	 * @param boxMaxY the bottom edges of the other boxes.
+	 * @param count   the number of other boxes.
+	 * @param hits    receives the indices of the overlapping boxes, in ascending order; must hold {@code count} indices.
+	 * @return the number of overlapping boxes.
+	 */
+	int overlaps(double minX, double minY, double maxX, double maxY,
+				 double[] boxMinX, double[] boxMinY, double[] boxMaxX, double[] boxMaxY, int count, int[] hits);
+}
@@ -0,0 +1,88 @@
+package Core;
+
+/**
+ * Chooses the {@link BulkKernel} the entity systems run on.
+ * <p>
+ * The vector kernel is chosen when the {@code jdk.incubator.vector} module is in the boot
+ * layer, which takes {@code --add-modules jdk.incubator.vector} on the command line, and it
+ * has not been switched off with {@code -Dsimd.enabled=false}. Otherwise, or if it fails to
+ * load, the scalar kernel is used. The choice is made once and logged.
+ * </p>
+ */
+public final class BulkKernels {
+
+	/**
+	 * The name of the Vector API module.
+	 */
+	private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+	/**
+	 * The scalar kernel, shared since it has no state.
+	 */
+	private static final BulkKernel SCALAR = new ScalarBulkKernel();
+
+	/**
+	 * The vector kernel, or {@code null} if it is unavailable. Looked up on first use.
+	 */
+	private static BulkKernel vector;
+
+	/**
+	 * Whether the vector kernel has been looked up.
+	 */
+	private static boolean vectorChecked;
+
+	/**
+	 * The kernel the systems use, or {@code null} until chosen.
+	 */
+	private static BulkKernel preferred;
+
+	/**
+	 * Prevents instantiation of this utility class.
+	 */
+	private BulkKernels() {
+	}
+
+	/**
+	 * Gets the kernel the entity systems should use.
+	 *
+	 * @return the vector kernel if it is available and enabled, otherwise the scalar kernel.
+	 */
+	public static synchronized BulkKernel get() {
+		if (preferred == null) {
+			BulkKernel candidate = Boolean.parseBoolean(System.getProperty("simd.enabled", "true")) ? vector() : null;
+			preferred = candidate != null ? candidate : SCALAR;
+			System.out.println(candidate != null
+					? "Bulk kernel: vector, " + VectorBulkKernel.lanes() + " lanes"
+					: "Bulk kernel: scalar");
+		}
+		return preferred;
+	}
+
+	/**
+	 * Gets the scalar kernel.
+	 *
+	 * @return the scalar kernel.
+	 */
+	public static BulkKernel scalar() {
+		return SCALAR;
+	}
+
+	/**
+	 * Gets the vector kernel, whether or not it is enabled.
+	 *
+	 * @return the vector kernel, or {@code null} if the Vector API module is not available.
+	 */
+	public static synchronized BulkKernel vector() {
+		if (!vectorChecked) {
+			vectorChecked = true;
+			if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+				try {
+					vector = new VectorBulkKernel();
+				} catch (LinkageError e) {
+					System.err.println("Vector kernel unavailable: " + e);
+				}
+			}
+		}
+		return vector;
+	}
+}
@@ -0,0 +1,570 @@
+package Core;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Finds the entities of a {@link World} whose hitboxes overlap and damages both sides.
+ * <p>
+ * The entities of the first {@link Archetype.Role role} being checked, usually the many shots,
+ * are gathered first, skipping entities with no health left, and their hitboxes are packed
+ * into edge arrays. Each entity of the second role is then tested against all of them at once
+ * by a {@link BulkKernel}, instead of asking the scene graph for the bounds of two nodes per
+ * pair. Hitboxes touching at an edge count as overlapping, as they do for JavaFX bounds. A hit
+ * calls {@link ActiveActorDestructible#takeDamage()} on both actors, so shields, sounds and
+ * kills work as before.
+ * </p>
+ * <p>
+ * When a check involves at least a threshold of entities, {@code -Dcollisions.parallelThreshold}
+ * or {@value #DEFAULT_PARALLEL_THRESHOLD} by default, contact detection runs in parallel. A
+ * broad phase sorts both roles into vertical strips of the screen, and ranges of strips are
+ * searched as {@link ForkJoinPool} tasks, each writing the contacts of a strip into that
+ * strip's buffer, which belongs to the system and is reused by every later search. A pair
+ * overlapping in two strips is only reported by the strip holding the left edge of the
+ * overlap. The buffers are then merged and sorted into the order the serial search finds
+ * contacts in, and all damage is dealt on the calling thread, so the outcome does not depend
+ * on how the tasks were scheduled. Below the threshold the serial search is cheaper than
+ * forking and is used instead.
+ * </p>
+ */
+public final class CollisionSystem {
+
+	/**
+	 * The number of entities in a check from which contacts are searched in parallel, unless
+	 * set with {@code -Dcollisions.parallelThreshold}.
+	 */
+	private static final int DEFAULT_PARALLEL_THRESHOLD = 512;
+
+	/**
+	 * The width of a broad-phase strip, a little wider than the widest shot.
+	 */
+	private static final double STRIP_WIDTH = 128;
+
+	/**
+	 * The most strips the broad phase divides the entities into.
+	 */
+	private static final int MAX_STRIPS = 256;
+
+	/**
+	 * The number of strips a task searches without splitting further.
+	 */
+	private static final int STRIPS_PER_TASK = 2;
+
+	/**
+	 * The kernel running the overlap tests.
+	 */
+	private final BulkKernel kernel;
+
+	/**
+	 * The number of entities in a check from which contacts are searched in parallel.
+	 */
+	private final int parallelThreshold;
+
+	/**
+	 * The pool running the parallel search.
+	 */
+	private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+	/**
+	 * The contact buffer of each strip, created when a search first uses the strip. Each strip
+	 * is searched by one task, so no buffer is shared between threads during a search.
+	 */
+	private final ContactBuffer[] stripBuffers = new ContactBuffer[MAX_STRIPS];
+
+	/**
+	 * The merged contacts of the last parallel search, reused between calls.
+	 */
+	private long[] contacts = new long[64];
+
+	/**
+	 * The hitbox edges of the second role, packed for the parallel search.
+	 */
+	private double[] secondMinX = new double[64];
+
+	/**
+	 * The top hitbox edges of the second role, packed for the parallel search.
+	 */
+	private double[] secondMinY = new double[64];
+
+	/**
+	 * The right hitbox edges of the second role, packed for the parallel search.
+	 */
+	private double[] secondMaxX = new double[64];
+
+	/**
+	 * The bottom hitbox edges of the second role, packed for the parallel search.
+	 */
+	private double[] secondMaxY = new double[64];
+
+	/**
+	 * The broad phase of the first role: for each strip, where its entities start in {@link #firstCells}.
+	 */
+	private int[] firstStarts = new int[MAX_STRIPS + 1];
+
+	/**
+	 * The broad phase of the first role: indices into the first role, grouped by strip.
+	 */
+	private int[] firstCells = new int[64];
+
+	/**
+	 * The broad phase of the second role: for each strip, where its entities start in {@link #secondCells}.
+	 */
+	private int[] secondStarts = new int[MAX_STRIPS + 1];
+
+	/**
+	 * The broad phase of the second role: indices into the second role, grouped by strip.
+	 */
+	private int[] secondCells = new int[64];
+
+	/**
+	 * The left edge of the first strip in the current parallel search.
+	 */
+	private double stripOrigin;
+
+	/**
+	 * The width of the strips in the current parallel search.
+	 */
+	private double stripWidth;
+
+	/**
+	 * The number of strips in the current parallel search.
+	 */
+	private int stripCount;
+
+	/**
+	 * The number of checks searched in parallel so far.
+	 */
+	private long parallelChecks;
+
+	/**
+	 * Whether the last check was searched in parallel, to log when the mode changes.
+	 */
+	private boolean lastParallel;
+
+	/**
+	 * The rows of the first role, reused between calls.
+	 */
+	private int[] first = new int[64];
+
+	/**
+	 * The left hitbox edges of the first role, reused between calls.
+	 */
+	private double[] minX = new double[64];
+
+	/**
+	 * The top hitbox edges of the first role, reused between calls.
+	 */
+	private double[] minY = new double[64];
+
+	/**
+	 * The right hitbox edges of the first role, reused between calls.
+	 */
+	private double[] maxX = new double[64];
+
+	/**
+	 * The bottom hitbox edges of the first role, reused between calls.
+	 */
+	private double[] maxY = new double[64];
+
+	/**
+	 * The indices, into the first role, of the boxes hit by one entity of the second.
+	 */
+	private int[] hitIndices = new int[64];
+
+	/**
+	 * The rows of the second role, reused between calls.
+	 */
+	private int[] second = new int[64];
+
+	/**
+	 * The number of rows the last call to {@link #gather(World, Archetype.Role, int[])} found.
+	 */
+	private int gathered;
+
+	/**
+	 * The number of hits found so far.
+	 */
+	private long hits;
+
+	/**
+	 * Creates a collision system on the kernel chosen by {@link BulkKernels#get()}.
+	 */
+	public CollisionSystem() {
+		this(BulkKernels.get());
+	}
+
+	/**
+	 * Creates a collision system on a given kernel.
+	 *
+	 * @param kernel the kernel running the overlap tests.
+	 */
+	public CollisionSystem(BulkKernel kernel) {
+		this(kernel, Integer.getInteger("collisions.parallelThreshold", DEFAULT_PARALLEL_THRESHOLD));
+	}
+
+	/**
+	 * Creates a collision system on a given kernel with a given parallel threshold.
+	 *
+	 * @param kernel            the kernel running the serial overlap tests.
+	 * @param parallelThreshold the number of entities in a check from which contacts are
+	 *                          searched in parallel; {@link Integer#MAX_VALUE} never does.
+	 */
+	public CollisionSystem(BulkKernel kernel, int parallelThreshold) {
+		this.kernel = kernel;
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Checks every entity of one role against every entity of another.
+	 *
+	 * @param world the world.
+	 * @param roleA the first role.
+	 * @param roleB the second role.
+	 * @return the number of hits found.
+	 */
+	public int collide(World world, Archetype.Role roleA, Archetype.Role roleB) {
+		first = gather(world, roleA, first);
+		int firstCount = gathered;
+		second = gather(world, roleB, second);
+		int secondCount = gathered;
+		if (firstCount == 0 || secondCount == 0) {
+			return 0;
+		}
+		pack(world, firstCount);
+		boolean parallel = firstCount + secondCount >= parallelThreshold;
+		if (parallel != lastParallel) {
+			lastParallel = parallel;
+			System.out.println("Collision detection: " + (parallel ? "parallel" : "serial") + " at "
+					+ (firstCount + secondCount) + " entities (threshold " + parallelThreshold + ")");
+		}
+		if (parallel) {
+			return collideParallel(world, firstCount, secondCount);
+		}
+
+		double[] x = world.x;
+		double[] y = world.y;
+		double[] hitboxX = world.hitboxX;
+		double[] hitboxY = world.hitboxY;
+		double[] hitboxWidth = world.hitboxWidth;
+		double[] hitboxHeight = world.hitboxHeight;
+		int found = 0;
+		for (int j = 0; j < secondCount; j++) {
+			int b = second[j];
+			double left = x[b] + hitboxX[b];
+			double top = y[b] + hitboxY[b];
+			int overlapping = kernel.overlaps(left, top, left + hitboxWidth[b], top + hitboxHeight[b],
+					minX, minY, maxX, maxY, firstCount, hitIndices);
+			for (int k = 0; k < overlapping; k++) {
+				hit(world, b);
+				hit(world, first[hitIndices[k]]);
+			}
+			found += overlapping;
+		}
+		hits += found;
+		return found;
+	}
+
+	/**
+	 * Gets the number of hits found since the system was created.
+	 *
+	 * @return the hit count.
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Gets the number of checks whose contacts were searched in parallel.
+	 *
+	 * @return the parallel check count.
+	 */
+	public long getParallelChecks() {
+		return parallelChecks;
+	}
+
+	/**
+	 * Searches the contacts between the gathered roles in parallel, then deals the damage in
+	 * the order the serial search would.
+	 *
+	 * @param world       the world.
+	 * @param firstCount  the number of gathered entities of the first role, already packed.
+	 * @param secondCount the number of gathered entities of the second role.
+	 * @return the number of hits found.
+	 */
+	private int collideParallel(World world, int firstCount, int secondCount) {
+		packSecond(world, secondCount);
+		double left = Double.MAX_VALUE;
+		double right = -Double.MAX_VALUE;
+		for (int i = 0; i < firstCount; i++) {
+			left = Math.min(left, minX[i]);
+			right = Math.max(right, maxX[i]);
+		}
+		for (int j = 0; j < secondCount; j++) {
+			left = Math.min(left, secondMinX[j]);
+			right = Math.max(right, secondMaxX[j]);
+		}
+		stripOrigin = left;
+		stripWidth = Math.max(STRIP_WIDTH, (right - left) / MAX_STRIPS);
+		stripCount = Math.min(MAX_STRIPS, (int) ((right - left) / stripWidth) + 1);
+		firstCells = bin(minX, maxX, firstCount, firstStarts, firstCells);
+		secondCells = bin(secondMinX, secondMaxX, secondCount, secondStarts, secondCells);
+		for (int strip = 0; strip < stripCount; strip++) {
+			if (stripBuffers[strip] == null) {
+				stripBuffers[strip] = new ContactBuffer();
+			}
+		}
+
+		pool.invoke(new StripSearch(0, stripCount));
+		int found = mergeContacts();
+		for (int k = 0; k < found; k++) {
+			hit(world, second[(int) (contacts[k] >>> 32)]);
+			hit(world, first[(int) contacts[k]]);
+		}
+		parallelChecks++;
+		hits += found;
+		return found;
+	}
+
+	/**
+	 * Sorts boxes into the strips their horizontal extent covers.
+	 *
+	 * @param boxMinX the left edges of the boxes.
+	 * @param boxMaxX the right edges of the boxes.
+	 * @param count   the number of boxes.
+	 * @param starts  receives, for each strip, where its boxes start in the returned array.
+	 * @param cells   the array to fill with box indices.
+	 * @return the filled array, grown if it was too small.
+	 */
+	private int[] bin(double[] boxMinX, double[] boxMaxX, int count, int[] starts, int[] cells) {
+		Arrays.fill(starts, 0, stripCount + 1, 0);
+		for (int i = 0; i < count; i++) {
+			for (int strip = stripOf(boxMinX[i]), last = stripOf(boxMaxX[i]); strip <= last; strip++) {
+				starts[strip + 1]++;
+			}
+		}
+		for (int strip = 0; strip < stripCount; strip++) {
+			starts[strip + 1] += starts[strip];
+		}
+		if (cells.length < starts[stripCount]) {
+			cells = new int[Math.max(starts[stripCount], cells.length * 2)];
+		}
+		// Fill each strip in ascending box order, shifting its start back into place as we go
+		for (int i = 0; i < count; i++) {
+			for (int strip = stripOf(boxMinX[i]), last = stripOf(boxMaxX[i]); strip <= last; strip++) {
+				cells[starts[strip]++] = i;
+			}
+		}
+		for (int strip = stripCount; strip > 0; strip--) {
+			starts[strip] = starts[strip - 1];
+		}
+		starts[0] = 0;
+		return cells;
+	}
+
+	/**
+	 * Finds the strip a horizontal position falls into.
+	 *
+	 * @param x the position.
+	 * @return the strip index, clamped to the strips of the current search.
+	 */
+	private int stripOf(double x) {
+		return Math.max(0, Math.min(stripCount - 1, (int) ((x - stripOrigin) / stripWidth)));
+	}
+
+	/**
+	 * Searches one strip for contacts and writes them into the strip's buffer.
+	 *
+	 * @param strip the strip.
+	 */
+	private void searchStrip(int strip) {
+		ContactBuffer buffer = stripBuffers[strip];
+		for (int b = secondStarts[strip]; b < secondStarts[strip + 1]; b++) {
+			int j = secondCells[b];
+			for (int a = firstStarts[strip]; a < firstStarts[strip + 1]; a++) {
+				int i = firstCells[a];
+				if (minX[i] <= secondMaxX[j] && maxX[i] >= secondMinX[j]
+						&& minY[i] <= secondMaxY[j] && maxY[i] >= secondMinY[j]
+						&& stripOf(Math.max(minX[i], secondMinX[j])) == strip) {
+					buffer.add(((long) j << 32) | i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Moves the contacts out of every strip's buffer and sorts them by second-role index, then
+	 * first-role index, the order the serial search finds them in.
+	 *
+	 * @return the number of contacts, now at the start of {@link #contacts}.
+	 */
+	private int mergeContacts() {
+		int total = 0;
+		for (int strip = 0; strip < stripCount; strip++) {
+			total += stripBuffers[strip].size;
+		}
+		if (contacts.length < total) {
+			contacts = new long[Math.max(total, contacts.length * 2)];
+		}
+		int offset = 0;
+		for (int strip = 0; strip < stripCount; strip++) {
+			ContactBuffer buffer = stripBuffers[strip];
+			System.arraycopy(buffer.contacts, 0, contacts, offset, buffer.size);
+			offset += buffer.size;
+			buffer.size = 0;
+		}
+		Arrays.sort(contacts, 0, total);
+		return total;
+	}
+
+	/**
+	 * Collects the rows of the entities of a role that still have health.
+	 *
+	 * @param world the world.
+	 * @param role  the role.
+	 * @param rows  the array to fill.
+	 * @return the filled array, grown if it was too small.
+	 */
+	private int[] gather(World world, Archetype.Role role, int[] rows) {
+		if (rows.length < world.size) {
+			rows = Arrays.copyOf(rows, Math.max(world.size, rows.length * 2));
+		}
+		int count = 0;
+		for (int row = 0; row < world.size; row++) {
+			if (world.archetypes[row].getRole() == role && world.health[row] > 0) {
+				rows[count++] = row;
+			}
+		}
+		gathered = count;
+		return rows;
+	}
+
+	/**
+	 * Writes the hitbox edges of the gathered first role into contiguous arrays.
+	 *
+	 * @param world the world.
+	 * @param count the number of gathered rows.
+	 */
+	private void pack(World world, int count) {
+		if (minX.length < count) {
+			int capacity = Math.max(count, minX.length * 2);
+			minX = new double[capacity];
+			minY = new double[capacity];
+			maxX = new double[capacity];
+			maxY = new double[capacity];
+			hitIndices = new int[capacity];
+		}
+		for (int i = 0; i < count; i++) {
+			int row = first[i];
+			minX[i] = world.x[row] + world.hitboxX[row];
+			minY[i] = world.y[row] + world.hitboxY[row];
+			maxX[i] = minX[i] + world.hitboxWidth[row];
+			maxY[i] = minY[i] + world.hitboxHeight[row];
+		}
+	}
+
+	/**
+	 * Writes the hitbox edges of the gathered second role into contiguous arrays.
+	 *
+	 * @param world the world.
+	 * @param count the number of gathered rows.
+	 */
+	private void packSecond(World world, int count) {
+		if (secondMinX.length < count) {
+			int capacity = Math.max(count, secondMinX.length * 2);
+			secondMinX = new double[capacity];
+			secondMinY = new double[capacity];
+			secondMaxX = new double[capacity];
+			secondMaxY = new double[capacity];
+		}
+		for (int j = 0; j < count; j++) {
+			int row = second[j];
+			secondMinX[j] = world.x[row] + world.hitboxX[row];
+			secondMinY[j] = world.y[row] + world.hitboxY[row];
+			secondMaxX[j] = secondMinX[j] + world.hitboxWidth[row];
+			secondMaxY[j] = secondMinY[j] + world.hitboxHeight[row];
+		}
+	}
+
+	/**
+	 * Damages the actor of an entity and records the health it has left.
+	 *
+	 * @param world the world.
+	 * @param row   the row of the entity.
+	 */
+	private static void hit(World world, int row) {
+		ActiveActorDestructible sprite = world.sprites[row];
+		sprite.takeDamage();
+		world.health[row] = sprite.isDestroyed() ? 0 : sprite.getHealth();
+	}
+
+	/**
+	 * Searches a range of strips, splitting it between workers until it is small.
+	 */
+	private final class StripSearch extends RecursiveAction {
+
+		/**
+		 * The first strip of the range.
+		 */
+		private final int from;
+
+		/**
+		 * The strip after the last one of the range.
+		 */
+		private final int to;
+
+		/**
+		 * Creates a search over a range of strips.
+		 *
+		 * @param from the first strip.
+		 * @param to   the strip after the last one.
+		 */
+		StripSearch(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * Searches the range, or splits it in two and searches the halves in parallel.
+		 */
+		@Override
+		protected void compute() {
+			if (to - from <= STRIPS_PER_TASK) {
+				for (int strip = from; strip < to; strip++) {
+					searchStrip(strip);
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new StripSearch(from, middle), new StripSearch(middle, to));
+		}
+	}
+
+	/**
+	 * The contacts found in one strip, each packed as its second-role index above its first-role index.
+	 */
+	private static final class ContactBuffer {
+
+		/**
+		 * The packed contacts.
+		 */
+		private long[] contacts = new long[64];
+
+		/**
+		 * The number of contacts held.
+		 */
+		private int size;
+
+		/**
+		 * Appends a contact, growing the buffer if needed.
+		 *
+		 * @param contact the packed contact.
+		 */
+		void add(long contact) {
+			if (size == contacts.length) {
+				contacts = Arrays.copyOf(contacts, size * 2);
+			}
+			contacts[size++] = contact;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package Core;
+
+/**
+ * The kinds of data an entity of the {@link World} can carry. Each component is a column of
+ * the world's dense arrays; an entity's component mask says which of them hold its data.
+ */
+public enum Component {
+
+	/**
+	 * Where the entity is, in scene coordinates.
+	 */
+	POSITION,
+
+	/**
+	 * How far the entity moves on each tick. Entities with a velocity are moved by the
+	 * {@link MovementSystem}; entities without one are driven by their own actor.
+	 */
+	VELOCITY,
+
+	/**
+	 * The box the entity collides with, relative to its position.
+	 */
+	HITBOX,
+
+	/**
+	 * The hits the entity can take before it is destroyed.
+	 */
+	HEALTH,
+
+	/**
+	 * The {@link Weapon} deciding when the entity fires.
+	 */
+	WEAPON,
+
+	/**
+	 * The actor node drawing the entity on the scene.
+	 */
+	SPRITE;
+
+	/**
+	 * The bit of the component in a component mask.
+	 */
+	private final int bit = 1 << ordinal();
+
+	/**
+	 * Gets the bit of the component in a component mask.
+	 *
+	 * @return the bit.
+	 */
+	public int bit() {
+		return bit;
+	}
+
+	/**
+	 * Builds a component mask.
+	 *
+	 * @param components the components.
+	 * @return the mask with the bit of each component set.
+	 */
+	public static int mask(Component... components) {
+		int mask = 0;
+		for (Component component : components) {
+			mask |= component.bit;
+		}
+		return mask;
+	}
+}
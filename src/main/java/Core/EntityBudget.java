@@ -0,0 +1,233 @@
+package Core;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Caps the number of live entities in each category, so the worst-case memory and tick cost
+ * of a level are bounded and known in advance.
+ * <p>
+ * Every spawn asks the budget for room first. When a category is full, its {@link Policy}
+ * decides: either the new entity is rejected, or the entity with the lowest
+ * {@link ActiveActorDestructible#getEvictionPriority() eviction priority} makes room for it,
+ * the oldest one among equals. Limits default to the values below and can be changed with a
+ * system property per category, for example {@code -Dbudget.enemyShots=80}. Rejections and
+ * evictions are counted and logged now and then. The budget is used from the simulation
+ * thread only.
+ * </p>
+ */
+public final class EntityBudget {
+
+	/**
+	 * What happens to a spawn when its category is full.
+	 */
+	public enum Policy {
+
+		/**
+		 * The new entity is not spawned.
+		 */
+		REJECT,
+
+		/**
+		 * The lowest-priority, oldest live entity is removed to make room.
+		 */
+		EVICT_OLDEST
+	}
+
+	/**
+	 * The categories of entities with a budget.
+	 */
+	public enum Category {
+
+		/**
+		 * Projectiles fired by the player. Rejected when full, so holding fire cannot flood the screen.
+		 */
+		PLAYER_SHOTS("playerShots", 16, Policy.REJECT),
+
+		/**
+		 * Projectiles fired by enemies. New shots replace old ones, so enemies never fall silent.
+		 */
+		ENEMY_SHOTS("enemyShots", 60, Policy.EVICT_OLDEST),
+
+		/**
+		 * Enemy planes and bosses. Rejected when full, since removing a live enemy would count as a kill.
+		 */
+		ENEMIES("enemies", 12, Policy.REJECT),
+
+		/**
+		 * Hearts and other pickups.
+		 */
+		PICKUPS("pickups", 3, Policy.REJECT);
+
+		/**
+		 * The name used in the system property and in log messages.
+		 */
+		private final String key;
+
+		/**
+		 * The limit used when no system property overrides it.
+		 */
+		private final int defaultLimit;
+
+		/**
+		 * What happens to a spawn when the category is full.
+		 */
+		private final Policy policy;
+
+		/**
+		 * Creates a category.
+		 *
+		 * @param key          the name used in the system property and in log messages.
+		 * @param defaultLimit the limit used when no system property overrides it.
+		 * @param policy       what happens to a spawn when the category is full.
+		 */
+		Category(String key, int defaultLimit, Policy policy) {
+			this.key = key;
+			this.defaultLimit = defaultLimit;
+			this.policy = policy;
+		}
+
+		/**
+		 * Gets the policy applied when the category is full.
+		 *
+		 * @return the policy.
+		 */
+		public Policy getPolicy() {
+			return policy;
+		}
+	}
+
+	/**
+	 * How many rejections or evictions in a category pass between two log messages.
+	 */
+	private static final int LOG_INTERVAL = 100;
+
+	/**
+	 * The limit of each category.
+	 */
+	private final int[] limits = new int[Category.values().length];
+
+	/**
+	 * The number of spawns rejected in each category.
+	 */
+	private final long[] rejected = new long[Category.values().length];
+
+	/**
+	 * The number of entities evicted in each category.
+	 */
+	private final long[] evicted = new long[Category.values().length];
+
+	/**
+	 * Creates a budget with the limits from the system properties, or their defaults.
+	 *
+	 * @throws IllegalArgumentException if a configured limit is not a positive number.
+	 */
+	public EntityBudget() {
+		StringBuilder summary = new StringBuilder("Entity budgets:");
+		for (Category category : Category.values()) {
+			int limit = Integer.getInteger("budget." + category.key, category.defaultLimit);
+			if (limit < 1) {
+				throw new IllegalArgumentException("Entity budget " + category.key + " must be at least 1");
+			}
+			limits[category.ordinal()] = limit;
+			summary.append(' ').append(category.key).append('=').append(limit);
+		}
+		System.out.println(summary);
+	}
+
+	/**
+	 * Asks for room for a new entity in a category whose live entities are held in a list, oldest first.
+	 * <p>
+	 * Under an {@link Policy#EVICT_OLDEST} policy a full category always admits the spawn: the
+	 * evicted entity is destroyed, removed from the list and handed to {@code onEvict} so the
+	 * caller can take it off the scene.
+	 * </p>
+	 *
+	 * @param category the category of the new entity.
+	 * @param live     the live entities of the category, oldest first.
+	 * @param onEvict  receives an entity evicted to make room.
+	 * @param <T>      the type of entity.
+	 * @return {@code true} if the new entity may be spawned.
+	 */
+	public <T extends ActiveActorDestructible> boolean admit(Category category, List<T> live, Consumer<? super T> onEvict) {
+		if (live.size() < limits[category.ordinal()]) {
+			return true;
+		}
+		if (category.policy == Policy.REJECT || live.isEmpty()) {
+			return reject(category);
+		}
+		T victim = live.get(0);
+		for (T entity : live) {
+			if (entity.getEvictionPriority() < victim.getEvictionPriority()) {
+				victim = entity;
+			}
+		}
+		victim.destroy();
+		live.remove(victim);
+		onEvict.accept(victim);
+		if (evicted[category.ordinal()]++ % LOG_INTERVAL == 0) {
+			System.out.println("Entity budget: " + category.key + " full at " + limits[category.ordinal()]
+					+ ", evicted " + evicted[category.ordinal()] + " so far");
+		}
+		return true;
+	}
+
+	/**
+	 * Asks for room for a new entity in a category that always rejects when full.
+	 *
+	 * @param category  the category of the new entity.
+	 * @param liveCount the number of live entities in the category.
+	 * @return {@code true} if the new entity may be spawned.
+	 * @throws IllegalArgumentException if the category evicts instead of rejecting.
+	 */
+	public boolean admit(Category category, int liveCount) {
+		if (category.policy != Policy.REJECT) {
+			throw new IllegalArgumentException("Category " + category.key + " evicts and needs its live entities");
+		}
+		return liveCount < limits[category.ordinal()] || reject(category);
+	}
+
+	/**
+	 * Gets the limit of a category.
+	 *
+	 * @param category the category.
+	 * @return the maximum number of live entities.
+	 */
+	public int getLimit(Category category) {
+		return limits[category.ordinal()];
+	}
+
+	/**
+	 * Gets the number of spawns rejected in a category.
+	 *
+	 * @param category the category.
+	 * @return the rejection count.
+	 */
+	public long getRejected(Category category) {
+		return rejected[category.ordinal()];
+	}
+
+	/**
+	 * Gets the number of entities evicted in a category.
+	 *
+	 * @param category the category.
+	 * @return the eviction count.
+	 */
+	public long getEvicted(Category category) {
+		return evicted[category.ordinal()];
+	}
+
+	/**
+	 * Counts and occasionally logs a rejected spawn.
+	 *
+	 * @param category the category of the rejected entity.
+	 * @return {@code false}, for the caller to return.
+	 */
+	private boolean reject(Category category) {
+		if (rejected[category.ordinal()]++ % LOG_INTERVAL == 0) {
+			System.out.println("Entity budget: " + category.key + " full at " + limits[category.ordinal()]
+					+ ", rejected " + rejected[category.ordinal()] + " spawns so far");
+		}
+		return false;
+	}
+}
@@ -2,6 +2,10 @@ package Core;
 
 import sounds.MusicPlayer;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * Abstract class representing a FighterPlane. FighterPlane is a destructible active actor
  * that can take damage, fire projectiles, and manage its health.
@@ -14,6 +18,10 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 	 */
 	private int health; // The health of the fighter plane.
 
+	/**
+	 * The timers the plane has scheduled on the level's timer wheel, kept so they can be cancelled.
+	 */
+	private final List<TimerWheel.Timer> scheduledTimers = new ArrayList<>();
 
 	/**
 	 * Constructs a FighterPlane with the specified image, size, position, and initial health.
@@ -36,6 +44,40 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 	 */
 	public abstract ActiveActorDestructible fireProjectile();
 
+	/**
+	 * Registers the plane's timed behavior, such as firing, with the level's timer wheel.
+	 * A plane scheduled this way is woken only when one of its events is due, instead of being
+	 * polled through {@link #fireProjectile()} every tick. Planes without timed behavior do nothing.
+	 *
+	 * @param timers the level's timer wheel.
+	 * @param fired  receives the projectiles the plane fires.
+	 */
+	public void scheduleTimers(TimerWheel timers, Consumer<ActiveActorDestructible> fired) {
+	}
+
+	/**
+	 * Remembers a timer scheduled by {@link #scheduleTimers(TimerWheel, Consumer)}, so that
+	 * {@link #cancelTimers()} can stop it.
+	 *
+	 * @param timer the timer.
+	 * @return the same timer.
+	 */
+	protected TimerWheel.Timer track(TimerWheel.Timer timer) {
+		scheduledTimers.add(timer);
+		return timer;
+	}
+
+	/**
+	 * Cancels every timer the plane has scheduled, so it can be scheduled afresh, for example
+	 * after the level is restored from a snapshot.
+	 */
+	public void cancelTimers() {
+		for (TimerWheel.Timer timer : scheduledTimers) {
+			timer.cancel();
+		}
+		scheduledTimers.clear();
+	}
+
 	/**
 	 * Reduces the health of the FighterPlane by 1. If health reaches zero, the plane is destroyed
 	 * and an explosion sound effect is played.
@@ -59,7 +101,7 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 	 * @return the calculated x-coordinate for the projectile.
 	 */
 	protected double getProjectileXPosition(double xPositionOffset) {
-		return getLayoutX() + getTranslateX() + xPositionOffset;
+		return getPositionX() + xPositionOffset;
 	}
 
 	/**
@@ -69,7 +111,7 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 	 * @return the calculated y-coordinate for the projectile.
 	 */
 	protected double getProjectileYPosition(double yPositionOffset) {
-		return getLayoutY() + getTranslateY() + yPositionOffset;
+		return getPositionY() + yPositionOffset;
 	}
 
 	/**
@@ -86,6 +128,7 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 	 *
 	 * @return the current health.
 	 */
+	@Override
 	public int getHealth() {
 		return health;
 	}
@@ -99,6 +142,18 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 		System.out.println("Updated FighterPlane actor.");
 	}
 
+	/**
+	 * Puts the plane back into the state saved in a snapshot, including its health.
+	 *
+	 * @param snapshot the snapshot being restored.
+	 * @param record   the plane's record.
+	 */
+	@Override
+	public void restoreState(StateSnapshot snapshot, int record) {
+		super.restoreState(snapshot, record);
+		health = snapshot.getHealth(record);
+	}
+
 	/**
 	 * Sets the health of the FighterPlane to a specific value.
 	 *
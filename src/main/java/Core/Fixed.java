@@ -0,0 +1,123 @@
+package Core;
+
+/**
+ * 16.16 fixed-point numbers, and the switch for the deterministic physics mode that uses them.
+ * <p>
+ * A fixed-point value is an {@code int} counting 1/65536ths of a pixel, so positions reach
+ * ±32768 pixels to a precision far below what can be seen. With the mode on, actors keep their
+ * offsets and the {@link World} its positions and velocities as fixed-point values, and every
+ * movement is an integer addition, so a run comes out bit for bit the same on every machine and
+ * JVM, whatever order the kernels add in. Values still leave the simulation as {@code double}s
+ * for JavaFX, which holds every fixed-point value exactly.
+ * </p>
+ * <p>
+ * The mode is off unless the game is started with {@code -Dphysics.fixed=true}, and is chosen
+ * once, before any level is built; actors made before a switch keep moving as they started.
+ * </p>
+ */
+public final class Fixed {
+
+	/**
+	 * The number of bits after the binary point.
+	 */
+	public static final int FRACTION_BITS = 16;
+
+	/**
+	 * The fixed-point value of one pixel.
+	 */
+	public static final int ONE = 1 << FRACTION_BITS;
+
+	/**
+	 * Whether the simulation runs on fixed-point values.
+	 */
+	private static volatile boolean enabled = Boolean.getBoolean("physics.fixed");
+
+	/**
+	 * Prevents instantiation.
+	 */
+	private Fixed() {
+	}
+
+	/**
+	 * Checks whether the simulation runs on fixed-point values.
+	 *
+	 * @return {@code true} in the deterministic physics mode.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turns the deterministic physics mode on or off, for the levels built from then on.
+	 *
+	 * @param enabled {@code true} to run on fixed-point values.
+	 */
+	public static void setEnabled(boolean enabled) {
+		Fixed.enabled = enabled;
+	}
+
+	/**
+	 * Converts a whole number of pixels.
+	 *
+	 * @param pixels the pixels.
+	 * @return the fixed-point value.
+	 */
+	public static int fromInt(int pixels) {
+		return pixels << FRACTION_BITS;
+	}
+
+	/**
+	 * Converts a number of pixels, rounding to the nearest 1/65536th, halves away from zero.
+	 *
+	 * @param pixels the pixels.
+	 * @return the fixed-point value.
+	 * @throws ArithmeticException if the value is outside the fixed-point range.
+	 */
+	public static int fromDouble(double pixels) {
+		double scaled = pixels * ONE;
+		return Math.toIntExact(scaled < 0 ? -Math.round(-scaled) : Math.round(scaled));
+	}
+
+	/**
+	 * Converts a fixed-point value to pixels, exactly.
+	 *
+	 * @param value the fixed-point value.
+	 * @return the pixels.
+	 */
+	public static double toDouble(int value) {
+		return value * (1.0 / ONE);
+	}
+
+	/**
+	 * Rounds a number of pixels to the nearest fixed-point value.
+	 *
+	 * @param pixels the pixels.
+	 * @return the nearest value a fixed-point number holds.
+	 */
+	public static double quantize(double pixels) {
+		return toDouble(fromDouble(pixels));
+	}
+
+	/**
+	 * Multiplies two fixed-point values, rounding towards negative infinity.
+	 *
+	 * @param a one value.
+	 * @param b the other value.
+	 * @return the product.
+	 */
+	public static int multiply(int a, int b) {
+		return (int) (((long) a * b) >> FRACTION_BITS);
+	}
+
+	/**
+	 * Divides one fixed-point value by another, rounding towards zero.
+	 *
+	 * @param a the dividend.
+	 * @param b the divisor.
+	 * @return the quotient.
+	 * @throws ArithmeticException if the divisor is zero.
+	 */
+	public static int divide(int a, int b) {
+		return (int) (((long) a << FRACTION_BITS) / b);
+	}
+}
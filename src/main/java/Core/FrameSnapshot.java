@@ -0,0 +1,184 @@
+package Core;
+
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+
+import java.util.Arrays;
+
+/**
+ * The visual state of one simulation tick, handed from the simulation thread to the
+ * JavaFX thread through a {@link TripleBuffer}.
+ * <p>
+ * The simulation fills a snapshot with the position and visibility of every moving node and
+ * the values shown by the HUD. The JavaFX thread then copies those values onto the nodes in
+ * {@link #apply(SceneSync)}, which skips every value the node already has. Snapshots are
+ * pooled: the arrays only grow and are reused from tick to tick, so recording a frame allocates
+ * nothing once the arrays are large enough.
+ * </p>
+ */
+public final class FrameSnapshot {
+
+	/**
+	 * Initial capacity of the entry arrays.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * The nodes to update.
+	 */
+	private Node[] nodes = new Node[INITIAL_CAPACITY];
+
+	/**
+	 * The horizontal translation of each node.
+	 */
+	private double[] translateX = new double[INITIAL_CAPACITY];
+
+	/**
+	 * The vertical translation of each node.
+	 */
+	private double[] translateY = new double[INITIAL_CAPACITY];
+
+	/**
+	 * The visibility of each node.
+	 */
+	private boolean[] visible = new boolean[INITIAL_CAPACITY];
+
+	/**
+	 * The width of each rectangle node, or {@code NaN} to leave the width unchanged.
+	 */
+	private double[] width = new double[INITIAL_CAPACITY];
+
+	/**
+	 * The number of entries recorded.
+	 */
+	private int count;
+
+	/**
+	 * The simulation tick this snapshot was recorded at.
+	 */
+	private long tick = -1;
+
+	/**
+	 * The player's health at this tick.
+	 */
+	private int health;
+
+	/**
+	 * The player's kill count at this tick.
+	 */
+	private int kills;
+
+	/**
+	 * Empties the snapshot so it can record a new tick.
+	 *
+	 * @param tick the tick about to be recorded.
+	 */
+	public void clear(long tick) {
+		Arrays.fill(nodes, 0, count, null); // Do not keep removed nodes alive
+		this.count = 0;
+		this.tick = tick;
+	}
+
+	/**
+	 * Records the translation of a visible node.
+	 *
+	 * @param node the node to update.
+	 * @param x    the horizontal translation.
+	 * @param y    the vertical translation.
+	 */
+	public void add(Node node, double x, double y) {
+		add(node, x, y, true, Double.NaN);
+	}
+
+	/**
+	 * Records the translation, visibility and, for rectangles, the width of a node.
+	 *
+	 * @param node      the node to update.
+	 * @param x         the horizontal translation.
+	 * @param y         the vertical translation.
+	 * @param isVisible whether the node is shown.
+	 * @param w         the width of a rectangle node, or {@code NaN} to leave it unchanged.
+	 */
+	public void add(Node node, double x, double y, boolean isVisible, double w) {
+		if (count == nodes.length) {
+			int capacity = count * 2;
+			nodes = Arrays.copyOf(nodes, capacity);
+			translateX = Arrays.copyOf(translateX, capacity);
+			translateY = Arrays.copyOf(translateY, capacity);
+			visible = Arrays.copyOf(visible, capacity);
+			width = Arrays.copyOf(width, capacity);
+		}
+		nodes[count] = node;
+		translateX[count] = x;
+		translateY[count] = y;
+		visible[count] = isVisible;
+		width[count] = w;
+		count++;
+	}
+
+	/**
+	 * Records the values shown by the HUD.
+	 *
+	 * @param health the player's health.
+	 * @param kills  the player's kill count.
+	 */
+	public void setHud(int health, int kills) {
+		this.health = health;
+		this.kills = kills;
+	}
+
+	/**
+	 * Copies the recorded state onto the nodes, writing only the properties that changed.
+	 * Must be called on the JavaFX thread.
+	 *
+	 * @param sync the synchronizer that writes and counts the property updates.
+	 */
+	public void apply(SceneSync sync) {
+		for (int i = 0; i < count; i++) {
+			Node node = nodes[i];
+			sync.setTranslateX(node, translateX[i]);
+			sync.setTranslateY(node, translateY[i]);
+			sync.setVisible(node, visible[i]);
+			if (!Double.isNaN(width[i]) && node instanceof Rectangle) {
+				sync.setWidth((Rectangle) node, width[i]);
+			}
+		}
+		sync.endFrame();
+	}
+
+	/**
+	 * Gets the tick this snapshot was recorded at.
+	 *
+	 * @return the tick number, or -1 if nothing has been recorded yet.
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * Gets the number of recorded entries.
+	 *
+	 * @return the entry count.
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Gets the player's health at this tick.
+	 *
+	 * @return the health.
+	 */
+	public int getHealth() {
+		return health;
+	}
+
+	/**
+	 * Gets the player's kill count at this tick.
+	 *
+	 * @return the kill count.
+	 */
+	public int getKills() {
+		return kills;
+	}
+}
@@ -0,0 +1,161 @@
+package Core;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The source of every random decision the game makes: when enemies fire and spawn, where they
+ * appear, and how bosses move and raise their shields.
+ * <p>
+ * The generator is a SplitMix64 sequence, whose whole state is one {@code long}, so the state
+ * can be hashed with the rest of the game and a run can be replayed from its seed. By default
+ * all threads share one generator, seeded with {@code -Dgame.seed} or else from the clock; the
+ * seed is printed at start-up so a run can be repeated. A thread simulating a level of its own,
+ * such as a headless batch run, binds a generator of its own with {@link #bind(GameRandom)}.
+ * </p>
+ */
+public final class GameRandom {
+
+	/**
+	 * The increment of the SplitMix64 sequence.
+	 */
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * The generator used by threads that have not bound their own.
+	 */
+	private static final GameRandom SHARED;
+
+	static {
+		long seed = Long.getLong("game.seed", System.nanoTime());
+		SHARED = new GameRandom(seed);
+		System.out.println("Random seed: " + seed);
+	}
+
+	/**
+	 * The generators bound to threads.
+	 */
+	private static final ThreadLocal<GameRandom> BOUND = new ThreadLocal<>();
+
+	/**
+	 * The state of the sequence.
+	 */
+	private final AtomicLong state;
+
+	/**
+	 * Creates a generator.
+	 *
+	 * @param seed the seed; generators with the same seed produce the same values.
+	 */
+	public GameRandom(long seed) {
+		this.state = new AtomicLong(seed);
+	}
+
+	/**
+	 * Gets the generator of the calling thread.
+	 *
+	 * @return the generator bound to the thread, or the shared one.
+	 */
+	public static GameRandom current() {
+		GameRandom bound = BOUND.get();
+		return bound != null ? bound : SHARED;
+	}
+
+	/**
+	 * Makes a generator the calling thread's own.
+	 *
+	 * @param random the generator, or {@code null} to go back to the shared one.
+	 */
+	public static void bind(GameRandom random) {
+		if (random == null) {
+			BOUND.remove();
+		} else {
+			BOUND.set(random);
+		}
+	}
+
+	/**
+	 * Draws a value from the calling thread's generator, in place of {@link Math#random()}.
+	 *
+	 * @return a value in [0, 1).
+	 */
+	public static double random() {
+		return current().nextDouble();
+	}
+
+	/**
+	 * Draws the next 64 random bits.
+	 *
+	 * @return the bits.
+	 */
+	public long nextLong() {
+		long z = state.addAndGet(GOLDEN_GAMMA);
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Draws a value uniformly from [0, 1).
+	 *
+	 * @return the value.
+	 */
+	public double nextDouble() {
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * Draws an integer uniformly from [0, bound).
+	 *
+	 * @param bound the upper bound, exclusive.
+	 * @return the value.
+	 * @throws IllegalArgumentException if the bound is not positive.
+	 */
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("Bound must be positive: " + bound);
+		}
+		return (int) ((nextLong() >>> 33) * bound >>> 31);
+	}
+
+	/**
+	 * Shuffles a list in place, every order being equally likely.
+	 *
+	 * @param list the list.
+	 */
+	public void shuffle(List<?> list) {
+		for (int i = list.size() - 1; i > 0; i--) {
+			swap(list, i, nextInt(i + 1));
+		}
+	}
+
+	/**
+	 * Gets the state of the sequence, which decides every value still to come.
+	 *
+	 * @return the state.
+	 */
+	public long getState() {
+		return state.get();
+	}
+
+	/**
+	 * Puts the sequence into a state, such as a seed or one read earlier with {@link #getState()}.
+	 *
+	 * @param state the state.
+	 */
+	public void setState(long state) {
+		this.state.set(state);
+	}
+
+	/**
+	 * Swaps two elements of a list.
+	 *
+	 * @param list the list.
+	 * @param i    the index of one element.
+	 * @param j    the index of the other.
+	 * @param <T>  the element type.
+	 */
+	private static <T> void swap(List<T> list, int i, int j) {
+		list.set(i, list.set(j, list.get(i)));
+	}
+}
@@ -0,0 +1,120 @@
+package Core;
+
+import javafx.scene.input.KeyCode;
+
+import java.util.Arrays;
+
+/**
+ * A scripted sequence of key presses and releases, each at a given tick, played into an
+ * {@link InputState} in place of the keyboard. Together with a fixed {@link GameRandom} seed a
+ * script replays a run exactly, so two runs can be compared tick by tick through a
+ * {@link StateTrace}. Scripts are built in tick order and played from the simulation thread.
+ */
+public final class InputScript {
+
+	/**
+	 * The tick of each event.
+	 */
+	private long[] ticks = new long[16];
+
+	/**
+	 * The key of each event.
+	 */
+	private KeyCode[] keys = new KeyCode[16];
+
+	/**
+	 * Whether each event presses its key, rather than releasing it.
+	 */
+	private boolean[] presses = new boolean[16];
+
+	/**
+	 * The number of events.
+	 */
+	private int size;
+
+	/**
+	 * The first event not played yet.
+	 */
+	private int next;
+
+	/**
+	 * Adds a key press.
+	 *
+	 * @param tick the tick the key goes down at, no earlier than the last event.
+	 * @param key  the key.
+	 * @return this script.
+	 * @throws IllegalArgumentException if the tick is before the last event.
+	 */
+	public InputScript press(long tick, KeyCode key) {
+		return add(tick, key, true);
+	}
+
+	/**
+	 * Adds a key release.
+	 *
+	 * @param tick the tick the key goes up at, no earlier than the last event.
+	 * @param key  the key.
+	 * @return this script.
+	 * @throws IllegalArgumentException if the tick is before the last event.
+	 */
+	public InputScript release(long tick, KeyCode key) {
+		return add(tick, key, false);
+	}
+
+	/**
+	 * Plays every event due by a tick that has not been played yet.
+	 *
+	 * @param tick  the tick about to be simulated.
+	 * @param input the input state to play the events into.
+	 */
+	public void play(long tick, InputState input) {
+		while (next < size && ticks[next] <= tick) {
+			if (presses[next]) {
+				input.press(keys[next]);
+			} else {
+				input.release(keys[next]);
+			}
+			next++;
+		}
+	}
+
+	/**
+	 * Starts playing the script from its first event again.
+	 */
+	public void restart() {
+		next = 0;
+	}
+
+	/**
+	 * Gets the number of events in the script.
+	 *
+	 * @return the event count.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Adds an event.
+	 *
+	 * @param tick  the tick of the event.
+	 * @param key   the key.
+	 * @param press whether the key goes down.
+	 * @return this script.
+	 */
+	private InputScript add(long tick, KeyCode key, boolean press) {
+		if (size > 0 && tick < ticks[size - 1]) {
+			throw new IllegalArgumentException("Event at tick " + tick + " added after tick " + ticks[size - 1]);
+		}
+		if (size == ticks.length) {
+			ticks = Arrays.copyOf(ticks, size * 2);
+			keys = Arrays.copyOf(keys, size * 2);
+			presses = Arrays.copyOf(presses, size * 2);
+		}
+		ticks[size] = tick;
+		keys[size] = key;
+		presses[size] = press;
+		size++;
+		return this;
+	}
+}
@@ -0,0 +1,173 @@
+package Core;
+
+import javafx.scene.input.KeyCode;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The state of the game's controls, written by key events and read once per simulation tick.
+ * <p>
+ * Key events only set and clear bits: a bit per {@link Action} for the keys held down, and a
+ * second bit per action latching that its key went down at all, so a tap shorter than a tick
+ * is still seen. The simulation calls {@link #sample()} at the start of every tick and reads
+ * that tick's state from it; what the game does no longer depends on how many events the
+ * operating system sends, such as the auto-repeat of a held key.
+ * </p>
+ * <p>
+ * Key events may come from any thread; {@link #sample()} and the getters are used from the
+ * simulation thread only.
+ * </p>
+ */
+public final class InputState {
+
+	/**
+	 * The controls of the game.
+	 */
+	public enum Action {
+
+		/**
+		 * Moves the plane up.
+		 */
+		UP,
+
+		/**
+		 * Moves the plane down.
+		 */
+		DOWN,
+
+		/**
+		 * Moves the plane left.
+		 */
+		LEFT,
+
+		/**
+		 * Moves the plane right.
+		 */
+		RIGHT,
+
+		/**
+		 * Pulls the trigger of the plane's weapon.
+		 */
+		FIRE;
+
+		/**
+		 * The bit of the action in the state masks.
+		 */
+		private final int bit = 1 << ordinal();
+
+		/**
+		 * Finds the action bound to a key.
+		 *
+		 * @param code the key.
+		 * @return the action, or {@code null} if the key is not bound.
+		 */
+		public static Action forKey(KeyCode code) {
+			switch (code) {
+				case UP:
+					return UP;
+				case DOWN:
+					return DOWN;
+				case LEFT:
+					return LEFT;
+				case RIGHT:
+					return RIGHT;
+				case SPACE:
+					return FIRE;
+				default:
+					return null;
+			}
+		}
+	}
+
+	/**
+	 * The actions whose keys are held down, one bit per action.
+	 */
+	private final AtomicInteger held = new AtomicInteger();
+
+	/**
+	 * The actions whose keys went down since the last sample, one bit per action.
+	 */
+	private final AtomicInteger pressed = new AtomicInteger();
+
+	/**
+	 * The actions held down at the last sample.
+	 */
+	private int current;
+
+	/**
+	 * The actions whose keys went down between the last two samples.
+	 */
+	private int started;
+
+	/**
+	 * Records a key going down. Repeated events for a key already held change nothing.
+	 *
+	 * @param code the key.
+	 * @return {@code true} if the key is bound to an action.
+	 */
+	public boolean press(KeyCode code) {
+		Action action = Action.forKey(code);
+		if (action == null) {
+			return false;
+		}
+		if ((held.getAndUpdate(bits -> bits | action.bit) & action.bit) == 0) {
+			pressed.getAndUpdate(bits -> bits | action.bit);
+		}
+		return true;
+	}
+
+	/**
+	 * Records a key going up.
+	 *
+	 * @param code the key.
+	 * @return {@code true} if the key is bound to an action.
+	 */
+	public boolean release(KeyCode code) {
+		Action action = Action.forKey(code);
+		if (action == null) {
+			return false;
+		}
+		held.getAndUpdate(bits -> bits & ~action.bit);
+		return true;
+	}
+
+	/**
+	 * Takes the state for a new tick. Until the next sample, the getters report the keys held
+	 * now and the keys that went down since the previous sample.
+	 */
+	public void sample() {
+		started = pressed.getAndSet(0);
+		current = held.get();
+	}
+
+	/**
+	 * Checks whether an action's key was held down at the last sample.
+	 *
+	 * @param action the action.
+	 * @return {@code true} if held.
+	 */
+	public boolean isHeld(Action action) {
+		return (current & action.bit) != 0;
+	}
+
+	/**
+	 * Checks whether an action's key went down before the last sample, even if it was released again since.
+	 *
+	 * @param action the action.
+	 * @return {@code true} if newly pressed in the sampled tick.
+	 */
+	public boolean wasPressed(Action action) {
+		return (started & action.bit) != 0;
+	}
+
+	/**
+	 * Gets the direction of movement along an axis from two opposing actions.
+	 *
+	 * @param negative the action moving towards smaller coordinates.
+	 * @param positive the action moving towards larger coordinates.
+	 * @return -1, 0 or 1; 0 when both or neither are held.
+	 */
+	public int axis(Action negative, Action positive) {
+		return (isHeld(positive) ? 1 : 0) - (isHeld(negative) ? 1 : 0);
+	}
+}
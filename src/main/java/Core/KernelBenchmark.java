@@ -0,0 +1,130 @@
+package Core;
+
+import java.util.Random;
+
+/**
+ * Compares the scalar and vector {@link BulkKernel}s at growing projectile counts.
+ * <p>
+ * For each count, both kernels integrate the positions of that many projectiles and test a
+ * handful of plane hitboxes against all of them, the work one tick of the
+ * {@link MovementSystem} and {@link CollisionSystem} does. Each measurement is warmed up
+ * first and the best of several rounds is printed, in nanoseconds per projectile, together
+ * with the speedup of the vector kernel. Run from the compiled classes with
+ * {@code java --add-modules jdk.incubator.vector -cp target/classes Core.KernelBenchmark};
+ * without the module only the scalar kernel is measured.
+ * </p>
+ */
+public final class KernelBenchmark {
+
+	/**
+	 * The projectile counts measured.
+	 */
+	private static final int[] COUNTS = {64, 256, 1024, 4096, 16384};
+
+	/**
+	 * The number of plane hitboxes tested against the projectiles on each tick.
+	 */
+	private static final int TARGETS = 8;
+
+	/**
+	 * The number of simulated ticks in one timed round.
+	 */
+	private static final int TICKS_PER_ROUND = 2000;
+
+	/**
+	 * The number of timed rounds, of which the fastest is reported.
+	 */
+	private static final int ROUNDS = 7;
+
+	/**
+	 * Keeps the results alive so the work cannot be optimised away.
+	 */
+	private static long sink;
+
+	/**
+	 * Prevents instantiation of this utility class.
+	 */
+	private KernelBenchmark() {
+	}
+
+	/**
+	 * Runs the benchmark and prints a table of results.
+	 *
+	 * @param args unused.
+	 */
+	public static void main(String[] args) {
+		BulkKernel vector = BulkKernels.vector();
+		// Let the JIT compile both kernels before anything is timed
+		measure(BulkKernels.scalar(), COUNTS[1]);
+		if (vector != null) {
+			measure(vector, COUNTS[1]);
+		}
+		System.out.println("Kernel benchmark (ns per projectile per tick, " + TARGETS + " targets):");
+		System.out.println(vector == null
+				? "  count     scalar   (vector kernel unavailable, run with --add-modules jdk.incubator.vector)"
+				: "  count     scalar     vector   speedup   (" + VectorBulkKernel.lanes() + " lanes)");
+		for (int count : COUNTS) {
+			double scalarNanos = measure(BulkKernels.scalar(), count);
+			if (vector == null) {
+				System.out.printf("%7d %10.3f%n", count, scalarNanos);
+			} else {
+				double vectorNanos = measure(vector, count);
+				System.out.printf("%7d %10.3f %10.3f %8.2fx%n", count, scalarNanos, vectorNanos, scalarNanos / vectorNanos);
+			}
+		}
+		System.out.println("(checksum " + sink + ")");
+	}
+
+	/**
+	 * Times one kernel at one projectile count.
+	 *
+	 * @param kernel the kernel.
+	 * @param count  the number of projectiles.
+	 * @return the best time, in nanoseconds per projectile per tick.
+	 */
+	private static double measure(BulkKernel kernel, int count) {
+		Random random = new Random(count);
+		double[] x = new double[count];
+		double[] y = new double[count];
+		double[] velocityX = new double[count];
+		double[] velocityY = new double[count];
+		for (int i = 0; i < count; i++) {
+			x[i] = random.nextDouble() * 1300;
+			y[i] = random.nextDouble() * 750;
+			velocityX[i] = random.nextBoolean() ? 15 : -10;
+			velocityY[i] = random.nextInt(3) == 0 ? random.nextDouble() * 10 - 5 : 0;
+		}
+		double[] maxX = new double[count];
+		double[] maxY = new double[count];
+		int[] hits = new int[count];
+
+		long best = Long.MAX_VALUE;
+		for (int round = -2; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			for (int tick = 0; tick < TICKS_PER_ROUND; tick++) {
+				kernel.add(x, velocityX, count);
+				kernel.add(y, velocityY, count);
+				for (int i = 0; i < count; i++) {
+					maxX[i] = x[i] + 37;
+					maxY[i] = y[i] + 25;
+				}
+				for (int target = 0; target < TARGETS; target++) {
+					double left = target * 150;
+					double top = (tick * 7 + target * 90) % 700;
+					sink += kernel.overlaps(left, top, left + 120, top + 75, x, y, maxX, maxY, count, hits);
+				}
+				if (tick % 64 == 63) {
+					for (int i = 0; i < count; i++) {
+						x[i] = Math.floorMod((long) x[i], 1300);
+						y[i] = Math.floorMod((long) y[i], 750);
+					}
+				}
+			}
+			long elapsed = System.nanoTime() - start;
+			if (round >= 0) {
+				best = Math.min(best, elapsed);
+			}
+		}
+		return (double) best / TICKS_PER_ROUND / count;
+	}
+}
@@ -0,0 +1,85 @@
+package Core;
+
+/**
+ * Moves every entity of a {@link World} by its velocity, then moves the actors of the entities
+ * that have one to match.
+ * <p>
+ * The integration is one pass over the position and velocity arrays with no branches, run by a
+ * {@link BulkKernel} that can add several velocities per instruction: entities without a
+ * {@link Component#VELOCITY velocity} have a velocity of zero and stay where their actor put
+ * them. Every entity with a velocity is written back to its actor, even when that velocity is
+ * zero, and the others are not. In the deterministic physics mode the world's fixed-point
+ * columns are integrated instead, with integer additions.
+ * </p>
+ */
+public final class MovementSystem {
+
+	/**
+	 * The kernel running the integration.
+	 */
+	private final BulkKernel kernel;
+
+	/**
+	 * Creates a movement system on the kernel chosen by {@link BulkKernels#get()}.
+	 */
+	public MovementSystem() {
+		this(BulkKernels.get());
+	}
+
+	/**
+	 * Creates a movement system on a given kernel.
+	 *
+	 * @param kernel the kernel running the integration.
+	 */
+	public MovementSystem(BulkKernel kernel) {
+		this.kernel = kernel;
+	}
+
+	/**
+	 * Advances every entity by one tick.
+	 *
+	 * @param world the world.
+	 */
+	public void update(World world) {
+		if (world.fixedPoint) {
+			updateFixed(world);
+			return;
+		}
+		int size = world.size;
+		double[] x = world.x;
+		double[] y = world.y;
+		kernel.add(x, world.velocityX, size);
+		kernel.add(y, world.velocityY, size);
+
+		Archetype[] archetypes = world.archetypes;
+		ActiveActorDestructible[] sprites = world.sprites;
+		for (int row = 0; row < size; row++) {
+			if (archetypes[row].has(Component.VELOCITY)) {
+				sprites[row].moveTo(x[row], y[row]);
+			}
+		}
+	}
+
+	/**
+	 * Advances every entity of a fixed-point world by one tick.
+	 *
+	 * @param world the world.
+	 */
+	private void updateFixed(World world) {
+		int size = world.size;
+		int[] x = world.fixedX;
+		int[] y = world.fixedY;
+		kernel.add(x, world.fixedVelocityX, size);
+		kernel.add(y, world.fixedVelocityY, size);
+
+		Archetype[] archetypes = world.archetypes;
+		ActiveActorDestructible[] sprites = world.sprites;
+		for (int row = 0; row < size; row++) {
+			if (archetypes[row].has(Component.VELOCITY)) {
+				world.x[row] = Fixed.toDouble(x[row]);
+				world.y[row] = Fixed.toDouble(y[row]);
+				sprites[row].moveToFixed(x[row], y[row]);
+			}
+		}
+	}
+}
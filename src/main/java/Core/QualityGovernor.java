@@ -0,0 +1,192 @@
+package Core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Protects the frame budget by switching optional work off while the game runs slow.
+ * <p>
+ * The governor keeps a rolling window of frame times. When the window's average stays over
+ * the budget, it reduces the next {@link Option} in order, one step per full window, so each
+ * step gets the chance to show its effect before another is taken. Options are restored in the
+ * opposite order, but only after the average has stayed comfortably under the budget for
+ * several windows: the gap between the two thresholds and the longer wait to recover keep the
+ * game from flickering between quality levels. Every transition is logged.
+ * </p>
+ * <p>
+ * Frame times are sampled on the JavaFX thread; the reduced options may be read from any thread.
+ * </p>
+ */
+public final class QualityGovernor {
+
+	/**
+	 * The optional work the governor can reduce, in the order it is given up.
+	 */
+	public enum Option {
+
+		/**
+		 * Cosmetic effects, such as the shake of drifting hearts.
+		 */
+		EFFECTS,
+
+		/**
+		 * The rate the HUD values are sampled at.
+		 */
+		HUD_RATE,
+
+		/**
+		 * The precision of pickup collisions, which are checked on every other tick when reduced.
+		 */
+		HITBOX_PRECISION,
+
+		/**
+		 * The rate simulated frames are copied to the scene, halved when reduced.
+		 */
+		RENDER_RATE
+	}
+
+	/**
+	 * The number of frames in the rolling window.
+	 */
+	private static final int WINDOW = 60;
+
+	/**
+	 * How far over budget the average frame must be before an option is reduced.
+	 */
+	private static final double REDUCE_RATIO = 1.25;
+
+	/**
+	 * How far under this multiple of the budget the average frame must be to count as headroom.
+	 */
+	private static final double RESTORE_RATIO = 1.1;
+
+	/**
+	 * The number of consecutive windows with headroom before an option is restored.
+	 */
+	private static final int RESTORE_WINDOWS = 3;
+
+	/**
+	 * Single frames longer than this multiple of the budget, such as a window drag, are counted as this long.
+	 */
+	private static final int MAX_SAMPLE_RATIO = 4;
+
+	/**
+	 * The target frame time, in nanoseconds.
+	 */
+	private final long budgetNanos;
+
+	/**
+	 * The frame times of the rolling window.
+	 */
+	private final long[] samples = new long[WINDOW];
+
+	/**
+	 * The sum of the frame times in the window.
+	 */
+	private long windowNanos;
+
+	/**
+	 * The number of frames sampled, capped at the window size.
+	 */
+	private int sampleCount;
+
+	/**
+	 * The slot the next frame time is written to.
+	 */
+	private int nextSample;
+
+	/**
+	 * Frames sampled since the last transition.
+	 */
+	private int framesSinceChange;
+
+	/**
+	 * Consecutive frames at which the average was under the restore threshold.
+	 */
+	private int framesWithHeadroom;
+
+	/**
+	 * The number of options currently reduced, from the start of {@link Option}.
+	 */
+	private volatile int reduced;
+
+	/**
+	 * Creates a governor with all options at full quality.
+	 *
+	 * @param budgetMillis the target frame time, in milliseconds.
+	 */
+	public QualityGovernor(double budgetMillis) {
+		this.budgetNanos = (long) (budgetMillis * TimeUnit.MILLISECONDS.toNanos(1));
+	}
+
+	/**
+	 * Adds a frame time to the window and reduces or restores an option if the window calls for it.
+	 *
+	 * @param frameNanos the time the frame took, in nanoseconds.
+	 */
+	public void sample(long frameNanos) {
+		long sample = Math.min(frameNanos, budgetNanos * MAX_SAMPLE_RATIO);
+		windowNanos += sample - samples[nextSample];
+		samples[nextSample] = sample;
+		nextSample = (nextSample + 1) % WINDOW;
+		sampleCount = Math.min(sampleCount + 1, WINDOW);
+		framesSinceChange++;
+		if (sampleCount < WINDOW) {
+			return;
+		}
+
+		double average = (double) windowNanos / WINDOW;
+		framesWithHeadroom = average < budgetNanos * RESTORE_RATIO ? framesWithHeadroom + 1 : 0;
+		if (framesSinceChange < WINDOW) {
+			return;
+		}
+		if (average > budgetNanos * REDUCE_RATIO && reduced < Option.values().length) {
+			transition(reduced + 1, average);
+		} else if (framesWithHeadroom >= WINDOW * RESTORE_WINDOWS && reduced > 0) {
+			transition(reduced - 1, average);
+		}
+	}
+
+	/**
+	 * Checks whether an option is currently reduced.
+	 *
+	 * @param option the option.
+	 * @return {@code true} if the option is running at reduced quality.
+	 */
+	public boolean isReduced(Option option) {
+		return option.ordinal() < reduced;
+	}
+
+	/**
+	 * Gets the number of options currently reduced. Changes whenever the governor steps.
+	 *
+	 * @return the quality step, 0 at full quality.
+	 */
+	public int getReducedCount() {
+		return reduced;
+	}
+
+	/**
+	 * Gets the average frame time over the window.
+	 *
+	 * @return the average in milliseconds, 0 until the window has filled.
+	 */
+	public double getAverageMillis() {
+		return sampleCount < WINDOW ? 0 : (double) windowNanos / WINDOW / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * Moves to a new quality step and logs the option that changed.
+	 *
+	 * @param step    the new number of reduced options.
+	 * @param average the window's average frame time, in nanoseconds.
+	 */
+	private void transition(int step, double average) {
+		boolean reducing = step > reduced;
+		Option option = Option.values()[reducing ? reduced : step];
+		reduced = step;
+		framesSinceChange = 0;
+		framesWithHeadroom = 0;
+		System.out.printf("Quality governor: %s %s (average frame %.1f ms, budget %.1f ms)%n",
+				reducing ? "reduced" : "restored", option, average / 1e6, budgetNanos / 1e6);
+	}
+}
@@ -0,0 +1,610 @@
+package Core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Keeps the last few seconds of a level's history in a fixed amount of memory, so the level can
+ * be put back to any recent tick.
+ * <p>
+ * Every tick the level records a {@link StateSnapshot}. Most ticks are stored as the changes
+ * since the tick before: for each actor either an update, naming the record it changes and only
+ * the fields that differ, or a spawn carrying the whole record. Actors missing from a tick were
+ * despawned. Position offsets are stored as deltas quantized to
+ * 1/{@value #POSITION_STEPS_PER_PIXEL} of a pixel, measured from the position the buffer itself
+ * will reconstruct, so rounding errors never build up. At regular intervals, or whenever the
+ * changes would be larger, the whole snapshot is stored as a keyframe. Restoring a tick copies
+ * the keyframe before it and replays at most one interval of changes.
+ * </p>
+ * <p>
+ * The frames share one ring of off-heap memory whose size is fixed when the buffer is created.
+ * The oldest keyframe and its changes are dropped once they fall out of the window, or earlier
+ * when the ring is full, so with many actors the ring holds fewer seconds but never grows.
+ * Only the working snapshots follow the number of actors, which the level's
+ * {@link EntityBudget} caps. The buffer is used from the simulation thread only.
+ * </p>
+ */
+public final class RewindBuffer {
+
+	/**
+	 * The resolution position offsets are stored at, in steps per pixel.
+	 */
+	public static final int POSITION_STEPS_PER_PIXEL = 256;
+
+	/**
+	 * Marks an actor stored whole in a delta frame.
+	 */
+	private static final byte SPAWN = 1;
+
+	/**
+	 * Marks an actor stored as changes to a record of the previous frame.
+	 */
+	private static final byte UPDATE = 2;
+
+	// Fields present in an update, one bit each; slot i is FIRST_SLOT << i
+	private static final int OFFSET_X = 1;
+	private static final int OFFSET_Y = 1 << 1;
+	private static final int LAYOUT = 1 << 2;
+	private static final int VELOCITY = 1 << 3;
+	private static final int HEALTH = 1 << 4;
+	private static final int FLAGS = 1 << 5;
+	private static final int FIRST_SLOT = 1 << 6;
+
+	/**
+	 * The largest number of bytes one actor can take in a delta frame.
+	 */
+	private static final int MAX_OP_BYTES = 1 + StateSnapshot.RECORD_BYTES;
+
+	/**
+	 * The number of most recent ticks that can be restored, while the ring has room for them.
+	 */
+	private final int windowTicks;
+
+	/**
+	 * The number of frames from one keyframe to the next.
+	 */
+	private final int keyframeInterval;
+
+	/**
+	 * The ring the frames are stored in.
+	 */
+	private final ByteBuffer data;
+
+	// The frames in the ring, indexed by sequence number modulo their length
+	private final long[] frameTicks;
+	private final int[] frameStarts;
+	private final int[] frameLengths;
+	private final boolean[] keyframes;
+
+	/**
+	 * The sequence number of the oldest frame.
+	 */
+	private long first;
+
+	/**
+	 * The number of frames in the ring.
+	 */
+	private int count;
+
+	/**
+	 * The sequence number of the newest keyframe.
+	 */
+	private long lastKeyframe = -1;
+
+	/**
+	 * Where the next frame is written.
+	 */
+	private int tail;
+
+	/**
+	 * The number of bytes the frames take up.
+	 */
+	private int usedBytes;
+
+	/**
+	 * The state a restore of the newest frame produces, which the next delta is measured from.
+	 */
+	private StateSnapshot base = new StateSnapshot();
+
+	/**
+	 * Receives the state a delta frame reconstructs, while it is encoded or replayed.
+	 */
+	private StateSnapshot next = new StateSnapshot();
+
+	/**
+	 * Takes turns with the caller's snapshot in holding the state while frames are replayed.
+	 */
+	private final StateSnapshot replay = new StateSnapshot();
+
+	/**
+	 * Holds a frame while it is encoded.
+	 */
+	private ByteBuffer stage = ByteBuffer.allocateDirect(4096).order(ByteOrder.nativeOrder());
+
+	// Open-addressing table from actor key to record in the base state
+	private int[] indexKeys = new int[0];
+	private int[] indexRecords = new int[0];
+
+	/**
+	 * Creates an empty rewind buffer.
+	 *
+	 * @param windowTicks      the number of most recent ticks to keep restorable.
+	 * @param keyframeInterval the number of frames from one keyframe to the next.
+	 * @param capacityBytes    the size of the ring, in bytes.
+	 * @throws IllegalArgumentException if a count is below 1.
+	 */
+	public RewindBuffer(int windowTicks, int keyframeInterval, int capacityBytes) {
+		if (windowTicks < 1 || keyframeInterval < 1 || capacityBytes < 1) {
+			throw new IllegalArgumentException("Rewind window, keyframe interval and capacity must be at least 1");
+		}
+		this.windowTicks = windowTicks;
+		this.keyframeInterval = keyframeInterval;
+		this.data = ByteBuffer.allocateDirect(capacityBytes).order(ByteOrder.nativeOrder());
+		int maxFrames = windowTicks + keyframeInterval + 1;
+		this.frameTicks = new long[maxFrames];
+		this.frameStarts = new int[maxFrames];
+		this.frameLengths = new int[maxFrames];
+		this.keyframes = new boolean[maxFrames];
+	}
+
+	/**
+	 * Records the state of a tick. Ticks must be recorded in increasing order; recording an
+	 * earlier tick starts a new history.
+	 *
+	 * @param state the state, whose tick is the one recorded.
+	 */
+	public void record(StateSnapshot state) {
+		long tick = state.getTick();
+		if (count > 0 && tick <= getNewestTick()) {
+			clear();
+		}
+		int keyframeBytes = state.byteSize();
+		if (keyframeBytes > data.capacity()) {
+			clear();
+			System.out.println("Rewind: a " + keyframeBytes + " byte keyframe does not fit in " + data.capacity() + " bytes");
+			return;
+		}
+
+		boolean wantKeyframe = count == 0 || first + count - 1 - lastKeyframe >= keyframeInterval - 1;
+		if (!wantKeyframe) {
+			int deltaBytes = encodeDelta(state);
+			if (deltaBytes < keyframeBytes && append(tick, false, stage, deltaBytes)) {
+				StateSnapshot reconstructed = next;
+				next = base;
+				base = reconstructed;
+				evictOutsideWindow(tick);
+				return;
+			}
+		}
+		append(tick, true, state.asReadOnlyBuffer(), keyframeBytes);
+		base.copyFrom(state);
+		evictOutsideWindow(tick);
+	}
+
+	/**
+	 * Puts a snapshot into the state of the latest recorded tick at or before a tick. Positions
+	 * between keyframes come back to within half a quantization step.
+	 *
+	 * @param tick  the tick to go back to.
+	 * @param state receives the state.
+	 * @return {@code false}, leaving the snapshot unchanged, if the tick is not in the buffer.
+	 */
+	public boolean restore(long tick, StateSnapshot state) {
+		if (count == 0 || tick < getOldestTick()) {
+			return false;
+		}
+		long target = first + count - 1;
+		while (frameTicks[slot(target)] > tick) {
+			target--;
+		}
+		long keyframe = target;
+		while (!keyframes[slot(keyframe)]) {
+			keyframe--;
+		}
+		StateSnapshot current = state;
+		StateSnapshot other = replay;
+		current.load(data.slice(frameStarts[slot(keyframe)], frameLengths[slot(keyframe)]));
+		for (long frame = keyframe + 1; frame <= target; frame++) {
+			decodeDelta(current, frameStarts[slot(frame)], frameTicks[slot(frame)], other);
+			StateSnapshot swap = current;
+			current = other;
+			other = swap;
+		}
+		if (current != state) {
+			state.copyFrom(current);
+		}
+		return true;
+	}
+
+	/**
+	 * Forgets every recorded tick.
+	 */
+	public void clear() {
+		first = 0;
+		count = 0;
+		lastKeyframe = -1;
+		tail = 0;
+		usedBytes = 0;
+	}
+
+	/**
+	 * Gets the oldest tick that can be restored.
+	 *
+	 * @return the tick, or -1 if nothing is recorded.
+	 */
+	public long getOldestTick() {
+		return count == 0 ? -1 : frameTicks[slot(first)];
+	}
+
+	/**
+	 * Gets the newest tick that can be restored.
+	 *
+	 * @return the tick, or -1 if nothing is recorded.
+	 */
+	public long getNewestTick() {
+		return count == 0 ? -1 : frameTicks[slot(first + count - 1)];
+	}
+
+	/**
+	 * Gets the number of frames in the ring.
+	 *
+	 * @return the frame count.
+	 */
+	public int getFrameCount() {
+		return count;
+	}
+
+	/**
+	 * Gets the number of bytes the frames take up.
+	 *
+	 * @return the used bytes, at most {@link #getCapacityBytes()}.
+	 */
+	public int getUsedBytes() {
+		return usedBytes;
+	}
+
+	/**
+	 * Gets the size of the ring.
+	 *
+	 * @return the capacity in bytes.
+	 */
+	public int getCapacityBytes() {
+		return data.capacity();
+	}
+
+	/**
+	 * Encodes a state as changes to the base state into the stage, and reconstructs the state
+	 * those changes restore into {@link #next}.
+	 *
+	 * @param state the state.
+	 * @return the number of bytes encoded.
+	 */
+	private int encodeDelta(StateSnapshot state) {
+		int needed = Integer.BYTES + state.size() * MAX_OP_BYTES;
+		if (stage.capacity() < needed) {
+			stage = ByteBuffer.allocateDirect(Math.max(needed, stage.capacity() * 2)).order(ByteOrder.nativeOrder());
+		}
+		indexBase();
+		next.clear(state.getTick());
+		int position = 0;
+		stage.putInt(position, state.size());
+		position += Integer.BYTES;
+		for (int record = 0; record < state.size(); record++) {
+			int previous = findBase(state.getKey(record));
+			int end = previous < 0 ? -1 : encodeUpdate(state, record, previous, position);
+			if (end < 0) {
+				stage.put(position, SPAWN);
+				state.copyRecord(record, stage, position + 1);
+				next.addRecord(stage, position + 1);
+				end = position + MAX_OP_BYTES;
+			}
+			position = end;
+		}
+		return position;
+	}
+
+	/**
+	 * Encodes the changes to one record into the stage and applies them to {@link #next}.
+	 *
+	 * @param state    the state being encoded.
+	 * @param record   the record in the state.
+	 * @param previous the same actor's record in the base state.
+	 * @param position where in the stage to write.
+	 * @return the position after the update, or -1 if the actor has to be stored whole.
+	 */
+	private int encodeUpdate(StateSnapshot state, int record, int previous, int position) {
+		if (state.getKind(record) != base.getKind(previous)) {
+			return -1;
+		}
+		long stepsX = Math.round((state.getOffsetX(record) - base.getOffsetX(previous)) * POSITION_STEPS_PER_PIXEL);
+		long stepsY = Math.round((state.getOffsetY(record) - base.getOffsetY(previous)) * POSITION_STEPS_PER_PIXEL);
+		if (stepsX != (int) stepsX || stepsY != (int) stepsY) {
+			return -1;
+		}
+		int mask = 0;
+		mask |= stepsX != 0 ? OFFSET_X : 0;
+		mask |= stepsY != 0 ? OFFSET_Y : 0;
+		mask |= state.getLayoutX(record) != base.getLayoutX(previous)
+				|| state.getLayoutY(record) != base.getLayoutY(previous) ? LAYOUT : 0;
+		mask |= state.getVelocityX(record) != base.getVelocityX(previous)
+				|| state.getVelocityY(record) != base.getVelocityY(previous) ? VELOCITY : 0;
+		mask |= state.getHealth(record) != base.getHealth(previous) ? HEALTH : 0;
+		mask |= state.getFlags(record) != base.getFlags(previous) ? FLAGS : 0;
+		for (int slot = 0; slot < StateSnapshot.SLOT_COUNT; slot++) {
+			mask |= state.getSlot(record, slot) != base.getSlot(previous, slot) ? FIRST_SLOT << slot : 0;
+		}
+
+		int start = position;
+		stage.put(position++, UPDATE);
+		stage.putInt(position, previous);
+		position += Integer.BYTES;
+		stage.putShort(position, (short) mask);
+		position += Short.BYTES;
+		if ((mask & OFFSET_X) != 0) {
+			stage.putInt(position, (int) stepsX);
+			position += Integer.BYTES;
+		}
+		if ((mask & OFFSET_Y) != 0) {
+			stage.putInt(position, (int) stepsY);
+			position += Integer.BYTES;
+		}
+		if ((mask & LAYOUT) != 0) {
+			stage.putDouble(position, state.getLayoutX(record));
+			stage.putDouble(position + Double.BYTES, state.getLayoutY(record));
+			position += 2 * Double.BYTES;
+		}
+		if ((mask & VELOCITY) != 0) {
+			stage.putDouble(position, state.getVelocityX(record));
+			stage.putDouble(position + Double.BYTES, state.getVelocityY(record));
+			position += 2 * Double.BYTES;
+		}
+		if ((mask & HEALTH) != 0) {
+			stage.putInt(position, state.getHealth(record));
+			position += Integer.BYTES;
+		}
+		if ((mask & FLAGS) != 0) {
+			stage.putInt(position, state.getFlags(record));
+			position += Integer.BYTES;
+		}
+		for (int slot = 0; slot < StateSnapshot.SLOT_COUNT; slot++) {
+			if ((mask & (FIRST_SLOT << slot)) != 0) {
+				stage.putInt(position, state.getSlot(record, slot));
+				position += Integer.BYTES;
+			}
+		}
+		// Replay what was just written, so the base follows exactly what a restore will produce
+		return applyUpdate(base, stage, start + 1, next);
+	}
+
+	/**
+	 * Replays a delta frame on top of the state of the frame before it.
+	 *
+	 * @param previous the state of the frame before.
+	 * @param start    where the delta frame starts in the ring.
+	 * @param tick     the tick of the delta frame.
+	 * @param into     receives the state of the delta frame.
+	 */
+	private void decodeDelta(StateSnapshot previous, int start, long tick, StateSnapshot into) {
+		into.clear(tick);
+		int records = data.getInt(start);
+		int position = start + Integer.BYTES;
+		for (int i = 0; i < records; i++) {
+			if (data.get(position) == SPAWN) {
+				into.addRecord(data, position + 1);
+				position += MAX_OP_BYTES;
+			} else {
+				position = applyUpdate(previous, data, position + 1, into);
+			}
+		}
+	}
+
+	/**
+	 * Adds a record to a state by applying an update to a record of the previous state.
+	 *
+	 * @param previous the previous state.
+	 * @param ops      the buffer holding the update.
+	 * @param position where the update starts, after its marker.
+	 * @param into     receives the updated record.
+	 * @return the position after the update.
+	 */
+	private static int applyUpdate(StateSnapshot previous, ByteBuffer ops, int position, StateSnapshot into) {
+		int from = ops.getInt(position);
+		position += Integer.BYTES;
+		int mask = ops.getShort(position) & 0xFFFF;
+		position += Short.BYTES;
+		int record = into.addRecord(previous, from);
+		double offsetX = previous.getOffsetX(from);
+		double offsetY = previous.getOffsetY(from);
+		if ((mask & OFFSET_X) != 0) {
+			offsetX += ops.getInt(position) / (double) POSITION_STEPS_PER_PIXEL;
+			position += Integer.BYTES;
+		}
+		if ((mask & OFFSET_Y) != 0) {
+			offsetY += ops.getInt(position) / (double) POSITION_STEPS_PER_PIXEL;
+			position += Integer.BYTES;
+		}
+		into.setOffset(record, offsetX, offsetY);
+		if ((mask & LAYOUT) != 0) {
+			into.setLayout(record, ops.getDouble(position), ops.getDouble(position + Double.BYTES));
+			position += 2 * Double.BYTES;
+		}
+		if ((mask & VELOCITY) != 0) {
+			into.setVelocity(record, ops.getDouble(position), ops.getDouble(position + Double.BYTES));
+			position += 2 * Double.BYTES;
+		}
+		if ((mask & HEALTH) != 0) {
+			into.setHealth(record, ops.getInt(position));
+			position += Integer.BYTES;
+		}
+		if ((mask & FLAGS) != 0) {
+			into.setFlags(record, ops.getInt(position));
+			position += Integer.BYTES;
+		}
+		for (int slot = 0; slot < StateSnapshot.SLOT_COUNT; slot++) {
+			if ((mask & (FIRST_SLOT << slot)) != 0) {
+				into.setSlot(record, slot, ops.getInt(position));
+				position += Integer.BYTES;
+			}
+		}
+		return position;
+	}
+
+	/**
+	 * Stores a frame in the ring, dropping the oldest frames to make room.
+	 *
+	 * @param tick     the tick of the frame.
+	 * @param keyframe whether the frame is a keyframe.
+	 * @param bytes    the frame, from position 0.
+	 * @param length   the number of bytes in the frame.
+	 * @return {@code false} if a delta frame would only fit by dropping the keyframe it follows.
+	 */
+	private boolean append(long tick, boolean keyframe, ByteBuffer bytes, int length) {
+		while (count == frameTicks.length) {
+			if (!keyframe && first == lastKeyframe) {
+				return false;
+			}
+			evictOldestGroup();
+		}
+		int start = reserve(length, keyframe);
+		if (start < 0) {
+			return false;
+		}
+		long sequence = first + count;
+		int slot = slot(sequence);
+		frameTicks[slot] = tick;
+		frameStarts[slot] = start;
+		frameLengths[slot] = length;
+		keyframes[slot] = keyframe;
+		data.put(start, bytes, 0, length);
+		count++;
+		usedBytes += length;
+		tail = start + length;
+		if (keyframe) {
+			lastKeyframe = sequence;
+		}
+		return true;
+	}
+
+	/**
+	 * Finds room in the ring for a frame, dropping the oldest frames until there is some.
+	 *
+	 * @param length   the number of bytes in the frame.
+	 * @param keyframe whether the frame is a keyframe, which may drop every other frame.
+	 * @return where the frame starts, or -1 if a delta frame does not fit.
+	 */
+	private int reserve(int length, boolean keyframe) {
+		while (true) {
+			if (count == 0) {
+				first = 0;
+				lastKeyframe = -1;
+				return tail + length <= data.capacity() ? tail : 0;
+			}
+			int oldest = frameStarts[slot(first)];
+			if (oldest >= tail) {
+				// The ring has wrapped: the free space runs from the tail to the oldest frame
+				if (tail + length <= oldest) {
+					return tail;
+				}
+			} else if (tail + length <= data.capacity()) {
+				return tail;
+			} else {
+				tail = 0;
+				continue;
+			}
+			if (!keyframe && first == lastKeyframe) {
+				return -1;
+			}
+			evictOldestGroup();
+		}
+	}
+
+	/**
+	 * Drops groups of frames that only hold ticks older than the window.
+	 *
+	 * @param newestTick the tick just recorded.
+	 */
+	private void evictOutsideWindow(long newestTick) {
+		long oldestWanted = newestTick - windowTicks + 1;
+		while (count > 0) {
+			long nextKeyframe = first + 1;
+			while (nextKeyframe < first + count && !keyframes[slot(nextKeyframe)]) {
+				nextKeyframe++;
+			}
+			if (nextKeyframe == first + count || frameTicks[slot(nextKeyframe)] > oldestWanted) {
+				return;
+			}
+			evictOldestGroup();
+		}
+	}
+
+	/**
+	 * Drops the oldest keyframe and the delta frames that follow it.
+	 */
+	private void evictOldestGroup() {
+		do {
+			usedBytes -= frameLengths[slot(first)];
+			first++;
+			count--;
+		} while (count > 0 && !keyframes[slot(first)]);
+	}
+
+	/**
+	 * Builds the table from actor key to record for the base state.
+	 */
+	private void indexBase() {
+		int tableSize = Integer.highestOneBit(Math.max(8, base.size() * 2 - 1)) << 1;
+		if (indexKeys.length < tableSize) {
+			indexKeys = new int[tableSize];
+			indexRecords = new int[tableSize];
+		}
+		Arrays.fill(indexRecords, -1);
+		int mask = indexKeys.length - 1;
+		for (int record = 0; record < base.size(); record++) {
+			int key = base.getKey(record);
+			int bucket = hash(key) & mask;
+			while (indexRecords[bucket] >= 0) {
+				bucket = (bucket + 1) & mask;
+			}
+			indexKeys[bucket] = key;
+			indexRecords[bucket] = record;
+		}
+	}
+
+	/**
+	 * Looks up an actor's record in the base state.
+	 *
+	 * @param key the actor's key.
+	 * @return the record, or -1 if the actor was not in the base state.
+	 */
+	private int findBase(int key) {
+		int mask = indexKeys.length - 1;
+		for (int bucket = hash(key) & mask; indexRecords[bucket] >= 0; bucket = (bucket + 1) & mask) {
+			if (indexKeys[bucket] == key) {
+				return indexRecords[bucket];
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Spreads the bits of a key over the table.
+	 *
+	 * @param key the key.
+	 * @return the hash.
+	 */
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Gets the index of a frame in the frame arrays.
+	 *
+	 * @param sequence the frame's sequence number.
+	 * @return the index.
+	 */
+	private int slot(long sequence) {
+		return (int) (sequence % frameTicks.length);
+	}
+}
@@ -0,0 +1,42 @@
+package Core;
+
+/**
+ * The {@link BulkKernel} written as plain loops, one element at a time.
+ */
+public final class ScalarBulkKernel implements BulkKernel {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void add(double[] values, double[] deltas, int count) {
+		for (int i = 0; i < count; i++) {
+			values[i] += deltas[i];
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void add(int[] values, int[] deltas, int count) {
+		for (int i = 0; i < count; i++) {
+			values[i] += deltas[i];
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int overlaps(double minX, double minY, double maxX, double maxY,
+						double[] boxMinX, double[] boxMinY, double[] boxMaxX, double[] boxMaxY, int count, int[] hits) {
+		int found = 0;
+		for (int i = 0; i < count; i++) {
+			if (boxMinX[i] <= maxX && boxMaxX[i] >= minX && boxMinY[i] <= maxY && boxMaxY[i] >= minY) {
+				hits[found++] = i;
+			}
+		}
+		return found;
+	}
+}
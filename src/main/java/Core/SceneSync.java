@@ -0,0 +1,139 @@
+package Core;
+
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * Pushes simulated state onto scene graph nodes, writing only the properties that changed.
+ * <p>
+ * Each node already holds the last value pushed to it, so every write is checked against the
+ * node first and skipped when the value is the same. Skipping the call avoids the property
+ * lookup and invalidation work JavaFX does on every setter. The synchronizer counts the writes
+ * it made and avoided in each frame, so the saving can be measured. It is used from the JavaFX
+ * thread only.
+ * </p>
+ */
+public final class SceneSync {
+
+	/**
+	 * How many frames pass between two logged write counts.
+	 */
+	private static final int LOG_INTERVAL_FRAMES = 500;
+
+	/**
+	 * Property writes made in the current frame.
+	 */
+	private int writes;
+
+	/**
+	 * Property writes skipped in the current frame because the value was unchanged.
+	 */
+	private int skipped;
+
+	/**
+	 * Property writes made in the last completed frame.
+	 */
+	private int lastWrites;
+
+	/**
+	 * Property writes skipped in the last completed frame.
+	 */
+	private int lastSkipped;
+
+	/**
+	 * The number of frames completed.
+	 */
+	private long frames;
+
+	/**
+	 * Sets the horizontal translation of a node if it changed.
+	 *
+	 * @param node the node to update.
+	 * @param x    the new translation.
+	 */
+	public void setTranslateX(Node node, double x) {
+		if (node.getTranslateX() != x) {
+			node.setTranslateX(x);
+			writes++;
+		} else {
+			skipped++;
+		}
+	}
+
+	/**
+	 * Sets the vertical translation of a node if it changed.
+	 *
+	 * @param node the node to update.
+	 * @param y    the new translation.
+	 */
+	public void setTranslateY(Node node, double y) {
+		if (node.getTranslateY() != y) {
+			node.setTranslateY(y);
+			writes++;
+		} else {
+			skipped++;
+		}
+	}
+
+	/**
+	 * Shows or hides a node if its visibility changed.
+	 *
+	 * @param node    the node to update.
+	 * @param visible whether the node is shown.
+	 */
+	public void setVisible(Node node, boolean visible) {
+		if (node.isVisible() != visible) {
+			node.setVisible(visible);
+			writes++;
+		} else {
+			skipped++;
+		}
+	}
+
+	/**
+	 * Sets the width of a rectangle if it changed.
+	 *
+	 * @param rectangle the rectangle to update.
+	 * @param width     the new width.
+	 */
+	public void setWidth(Rectangle rectangle, double width) {
+		if (rectangle.getWidth() != width) {
+			rectangle.setWidth(width);
+			writes++;
+		} else {
+			skipped++;
+		}
+	}
+
+	/**
+	 * Closes the current frame, keeping its counts for {@link #getLastWrites()} and
+	 * {@link #getLastSkipped()} and logging them periodically.
+	 */
+	public void endFrame() {
+		lastWrites = writes;
+		lastSkipped = skipped;
+		writes = 0;
+		skipped = 0;
+		if (++frames % LOG_INTERVAL_FRAMES == 0) {
+			System.out.println("Scene sync: " + lastWrites + " property writes, " + lastSkipped + " skipped as unchanged");
+		}
+	}
+
+	/**
+	 * Gets the number of property writes made in the last completed frame.
+	 *
+	 * @return the write count.
+	 */
+	public int getLastWrites() {
+		return lastWrites;
+	}
+
+	/**
+	 * Gets the number of property writes skipped in the last completed frame.
+	 *
+	 * @return the skipped write count.
+	 */
+	public int getLastSkipped() {
+		return lastSkipped;
+	}
+}
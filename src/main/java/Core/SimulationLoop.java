@@ -0,0 +1,220 @@
+package Core;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the fixed-rate game simulation, by default on a dedicated thread.
+ * <p>
+ * The simulation thread keeps its own deadline-based schedule: it parks until shortly before
+ * the next tick and spins for the last fraction of a millisecond, so ticks start on time
+ * without relying on the coarse timer behind {@link Thread#sleep}. Running the simulation off
+ * the JavaFX thread lets a heavy tick overlap with rendering instead of delaying it. Passing
+ * {@code -Dsimulation.threaded=false} runs the same tick from a {@link Timeline} on the
+ * JavaFX thread instead, as the game originally did.
+ * </p>
+ */
+public final class SimulationLoop {
+
+	/**
+	 * Whether the simulation runs on its own thread.
+	 */
+	private static final boolean THREADED = Boolean.parseBoolean(System.getProperty("simulation.threaded", "true"));
+
+	/**
+	 * How long before a deadline the thread stops parking and starts spinning.
+	 */
+	private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+	/**
+	 * How many ticks the loop may fall behind before it skips ahead instead of catching up.
+	 */
+	private static final int MAX_TICKS_BEHIND = 5;
+
+	/**
+	 * The interval between ticks, in nanoseconds.
+	 */
+	private final long periodNanos;
+
+	/**
+	 * The work performed every tick.
+	 */
+	private final Runnable tick;
+
+	/**
+	 * The timeline used when the simulation runs on the JavaFX thread.
+	 */
+	private final Timeline timeline;
+
+	/**
+	 * The simulation thread that should keep ticking, or {@code null} while stopped.
+	 */
+	private volatile Thread thread;
+
+	/**
+	 * The most recently started simulation thread. Unlike {@link #thread} it is not cleared on
+	 * stop, so the tick that stopped the loop still knows it runs on the simulation thread.
+	 */
+	private volatile Thread lastThread;
+
+	/**
+	 * Whether ticks are currently suspended.
+	 */
+	private volatile boolean paused;
+
+	/**
+	 * Creates a loop that runs a tick at a fixed interval.
+	 *
+	 * @param periodMillis the interval between ticks, in milliseconds.
+	 * @param tick         the work performed every tick.
+	 */
+	public SimulationLoop(long periodMillis, Runnable tick) {
+		this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMillis);
+		this.tick = tick;
+		if (THREADED) {
+			this.timeline = null;
+		} else {
+			this.timeline = new Timeline(new KeyFrame(Duration.millis(periodMillis), e -> tick.run()));
+			this.timeline.setCycleCount(Timeline.INDEFINITE);
+		}
+	}
+
+	/**
+	 * Checks whether simulations run on their own thread.
+	 *
+	 * @return {@code true} in threaded mode, {@code false} when ticking on the JavaFX thread.
+	 */
+	public static boolean isThreaded() {
+		return THREADED;
+	}
+
+	/**
+	 * Starts ticking, or resumes if the loop is paused. Does nothing if it is already running.
+	 */
+	public synchronized void start() {
+		paused = false;
+		if (timeline != null) {
+			if (timeline.getStatus() != Animation.Status.RUNNING) {
+				timeline.play();
+			}
+			return;
+		}
+		if (thread == null) {
+			Thread simulationThread = new Thread(this::run, "simulation");
+			simulationThread.setDaemon(true);
+			thread = simulationThread;
+			lastThread = simulationThread;
+			simulationThread.start();
+		}
+	}
+
+	/**
+	 * Suspends ticking until {@link #start()} is called again.
+	 */
+	public synchronized void pause() {
+		paused = true;
+		if (timeline != null) {
+			timeline.pause();
+		}
+	}
+
+	/**
+	 * Stops ticking. When called from the simulation thread itself, the current tick is allowed
+	 * to finish; use {@link #stopAndWait()} from other threads to be sure it has.
+	 */
+	public synchronized void stop() {
+		paused = false;
+		if (timeline != null) {
+			timeline.stop();
+		}
+		thread = null;
+	}
+
+	/**
+	 * Stops ticking and waits for a tick in progress on the simulation thread to finish.
+	 */
+	public void stopAndWait() {
+		Thread current;
+		synchronized (this) {
+			current = thread;
+			stop();
+		}
+		if (current != null && current != Thread.currentThread()) {
+			try {
+				current.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the loop is ticking.
+	 *
+	 * @return {@code true} if the loop has been started and is not paused or stopped.
+	 */
+	public boolean isRunning() {
+		if (timeline != null) {
+			return timeline.getStatus() == Animation.Status.RUNNING;
+		}
+		return thread != null && !paused;
+	}
+
+	/**
+	 * Checks whether the caller is running on this loop's simulation thread.
+	 *
+	 * @return {@code true} when called from within a threaded tick.
+	 */
+	public boolean isSimulationThread() {
+		return timeline == null && Thread.currentThread() == lastThread;
+	}
+
+	/**
+	 * The body of the simulation thread: runs ticks on a fixed schedule until stopped.
+	 */
+	private void run() {
+		Thread self = Thread.currentThread();
+		long deadline = System.nanoTime() + periodNanos;
+		while (thread == self) {
+			waitUntil(deadline, self);
+			if (thread != self) {
+				break;
+			}
+			if (!paused) {
+				try {
+					tick.run();
+				} catch (RuntimeException e) {
+					e.printStackTrace(); // Keep simulating, as the timeline did after a failed frame
+				}
+			}
+			deadline += periodNanos;
+			long behind = System.nanoTime() - deadline;
+			if (behind > MAX_TICKS_BEHIND * periodNanos) {
+				System.out.println("Simulation fell " + behind / periodNanos + " ticks behind, skipping ahead");
+				deadline = System.nanoTime() + periodNanos;
+			}
+		}
+	}
+
+	/**
+	 * Waits until a deadline, parking for most of the wait and spinning for the rest.
+	 * Returns early if the loop is stopped.
+	 *
+	 * @param deadline the {@link System#nanoTime()} value to wait for.
+	 * @param self     the simulation thread doing the waiting.
+	 */
+	private void waitUntil(long deadline, Thread self) {
+		long remaining;
+		while ((remaining = deadline - System.nanoTime()) > SPIN_NANOS && thread == self) {
+			LockSupport.parkNanos(remaining - SPIN_NANOS);
+		}
+		while (deadline - System.nanoTime() > 0 && thread == self) {
+			Thread.onSpinWait();
+		}
+	}
+}
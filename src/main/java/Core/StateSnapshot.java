@@ -0,0 +1,600 @@
+package Core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * The state of a level at one tick, laid out flat in off-heap memory.
+ * <p>
+ * A snapshot is one direct buffer: a small header followed by one fixed-size record per actor.
+ * Every record has the same schema, so no object is created per actor and a snapshot can be
+ * copied to or from another with a single bulk copy. Each record holds the actor's kind and
+ * key, position, velocity, health and destroyed flag, plus a handful of integer slots an actor
+ * class fills with the rest of its state, such as a boss's move pattern and shield timer. The
+ * key tells the same actor apart from one snapshot to the next, which lets a
+ * {@link RewindBuffer} store the changes between them. The buffer grows by doubling and is
+ * reused from one capture to the next, so capturing a level into a snapshot that is already
+ * large enough allocates nothing.
+ * </p>
+ * <p>
+ * Snapshots serve as quick-saves, as the frames a level is rewound to, and as a record of
+ * state to compare when two runs diverge. A snapshot is not thread-safe; it is filled and
+ * read on the simulation thread.
+ * </p>
+ */
+public final class StateSnapshot {
+
+	/**
+	 * The number of integer slots in each record for state particular to an actor class.
+	 */
+	public static final int SLOT_COUNT = 9;
+
+	/**
+	 * The size of each record, in bytes.
+	 */
+	public static final int RECORD_BYTES = 104;
+
+	/**
+	 * The size of the header before the first record, in bytes.
+	 */
+	public static final int HEADER_BYTES = 24;
+
+	/**
+	 * The version of the layout, bumped whenever the header or record schema changes.
+	 */
+	public static final int VERSION = 2;
+
+	/**
+	 * The kind recorded for a heart pickup, which has no {@link Archetype}.
+	 */
+	private static final int KIND_HEART = -1;
+
+	/**
+	 * Marks the start of a snapshot ("SNAP").
+	 */
+	private static final int MAGIC = 0x534E4150;
+
+	// Header layout
+	private static final int MAGIC_OFFSET = 0;
+	private static final int VERSION_OFFSET = 4;
+	private static final int TICK_OFFSET = 8;
+	private static final int COUNT_OFFSET = 16;
+
+	// Record layout
+	private static final int KIND = 0;
+	private static final int FLAGS = 4;
+	private static final int LAYOUT_X = 8;
+	private static final int LAYOUT_Y = 16;
+	private static final int OFFSET_X = 24;
+	private static final int OFFSET_Y = 32;
+	private static final int VELOCITY_X = 40;
+	private static final int VELOCITY_Y = 48;
+	private static final int HEALTH = 56;
+	private static final int KEY = 60;
+	private static final int SLOTS = 64;
+
+	/**
+	 * The flag set on the record of a destroyed actor.
+	 */
+	private static final int FLAG_DESTROYED = 1;
+
+	/**
+	 * The number of records a new snapshot has room for.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * The archetypes, indexed by the kinds recorded for them.
+	 */
+	private static final Archetype[] ARCHETYPES = Archetype.values();
+
+	/**
+	 * The memory of the snapshot, in native byte order.
+	 */
+	private ByteBuffer buffer;
+
+	/**
+	 * The number of records in the snapshot.
+	 */
+	private int size;
+
+	/**
+	 * Creates an empty snapshot.
+	 */
+	public StateSnapshot() {
+		this(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty snapshot with room for a number of records before it has to grow.
+	 *
+	 * @param capacity the number of records.
+	 * @throws IllegalArgumentException if the capacity is below 1.
+	 */
+	public StateSnapshot(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Snapshot capacity must be at least 1");
+		}
+		buffer = allocate(capacity);
+		clear(0);
+	}
+
+	/**
+	 * Empties the snapshot to record the state at a tick.
+	 *
+	 * @param tick the tick being recorded.
+	 */
+	public void clear(long tick) {
+		size = 0;
+		buffer.putInt(MAGIC_OFFSET, MAGIC);
+		buffer.putInt(VERSION_OFFSET, VERSION);
+		buffer.putLong(TICK_OFFSET, tick);
+		buffer.putInt(COUNT_OFFSET, 0);
+	}
+
+	/**
+	 * Adds a record for an actor of an archetype. All its other fields start at zero.
+	 *
+	 * @param archetype the actor's archetype.
+	 * @param key       identifies the actor, unique within the snapshot and kept from one snapshot to the next.
+	 * @return the index of the new record.
+	 */
+	public int add(Archetype archetype, int key) {
+		return add(archetype.ordinal(), key);
+	}
+
+	/**
+	 * Adds a record for a heart pickup. All its other fields start at zero.
+	 *
+	 * @param key identifies the heart, unique within the snapshot and kept from one snapshot to the next.
+	 * @return the index of the new record.
+	 */
+	public int addHeart(int key) {
+		return add(KIND_HEART, key);
+	}
+
+	/**
+	 * Gets the tick the snapshot records.
+	 *
+	 * @return the tick.
+	 */
+	public long getTick() {
+		return buffer.getLong(TICK_OFFSET);
+	}
+
+	/**
+	 * Gets the number of records in the snapshot.
+	 *
+	 * @return the record count.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the number of bytes the header and records take up.
+	 *
+	 * @return the size in bytes.
+	 */
+	public int byteSize() {
+		return HEADER_BYTES + size * RECORD_BYTES;
+	}
+
+	/**
+	 * Makes this snapshot a copy of another with one bulk copy of its memory.
+	 *
+	 * @param source the snapshot to copy.
+	 */
+	public void copyFrom(StateSnapshot source) {
+		if (source == this) {
+			return;
+		}
+		ensureCapacity(source.size);
+		buffer.put(0, source.buffer, 0, source.byteSize());
+		size = source.size;
+	}
+
+	/**
+	 * Makes this snapshot a copy of one written out through {@link #asReadOnlyBuffer()}.
+	 *
+	 * @param bytes the bytes of the snapshot, from the buffer's position; the position is not changed.
+	 * @throws IllegalArgumentException if the bytes are not a snapshot of this version.
+	 */
+	public void load(ByteBuffer bytes) {
+		ByteBuffer source = bytes.duplicate().order(buffer.order());
+		int start = source.position();
+		if (source.remaining() < HEADER_BYTES || source.getInt(start + MAGIC_OFFSET) != MAGIC
+				|| source.getInt(start + VERSION_OFFSET) != VERSION) {
+			throw new IllegalArgumentException("Not a version " + VERSION + " state snapshot");
+		}
+		int count = source.getInt(start + COUNT_OFFSET);
+		if (count < 0 || source.remaining() < HEADER_BYTES + (long) count * RECORD_BYTES) {
+			throw new IllegalArgumentException("Truncated state snapshot of " + count + " records");
+		}
+		ensureCapacity(count);
+		buffer.put(0, source, start, HEADER_BYTES + count * RECORD_BYTES);
+		size = count;
+	}
+
+	/**
+	 * Gets a read-only view of the header and records, for writing a snapshot out or hashing it.
+	 * The view is valid until the snapshot is next changed.
+	 *
+	 * @return the bytes of the snapshot, from position 0 to {@link #byteSize()}.
+	 */
+	public ByteBuffer asReadOnlyBuffer() {
+		return buffer.asReadOnlyBuffer().position(0).limit(byteSize()).slice().order(buffer.order());
+	}
+
+	/**
+	 * Checks whether a record belongs to a heart pickup.
+	 *
+	 * @param record the record index.
+	 * @return {@code true} for a heart.
+	 */
+	public boolean isHeart(int record) {
+		return buffer.getInt(at(record) + KIND) == KIND_HEART;
+	}
+
+	/**
+	 * Gets the archetype of the actor a record belongs to.
+	 *
+	 * @param record the record index.
+	 * @return the archetype, or {@code null} for a heart.
+	 */
+	public Archetype getArchetype(int record) {
+		int kind = buffer.getInt(at(record) + KIND);
+		return kind == KIND_HEART ? null : ARCHETYPES[kind];
+	}
+
+	/**
+	 * Gets the key of the actor a record belongs to.
+	 *
+	 * @param record the record index.
+	 * @return the key.
+	 */
+	public int getKey(int record) {
+		return buffer.getInt(at(record) + KEY);
+	}
+
+	/**
+	 * Records where an actor's node is laid out.
+	 *
+	 * @param record the record index.
+	 * @param x      the layout x-coordinate.
+	 * @param y      the layout y-coordinate.
+	 */
+	public void setLayout(int record, double x, double y) {
+		int base = at(record);
+		buffer.putDouble(base + LAYOUT_X, x);
+		buffer.putDouble(base + LAYOUT_Y, y);
+	}
+
+	/**
+	 * Gets the layout x-coordinate of a record.
+	 *
+	 * @param record the record index.
+	 * @return the x-coordinate.
+	 */
+	public double getLayoutX(int record) {
+		return buffer.getDouble(at(record) + LAYOUT_X);
+	}
+
+	/**
+	 * Gets the layout y-coordinate of a record.
+	 *
+	 * @param record the record index.
+	 * @return the y-coordinate.
+	 */
+	public double getLayoutY(int record) {
+		return buffer.getDouble(at(record) + LAYOUT_Y);
+	}
+
+	/**
+	 * Records how far an actor has moved from where it is laid out.
+	 *
+	 * @param record  the record index.
+	 * @param offsetX the horizontal offset.
+	 * @param offsetY the vertical offset.
+	 */
+	public void setOffset(int record, double offsetX, double offsetY) {
+		int base = at(record);
+		buffer.putDouble(base + OFFSET_X, offsetX);
+		buffer.putDouble(base + OFFSET_Y, offsetY);
+	}
+
+	/**
+	 * Gets the horizontal offset of a record.
+	 *
+	 * @param record the record index.
+	 * @return the offset.
+	 */
+	public double getOffsetX(int record) {
+		return buffer.getDouble(at(record) + OFFSET_X);
+	}
+
+	/**
+	 * Gets the vertical offset of a record.
+	 *
+	 * @param record the record index.
+	 * @return the offset.
+	 */
+	public double getOffsetY(int record) {
+		return buffer.getDouble(at(record) + OFFSET_Y);
+	}
+
+	/**
+	 * Records the distance an actor travels on each tick.
+	 *
+	 * @param record    the record index.
+	 * @param velocityX the horizontal velocity.
+	 * @param velocityY the vertical velocity.
+	 */
+	public void setVelocity(int record, double velocityX, double velocityY) {
+		int base = at(record);
+		buffer.putDouble(base + VELOCITY_X, velocityX);
+		buffer.putDouble(base + VELOCITY_Y, velocityY);
+	}
+
+	/**
+	 * Gets the horizontal velocity of a record.
+	 *
+	 * @param record the record index.
+	 * @return the velocity.
+	 */
+	public double getVelocityX(int record) {
+		return buffer.getDouble(at(record) + VELOCITY_X);
+	}
+
+	/**
+	 * Gets the vertical velocity of a record.
+	 *
+	 * @param record the record index.
+	 * @return the velocity.
+	 */
+	public double getVelocityY(int record) {
+		return buffer.getDouble(at(record) + VELOCITY_Y);
+	}
+
+	/**
+	 * Records the hits an actor can still take.
+	 *
+	 * @param record the record index.
+	 * @param health the health.
+	 */
+	public void setHealth(int record, int health) {
+		buffer.putInt(at(record) + HEALTH, health);
+	}
+
+	/**
+	 * Gets the health of a record.
+	 *
+	 * @param record the record index.
+	 * @return the health.
+	 */
+	public int getHealth(int record) {
+		return buffer.getInt(at(record) + HEALTH);
+	}
+
+	/**
+	 * Records whether an actor is destroyed.
+	 *
+	 * @param record    the record index.
+	 * @param destroyed {@code true} if destroyed.
+	 */
+	public void setDestroyed(int record, boolean destroyed) {
+		int flags = at(record) + FLAGS;
+		buffer.putInt(flags, destroyed ? buffer.getInt(flags) | FLAG_DESTROYED : buffer.getInt(flags) & ~FLAG_DESTROYED);
+	}
+
+	/**
+	 * Checks whether a record's actor is destroyed.
+	 *
+	 * @param record the record index.
+	 * @return {@code true} if destroyed.
+	 */
+	public boolean isDestroyed(int record) {
+		return (buffer.getInt(at(record) + FLAGS) & FLAG_DESTROYED) != 0;
+	}
+
+	/**
+	 * Records a value particular to the actor's class.
+	 *
+	 * @param record the record index.
+	 * @param slot   the slot, from 0 to {@link #SLOT_COUNT} - 1.
+	 * @param value  the value.
+	 * @throws IndexOutOfBoundsException if the slot is out of range.
+	 */
+	public void setSlot(int record, int slot, int value) {
+		buffer.putInt(slotAt(record, slot), value);
+	}
+
+	/**
+	 * Gets a value particular to the actor's class.
+	 *
+	 * @param record the record index.
+	 * @param slot   the slot, from 0 to {@link #SLOT_COUNT} - 1.
+	 * @return the value.
+	 * @throws IndexOutOfBoundsException if the slot is out of range.
+	 */
+	public int getSlot(int record, int slot) {
+		return buffer.getInt(slotAt(record, slot));
+	}
+
+	/**
+	 * Packs a move pattern of up to 16 moves, each {@code -step}, 0 or {@code step}, into one slot value.
+	 *
+	 * @param moves the moves.
+	 * @param step  the size of a move.
+	 * @return the packed moves, two bits each.
+	 * @throws IllegalArgumentException if there are too many moves or a move is not one of the three.
+	 */
+	public static int packMoves(List<Integer> moves, int step) {
+		if (moves.size() > Integer.SIZE / 2) {
+			throw new IllegalArgumentException("Cannot pack " + moves.size() + " moves into one slot");
+		}
+		int packed = 0;
+		for (int i = 0; i < moves.size(); i++) {
+			int move = moves.get(i);
+			if (move != -step && move != 0 && move != step) {
+				throw new IllegalArgumentException("Move " + move + " is not -" + step + ", 0 or " + step);
+			}
+			packed |= (Integer.signum(move) + 1) << (i * 2);
+		}
+		return packed;
+	}
+
+	/**
+	 * Unpacks a move pattern packed by {@link #packMoves(List, int)} over the moves of a list of the same length.
+	 *
+	 * @param packed the packed moves.
+	 * @param step   the size of a move.
+	 * @param moves  the list to overwrite.
+	 */
+	public static void unpackMoves(int packed, int step, List<Integer> moves) {
+		for (int i = 0; i < moves.size(); i++) {
+			moves.set(i, (((packed >>> (i * 2)) & 3) - 1) * step);
+		}
+	}
+
+	/**
+	 * Gets the kind of a record: its archetype ordinal, or a negative value for a heart.
+	 *
+	 * @param record the record index.
+	 * @return the kind.
+	 */
+	int getKind(int record) {
+		return buffer.getInt(at(record) + KIND);
+	}
+
+	/**
+	 * Gets the flags of a record.
+	 *
+	 * @param record the record index.
+	 * @return the flags.
+	 */
+	int getFlags(int record) {
+		return buffer.getInt(at(record) + FLAGS);
+	}
+
+	/**
+	 * Sets the flags of a record.
+	 *
+	 * @param record the record index.
+	 * @param flags  the flags.
+	 */
+	void setFlags(int record, int flags) {
+		buffer.putInt(at(record) + FLAGS, flags);
+	}
+
+	/**
+	 * Copies a whole record out of the snapshot.
+	 *
+	 * @param record the record index.
+	 * @param target the buffer to copy into.
+	 * @param offset where in the target the record starts.
+	 */
+	void copyRecord(int record, ByteBuffer target, int offset) {
+		target.put(offset, buffer, at(record), RECORD_BYTES);
+	}
+
+	/**
+	 * Adds a record copied whole from a buffer.
+	 *
+	 * @param source the buffer holding the record.
+	 * @param offset where in the source the record starts.
+	 * @return the index of the new record.
+	 */
+	int addRecord(ByteBuffer source, int offset) {
+		int record = add(0, 0);
+		buffer.put(at(record), source, offset, RECORD_BYTES);
+		return record;
+	}
+
+	/**
+	 * Adds a record copied whole from a record of another snapshot.
+	 *
+	 * @param source the snapshot holding the record.
+	 * @param record the record index in the source.
+	 * @return the index of the new record.
+	 */
+	int addRecord(StateSnapshot source, int record) {
+		return addRecord(source.buffer, source.at(record));
+	}
+
+	/**
+	 * Adds a record of a kind, growing the buffer if it is full.
+	 *
+	 * @param kind the archetype ordinal, or {@link #KIND_HEART}.
+	 * @param key  identifies the actor.
+	 * @return the index of the new record.
+	 */
+	private int add(int kind, int key) {
+		ensureCapacity(size + 1);
+		int record = size++;
+		int base = at(record);
+		for (int i = 0; i < RECORD_BYTES; i += Long.BYTES) {
+			buffer.putLong(base + i, 0L);
+		}
+		buffer.putInt(base + KIND, kind);
+		buffer.putInt(base + KEY, key);
+		buffer.putInt(COUNT_OFFSET, size);
+		return record;
+	}
+
+	/**
+	 * Gets the byte offset of a record, checking that it exists.
+	 *
+	 * @param record the record index.
+	 * @return the offset of the record's first byte.
+	 */
+	private int at(int record) {
+		if (record < 0 || record >= size) {
+			throw new IndexOutOfBoundsException("Record " + record + " out of " + size);
+		}
+		return HEADER_BYTES + record * RECORD_BYTES;
+	}
+
+	/**
+	 * Gets the byte offset of a slot, checking that it exists.
+	 *
+	 * @param record the record index.
+	 * @param slot   the slot.
+	 * @return the offset of the slot.
+	 */
+	private int slotAt(int record, int slot) {
+		if (slot < 0 || slot >= SLOT_COUNT) {
+			throw new IndexOutOfBoundsException("Slot " + slot + " out of " + SLOT_COUNT);
+		}
+		return at(record) + SLOTS + slot * Integer.BYTES;
+	}
+
+	/**
+	 * Grows the buffer, keeping its contents, until it has room for a number of records.
+	 *
+	 * @param records the number of records.
+	 */
+	private void ensureCapacity(int records) {
+		int capacity = (buffer.capacity() - HEADER_BYTES) / RECORD_BYTES;
+		if (records <= capacity) {
+			return;
+		}
+		while (capacity < records) {
+			capacity *= 2;
+		}
+		ByteBuffer grown = allocate(capacity);
+		grown.put(0, buffer, 0, byteSize());
+		buffer = grown;
+	}
+
+	/**
+	 * Allocates off-heap memory for a number of records.
+	 *
+	 * @param records the number of records.
+	 * @return the buffer, in native byte order.
+	 */
+	private static ByteBuffer allocate(int records) {
+		return ByteBuffer.allocateDirect(HEADER_BYTES + records * RECORD_BYTES).order(ByteOrder.nativeOrder());
+	}
+}
@@ -0,0 +1,234 @@
+package Core;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A record of one 64-bit hash of the game state per tick, for finding where two runs part ways.
+ * <p>
+ * {@link #hash(StateSnapshot, long)} folds the canonical state of a tick into one value: every
+ * actor's kind, position, velocity, health, destroyed flag and class-specific slots, such as the
+ * player's kill count, together with the state of the random generator. Actor keys are left out,
+ * since they only identify actors and differ between runs in one process. A trace keeps each
+ * tick's hash and a rolling hash over the whole run, so two runs can be compared at a glance, and
+ * {@link #firstDivergence(StateTrace)} names the first tick that differs. A run recorded with a
+ * fixed seed and input script can be written out as a golden trace and checked against later.
+ * </p>
+ */
+public final class StateTrace {
+
+	/**
+	 * The rolling hash of an empty trace.
+	 */
+	private static final long EMPTY = 0x2545F4914F6CDD1DL;
+
+	/**
+	 * The ticks recorded, in order.
+	 */
+	private long[] ticks = new long[256];
+
+	/**
+	 * The hash of each tick recorded.
+	 */
+	private long[] hashes = new long[256];
+
+	/**
+	 * The number of ticks recorded.
+	 */
+	private int size;
+
+	/**
+	 * The hash of every tick so far, in order.
+	 */
+	private long rolling = EMPTY;
+
+	/**
+	 * Hashes the state of a tick.
+	 *
+	 * @param state       the state of the tick.
+	 * @param randomState the state of the random generator after the tick.
+	 * @return the hash.
+	 */
+	public static long hash(StateSnapshot state, long randomState) {
+		long h = mix(EMPTY, state.getTick());
+		h = mix(h, randomState);
+		h = mix(h, state.size());
+		for (int record = 0; record < state.size(); record++) {
+			h = mix(h, ((long) state.getKind(record) << 32) | (state.getFlags(record) & 0xFFFFFFFFL));
+			h = mix(h, Double.doubleToLongBits(state.getLayoutX(record)));
+			h = mix(h, Double.doubleToLongBits(state.getLayoutY(record)));
+			h = mix(h, Double.doubleToLongBits(state.getOffsetX(record)));
+			h = mix(h, Double.doubleToLongBits(state.getOffsetY(record)));
+			h = mix(h, Double.doubleToLongBits(state.getVelocityX(record)));
+			h = mix(h, Double.doubleToLongBits(state.getVelocityY(record)));
+			h = mix(h, state.getHealth(record));
+			for (int slot = 0; slot < StateSnapshot.SLOT_COUNT; slot++) {
+				h = mix(h, state.getSlot(record, slot));
+			}
+		}
+		return finish(h);
+	}
+
+	/**
+	 * Records the hash of a tick.
+	 *
+	 * @param tick the tick, after any already recorded.
+	 * @param hash the hash of the tick's state.
+	 * @return the rolling hash of the trace so far.
+	 * @throws IllegalArgumentException if the tick is not after the last one recorded.
+	 */
+	public long record(long tick, long hash) {
+		if (size > 0 && tick <= ticks[size - 1]) {
+			throw new IllegalArgumentException("Tick " + tick + " recorded after tick " + ticks[size - 1]);
+		}
+		if (size == ticks.length) {
+			ticks = Arrays.copyOf(ticks, size * 2);
+			hashes = Arrays.copyOf(hashes, size * 2);
+		}
+		ticks[size] = tick;
+		hashes[size] = hash;
+		size++;
+		rolling = finish(mix(rolling, hash));
+		return rolling;
+	}
+
+	/**
+	 * Finds the first tick at which two traces differ.
+	 *
+	 * @param other the trace to compare with.
+	 * @return the first tick with a different hash, or recorded in only one of the traces, or
+	 *         -1 if the traces are the same.
+	 */
+	public long firstDivergence(StateTrace other) {
+		int common = Math.min(size, other.size);
+		for (int i = 0; i < common; i++) {
+			if (ticks[i] != other.ticks[i] || hashes[i] != other.hashes[i]) {
+				return Math.min(ticks[i], other.ticks[i]);
+			}
+		}
+		if (size != other.size) {
+			return size > common ? ticks[common] : other.ticks[common];
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the number of ticks recorded.
+	 *
+	 * @return the tick count.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets a recorded tick.
+	 *
+	 * @param index the position in the trace.
+	 * @return the tick.
+	 */
+	public long getTick(int index) {
+		return ticks[checkIndex(index)];
+	}
+
+	/**
+	 * Gets the hash of a recorded tick.
+	 *
+	 * @param index the position in the trace.
+	 * @return the hash.
+	 */
+	public long getHash(int index) {
+		return hashes[checkIndex(index)];
+	}
+
+	/**
+	 * Gets the rolling hash over every tick recorded.
+	 *
+	 * @return the rolling hash.
+	 */
+	public long getRollingHash() {
+		return rolling;
+	}
+
+	/**
+	 * Writes the trace as text, one tick and hash per line, for keeping as a golden trace.
+	 *
+	 * @param file the file to write.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void write(Path file) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			for (int i = 0; i < size; i++) {
+				writer.write(ticks[i] + " " + String.format("%016x", hashes[i]));
+				writer.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Reads a trace written by {@link #write(Path)}.
+	 *
+	 * @param file the file to read.
+	 * @return the trace.
+	 * @throws IOException if the file cannot be read or is not a trace.
+	 */
+	public static StateTrace read(Path file) throws IOException {
+		StateTrace trace = new StateTrace();
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isBlank()) {
+					continue;
+				}
+				String[] fields = line.trim().split(" ");
+				try {
+					trace.record(Long.parseLong(fields[0]), Long.parseUnsignedLong(fields[1], 16));
+				} catch (RuntimeException e) {
+					throw new IOException("Bad trace line in " + file + ": " + line, e);
+				}
+			}
+		}
+		return trace;
+	}
+
+	/**
+	 * Folds a value into a hash.
+	 *
+	 * @param h     the hash so far.
+	 * @param value the value.
+	 * @return the new hash.
+	 */
+	private static long mix(long h, long value) {
+		return Long.rotateLeft(h ^ (value * 0x9E3779B97F4A7C15L), 27) * 0xC2B2AE3D27D4EB4FL + 0x165667B19E3779F9L;
+	}
+
+	/**
+	 * Spreads every bit of a hash over the whole value.
+	 *
+	 * @param h the hash.
+	 * @return the finished hash.
+	 */
+	private static long finish(long h) {
+		h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+		h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+		return h ^ (h >>> 31);
+	}
+
+	/**
+	 * Checks that an index is within the trace.
+	 *
+	 * @param index the index.
+	 * @return the index.
+	 */
+	private int checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of " + size);
+		}
+		return index;
+	}
+}
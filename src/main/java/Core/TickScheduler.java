@@ -0,0 +1,291 @@
+package Core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Runs the phases of a simulation tick, each at its own rate, and measures what they cost.
+ * <p>
+ * Every phase registers with a rate divisor: a divisor of 1 runs the phase on every tick, a
+ * divisor of 5 on every fifth tick. Phases sharing a reduced rate are spread across ticks
+ * instead of all running on the same one: each new phase gets the tick offset that collides
+ * least with the phases registered before it, which flattens the spikes a shared offset would
+ * cause. The time each phase takes is measured on every run and logged periodically, and can be
+ * read from its {@link Phase}. The scheduler is used from the simulation thread only.
+ * </p>
+ */
+public final class TickScheduler {
+
+	/**
+	 * How many ticks pass between two logged cost reports.
+	 */
+	private static final int LOG_INTERVAL_TICKS = 500;
+
+	/**
+	 * The registered phases, in the order they run within a tick.
+	 */
+	private final List<Phase> phases = new ArrayList<>();
+
+	/**
+	 * The number of ticks run.
+	 */
+	private long ticks;
+
+	/**
+	 * Registers a phase to run after the phases registered before it.
+	 *
+	 * @param name    the name shown in cost reports.
+	 * @param divisor run the phase on every {@code divisor}-th tick; 1 runs it every tick.
+	 * @param work    the work of the phase.
+	 * @return the registered phase.
+	 * @throws IllegalArgumentException if the divisor is below 1.
+	 */
+	public Phase register(String name, int divisor, Runnable work) {
+		if (divisor < 1) {
+			throw new IllegalArgumentException("Phase " + name + " needs a divisor of at least 1");
+		}
+		Phase phase = new Phase(name, divisor, staggeredOffset(divisor), work);
+		phases.add(phase);
+		return phase;
+	}
+
+	/**
+	 * Runs one tick: every phase that is due at this tick, in registration order.
+	 */
+	public void tick() {
+		long tick = ticks++;
+		for (Phase phase : phases) {
+			if (phase.divisor == 1 || tick % phase.divisor == phase.offset) {
+				long start = System.nanoTime();
+				phase.work.run();
+				phase.record(System.nanoTime() - start);
+			}
+		}
+		if (ticks % LOG_INTERVAL_TICKS == 0) {
+			logCosts();
+		}
+	}
+
+	/**
+	 * Gets the registered phases.
+	 *
+	 * @return the phases, in the order they run.
+	 */
+	public List<Phase> getPhases() {
+		return Collections.unmodifiableList(phases);
+	}
+
+	/**
+	 * Picks the tick offset for a new phase that shares the fewest ticks with the reduced-rate
+	 * phases already registered. Two phases with divisors {@code a} and {@code b} meet on one
+	 * tick in {@code lcm(a, b)} when their offsets agree modulo {@code gcd(a, b)}, and never
+	 * otherwise.
+	 *
+	 * @param divisor the divisor of the new phase.
+	 * @return the offset, between 0 and the divisor.
+	 */
+	private int staggeredOffset(int divisor) {
+		int best = 0;
+		double bestLoad = Double.MAX_VALUE;
+		for (int offset = 0; offset < divisor; offset++) {
+			double load = 0;
+			for (Phase phase : phases) {
+				if (phase.divisor > 1) {
+					int gcd = gcd(divisor, phase.divisor);
+					if (offset % gcd == phase.offset % gcd) {
+						load += (double) gcd / ((long) divisor * phase.divisor);
+					}
+				}
+			}
+			if (load < bestLoad) {
+				best = offset;
+				bestLoad = load;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Computes the greatest common divisor of two positive numbers.
+	 *
+	 * @param a the first number.
+	 * @param b the second number.
+	 * @return their greatest common divisor.
+	 */
+	private static int gcd(int a, int b) {
+		while (b != 0) {
+			int remainder = a % b;
+			a = b;
+			b = remainder;
+		}
+		return a;
+	}
+
+	/**
+	 * Logs the average and worst cost of each phase since the last report, then starts a new
+	 * reporting window.
+	 */
+	private void logCosts() {
+		StringBuilder report = new StringBuilder("Tick phases (avg/max us):");
+		for (Phase phase : phases) {
+			report.append(' ').append(phase.name).append('=')
+					.append(Math.round(phase.getAverageMicros())).append('/')
+					.append(phase.maxNanos / 1000);
+			phase.resetWindow();
+		}
+		System.out.println(report);
+	}
+
+	/**
+	 * A registered phase of the tick, with the cost measured over the current reporting window.
+	 */
+	public static final class Phase {
+
+		/**
+		 * The name shown in cost reports.
+		 */
+		private final String name;
+
+		/**
+		 * The phase runs on every {@code divisor}-th tick.
+		 */
+		private int divisor;
+
+		/**
+		 * The tick, modulo the divisor, the phase runs on.
+		 */
+		private int offset;
+
+		/**
+		 * The work of the phase.
+		 */
+		private final Runnable work;
+
+		/**
+		 * The number of runs in the current window.
+		 */
+		private long runs;
+
+		/**
+		 * The total time of the runs in the current window, in nanoseconds.
+		 */
+		private long totalNanos;
+
+		/**
+		 * The longest run in the current window, in nanoseconds.
+		 */
+		private long maxNanos;
+
+		/**
+		 * The time of the most recent run, in nanoseconds.
+		 */
+		private long lastNanos;
+
+		/**
+		 * Creates a phase.
+		 *
+		 * @param name    the name shown in cost reports.
+		 * @param divisor the rate divisor.
+		 * @param offset  the tick offset.
+		 * @param work    the work of the phase.
+		 */
+		private Phase(String name, int divisor, int offset, Runnable work) {
+			this.name = name;
+			this.divisor = divisor;
+			this.offset = offset;
+			this.work = work;
+		}
+
+		/**
+		 * Records the time of one run.
+		 *
+		 * @param nanos the time the run took.
+		 */
+		private void record(long nanos) {
+			runs++;
+			totalNanos += nanos;
+			maxNanos = Math.max(maxNanos, nanos);
+			lastNanos = nanos;
+		}
+
+		/**
+		 * Starts a new reporting window.
+		 */
+		private void resetWindow() {
+			runs = 0;
+			totalNanos = 0;
+			maxNanos = 0;
+		}
+
+		/**
+		 * Gets the name of the phase.
+		 *
+		 * @return the name.
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Gets the rate divisor of the phase.
+		 *
+		 * @return the number of ticks between two runs.
+		 */
+		public int getDivisor() {
+			return divisor;
+		}
+
+		/**
+		 * Changes the rate of the phase, for example when optional work is scaled back. The
+		 * phase keeps its place in the stagger as far as the new divisor allows. Must be called
+		 * from the thread running the ticks.
+		 *
+		 * @param newDivisor run the phase on every {@code newDivisor}-th tick.
+		 * @throws IllegalArgumentException if the divisor is below 1.
+		 */
+		public void setDivisor(int newDivisor) {
+			if (newDivisor < 1) {
+				throw new IllegalArgumentException("Phase " + name + " needs a divisor of at least 1");
+			}
+			offset = offset % newDivisor;
+			divisor = newDivisor;
+		}
+
+		/**
+		 * Gets the tick offset the phase was staggered to.
+		 *
+		 * @return the tick, modulo the divisor, the phase runs on.
+		 */
+		public int getOffset() {
+			return offset;
+		}
+
+		/**
+		 * Gets the average time of a run in the current reporting window.
+		 *
+		 * @return the average in microseconds, 0 if the phase has not run.
+		 */
+		public double getAverageMicros() {
+			return runs == 0 ? 0 : totalNanos / 1000.0 / runs;
+		}
+
+		/**
+		 * Gets the time of the most recent run.
+		 *
+		 * @return the time in nanoseconds.
+		 */
+		public long getLastNanos() {
+			return lastNanos;
+		}
+
+		/**
+		 * Gets the number of runs in the current reporting window.
+		 *
+		 * @return the run count.
+		 */
+		public long getRuns() {
+			return runs;
+		}
+	}
+}
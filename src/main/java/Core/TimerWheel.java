@@ -0,0 +1,302 @@
+package Core;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A hierarchical timer wheel that wakes timed game behavior only on the tick it is due.
+ * <p>
+ * Instead of every entity rolling a random number each tick to decide whether to fire, raise
+ * its shield or spawn something, each one schedules a timer for the tick its next event
+ * happens, sampled from the same distribution by {@link #randomDelay(double)}. Advancing the
+ * wheel by one tick then only touches the timers that are due, so the cost of a tick follows
+ * the number of events rather than the number of entities.
+ * </p>
+ * <p>
+ * The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots. A timer due within the next
+ * {@value #SLOTS} ticks sits in a slot of the first level; timers further out sit in a coarser
+ * level and are moved down a level each time its slot comes round, so scheduling, cancelling and
+ * firing are all constant-time. Timers are intrusive list nodes and can be rescheduled without
+ * allocation. The wheel is used from the simulation thread only.
+ * </p>
+ */
+public final class TimerWheel {
+
+	/**
+	 * The number of tick bits resolved by each level.
+	 */
+	private static final int SLOT_BITS = 6;
+
+	/**
+	 * The number of slots in each level.
+	 */
+	private static final int SLOTS = 1 << SLOT_BITS;
+
+	/**
+	 * The number of levels.
+	 */
+	private static final int LEVELS = 4;
+
+	/**
+	 * The longest delay the wheel can hold; longer delays are shortened to it.
+	 */
+	public static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+	/**
+	 * The list head of every slot, indexed by level and slot.
+	 */
+	private final Timer[][] slots = new Timer[LEVELS][SLOTS];
+
+	/**
+	 * The current tick.
+	 */
+	private long now;
+
+	/**
+	 * The number of pending timers.
+	 */
+	private int size;
+
+	/**
+	 * The number of timers fired so far.
+	 */
+	private long fired;
+
+	/**
+	 * Creates an empty wheel at tick 0.
+	 */
+	public TimerWheel() {
+		for (Timer[] level : slots) {
+			for (int i = 0; i < SLOTS; i++) {
+				Timer head = new Timer(null);
+				head.next = head;
+				head.previous = head;
+				level[i] = head;
+			}
+		}
+	}
+
+	/**
+	 * Samples the number of ticks until an event that happens on each tick with a fixed
+	 * probability. This is the geometric distribution of per-tick random rolls, so scheduling
+	 * an event after this delay behaves exactly like rolling for it every tick.
+	 *
+	 * @param probability the chance of the event on any one tick, above 0 and at most 1.
+	 * @return the delay in ticks, at least 1.
+	 */
+	public static long randomDelay(double probability) {
+		if (probability >= 1) {
+			return 1;
+		}
+		double roll = 1 - GameRandom.random(); // In (0, 1], so the logarithm is finite
+		double delay = Math.floor(Math.log(roll) / Math.log1p(-probability)) + 1;
+		return (long) Math.min(delay, MAX_DELAY);
+	}
+
+	/**
+	 * Creates an unscheduled timer.
+	 *
+	 * @param action the work run when the timer fires.
+	 * @return the timer, to be passed to {@link #schedule(Timer, long)}.
+	 */
+	public Timer newTimer(Runnable action) {
+		return new Timer(action);
+	}
+
+	/**
+	 * Schedules a timer to fire after a delay, rescheduling it if it is already pending.
+	 *
+	 * @param timer the timer.
+	 * @param delay the number of ticks until it fires; values below 1 fire on the next tick.
+	 */
+	public void schedule(Timer timer, long delay) {
+		timer.cancel();
+		timer.wheel = this;
+		timer.deadline = now + Math.max(1, Math.min(delay, MAX_DELAY));
+		insert(timer);
+		size++;
+	}
+
+	/**
+	 * Runs an action repeatedly, each time after a delay sampled by {@link #randomDelay(double)},
+	 * for as long as the action asks to continue.
+	 *
+	 * @param probability the per-tick chance of the action being due.
+	 * @param action      the work to run; returns {@code false} to stop repeating.
+	 * @return the scheduled timer, which can be cancelled.
+	 */
+	public Timer repeatRandomly(double probability, BooleanSupplier action) {
+		Timer timer = new Timer(null);
+		timer.action = () -> {
+			if (action.getAsBoolean()) {
+				schedule(timer, randomDelay(probability));
+			}
+		};
+		schedule(timer, randomDelay(probability));
+		return timer;
+	}
+
+	/**
+	 * Advances the wheel by one tick and fires every timer that is due. Timers scheduled by a
+	 * firing timer fire on a later tick.
+	 */
+	public void advance() {
+		now++;
+		for (int level = 1; level < LEVELS && (now & ((1L << (SLOT_BITS * level)) - 1)) == 0; level++) {
+			cascade(level, slotIndex(now, level));
+		}
+
+		// A rescheduled timer is always due later, so it never lands back in the slot being emptied
+		Timer head = slots[0][slotIndex(now, 0)];
+		Timer timer;
+		while ((timer = head.next) != head) {
+			timer.cancel();
+			fired++;
+			timer.action.run();
+		}
+	}
+
+	/**
+	 * Gets the current tick.
+	 *
+	 * @return the number of times the wheel has advanced.
+	 */
+	public long getTick() {
+		return now;
+	}
+
+	/**
+	 * Gets the number of pending timers.
+	 *
+	 * @return the timer count.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the number of timers fired since the wheel was created.
+	 *
+	 * @return the fired timer count.
+	 */
+	public long getFiredCount() {
+		return fired;
+	}
+
+	/**
+	 * Moves the timers of a coarse slot down to the levels matching their remaining delay.
+	 *
+	 * @param level the level of the slot.
+	 * @param index the slot.
+	 */
+	private void cascade(int level, int index) {
+		Timer head = slots[level][index];
+		Timer timer = head.next;
+		head.next = head;
+		head.previous = head;
+		while (timer != head) {
+			Timer next = timer.next;
+			insert(timer);
+			timer = next;
+		}
+	}
+
+	/**
+	 * Links a timer into the slot for its deadline. The level is the highest group of tick bits
+	 * in which the deadline differs from the current tick. A deadline that also differs above the
+	 * top level, because it lies across a {@code 2^24}-tick boundary, goes in the top level; its
+	 * slot comes round before the deadline, and the cascade then moves it down.
+	 *
+	 * @param timer the timer, with its deadline set.
+	 */
+	private void insert(Timer timer) {
+		int level = Math.min((63 - Long.numberOfLeadingZeros(timer.deadline ^ now)) / SLOT_BITS, LEVELS - 1);
+		Timer head = slots[level][slotIndex(timer.deadline, level)];
+		timer.previous = head.previous;
+		timer.next = head;
+		head.previous.next = timer;
+		head.previous = timer;
+	}
+
+	/**
+	 * Gets the slot a tick falls into at a level.
+	 *
+	 * @param tick  the tick.
+	 * @param level the level.
+	 * @return the slot index.
+	 */
+	private static int slotIndex(long tick, int level) {
+		return (int) (tick >>> (SLOT_BITS * level)) & (SLOTS - 1);
+	}
+
+	/**
+	 * A timed action that can be scheduled on a {@link TimerWheel}.
+	 */
+	public static final class Timer {
+
+		/**
+		 * The work run when the timer fires.
+		 */
+		private Runnable action;
+
+		/**
+		 * The wheel the timer was last scheduled on.
+		 */
+		private TimerWheel wheel;
+
+		/**
+		 * The tick the timer fires at.
+		 */
+		private long deadline;
+
+		/**
+		 * The next timer in the slot, or {@code null} while not pending.
+		 */
+		private Timer next;
+
+		/**
+		 * The previous timer in the slot, or {@code null} while not pending.
+		 */
+		private Timer previous;
+
+		/**
+		 * Creates a timer.
+		 *
+		 * @param action the work run when the timer fires.
+		 */
+		private Timer(Runnable action) {
+			this.action = action;
+		}
+
+		/**
+		 * Checks whether the timer is waiting to fire.
+		 *
+		 * @return {@code true} if scheduled and not yet fired or cancelled.
+		 */
+		public boolean isPending() {
+			return next != null;
+		}
+
+		/**
+		 * Gets the tick the timer fires, or last fired, at.
+		 *
+		 * @return the deadline tick.
+		 */
+		public long getDeadline() {
+			return deadline;
+		}
+
+		/**
+		 * Stops the timer from firing. Does nothing if it is not pending.
+		 */
+		public void cancel() {
+			if (next == null) {
+				return;
+			}
+			previous.next = next;
+			next.previous = previous;
+			next = null;
+			previous = null;
+			wheel.size--;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package Core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free handoff of the latest state from one producer thread to one consumer thread.
+ * <p>
+ * The buffer holds three preallocated slots. The producer always fills its back slot and then
+ * publishes it by swapping it with the shared middle slot; the consumer swaps the middle slot
+ * into its front slot whenever a newer one has been published. Neither side ever waits for
+ * the other, the producer never overwrites the slot being read, and the consumer always sees
+ * the most recently completed state. Slots are reused, so no garbage is produced per frame.
+ * </p>
+ *
+ * @param <T> the type of state held in each slot.
+ */
+public final class TripleBuffer<T> {
+
+	/**
+	 * Set on the middle index when it holds a slot the consumer has not seen yet.
+	 */
+	private static final int FRESH = 1 << 2;
+
+	/**
+	 * Extracts the slot index from the middle index.
+	 */
+	private static final int INDEX_MASK = FRESH - 1;
+
+	/**
+	 * The three slots.
+	 */
+	private final Object[] slots;
+
+	/**
+	 * The index of the middle slot, combined with the {@link #FRESH} flag.
+	 */
+	private final AtomicInteger middle = new AtomicInteger(2);
+
+	/**
+	 * The slot owned by the producer.
+	 */
+	private int back = 0;
+
+	/**
+	 * The slot owned by the consumer.
+	 */
+	private int front = 1;
+
+	/**
+	 * Creates a triple buffer with three slots made by the given factory.
+	 *
+	 * @param factory creates each slot.
+	 */
+	public TripleBuffer(Supplier<T> factory) {
+		this.slots = new Object[]{factory.get(), factory.get(), factory.get()};
+	}
+
+	/**
+	 * Gets the slot the producer is filling. Only the producer thread may call this.
+	 *
+	 * @return the back slot.
+	 */
+	@SuppressWarnings("unchecked")
+	public T back() {
+		return (T) slots[back];
+	}
+
+	/**
+	 * Publishes the back slot to the consumer and hands the producer a free slot to fill next.
+	 * Only the producer thread may call this.
+	 */
+	public void publish() {
+		back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+	}
+
+	/**
+	 * Gets the most recently published slot. Only the consumer thread may call this.
+	 *
+	 * @return the front slot, updated to the newest published state.
+	 */
+	@SuppressWarnings("unchecked")
+	public T latest() {
+		if ((middle.get() & FRESH) != 0) {
+			front = middle.getAndSet(front) & INDEX_MASK;
+		}
+		return (T) slots[front];
+	}
+}
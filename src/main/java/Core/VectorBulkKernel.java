@@ -0,0 +1,94 @@
+package Core;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link BulkKernel} written with the incubating Vector API, processing as many elements
+ * per instruction as the CPU's preferred vector width holds. Elements past the last full
+ * vector are handled one at a time. Only loaded when the {@code jdk.incubator.vector} module
+ * is present; see {@link BulkKernels#get()}.
+ */
+final class VectorBulkKernel implements BulkKernel {
+
+	/**
+	 * The vector shape used, the widest the CPU handles well.
+	 */
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	/**
+	 * The vector shape used for fixed-point values, as wide as {@link #SPECIES} in bits.
+	 */
+	private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+
+	/**
+	 * Gets the number of elements processed per vector.
+	 *
+	 * @return the lane count.
+	 */
+	static int lanes() {
+		return SPECIES.length();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void add(double[] values, double[] deltas, int count) {
+		int i = 0;
+		for (int bound = SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+			DoubleVector.fromArray(SPECIES, values, i)
+					.add(DoubleVector.fromArray(SPECIES, deltas, i))
+					.intoArray(values, i);
+		}
+		for (; i < count; i++) {
+			values[i] += deltas[i];
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void add(int[] values, int[] deltas, int count) {
+		int i = 0;
+		for (int bound = INT_SPECIES.loopBound(count); i < bound; i += INT_SPECIES.length()) {
+			IntVector.fromArray(INT_SPECIES, values, i)
+					.add(IntVector.fromArray(INT_SPECIES, deltas, i))
+					.intoArray(values, i);
+		}
+		for (; i < count; i++) {
+			values[i] += deltas[i];
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int overlaps(double minX, double minY, double maxX, double maxY,
+						double[] boxMinX, double[] boxMinY, double[] boxMaxX, double[] boxMaxY, int count, int[] hits) {
+		int found = 0;
+		int i = 0;
+		for (int bound = SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+			VectorMask<Double> overlap = DoubleVector.fromArray(SPECIES, boxMinX, i).compare(VectorOperators.LE, maxX)
+					.and(DoubleVector.fromArray(SPECIES, boxMaxX, i).compare(VectorOperators.GE, minX))
+					.and(DoubleVector.fromArray(SPECIES, boxMinY, i).compare(VectorOperators.LE, maxY))
+					.and(DoubleVector.fromArray(SPECIES, boxMaxY, i).compare(VectorOperators.GE, minY));
+			if (overlap.anyTrue()) {
+				for (long lanes = overlap.toLong(); lanes != 0; lanes &= lanes - 1) {
+					hits[found++] = i + Long.numberOfTrailingZeros(lanes);
+				}
+			}
+		}
+		for (; i < count; i++) {
+			if (boxMinX[i] <= maxX && boxMaxX[i] >= minX && boxMinY[i] <= maxY && boxMaxY[i] >= minY) {
+				hits[found++] = i;
+			}
+		}
+		return found;
+	}
+}
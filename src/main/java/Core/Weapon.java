@@ -0,0 +1,167 @@
+package Core;
+
+/**
+ * Decides on which simulation ticks a plane's weapon fires.
+ * <p>
+ * The weapon is driven once per tick with the state of its trigger and answers whether a shot
+ * leaves the barrel on that tick, so the rate of fire is set by the weapon rather than by how
+ * often the trigger is reported. Pulling the trigger fires a burst of shots spaced a gap apart;
+ * after the last shot of a burst the weapon cools down before it can fire again. With autofire
+ * a held trigger starts a new burst as soon as the weapon has cooled down, otherwise the trigger
+ * has to be pulled again. The weapon is used from the simulation thread only.
+ * </p>
+ */
+public final class Weapon {
+
+	/**
+	 * The number of ticks from the last shot of a burst to the earliest first shot of the next.
+	 */
+	private final int cooldownTicks;
+
+	/**
+	 * The number of shots fired each time the trigger is pulled.
+	 */
+	private final int burstSize;
+
+	/**
+	 * The number of ticks between two shots of a burst.
+	 */
+	private final int burstGapTicks;
+
+	/**
+	 * Whether a held trigger keeps firing.
+	 */
+	private final boolean autofire;
+
+	/**
+	 * The number of ticks before the weapon can fire its next shot.
+	 */
+	private int wait;
+
+	/**
+	 * The number of shots left in the current burst.
+	 */
+	private int burstRemaining;
+
+	/**
+	 * The number of shots fired so far.
+	 */
+	private long shotsFired;
+
+	/**
+	 * Creates a weapon that is ready to fire.
+	 *
+	 * @param cooldownTicks the number of ticks from the last shot of a burst to the first shot of the next.
+	 * @param burstSize     the number of shots fired each time the trigger is pulled.
+	 * @param burstGapTicks the number of ticks between two shots of a burst.
+	 * @param autofire      whether a held trigger keeps firing.
+	 * @throws IllegalArgumentException if a tick count or the burst size is below 1.
+	 */
+	public Weapon(int cooldownTicks, int burstSize, int burstGapTicks, boolean autofire) {
+		if (cooldownTicks < 1 || burstSize < 1 || burstGapTicks < 1) {
+			throw new IllegalArgumentException("Weapon cooldown, burst size and burst gap must be at least 1");
+		}
+		this.cooldownTicks = cooldownTicks;
+		this.burstSize = burstSize;
+		this.burstGapTicks = burstGapTicks;
+		this.autofire = autofire;
+	}
+
+	/**
+	 * Advances the weapon by one tick.
+	 *
+	 * @param triggerHeld    whether the trigger is held down on this tick.
+	 * @param triggerPressed whether the trigger was pulled since the previous tick.
+	 * @return {@code true} if the weapon fires a shot on this tick.
+	 */
+	public boolean update(boolean triggerHeld, boolean triggerPressed) {
+		if (wait > 0) {
+			wait--;
+		}
+		if (wait > 0) {
+			return false;
+		}
+		if (burstRemaining == 0) {
+			if (!triggerPressed && !(autofire && triggerHeld)) {
+				return false;
+			}
+			burstRemaining = burstSize;
+		}
+		burstRemaining--;
+		wait = burstRemaining > 0 ? burstGapTicks : cooldownTicks;
+		shotsFired++;
+		return true;
+	}
+
+	/**
+	 * Checks whether the weapon would fire on its next {@link #update(boolean, boolean)} with
+	 * the given trigger state, without changing it.
+	 *
+	 * @param triggerHeld    whether the trigger is held down on this tick.
+	 * @param triggerPressed whether the trigger was pulled since the previous tick.
+	 * @return {@code true} if a shot is due on this tick.
+	 */
+	public boolean isDue(boolean triggerHeld, boolean triggerPressed) {
+		return wait <= 1 && (burstRemaining > 0 || triggerPressed || (autofire && triggerHeld));
+	}
+
+	/**
+	 * Advances the weapon by one tick on which it may not fire, for example because there is no
+	 * room for the shot. The cooldown runs down, but a burst in progress waits and no shot is
+	 * counted, so the weapon fires as soon as it is allowed to again.
+	 */
+	public void hold() {
+		wait = Math.max(wait - 1, 0);
+	}
+
+	/**
+	 * Gets the number of ticks before the weapon can fire its next shot.
+	 *
+	 * @return the ticks left, 0 if it is ready.
+	 */
+	public int getWait() {
+		return wait;
+	}
+
+	/**
+	 * Gets the number of shots left in the current burst.
+	 *
+	 * @return the shots left, 0 between bursts.
+	 */
+	public int getBurstRemaining() {
+		return burstRemaining;
+	}
+
+	/**
+	 * Puts the weapon back into a saved state, for example when a level is restored from a snapshot.
+	 *
+	 * @param wait           the ticks before the next shot.
+	 * @param burstRemaining the shots left in the current burst.
+	 * @throws IllegalArgumentException if either is negative.
+	 */
+	public void restore(int wait, int burstRemaining) {
+		if (wait < 0 || burstRemaining < 0) {
+			throw new IllegalArgumentException("Weapon wait and burst must not be negative");
+		}
+		this.wait = wait;
+		this.burstRemaining = burstRemaining;
+	}
+
+	/**
+	 * Gets the number of shots fired since the weapon was created.
+	 *
+	 * @return the shot count.
+	 */
+	public long getShotsFired() {
+		return shotsFired;
+	}
+
+	/**
+	 * Checks whether a held trigger keeps firing.
+	 *
+	 * @return {@code true} for autofire.
+	 */
+	public boolean isAutofire() {
+		return autofire;
+	}
+}
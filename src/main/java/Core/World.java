@@ -0,0 +1,487 @@
+package Core;
+
+import javafx.geometry.Bounds;
+
+import java.util.Arrays;
+
+/**
+ * The entity store of a level: every simulated entity as a row of dense component arrays.
+ * <p>
+ * An entity is named by a generational id, its slot index in the low bits and the slot's
+ * generation above them. Destroying an entity bumps the generation of its slot, so an id kept
+ * after its entity is gone is recognised as stale instead of silently naming whichever entity
+ * reuses the slot. The components themselves are stored by row, one array per field, and rows
+ * are kept packed: a destroyed entity's row is filled with the last row. Systems such as the
+ * {@link MovementSystem} and the {@link CollisionSystem} walk these arrays from start to end,
+ * touching only the fields they need, and a row range can be split between threads without
+ * any entity being visited twice.
+ * </p>
+ * <p>
+ * Each entity keeps its actor as its {@link Component#SPRITE sprite}. Entities with a
+ * {@link Component#VELOCITY velocity} are moved by the world and their actors follow; entities
+ * without one are still driven by their actor's own behaviour and copied into the world by
+ * {@link #syncDriven()}. The world is used from the simulation thread only.
+ * </p>
+ */
+public final class World {
+
+	/**
+	 * The id of no entity.
+	 */
+	public static final int NONE = -1;
+
+	/**
+	 * The number of id bits holding the slot index.
+	 */
+	private static final int INDEX_BITS = 16;
+
+	/**
+	 * Selects the slot index from an id.
+	 */
+	private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+	/**
+	 * The most entities the world can hold at once.
+	 */
+	public static final int MAX_ENTITIES = 1 << INDEX_BITS;
+
+	/**
+	 * The number of rows allocated up front.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * The generation of each slot, bumped whenever its entity is destroyed.
+	 */
+	private int[] generations = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The row of the entity in each slot, or -1 for a free slot.
+	 */
+	private int[] rows = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The free slots, used as a stack.
+	 */
+	private int[] freeSlots = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The number of free slots on the stack.
+	 */
+	private int freeCount;
+
+	/**
+	 * The number of slots ever used.
+	 */
+	private int slotCount;
+
+	/**
+	 * The number of live entities, which fill rows 0 to {@code size - 1}.
+	 */
+	int size;
+
+	/**
+	 * The id of the entity in each row.
+	 */
+	int[] ids = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The archetype of the entity in each row.
+	 */
+	Archetype[] archetypes = new Archetype[INITIAL_CAPACITY];
+
+	/**
+	 * The horizontal position of each entity.
+	 */
+	double[] x = new double[INITIAL_CAPACITY];
+
+	/**
+	 * The vertical position of each entity.
+	 */
+	double[] y = new double[INITIAL_CAPACITY];
+
+	/**
+	 * The horizontal velocity of each entity, per tick.
+	 */
+	double[] velocityX = new double[INITIAL_CAPACITY];
+
+	/**
+	 * The vertical velocity of each entity, per tick.
+	 */
+	double[] velocityY = new double[INITIAL_CAPACITY];
+
+	/**
+	 * Whether positions and velocities are integrated in 16.16 fixed point, as chosen by
+	 * {@link Fixed#isEnabled()} when the world was made. {@link #x} and {@link #y} then mirror
+	 * {@link #fixedX} and {@link #fixedY} for the systems that read them.
+	 */
+	final boolean fixedPoint = Fixed.isEnabled();
+
+	/**
+	 * The horizontal position of each entity in fixed point, in the deterministic physics mode.
+	 */
+	int[] fixedX = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The vertical position of each entity in fixed point, in the deterministic physics mode.
+	 */
+	int[] fixedY = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The horizontal velocity of each entity in fixed point, in the deterministic physics mode.
+	 */
+	int[] fixedVelocityX = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The vertical velocity of each entity in fixed point, in the deterministic physics mode.
+	 */
+	int[] fixedVelocityY = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The left edge of each entity's hitbox, relative to its position.
+	 */
+	double[] hitboxX = new double[INITIAL_CAPACITY];
+
+	/**
+	 * The top edge of each entity's hitbox, relative to its position.
+	 */
+	double[] hitboxY = new double[INITIAL_CAPACITY];
+
+	/**
+	 * The width of each entity's hitbox.
+	 */
+	double[] hitboxWidth = new double[INITIAL_CAPACITY];
+
+	/**
+	 * The height of each entity's hitbox.
+	 */
+	double[] hitboxHeight = new double[INITIAL_CAPACITY];
+
+	/**
+	 * The hits each entity can still take.
+	 */
+	int[] health = new int[INITIAL_CAPACITY];
+
+	/**
+	 * The weapon of each entity, or {@code null}.
+	 */
+	Weapon[] weapons = new Weapon[INITIAL_CAPACITY];
+
+	/**
+	 * The actor drawing each entity.
+	 */
+	ActiveActorDestructible[] sprites = new ActiveActorDestructible[INITIAL_CAPACITY];
+
+	/**
+	 * Creates an entity for an actor, laid out by the actor's archetype, and records its id on the actor.
+	 *
+	 * @param sprite the actor drawing the entity.
+	 * @return the id of the new entity.
+	 * @throws IllegalArgumentException if the actor has no archetype.
+	 * @throws IllegalStateException    if the world is full.
+	 */
+	public int spawn(ActiveActorDestructible sprite) {
+		Archetype archetype = sprite.getArchetype();
+		if (archetype == null) {
+			throw new IllegalArgumentException(sprite.getClass().getSimpleName() + " has no archetype");
+		}
+		int slot = allocateSlot();
+		if (size == ids.length) {
+			grow();
+		}
+		int row = size++;
+		int id = (generations[slot] << INDEX_BITS) | slot;
+		rows[slot] = row;
+		ids[row] = id;
+		archetypes[row] = archetype;
+		sprites[row] = sprite;
+		if (archetype.has(Component.VELOCITY)) {
+			velocityX[row] = sprite.getVelocityX();
+			velocityY[row] = sprite.getVelocityY();
+		} else {
+			velocityX[row] = 0;
+			velocityY[row] = 0;
+		}
+		if (fixedPoint) {
+			fixedVelocityX[row] = Fixed.fromDouble(velocityX[row]);
+			fixedVelocityY[row] = Fixed.fromDouble(velocityY[row]);
+		}
+		pull(row);
+		sprite.setEntity(id);
+		return id;
+	}
+
+	/**
+	 * Destroys the entity of an actor, if it has one, and clears the id recorded on the actor.
+	 *
+	 * @param sprite the actor.
+	 */
+	public void despawn(ActiveActorDestructible sprite) {
+		destroy(sprite.getEntity());
+		sprite.setEntity(NONE);
+	}
+
+	/**
+	 * Destroys an entity. Stale ids and {@link #NONE} are ignored.
+	 *
+	 * @param id the id of the entity.
+	 */
+	public void destroy(int id) {
+		int row = row(id);
+		if (row < 0) {
+			return;
+		}
+		int last = --size;
+		if (row != last) {
+			copyRow(last, row);
+			rows[ids[row] & INDEX_MASK] = row;
+		}
+		weapons[last] = null;
+		sprites[last] = null;
+		archetypes[last] = null;
+
+		int slot = id & INDEX_MASK;
+		rows[slot] = -1;
+		generations[slot] = (generations[slot] + 1) & (Integer.MAX_VALUE >>> INDEX_BITS);
+		freeSlots[freeCount++] = slot;
+	}
+
+	/**
+	 * Destroys every entity. Ids handed out before stay stale.
+	 */
+	public void clear() {
+		while (size > 0) {
+			sprites[size - 1].setEntity(NONE);
+			destroy(ids[size - 1]);
+		}
+	}
+
+	/**
+	 * Checks whether an id names a live entity.
+	 *
+	 * @param id the id.
+	 * @return {@code true} if the entity exists and has not been destroyed.
+	 */
+	public boolean isAlive(int id) {
+		return row(id) >= 0;
+	}
+
+	/**
+	 * Gets the number of live entities.
+	 *
+	 * @return the entity count.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Copies the position, hitbox and health of every entity without a velocity from its actor,
+	 * which moved it during the tick.
+	 */
+	public void syncDriven() {
+		for (int row = 0; row < size; row++) {
+			if (!archetypes[row].has(Component.VELOCITY)) {
+				pull(row);
+			}
+		}
+	}
+
+	/**
+	 * Gives an entity a weapon.
+	 *
+	 * @param id     the id of the entity.
+	 * @param weapon the weapon.
+	 * @throws IllegalArgumentException if the entity is not alive or its archetype has no weapon.
+	 */
+	public void setWeapon(int id, Weapon weapon) {
+		int row = liveRow(id);
+		if (!archetypes[row].has(Component.WEAPON)) {
+			throw new IllegalArgumentException(archetypes[row] + " entities carry no weapon");
+		}
+		weapons[row] = weapon;
+	}
+
+	/**
+	 * Gets the weapon of an entity.
+	 *
+	 * @param id the id of the entity.
+	 * @return the weapon, or {@code null} if it has none.
+	 * @throws IllegalArgumentException if the entity is not alive.
+	 */
+	public Weapon getWeapon(int id) {
+		return weapons[liveRow(id)];
+	}
+
+	/**
+	 * Gets the horizontal position of an entity.
+	 *
+	 * @param id the id of the entity.
+	 * @return the X position.
+	 * @throws IllegalArgumentException if the entity is not alive.
+	 */
+	public double getX(int id) {
+		return x[liveRow(id)];
+	}
+
+	/**
+	 * Gets the vertical position of an entity.
+	 *
+	 * @param id the id of the entity.
+	 * @return the Y position.
+	 * @throws IllegalArgumentException if the entity is not alive.
+	 */
+	public double getY(int id) {
+		return y[liveRow(id)];
+	}
+
+	/**
+	 * Gets the hits an entity can still take.
+	 *
+	 * @param id the id of the entity.
+	 * @return the health.
+	 * @throws IllegalArgumentException if the entity is not alive.
+	 */
+	public int getHealth(int id) {
+		return health[liveRow(id)];
+	}
+
+	/**
+	 * Gets the actor drawing an entity.
+	 *
+	 * @param id the id of the entity.
+	 * @return the actor.
+	 * @throws IllegalArgumentException if the entity is not alive.
+	 */
+	public ActiveActorDestructible getSprite(int id) {
+		return sprites[liveRow(id)];
+	}
+
+	/**
+	 * Finds the row of an entity.
+	 *
+	 * @param id the id of the entity.
+	 * @return the row, or -1 if the id is stale or {@link #NONE}.
+	 */
+	int row(int id) {
+		if (id < 0) {
+			return -1;
+		}
+		int slot = id & INDEX_MASK;
+		if (slot >= slotCount || generations[slot] != id >>> INDEX_BITS) {
+			return -1;
+		}
+		return rows[slot];
+	}
+
+	/**
+	 * Copies the state a driven entity's actor holds into its row.
+	 *
+	 * @param row the row.
+	 */
+	void pull(int row) {
+		ActiveActorDestructible sprite = sprites[row];
+		if (fixedPoint) {
+			fixedX[row] = sprite.getFixedPositionX();
+			fixedY[row] = sprite.getFixedPositionY();
+			x[row] = Fixed.toDouble(fixedX[row]);
+			y[row] = Fixed.toDouble(fixedY[row]);
+		} else {
+			x[row] = sprite.getPositionX();
+			y[row] = sprite.getPositionY();
+		}
+		Bounds hitbox = sprite.getHitbox().getBoundsInParent();
+		hitboxX[row] = hitbox.getMinX() - x[row];
+		hitboxY[row] = hitbox.getMinY() - y[row];
+		hitboxWidth[row] = hitbox.getWidth();
+		hitboxHeight[row] = hitbox.getHeight();
+		health[row] = sprite.isDestroyed() ? 0 : sprite.getHealth();
+	}
+
+	/**
+	 * Finds the row of an entity that must be alive.
+	 *
+	 * @param id the id of the entity.
+	 * @return the row.
+	 * @throws IllegalArgumentException if the entity is not alive.
+	 */
+	private int liveRow(int id) {
+		int row = row(id);
+		if (row < 0) {
+			throw new IllegalArgumentException("Entity " + id + " is not alive");
+		}
+		return row;
+	}
+
+	/**
+	 * Takes a free slot, or a new one if none is free.
+	 *
+	 * @return the slot index.
+	 * @throws IllegalStateException if every slot is in use.
+	 */
+	private int allocateSlot() {
+		if (freeCount > 0) {
+			return freeSlots[--freeCount];
+		}
+		if (slotCount == MAX_ENTITIES) {
+			throw new IllegalStateException("The world is full at " + MAX_ENTITIES + " entities");
+		}
+		if (slotCount == rows.length) {
+			int capacity = Math.min(rows.length * 2, MAX_ENTITIES);
+			generations = Arrays.copyOf(generations, capacity);
+			rows = Arrays.copyOf(rows, capacity);
+			freeSlots = Arrays.copyOf(freeSlots, capacity);
+		}
+		return slotCount++;
+	}
+
+	/**
+	 * Moves a row's components to another row.
+	 *
+	 * @param from the row to copy.
+	 * @param to   the row to overwrite.
+	 */
+	private void copyRow(int from, int to) {
+		ids[to] = ids[from];
+		archetypes[to] = archetypes[from];
+		x[to] = x[from];
+		y[to] = y[from];
+		velocityX[to] = velocityX[from];
+		velocityY[to] = velocityY[from];
+		fixedX[to] = fixedX[from];
+		fixedY[to] = fixedY[from];
+		fixedVelocityX[to] = fixedVelocityX[from];
+		fixedVelocityY[to] = fixedVelocityY[from];
+		hitboxX[to] = hitboxX[from];
+		hitboxY[to] = hitboxY[from];
+		hitboxWidth[to] = hitboxWidth[from];
+		hitboxHeight[to] = hitboxHeight[from];
+		health[to] = health[from];
+		weapons[to] = weapons[from];
+		sprites[to] = sprites[from];
+	}
+
+	/**
+	 * Doubles the number of rows.
+	 */
+	private void grow() {
+		int capacity = ids.length * 2;
+		ids = Arrays.copyOf(ids, capacity);
+		archetypes = Arrays.copyOf(archetypes, capacity);
+		x = Arrays.copyOf(x, capacity);
+		y = Arrays.copyOf(y, capacity);
+		velocityX = Arrays.copyOf(velocityX, capacity);
+		velocityY = Arrays.copyOf(velocityY, capacity);
+		fixedX = Arrays.copyOf(fixedX, capacity);
+		fixedY = Arrays.copyOf(fixedY, capacity);
+		fixedVelocityX = Arrays.copyOf(fixedVelocityX, capacity);
+		fixedVelocityY = Arrays.copyOf(fixedVelocityY, capacity);
+		hitboxX = Arrays.copyOf(hitboxX, capacity);
+		hitboxY = Arrays.copyOf(hitboxY, capacity);
+		hitboxWidth = Arrays.copyOf(hitboxWidth, capacity);
+		hitboxHeight = Arrays.copyOf(hitboxHeight, capacity);
+		health = Arrays.copyOf(health, capacity);
+		weapons = Arrays.copyOf(weapons, capacity);
+		sprites = Arrays.copyOf(sprites, capacity);
+	}
+}
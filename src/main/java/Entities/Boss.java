@@ -5,15 +5,20 @@
 package Entities;
 
 import Core.ActiveActorDestructible;
+import Core.Archetype;
 import Core.FighterPlane;
+import Core.FrameSnapshot;
+import Core.GameRandom;
+import Core.StateSnapshot;
+import Core.TimerWheel;
 import Ui.ShieldImage;
 import javafx.scene.Group;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Represents a Boss character in the game with unique abilities and behaviors such as a shield,
@@ -48,8 +53,9 @@ public class Boss extends FighterPlane {
 
 	/**
 	 * The firing rate of the Boss, represented as a probability.
+	 * Can be set with {@code -Dboss.fireRate} when tuning the fight.
 	 */
-	private static final double BOSS_FIRE_RATE = 0.04;
+	private static final double BOSS_FIRE_RATE = Double.parseDouble(System.getProperty("boss.fireRate", "0.04"));
 	/**
 	 * The probability of the Boss activating its shield.
 	 */
@@ -104,8 +110,9 @@ public class Boss extends FighterPlane {
 	/**
 	 * The maximum number of frames during which the shield can remain active.
 	 * Ensures that the shield effect has a finite duration.
+	 * Can be set with {@code -Dboss.maxFramesWithShield} when tuning the fight.
 	 */
-	private static final int MAX_FRAMES_WITH_SHIELD = 500;
+	private static final int MAX_FRAMES_WITH_SHIELD = Integer.getInteger("boss.maxFramesWithShield", 500);
 
 
 	/**
@@ -139,6 +146,22 @@ public class Boss extends FighterPlane {
 	 */
 	private int framesWithShieldActivated;
 
+	/**
+	 * The timer wheel driving the shield, or {@code null} while the shield is polled every frame.
+	 */
+	private TimerWheel timers;
+
+	/**
+	 * The timer that raises the shield and later drops it, or {@code null} while polled.
+	 */
+	private TimerWheel.Timer shieldTimer;
+
+	/**
+	 * The ticks until the shield timer fires, restored from a snapshot, or -1 to draw a random delay
+	 * when the boss is next scheduled.
+	 */
+	private long restoredShieldDelay = -1;
+
 	/**
 	 * The shield image associated with the Boss.
 	 * This visual element is used to indicate when the Boss has an active shield.
@@ -151,6 +174,26 @@ public class Boss extends FighterPlane {
 	 */
 	private final Rectangle healthBar;
 
+	/**
+	 * The width the health bar is drawn at, following the boss's remaining health.
+	 */
+	private double healthBarWidth;
+
+	/**
+	 * The horizontal offset last written to the shield and health bar, or NaN if unknown.
+	 */
+	private double syncedOffsetX = Double.NaN;
+
+	/**
+	 * The vertical offset last written to the shield and health bar, or NaN if unknown.
+	 */
+	private double syncedOffsetY = Double.NaN;
+
+	/**
+	 * The width last written to the health bar, or NaN if unknown.
+	 */
+	private double syncedHealthBarWidth = Double.NaN;
+
 	/**
 	 * The maximum health of the Boss.
 	 * This value is used to calculate the health percentage for the health bar.
@@ -194,7 +237,8 @@ public class Boss extends FighterPlane {
 			root.getChildren().add(shieldImage);
 		}
 
-		this.healthBar = new Rectangle(100, 10);
+		this.healthBarWidth = 100;
+		this.healthBar = new Rectangle(healthBarWidth, 10);
 		this.healthBar.setFill(Color.RED);
 		this.healthBar.setLayoutX(INITIAL_X_POSITION);
 		this.healthBar.setLayoutY(INITIAL_Y_POSITION + IMAGE_HEIGHT);
@@ -223,27 +267,22 @@ public class Boss extends FighterPlane {
 
 	@Override
 	public void updatePosition() {
-		double initialTranslateY = getTranslateY();
+		double initialOffsetY = getOffsetY();
 		moveVertically(getNextMove());
-		double currentPosition = getLayoutY() + getTranslateY();
+		double currentPosition = getPositionY();
 
 		if (currentPosition < Y_POSITION_UPPER_BOUND || currentPosition > Y_POSITION_LOWER_BOUND) {
-			setTranslateY(initialTranslateY);
+			setOffsetY(initialOffsetY);
 		}
 
-		shieldImage.setLayoutX(getLayoutX() + getTranslateX());
-		shieldImage.setLayoutY(getLayoutY() + getTranslateY());
-		healthBar.setLayoutX(getLayoutX() + getTranslateX());
-		healthBar.setLayoutY(getLayoutY() + getTranslateY() + IMAGE_HEIGHT);
-
+		syncOwnedNodes();
 		updateHitbox();
 	}
 
 	@Override
 	public void updateHitbox() {
 		if (getHitbox() != null) {
-			getHitbox().setLayoutX(getLayoutX() + getTranslateX() + hitboxOffsetX);
-			getHitbox().setLayoutY(getLayoutY() + getTranslateY() + hitboxOffsetY);
+			placeHitbox(getPositionX() + hitboxOffsetX, getPositionY() + hitboxOffsetY);
 		}
 	}
 
@@ -254,21 +293,104 @@ public class Boss extends FighterPlane {
 		updateHealthBar();
 	}
 
+	/**
+	 * Gets the archetype of the Boss's entity.
+	 *
+	 * @return {@link Archetype#BOSS}.
+	 */
+	@Override
+	public Archetype getArchetype() {
+		return Archetype.BOSS;
+	}
+
 	@Override
 	public ActiveActorDestructible fireProjectile() {
-		if (Math.random() < BOSS_FIRE_RATE) {
-			double xPos = getLayoutX() + getTranslateX();
-			double yPos = getLayoutY() + getTranslateY() + PROJECTILE_Y_POSITION_OFFSET;
-			double velocityX = -15;
-			double velocityY = 0;
-
-			BossProjectile projectile = new BossProjectile(xPos, yPos, velocityX, velocityY);
-			System.out.println("BossProjectile created at: (" + xPos + ", " + yPos + ")");
-			return projectile;
+		if (GameRandom.random() < BOSS_FIRE_RATE) {
+			return createProjectile();
 		}
 		return null;
 	}
 
+	/**
+	 * Schedules the boss's shots and shield on the level's timer wheel. Shots and shield
+	 * activations are spaced as if their probabilities were rolled every frame, and a raised
+	 * shield drops after its maximum duration. Both stop once the boss is destroyed.
+	 *
+	 * @param timers the level's timer wheel.
+	 * @param fired  receives each projectile fired.
+	 */
+	@Override
+	public void scheduleTimers(TimerWheel timers, Consumer<ActiveActorDestructible> fired) {
+		this.timers = timers;
+		track(timers.repeatRandomly(BOSS_FIRE_RATE, () -> {
+			if (isDestroyed()) {
+				return false;
+			}
+			fired.accept(createProjectile());
+			return true;
+		}));
+		shieldTimer = track(timers.newTimer(this::toggleShield));
+		timers.schedule(shieldTimer, restoredShieldDelay > 0
+				? restoredShieldDelay
+				: TimerWheel.randomDelay(BOSS_SHIELD_PROBABILITY));
+		restoredShieldDelay = -1;
+	}
+
+	/**
+	 * Saves the boss's shield, movement and the ticks left on its shield timer into a snapshot.
+	 * Slots 0 to 5 of the record are used.
+	 *
+	 * @param snapshot the snapshot being captured.
+	 * @param record   the boss's record.
+	 */
+	@Override
+	public void saveState(StateSnapshot snapshot, int record) {
+		super.saveState(snapshot, record);
+		snapshot.setSlot(record, 0, isShielded ? 1 : 0);
+		snapshot.setSlot(record, 1, consecutiveMovesInSameDirection);
+		snapshot.setSlot(record, 2, indexOfCurrentMove);
+		snapshot.setSlot(record, 3, framesWithShieldActivated);
+		snapshot.setSlot(record, 4, shieldTimer != null && shieldTimer.isPending()
+				? (int) (shieldTimer.getDeadline() - timers.getTick())
+				: -1);
+		snapshot.setSlot(record, 5, StateSnapshot.packMoves(movePattern, VERTICAL_VELOCITY));
+	}
+
+	/**
+	 * Restores the boss's shield and movement from a snapshot. The shield timer resumes with the
+	 * ticks it had left once the boss is scheduled again.
+	 *
+	 * @param snapshot the snapshot being restored.
+	 * @param record   the boss's record.
+	 */
+	@Override
+	public void restoreState(StateSnapshot snapshot, int record) {
+		super.restoreState(snapshot, record);
+		isShielded = snapshot.getSlot(record, 0) != 0;
+		consecutiveMovesInSameDirection = snapshot.getSlot(record, 1);
+		indexOfCurrentMove = snapshot.getSlot(record, 2);
+		framesWithShieldActivated = snapshot.getSlot(record, 3);
+		restoredShieldDelay = snapshot.getSlot(record, 4);
+		StateSnapshot.unpackMoves(snapshot.getSlot(record, 5), VERTICAL_VELOCITY, movePattern);
+		updateHealthBar();
+	}
+
+	/**
+	 * Creates a projectile fired straight ahead from the boss.
+	 *
+	 * @return the new {@link BossProjectile}.
+	 */
+	private ActiveActorDestructible createProjectile() {
+		double xPos = getPositionX();
+		double yPos = getPositionY() + PROJECTILE_Y_POSITION_OFFSET;
+		double velocityX = -15;
+		double velocityY = 0;
+
+		BossProjectile projectile = new BossProjectile(xPos, yPos, velocityX, velocityY);
+		System.out.println("BossProjectile created at: (" + xPos + ", " + yPos + ")");
+		return projectile;
+	}
+
 	@Override
 	public void takeDamage() {
 		if (!isShielded) {
@@ -286,16 +408,65 @@ public class Boss extends FighterPlane {
 	 */
 	public void updateHealthBar() {
 		double healthPercentage = Math.max(0, getHealth() / maxHealth);
-		healthBar.setWidth(healthPercentage * 100);
+		healthBarWidth = healthPercentage * 100;
+		syncOwnedNodes();
+	}
 
-		healthBar.setLayoutX(getLayoutX() + getTranslateX());
-		healthBar.setLayoutY(getLayoutY() + getTranslateY() + IMAGE_HEIGHT);
+	/**
+	 * Records the boss together with its shield and health bar, which follow it across the screen.
+	 *
+	 * @param frame the snapshot being recorded.
+	 */
+	@Override
+	public void publish(FrameSnapshot frame) {
+		super.publish(frame);
+		frame.add(shieldImage, getOffsetX(), getOffsetY(), isShielded, Double.NaN);
+		frame.add(healthBar, getOffsetX(), getOffsetY(), true, healthBarWidth);
+	}
+
+	/**
+	 * Moves the shield and health bar along with the boss and refreshes their state, unless
+	 * node updates are deferred to the frame snapshot.
+	 * The shield and health bar keep their layout position and follow the boss's offset. Only
+	 * the values that changed since the last sync are written.
+	 */
+	private void syncOwnedNodes() {
+		if (isSyncDeferred()) {
+			// The frame snapshot writes the nodes now, so the values last written here are stale
+			syncedOffsetX = Double.NaN;
+			syncedOffsetY = Double.NaN;
+			syncedHealthBarWidth = Double.NaN;
+			return;
+		}
+		double offsetX = getOffsetX();
+		double offsetY = getOffsetY();
+		if (offsetX != syncedOffsetX) {
+			shieldImage.setTranslateX(offsetX);
+			healthBar.setTranslateX(offsetX);
+			syncedOffsetX = offsetX;
+		}
+		if (offsetY != syncedOffsetY) {
+			shieldImage.setTranslateY(offsetY);
+			healthBar.setTranslateY(offsetY);
+			syncedOffsetY = offsetY;
+		}
+		if (healthBarWidth != syncedHealthBarWidth) {
+			healthBar.setWidth(healthBarWidth);
+			syncedHealthBarWidth = healthBarWidth;
+		}
+		if (shieldImage.isVisible() != isShielded) {
+			if (isShielded) {
+				shieldImage.showShield();
+			} else {
+				shieldImage.hideShield();
+			}
+		}
 	}
 
 	/**
 	 * Initializes the movement pattern for the Boss.
 	 * The pattern alternates between moving up, moving down, and staying still.
-	 * The pattern is randomized using {@link Collections#shuffle(List)}.
+	 * The pattern is randomized using {@link GameRandom#shuffle(List)}.
 	 */
 	private void initializeMovePattern() {
 		for (int i = 0; i < MOVE_FREQUENCY_PER_CYCLE; i++) {
@@ -303,7 +474,7 @@ public class Boss extends FighterPlane {
 			movePattern.add(-VERTICAL_VELOCITY); // Move up.
 			movePattern.add(ZERO); // Stay in place.
 		}
-		Collections.shuffle(movePattern); // Randomize the movement order.
+		GameRandom.current().shuffle(movePattern); // Randomize the movement order.
 	}
 
 
@@ -314,19 +485,41 @@ public class Boss extends FighterPlane {
 	 * - If the shield should be activated (based on probability), it activates the shield and makes it visible.
 	 * - If the shield has been active for its maximum duration, it deactivates the shield and hides it.
 	 * </p>
+	 * <p>
+	 * Once the boss is scheduled on a timer wheel, {@link #toggleShield()} changes the shield
+	 * instead and this only keeps the shield image in step.
+	 * </p>
 	 */
 	private void updateShield() {
-		if (isShielded) {
-			framesWithShieldActivated++;
-			shieldImage.showShield();
-		} else if (shieldShouldBeActivated()) {
-			activateShield();
-			shieldImage.showShield();
+		if (shieldTimer == null) {
+			if (isShielded) {
+				framesWithShieldActivated++;
+			} else if (shieldShouldBeActivated()) {
+				activateShield();
+			}
+			if (shieldExhausted()) {
+				deactivateShield();
+			}
+		}
+		syncOwnedNodes();
+	}
+
+	/**
+	 * Raises or drops the shield when its timer fires, and schedules the next change: the drop
+	 * after the maximum shield duration, or the next activation after a random delay.
+	 */
+	private void toggleShield() {
+		if (isDestroyed()) {
+			return;
 		}
-		if (shieldExhausted()) {
+		if (isShielded) {
 			deactivateShield();
-			shieldImage.hideShield();
+			timers.schedule(shieldTimer, TimerWheel.randomDelay(BOSS_SHIELD_PROBABILITY));
+		} else {
+			activateShield();
+			timers.schedule(shieldTimer, MAX_FRAMES_WITH_SHIELD);
 		}
+		syncOwnedNodes();
 	}
 
 
@@ -340,7 +533,7 @@ public class Boss extends FighterPlane {
 		int currentMove = movePattern.get(indexOfCurrentMove);
 		consecutiveMovesInSameDirection++;
 		if (consecutiveMovesInSameDirection == MAX_FRAMES_WITH_SAME_MOVE) {
-			Collections.shuffle(movePattern); // Randomize the movement pattern.
+			GameRandom.current().shuffle(movePattern); // Randomize the movement pattern.
 			consecutiveMovesInSameDirection = 0;
 			indexOfCurrentMove++;
 		}
@@ -358,7 +551,7 @@ public class Boss extends FighterPlane {
 	 *         {@code false} otherwise.
 	 */
 	private boolean shieldShouldBeActivated() {
-		return Math.random() < BOSS_SHIELD_PROBABILITY;
+		return GameRandom.random() < BOSS_SHIELD_PROBABILITY;
 	}
 
 
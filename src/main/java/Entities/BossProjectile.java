@@ -1,5 +1,6 @@
 package Entities;
 
+import Core.Archetype;
 import Core.Projectile;
 
 /**
@@ -69,7 +70,49 @@ public class BossProjectile extends Projectile {
 	}
 
 	/**
-	 * Sets or updates the velocity of the projectile.
+	 * Gets the archetype of the BossProjectile's entity.
+	 *
+	 * @return {@link Archetype#BOSS_PROJECTILE}.
+	 */
+	@Override
+	public Archetype getArchetype() {
+		return Archetype.BOSS_PROJECTILE;
+	}
+
+	/**
+	 * Gets the horizontal distance the BossProjectile travels on each tick.
+	 *
+	 * @return the horizontal velocity.
+	 */
+	@Override
+	public double getVelocityX() {
+		return velocityX;
+	}
+
+	/**
+	 * Gets the vertical distance the BossProjectile travels on each tick.
+	 *
+	 * @return the vertical velocity.
+	 */
+	@Override
+	public double getVelocityY() {
+		return velocityY;
+	}
+
+	/**
+	 * Angled shots drift off the top or bottom of the screen and linger until they are far
+	 * out of sight, so they are evicted before shots flying straight at the player.
+	 *
+	 * @return -1 for angled shots, 0 for straight ones.
+	 */
+	@Override
+	public int getEvictionPriority() {
+		return velocityY != 0 ? -1 : 0;
+	}
+
+	/**
+	 * Sets or updates the velocity of the projectile. A projectile already in a
+	 * {@link Core.World} keeps flying at the velocity it joined with.
 	 *
 	 * @param velocityX the new horizontal velocity.
 	 * @param velocityY the new vertical velocity.
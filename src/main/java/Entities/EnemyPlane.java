@@ -1,9 +1,14 @@
 package Entities;
 
 import Core.ActiveActorDestructible;
+import Core.Archetype;
 import Core.FighterPlane;
+import Core.GameRandom;
+import Core.TimerWheel;
 import javafx.scene.Group;
 
+import java.util.function.Consumer;
+
 /**
  * Represents an enemy plane in the game. The enemy plane moves horizontally
  * and has the capability to fire projectiles at the player.
@@ -96,6 +101,16 @@ public class EnemyPlane extends FighterPlane {
 		updatePosition();
 	}
 
+	/**
+	 * Gets the archetype of the EnemyPlane's entity.
+	 *
+	 * @return {@link Archetype#ENEMY_PLANE}.
+	 */
+	@Override
+	public Archetype getArchetype() {
+		return Archetype.ENEMY_PLANE;
+	}
+
 	/**
 	 * Fires a projectile from the enemy plane with a probability determined by the fire rate.
 	 *
@@ -103,14 +118,42 @@ public class EnemyPlane extends FighterPlane {
 	 */
 	@Override
 	public ActiveActorDestructible fireProjectile() {
-		if (Math.random() < FIRE_RATE) {
-			double projectileXPosition = getProjectileXPosition(PROJECTILE_X_POSITION_OFFSET);
-			double projectileYPosition = getProjectileYPosition(PROJECTILE_Y_POSITION_OFFSET);
-			return new EnemyProjectile(projectileXPosition, projectileYPosition);
+		if (GameRandom.random() < FIRE_RATE) {
+			return createProjectile();
 		}
 		return null;
 	}
 
+	/**
+	 * Schedules the plane's shots on the level's timer wheel. The delay between shots follows
+	 * the same distribution as rolling the fire rate every tick. Firing stops once the plane
+	 * is destroyed.
+	 *
+	 * @param timers the level's timer wheel.
+	 * @param fired  receives each projectile fired.
+	 */
+	@Override
+	public void scheduleTimers(TimerWheel timers, Consumer<ActiveActorDestructible> fired) {
+		track(timers.repeatRandomly(FIRE_RATE, () -> {
+			if (isDestroyed()) {
+				return false;
+			}
+			fired.accept(createProjectile());
+			return true;
+		}));
+	}
+
+	/**
+	 * Creates a projectile at the plane's gun.
+	 *
+	 * @return the new {@link EnemyProjectile}.
+	 */
+	private ActiveActorDestructible createProjectile() {
+		double projectileXPosition = getProjectileXPosition(PROJECTILE_X_POSITION_OFFSET);
+		double projectileYPosition = getProjectileYPosition(PROJECTILE_Y_POSITION_OFFSET);
+		return new EnemyProjectile(projectileXPosition, projectileYPosition);
+	}
+
 	/**
 	 * Updates the position of the hitbox based on the current position of the enemy plane.
 	 * Adds an offset to align the hitbox accurately with the plane.
@@ -118,8 +161,7 @@ public class EnemyPlane extends FighterPlane {
 	@Override
 	public void updateHitbox() {
 		if (getHitbox() != null) {
-			getHitbox().setLayoutX(getLayoutX() + getTranslateX() + horizontalOffset);
-			getHitbox().setLayoutY(getLayoutY() + getTranslateY() + verticalOffset);
+			placeHitbox(getPositionX() + horizontalOffset, getPositionY() + verticalOffset);
 		}
 	}
 
@@ -1,5 +1,6 @@
 package Entities;
 
+import Core.Archetype;
 import Core.Projectile;
 
 /**
@@ -52,4 +53,24 @@ public class EnemyProjectile extends Projectile {
 	public void updateActor() {
 		updatePosition();
 	}
+
+	/**
+	 * Gets the archetype of the EnemyProjectile's entity.
+	 *
+	 * @return {@link Archetype#ENEMY_PROJECTILE}.
+	 */
+	@Override
+	public Archetype getArchetype() {
+		return Archetype.ENEMY_PROJECTILE;
+	}
+
+	/**
+	 * Gets the horizontal distance the EnemyProjectile travels on each tick.
+	 *
+	 * @return the horizontal velocity.
+	 */
+	@Override
+	public double getVelocityX() {
+		return HORIZONTAL_VELOCITY;
+	}
 }
@@ -1,8 +1,15 @@
 package Entities;
 
-import javafx.scene.image.Image;
+import Assets.SpriteAtlas;
+import Core.Fixed;
+import Core.FrameSnapshot;
+import Core.StateSnapshot;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.image.ImageView;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Represents a heart in the game, which can act as a health indicator or a collectible item.
  */
@@ -14,26 +21,130 @@ public class Heart extends ImageView {
      */
     private static final String HEART_IMAGE_PATH = "/com/example/demo/images/heart.png";
 
+    /**
+     * The displayed height of the heart, in pixels.
+     */
+    private static final int HEART_HEIGHT = 50;
+
+    /**
+     * The number of frames a heart drifts across the screen before it expires.
+     * At the game's 40 ms frame this is the five seconds the crossing used to take.
+     */
+    private static final int LIFETIME_FRAMES = 125;
+
+    /**
+     * The number of frames in one up-and-down shake cycle.
+     */
+    private static final int SHAKE_PERIOD_FRAMES = 10;
+
+    /**
+     * How far the heart moves down and back up during a shake, in pixels.
+     */
+    private static final double SHAKE_DISTANCE = 5;
+
+    /**
+     * Counts the hearts created, to give each its serial number.
+     */
+    private static final AtomicInteger CREATED = new AtomicInteger();
+
+    /**
+     * The heart's serial number, telling it apart from other hearts in state snapshots.
+     */
+    private final int serial = CREATED.getAndIncrement() & Integer.MAX_VALUE;
+
     /**
      * Indicates whether the object has been destroyed.
      * This flag is used to track the state of the object, such as whether it has been removed from the game.
      */
     private boolean isDestroyed;
 
+    /**
+     * The horizontal distance the heart drifts each frame.
+     */
+    private final double horizontalVelocity;
+
+    /**
+     * Whether the heart drifts on fixed-point values, as chosen by {@link Fixed#isEnabled()} when it was made.
+     */
+    private final boolean fixedPoint = Fixed.isEnabled();
+
+    /**
+     * The horizontal velocity in 16.16 fixed point, in the deterministic physics mode.
+     */
+    private final int fixedVelocity;
+
+    /**
+     * The horizontal offset in 16.16 fixed point, in the deterministic physics mode; {@link #offsetX} mirrors it.
+     */
+    private int fixedOffsetX;
+
+    /**
+     * The heart's untranslated bounds, measured once while it is not yet in a live scene.
+     */
+    private final Bounds localBounds;
+
+    /**
+     * The simulated horizontal offset of the heart from its starting position.
+     */
+    private double offsetX;
+
+    /**
+     * The simulated vertical offset of the heart from its starting position.
+     */
+    private double offsetY;
+
+    /**
+     * The number of frames the heart has been updated for.
+     */
+    private int age;
+
+    /**
+     * Whether the heart shakes up and down as it drifts. Turned off to save work when the game runs over its frame budget.
+     */
+    private boolean shaking = true;
+
+    /**
+     * Whether node updates are deferred to the frame snapshot instead of written immediately.
+     */
+    private volatile boolean syncDeferred;
+
 
     /**
-     * Constructs a Heart object at a specified position.
+     * Constructs a stationary Heart object at a specified position.
      *
      * @param xPosition the x-coordinate of the heart's position.
      * @param yPosition the y-coordinate of the heart's position.
      */
     public Heart(double xPosition, double yPosition) {
-        super(new Image(Heart.class.getResource(HEART_IMAGE_PATH).toExternalForm()));
-        setFitHeight(50); // Set the height of the heart
+        this(xPosition, yPosition, 0);
+    }
+
+    /**
+     * Constructs a Heart object at a specified position that drifts sideways while shaking up and down.
+     *
+     * @param xPosition          the x-coordinate of the heart's position.
+     * @param yPosition          the y-coordinate of the heart's position.
+     * @param horizontalVelocity the horizontal distance the heart drifts each frame.
+     */
+    public Heart(double xPosition, double yPosition, double horizontalVelocity) {
+        SpriteAtlas.show(this, HEART_IMAGE_PATH, 0, HEART_HEIGHT);
+        setFitHeight(HEART_HEIGHT); // Set the height of the heart
         setPreserveRatio(true); // Maintain the aspect ratio
-        setX(xPosition);
-        setY(yPosition);
+        setX(fixedPoint ? Fixed.quantize(xPosition) : xPosition);
+        setY(fixedPoint ? Fixed.quantize(yPosition) : yPosition);
         this.isDestroyed = false;
+        this.horizontalVelocity = fixedPoint ? Fixed.quantize(horizontalVelocity) : horizontalVelocity;
+        this.fixedVelocity = fixedPoint ? Fixed.fromDouble(horizontalVelocity) : 0;
+        this.localBounds = getBoundsInLocal();
+    }
+
+    /**
+     * Gets the heart's serial number, unique among the hearts created until it wraps round.
+     *
+     * @return the serial number, never negative.
+     */
+    public int getSerial() {
+        return serial;
     }
 
     /**
@@ -53,10 +164,107 @@ public class Heart extends ImageView {
     }
 
     /**
-     * Updates the heart's state. This can include animation or movement logic if needed.
+     * Updates the heart's state: drifts it sideways and shakes it up and down.
+     * This replaces the JavaFX animations the level used to run, so the heart can be simulated off the JavaFX thread.
      */
     public void updateActor() {
-        // Implement any behavior updates for the heart if necessary
-        // For example, animations or interactions
+        age++;
+        if (fixedPoint) {
+            fixedOffsetX += fixedVelocity;
+            offsetX = Fixed.toDouble(fixedOffsetX);
+        } else {
+            offsetX += horizontalVelocity;
+        }
+        // Down for the second half of each shake cycle, back up for the first
+        boolean down = shaking && age % SHAKE_PERIOD_FRAMES >= SHAKE_PERIOD_FRAMES / 2;
+        offsetY = down ? SHAKE_DISTANCE : 0;
+        if (!syncDeferred) {
+            setTranslateX(offsetX);
+            setTranslateY(offsetY);
+        }
+    }
+
+    /**
+     * Turns the shake effect on or off. A heart that stops shaking settles at its resting height.
+     *
+     * @param shaking whether the heart shakes.
+     */
+    public void setShaking(boolean shaking) {
+        this.shaking = shaking;
+    }
+
+    /**
+     * Checks whether the heart has finished drifting across the screen.
+     *
+     * @return true once the heart has lived for its full lifetime, false otherwise.
+     */
+    public boolean isExpired() {
+        return age >= LIFETIME_FRAMES;
+    }
+
+    /**
+     * Gets the area the heart can be collected in, at its simulated position.
+     * Computed from the heart's own geometry rather than the live node, so it is safe to call off the JavaFX thread.
+     *
+     * @return the bounds of the heart in its parent's coordinates.
+     */
+    public Bounds getCollisionBounds() {
+        return new BoundingBox(localBounds.getMinX() + offsetX, localBounds.getMinY() + offsetY,
+                localBounds.getWidth(), localBounds.getHeight());
+    }
+
+    /**
+     * Chooses whether node updates are deferred to the frame snapshot.
+     *
+     * @param syncDeferred true to only move the node when a snapshot is applied.
+     */
+    public void setSyncDeferred(boolean syncDeferred) {
+        this.syncDeferred = syncDeferred;
+    }
+
+    /**
+     * Saves the heart into a snapshot: where it started, how far it has drifted, its velocity and age.
+     * Slot 0 of the record holds the age.
+     *
+     * @param snapshot the snapshot being captured.
+     * @param record   the heart's record.
+     */
+    public void saveState(StateSnapshot snapshot, int record) {
+        snapshot.setLayout(record, getX(), getY());
+        snapshot.setOffset(record, offsetX, offsetY);
+        snapshot.setVelocity(record, horizontalVelocity, 0);
+        snapshot.setDestroyed(record, isDestroyed);
+        snapshot.setSlot(record, 0, age);
+    }
+
+    /**
+     * Restores the heart's drift and age from a snapshot. The starting position and velocity are
+     * fixed when the heart is created from the same record.
+     *
+     * @param snapshot the snapshot being restored.
+     * @param record   the heart's record.
+     */
+    public void restoreState(StateSnapshot snapshot, int record) {
+        offsetX = snapshot.getOffsetX(record);
+        if (fixedPoint) {
+            fixedOffsetX = Fixed.fromDouble(offsetX);
+            offsetX = Fixed.toDouble(fixedOffsetX);
+        }
+        offsetY = snapshot.getOffsetY(record);
+        isDestroyed = snapshot.isDestroyed(record);
+        age = snapshot.getSlot(record, 0);
+        if (!syncDeferred) {
+            setTranslateX(offsetX);
+            setTranslateY(offsetY);
+        }
+    }
+
+    /**
+     * Records the heart's position into a frame snapshot.
+     *
+     * @param frame the snapshot being recorded.
+     */
+    public void publish(FrameSnapshot frame) {
+        frame.add(this, offsetX, offsetY);
     }
 }
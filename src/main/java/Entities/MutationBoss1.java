@@ -1,12 +1,15 @@
 package Entities;
 
+import Assets.SpriteAtlas;
 import Core.ActiveActorDestructible;
-import javafx.scene.Group;
-import javafx.scene.image.Image;
+import Core.Archetype;
+import Core.GameRandom;
+import Core.StateSnapshot;
+import Core.TimerWheel;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Represents the first mutation of the Boss enemy in the game.
@@ -53,8 +56,9 @@ public class MutationBoss1 extends Boss {
     /**
      * The firing rate for the boss entity.
      * This value defines the probability (0 to 1) of firing a projectile during each frame.
+     * Can be set with {@code -DmutationBoss.fireRate} when tuning the fight.
      */
-    public static final double BOSS_FIRE_RATE = 0.1;
+    public static final double BOSS_FIRE_RATE = Double.parseDouble(System.getProperty("mutationBoss.fireRate", "0.1"));
 
     /**
      * A list representing the movement pattern of the entity.
@@ -82,7 +86,7 @@ public class MutationBoss1 extends Boss {
      */
     public MutationBoss1() {
         super();
-        setImage(new Image(getClass().getResourceAsStream(IMAGE_PATH)));
+        SpriteAtlas.show(this, IMAGE_PATH, 0, getFitHeight());
         setHealth(HEALTH);
 
         movePattern = new ArrayList<>();
@@ -103,7 +107,7 @@ public class MutationBoss1 extends Boss {
             movePattern.add(-VERTICAL_VELOCITY); // Move up
             movePattern.add(0);                  // Stop
         }
-        Collections.shuffle(movePattern); // Randomize the pattern
+        GameRandom.current().shuffle(movePattern); // Randomize the pattern
         System.out.println("Movement pattern initialized: " + movePattern);
     }
 
@@ -113,14 +117,14 @@ public class MutationBoss1 extends Boss {
      */
     @Override
     public void updatePosition() {
-        double initialTranslateY = getTranslateY();
+        double initialOffsetY = getOffsetY();
 
         int moveStep = movePattern.get(indexOfCurrentMove);
         moveVertically(moveStep);
-        double currentPosition = getLayoutY() + getTranslateY();
+        double currentPosition = getPositionY();
 
         if (currentPosition < Y_POSITION_UPPER_BOUND || currentPosition > Y_POSITION_LOWER_BOUND) {
-            setTranslateY(initialTranslateY); // Reset to a valid position
+            setOffsetY(initialOffsetY); // Reset to a valid position
         }
 
         framesInCurrentMove++;
@@ -133,6 +137,45 @@ public class MutationBoss1 extends Boss {
         updateHitbox();
     }
 
+    /**
+     * Gets the archetype of the mutation's entity.
+     *
+     * @return {@link Archetype#MUTATION_BOSS}.
+     */
+    @Override
+    public Archetype getArchetype() {
+        return Archetype.MUTATION_BOSS;
+    }
+
+    /**
+     * Saves the mutation's own movement into a snapshot, after the state of the first boss.
+     * Slots 6 to 8 of the record are used.
+     *
+     * @param snapshot the snapshot being captured.
+     * @param record   the mutation's record.
+     */
+    @Override
+    public void saveState(StateSnapshot snapshot, int record) {
+        super.saveState(snapshot, record);
+        snapshot.setSlot(record, 6, StateSnapshot.packMoves(movePattern, VERTICAL_VELOCITY));
+        snapshot.setSlot(record, 7, indexOfCurrentMove);
+        snapshot.setSlot(record, 8, framesInCurrentMove);
+    }
+
+    /**
+     * Restores the mutation's own movement from a snapshot.
+     *
+     * @param snapshot the snapshot being restored.
+     * @param record   the mutation's record.
+     */
+    @Override
+    public void restoreState(StateSnapshot snapshot, int record) {
+        super.restoreState(snapshot, record);
+        StateSnapshot.unpackMoves(snapshot.getSlot(record, 6), VERTICAL_VELOCITY, movePattern);
+        indexOfCurrentMove = snapshot.getSlot(record, 7);
+        framesInCurrentMove = snapshot.getSlot(record, 8);
+    }
+
     /**
      * Updates the actor's state, including position and health bar.
      */
@@ -144,36 +187,64 @@ public class MutationBoss1 extends Boss {
 
     /**
      * Fires projectiles in multiple directions with predefined velocities.
-     * Adds the projectiles to the scene and an enemy projectiles list.
+     * The level adds the returned projectiles to the scene and its enemy projectiles list.
      *
-     * @param root              the group to which projectiles will be added.
-     * @param enemyProjectiles  the list tracking all enemy projectiles.
+     * @return the projectiles fired this frame, empty if the boss did not fire.
      */
-    public void fireProjectile(Group root, List<ActiveActorDestructible> enemyProjectiles) {
-        if (Math.random() < BOSS_FIRE_RATE) {
-            double xPos = getLayoutX() + getTranslateX();
-            double yPos = getLayoutY() + getTranslateY() + PROJECTILE_Y_POSITION_OFFSET;
-
-            BossProjectile straightProjectile = new BossProjectile(xPos, yPos, -15, 0);
-            BossProjectile leftUpProjectile = new BossProjectile(xPos, yPos - 50, -12, -5);
-            BossProjectile leftDownProjectile = new BossProjectile(xPos, yPos + 50, -12, 5);
-
-            System.out.println("Firing projectiles from position: (" + xPos + ", " + yPos + ")");
-            System.out.println("Straight projectile velocity: (-15, 0)");
-            System.out.println("Left-up projectile velocity: (-12, -5)");
-            System.out.println("Left-down projectile velocity: (-12, 5)");
+    public List<ActiveActorDestructible> fireProjectiles() {
+        if (GameRandom.random() < BOSS_FIRE_RATE) {
+            return createProjectiles();
+        }
+        return new ArrayList<>();
+    }
 
-            root.getChildren().addAll(straightProjectile, leftUpProjectile, leftDownProjectile);
-            enemyProjectiles.add(straightProjectile);
-            enemyProjectiles.add(leftUpProjectile);
-            enemyProjectiles.add(leftDownProjectile);
+    /**
+     * Schedules the boss's volleys on the level's timer wheel, spaced as if the fire rate were
+     * rolled every frame. Unlike the first boss it never raises a shield. Firing stops once the
+     * boss is destroyed.
+     *
+     * @param timers the level's timer wheel.
+     * @param fired  receives each projectile fired.
+     */
+    @Override
+    public void scheduleTimers(TimerWheel timers, Consumer<ActiveActorDestructible> fired) {
+        track(timers.repeatRandomly(BOSS_FIRE_RATE, () -> {
+            if (isDestroyed()) {
+                return false;
+            }
+            createProjectiles().forEach(fired);
+            return true;
+        }));
+    }
 
-            System.out.println("enemyProjectiles size after addition: " + enemyProjectiles.size());
-        }
+    /**
+     * Creates a volley of three projectiles: one straight ahead and two angled up and down.
+     *
+     * @return the projectiles of the volley.
+     */
+    private List<ActiveActorDestructible> createProjectiles() {
+        List<ActiveActorDestructible> projectiles = new ArrayList<>();
+        double xPos = getPositionX();
+        double yPos = getPositionY() + PROJECTILE_Y_POSITION_OFFSET;
+
+        BossProjectile straightProjectile = new BossProjectile(xPos, yPos, -15, 0);
+        BossProjectile leftUpProjectile = new BossProjectile(xPos, yPos - 50, -12, -5);
+        BossProjectile leftDownProjectile = new BossProjectile(xPos, yPos + 50, -12, 5);
+
+        System.out.println("Firing projectiles from position: (" + xPos + ", " + yPos + ")");
+        System.out.println("Straight projectile velocity: (-15, 0)");
+        System.out.println("Left-up projectile velocity: (-12, -5)");
+        System.out.println("Left-down projectile velocity: (-12, 5)");
+
+        projectiles.add(straightProjectile);
+        projectiles.add(leftUpProjectile);
+        projectiles.add(leftDownProjectile);
+        return projectiles;
     }
 
     /**
-     * Handles the boss taking damage. If health reaches zero, it is marked as destroyed and removed from the scene.
+     * Handles the boss taking damage. If health reaches zero, it is marked as destroyed and
+     * the level removes it from the scene with its other destroyed actors.
      */
     @Override
     public void takeDamage() {
@@ -188,12 +259,6 @@ public class MutationBoss1 extends Boss {
         if (getHealth() <= 0) {
             System.out.println("MutationBoss1 has been defeated.");
             this.destroy();
-
-            Group parent = (Group) getParent();
-            if (parent != null) {
-                parent.getChildren().remove(this);
-                System.out.println("MutationBoss1 removed from scene.");
-            }
         }
     }
 }
@@ -1,7 +1,10 @@
 package Entities;
 
 import Core.ActiveActorDestructible;
+import Core.Archetype;
 import Core.FighterPlane;
+import Core.StateSnapshot;
+import Core.Weapon;
 import javafx.scene.Group;
 
 /**
@@ -74,6 +77,21 @@ public class UserPlane extends FighterPlane {
 	 */
 	private static final int PROJECTILE_Y_POSITION_OFFSET = 10;
 
+	/**
+	 * The number of ticks between two bursts of the weapon, unless set with {@code -Dweapon.cooldownTicks}.
+	 */
+	private static final int WEAPON_COOLDOWN_TICKS = 4;
+
+	/**
+	 * The number of shots in a burst, unless set with {@code -Dweapon.burstSize}.
+	 */
+	private static final int WEAPON_BURST_SIZE = 1;
+
+	/**
+	 * The number of ticks between the shots of a burst, unless set with {@code -Dweapon.burstGapTicks}.
+	 */
+	private static final int WEAPON_BURST_GAP_TICKS = 2;
+
 	/**
 	 * A multiplier for adjusting the vertical velocity of the user's plane.
 	 * This can be used for accelerating or decelerating movement vertically.
@@ -102,6 +120,10 @@ public class UserPlane extends FighterPlane {
 	 */
 	private final Group root;
 
+	/**
+	 * The weapon deciding on which ticks the plane fires.
+	 */
+	private final Weapon weapon;
 
 	/**
 	 * Constructs a UserPlane with specified initial health and root group.
@@ -115,6 +137,10 @@ public class UserPlane extends FighterPlane {
 		verticalVelocityMultiplier = 0;
 		horizontalVelocityMultiplier = 0;
 		this.root = root;
+		this.weapon = new Weapon(Integer.getInteger("weapon.cooldownTicks", WEAPON_COOLDOWN_TICKS),
+				Integer.getInteger("weapon.burstSize", WEAPON_BURST_SIZE),
+				Integer.getInteger("weapon.burstGapTicks", WEAPON_BURST_GAP_TICKS),
+				!Boolean.getBoolean("weapon.noAutofire"));
 
 		setHitboxSize(IMAGE_HEIGHT * 0.8, IMAGE_HEIGHT * 0.5);
 	}
@@ -135,19 +161,19 @@ public class UserPlane extends FighterPlane {
 	@Override
 	public void updatePosition() {
 		if (isMoving()) {
-			double initialTranslateY = getTranslateY();
-			double initialTranslateX = getTranslateX();
+			double initialOffsetY = getOffsetY();
+			double initialOffsetX = getOffsetX();
 
 			this.moveVertically(VERTICAL_VELOCITY * verticalVelocityMultiplier);
-			double newPositionY = getLayoutY() + getTranslateY();
+			double newPositionY = getPositionY();
 			if (newPositionY < Y_UPPER_BOUND || newPositionY > Y_LOWER_BOUND) {
-				this.setTranslateY(initialTranslateY);
+				this.setOffsetY(initialOffsetY);
 			}
 
 			this.moveHorizontally(HORIZONTAL_VELOCITY * horizontalVelocityMultiplier);
-			double newPositionX = getLayoutX() + getTranslateX();
+			double newPositionX = getPositionX();
 			if (newPositionX < X_LEFT_BOUND || newPositionX > X_RIGHT_BOUND) {
-				this.setTranslateX(initialTranslateX);
+				this.setOffsetX(initialOffsetX);
 			}
 		}
 		updateHitbox();
@@ -161,6 +187,16 @@ public class UserPlane extends FighterPlane {
 		updatePosition();
 	}
 
+	/**
+	 * Gets the archetype of the UserPlane's entity.
+	 *
+	 * @return {@link Archetype#USER_PLANE}.
+	 */
+	@Override
+	public Archetype getArchetype() {
+		return Archetype.USER_PLANE;
+	}
+
 	/**
 	 * Fires a projectile from the UserPlane's current position.
 	 *
@@ -168,13 +204,54 @@ public class UserPlane extends FighterPlane {
 	 */
 	@Override
 	public ActiveActorDestructible fireProjectile() {
-		double projectileX = getLayoutX() + getTranslateX() + PROJECTILE_X_POSITION_OFFSET;
-		double projectileY = getLayoutY() + getTranslateY() + PROJECTILE_Y_POSITION_OFFSET;
+		double projectileX = getPositionX() + PROJECTILE_X_POSITION_OFFSET;
+		double projectileY = getPositionY() + PROJECTILE_Y_POSITION_OFFSET;
 
 		UserProjectile projectile = new UserProjectile(projectileX, projectileY, root);
 		return projectile;
 	}
 
+	/**
+	 * Gets the weapon of the UserPlane, which decides on which ticks {@link #fireProjectile()} is called.
+	 *
+	 * @return the weapon.
+	 */
+	public Weapon getWeapon() {
+		return weapon;
+	}
+
+	/**
+	 * Saves the plane's kills, movement and weapon into a snapshot. Slots 0 to 4 of the record are used.
+	 *
+	 * @param snapshot the snapshot being captured.
+	 * @param record   the plane's record.
+	 */
+	@Override
+	public void saveState(StateSnapshot snapshot, int record) {
+		super.saveState(snapshot, record);
+		snapshot.setSlot(record, 0, numberOfKills);
+		snapshot.setSlot(record, 1, verticalVelocityMultiplier);
+		snapshot.setSlot(record, 2, horizontalVelocityMultiplier);
+		snapshot.setSlot(record, 3, weapon.getWait());
+		snapshot.setSlot(record, 4, weapon.getBurstRemaining());
+	}
+
+	/**
+	 * Restores the plane's health, kills, movement and weapon from a snapshot.
+	 *
+	 * @param snapshot the snapshot being restored.
+	 * @param record   the plane's record.
+	 */
+	@Override
+	public void restoreState(StateSnapshot snapshot, int record) {
+		super.restoreState(snapshot, record);
+		health = snapshot.getHealth(record);
+		numberOfKills = snapshot.getSlot(record, 0);
+		verticalVelocityMultiplier = snapshot.getSlot(record, 1);
+		horizontalVelocityMultiplier = snapshot.getSlot(record, 2);
+		weapon.restore(snapshot.getSlot(record, 3), snapshot.getSlot(record, 4));
+	}
+
 	/**
 	 * Decreases the UserPlane's health by one.
 	 * If health reaches zero, the plane is destroyed.
@@ -201,6 +278,7 @@ public class UserPlane extends FighterPlane {
 	 *
 	 * @return the current health.
 	 */
+	@Override
 	public int getHealth() {
 		return health;
 	}
@@ -1,5 +1,6 @@
 package Entities;
 
+import Core.Archetype;
 import Core.Projectile;
 import javafx.scene.Group;
 
@@ -76,6 +77,26 @@ public class UserProjectile extends Projectile {
 		updatePosition(); // Update the position
 	}
 
+	/**
+	 * Gets the archetype of the UserProjectile's entity.
+	 *
+	 * @return {@link Archetype#USER_PROJECTILE}.
+	 */
+	@Override
+	public Archetype getArchetype() {
+		return Archetype.USER_PROJECTILE;
+	}
+
+	/**
+	 * Gets the horizontal distance the UserProjectile travels on each tick.
+	 *
+	 * @return the horizontal velocity.
+	 */
+	@Override
+	public double getVelocityX() {
+		return HORIZONTAL_VELOCITY;
+	}
+
 	/**
 	 * Updates the position of the hitbox based on the projectile's position and offsets.
 	 */
@@ -83,8 +104,7 @@ public class UserProjectile extends Projectile {
 	protected void updateHitbox() {
 		if (getHitbox() != null) {
 			// Adjust the hitbox position using the offsets
-			getHitbox().setLayoutX(getLayoutX() + getTranslateX() + horizontalOffset);
-			getHitbox().setLayoutY(getLayoutY() + getTranslateY() + verticalOffset);
+			placeHitbox(getPositionX() + horizontalOffset, getPositionY() + verticalOffset);
 		}
 	}
 
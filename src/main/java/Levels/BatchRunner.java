@@ -0,0 +1,530 @@
+package Levels;
+
+import Core.ActiveActorDestructible;
+import Core.Fixed;
+import Core.GameRandom;
+import Core.InputScript;
+import Entities.UserPlane;
+import javafx.application.Platform;
+import javafx.scene.input.KeyCode;
+import sounds.MusicPlayer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays a level many times over without a window, on every core, and reports how the runs went:
+ * the win rate, the time taken to clear the level, the peak number of entities in play and the
+ * simulation speed. Used to tune the game's balance constants by measurement instead of
+ * playtesting.
+ * <p>
+ * Each run builds a fresh level on a worker thread, binds a {@link GameRandom} seeded with the
+ * first seed plus the run's number, and steps the level with {@link LevelParent#stepHeadless()}
+ * until it is won, lost, or runs out of time. Runs with the same seed and player play out the
+ * same, so a surprising run can be replayed alone. The player is either a simple bot that lines
+ * up with the nearest enemy and fires, a script that only holds the trigger, or idle.
+ * </p>
+ * <p>
+ * Run from the compiled classes with
+ * {@code java --add-modules jdk.incubator.vector -cp <classpath> Levels.BatchRunner [options]}:
+ * </p>
+ * <ul>
+ *   <li>{@code --level=Levels.LevelOne} the level to play</li>
+ *   <li>{@code --runs=100} the number of runs</li>
+ *   <li>{@code --seed=1} the seed of the first run</li>
+ *   <li>{@code --threads=<cores>} the number of runs played at once</li>
+ *   <li>{@code --max-seconds=300} the game time after which a run is stopped</li>
+ *   <li>{@code --player=bot|fire|idle} who plays</li>
+ *   <li>{@code --fixed} to use the fixed-point physics mode</li>
+ *   <li>{@code --csv=<file>} to also write one line per run</li>
+ *   <li>{@code --verbose} to keep the levels' console output</li>
+ * </ul>
+ * <p>
+ * Balance constants are set through their system properties, for example
+ * {@code -DlevelOne.enemySpawnProbability=0.3} or {@code -Dboss.fireRate=0.06}, so a sweep is a
+ * series of runs with different properties. Sound is muted. Levels build JavaFX controls for
+ * their HUD, so the JavaFX platform is started, though nothing is shown; on a machine without a
+ * display, run with the Monocle headless platform.
+ * </p>
+ */
+public final class BatchRunner {
+
+	/**
+	 * Who plays the runs.
+	 */
+	public enum Player {
+
+		/**
+		 * Lines up with the nearest enemy and keeps firing.
+		 */
+		BOT,
+
+		/**
+		 * Holds the trigger from the first tick and never moves, as a scripted baseline.
+		 */
+		FIRE,
+
+		/**
+		 * Does nothing.
+		 */
+		IDLE
+	}
+
+	/**
+	 * The outcome and measurements of one run.
+	 */
+	static final class Result {
+
+		/**
+		 * The seed of the run.
+		 */
+		private final long seed;
+
+		/**
+		 * How the run ended; {@link LevelOutcome#PLAYING} if it ran out of time.
+		 */
+		private final LevelOutcome outcome;
+
+		/**
+		 * The number of ticks simulated.
+		 */
+		private final long ticks;
+
+		/**
+		 * The most entities in play at once.
+		 */
+		private final int peakEntities;
+
+		/**
+		 * The wall-clock time the run took, in nanoseconds.
+		 */
+		private final long nanos;
+
+		/**
+		 * Creates a result.
+		 *
+		 * @param seed         the seed of the run.
+		 * @param outcome      how the run ended.
+		 * @param ticks        the number of ticks simulated.
+		 * @param peakEntities the most entities in play at once.
+		 * @param nanos        the wall-clock time the run took, in nanoseconds.
+		 */
+		Result(long seed, LevelOutcome outcome, long ticks, int peakEntities, long nanos) {
+			this.seed = seed;
+			this.outcome = outcome;
+			this.ticks = ticks;
+			this.peakEntities = peakEntities;
+			this.nanos = nanos;
+		}
+
+		/**
+		 * Gets the seed of the run.
+		 *
+		 * @return the seed.
+		 */
+		long seed() {
+			return seed;
+		}
+
+		/**
+		 * Gets how the run ended.
+		 *
+		 * @return the outcome; {@link LevelOutcome#PLAYING} if the run ran out of time.
+		 */
+		LevelOutcome outcome() {
+			return outcome;
+		}
+
+		/**
+		 * Gets the number of ticks simulated.
+		 *
+		 * @return the tick count.
+		 */
+		long ticks() {
+			return ticks;
+		}
+
+		/**
+		 * Gets the most entities in play at once.
+		 *
+		 * @return the peak entity count.
+		 */
+		int peakEntities() {
+			return peakEntities;
+		}
+
+		/**
+		 * Gets the wall-clock time the run took.
+		 *
+		 * @return the time in nanoseconds.
+		 */
+		long nanos() {
+			return nanos;
+		}
+
+		/**
+		 * Gets the game time the run lasted.
+		 *
+		 * @return the time in seconds.
+		 */
+		double seconds() {
+			return ticks / LevelParent.TICKS_PER_SECOND;
+		}
+	}
+
+	/**
+	 * The height of the game screen the levels are built for, as in the game window.
+	 */
+	private static final double SCREEN_HEIGHT = 750;
+
+	/**
+	 * The width of the game screen the levels are built for, as in the game window.
+	 */
+	private static final double SCREEN_WIDTH = 1300;
+
+	/**
+	 * The vertical distance from the target within which the bot holds still.
+	 */
+	private static final double BOT_DEAD_ZONE = 10;
+
+	/**
+	 * The number of runs played unless set with {@code --runs}.
+	 */
+	private static final int DEFAULT_RUNS = 100;
+
+	/**
+	 * The game time a run may take unless set with {@code --max-seconds}.
+	 */
+	private static final int DEFAULT_MAX_SECONDS = 300;
+
+	/**
+	 * The level class played.
+	 */
+	private final String levelClass;
+
+	/**
+	 * Who plays.
+	 */
+	private final Player player;
+
+	/**
+	 * The number of ticks after which a run is stopped.
+	 */
+	private final long maxTicks;
+
+	/**
+	 * Creates a runner.
+	 *
+	 * @param levelClass the fully qualified class name of the level to play.
+	 * @param player     who plays.
+	 * @param maxSeconds the game time after which a run is stopped.
+	 */
+	public BatchRunner(String levelClass, Player player, double maxSeconds) {
+		this.levelClass = levelClass;
+		this.player = player;
+		this.maxTicks = Math.round(maxSeconds * LevelParent.TICKS_PER_SECOND);
+	}
+
+	/**
+	 * Runs the batch named on the command line and prints the report.
+	 *
+	 * @param args the options described above.
+	 * @throws Exception if a run fails or the CSV file cannot be written.
+	 */
+	public static void main(String[] args) throws Exception {
+		String level = "Levels.LevelOne";
+		int runs = DEFAULT_RUNS;
+		long seed = 1;
+		int threads = Runtime.getRuntime().availableProcessors();
+		double maxSeconds = DEFAULT_MAX_SECONDS;
+		Player player = Player.BOT;
+		Path csv = null;
+		boolean verbose = false;
+		for (String arg : args) {
+			String value = arg.substring(arg.indexOf('=') + 1);
+			if (arg.startsWith("--level=")) {
+				level = value;
+			} else if (arg.startsWith("--runs=")) {
+				runs = Integer.parseInt(value);
+			} else if (arg.startsWith("--seed=")) {
+				seed = Long.parseLong(value);
+			} else if (arg.startsWith("--threads=")) {
+				threads = Integer.parseInt(value);
+			} else if (arg.startsWith("--max-seconds=")) {
+				maxSeconds = Double.parseDouble(value);
+			} else if (arg.startsWith("--player=")) {
+				player = Player.valueOf(value.toUpperCase());
+			} else if (arg.startsWith("--csv=")) {
+				csv = Path.of(value);
+			} else if (arg.equals("--fixed")) {
+				Fixed.setEnabled(true);
+			} else if (arg.equals("--verbose")) {
+				verbose = true;
+			} else {
+				throw new IllegalArgumentException("Usage: BatchRunner [--level=<class>] [--runs=<n>] [--seed=<n>] [--threads=<n>]"
+						+ " [--max-seconds=<s>] [--player=bot|fire|idle] [--fixed] [--csv=<file>] [--verbose]");
+			}
+		}
+
+		startPlatform();
+		MusicPlayer.setMuted(true);
+		PrintStream console = System.out;
+		if (!verbose) {
+			System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+		}
+		List<Result> results;
+		long start = System.nanoTime();
+		try {
+			results = new BatchRunner(level, player, maxSeconds).runAll(seed, runs, threads);
+		} finally {
+			System.setOut(console);
+		}
+		long wallNanos = System.nanoTime() - start;
+
+		console.println("Batch run of " + level + ": " + runs + " runs, " + player.name().toLowerCase() + " player, "
+				+ threads + " threads, seeds " + seed + ".." + (seed + runs - 1)
+				+ (Fixed.isEnabled() ? ", fixed-point physics" : ""));
+		console.print(report(results, wallNanos, maxSeconds));
+		if (csv != null) {
+			writeCsv(results, csv);
+			console.println("Wrote " + results.size() + " runs to " + csv);
+		}
+		Platform.exit();
+	}
+
+	/**
+	 * Plays a batch of runs on a pool of threads.
+	 *
+	 * @param firstSeed the seed of the first run; each further run adds one.
+	 * @param runs      the number of runs.
+	 * @param threads   the number of runs played at once.
+	 * @return the results, in seed order.
+	 * @throws InterruptedException if interrupted while waiting for the runs.
+	 * @throws IllegalStateException if a run fails.
+	 */
+	public List<Result> runAll(long firstSeed, int runs, int threads) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Callable<Result>> tasks = new ArrayList<>(runs);
+			for (int i = 0; i < runs; i++) {
+				long seed = firstSeed + i;
+				tasks.add(() -> run(seed));
+			}
+			List<Result> results = new ArrayList<>(runs);
+			List<Future<Result>> futures = pool.invokeAll(tasks);
+			for (int i = 0; i < runs; i++) {
+				try {
+					results.add(futures.get(i).get());
+				} catch (ExecutionException e) {
+					throw new IllegalStateException("Run with seed " + (firstSeed + i) + " failed", e.getCause());
+				}
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Plays one run on the calling thread.
+	 *
+	 * @param seed the seed of the run.
+	 * @return the result.
+	 * @throws ReflectiveOperationException if the level cannot be built.
+	 */
+	public Result run(long seed) throws ReflectiveOperationException {
+		GameRandom.bind(new GameRandom(seed));
+		try {
+			long start = System.nanoTime();
+			LevelParent level = newLevel();
+			level.startHeadless();
+			if (player == Player.FIRE) {
+				level.setInputScript(new InputScript().press(1, KeyCode.SPACE));
+			}
+			int peakEntities = level.getEntityCount();
+			LevelOutcome outcome = LevelOutcome.PLAYING;
+			while (outcome == LevelOutcome.PLAYING && level.getTick() < maxTicks) {
+				if (player == Player.BOT) {
+					steer(level);
+				}
+				outcome = level.stepHeadless();
+				peakEntities = Math.max(peakEntities, level.getEntityCount());
+			}
+			return new Result(seed, outcome, level.getTick(), peakEntities, System.nanoTime() - start);
+		} finally {
+			GameRandom.bind(null);
+		}
+	}
+
+	/**
+	 * Sums up a batch of runs.
+	 *
+	 * @param results    the results of the runs.
+	 * @param wallNanos  the wall-clock time the whole batch took, in nanoseconds.
+	 * @param maxSeconds the game time after which runs were stopped.
+	 * @return the report, one figure per line.
+	 */
+	static String report(List<Result> results, long wallNanos, double maxSeconds) {
+		int runs = results.size();
+		int won = 0;
+		int lost = 0;
+		long ticks = 0;
+		long runNanos = 0;
+		int maxPeak = 0;
+		long peakSum = 0;
+		double[] clearTimes = new double[runs];
+		for (Result result : results) {
+			if (result.outcome() == LevelOutcome.WON) {
+				clearTimes[won++] = result.seconds();
+			} else if (result.outcome() == LevelOutcome.LOST) {
+				lost++;
+			}
+			ticks += result.ticks();
+			runNanos += result.nanos();
+			maxPeak = Math.max(maxPeak, result.peakEntities());
+			peakSum += result.peakEntities();
+		}
+		clearTimes = Arrays.copyOf(clearTimes, won);
+		Arrays.sort(clearTimes);
+
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("  won %d (%.1f%%), lost %d, timed out %d after %.0f s%n",
+				won, percent(won, runs), lost, runs - won - lost, maxSeconds));
+		if (won > 0) {
+			report.append(String.format("  time to clear: mean %.1f s, median %.1f s, p90 %.1f s, fastest %.1f s%n",
+					Arrays.stream(clearTimes).average().orElse(0), percentile(clearTimes, 50),
+					percentile(clearTimes, 90), clearTimes[0]));
+		}
+		report.append(String.format("  peak entities: mean %.1f, max %d%n", runs == 0 ? 0.0 : (double) peakSum / runs, maxPeak));
+		report.append(String.format("  simulation: %d ticks in %.2f s, %.0f ticks/s overall, %.0f ticks/s per run%n",
+				ticks, wallNanos / 1e9, rate(ticks, wallNanos), rate(ticks, runNanos)));
+		return report.toString();
+	}
+
+	/**
+	 * Builds a fresh level.
+	 *
+	 * @return the level.
+	 * @throws ReflectiveOperationException if the level cannot be built.
+	 */
+	private LevelParent newLevel() throws ReflectiveOperationException {
+		try {
+			return (LevelParent) Class.forName(levelClass).getConstructor(double.class, double.class)
+					.newInstance(SCREEN_HEIGHT, SCREEN_WIDTH);
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Moves the bot for the coming tick: up or down towards the nearest enemy still flying,
+	 * with the trigger held throughout.
+	 *
+	 * @param level the level being played.
+	 */
+	private static void steer(LevelParent level) {
+		UserPlane user = level.getUser();
+		ActiveActorDestructible target = null;
+		for (ActiveActorDestructible enemy : level.enemyUnits) {
+			if (!enemy.isDestroyed() && (target == null || enemy.getPositionX() < target.getPositionX())) {
+				target = enemy;
+			}
+		}
+		level.handleKeyPressed(KeyCode.SPACE);
+		double gap = target == null ? 0
+				: target.getHitbox().getBoundsInParent().getCenterY() - user.getHitbox().getBoundsInParent().getCenterY();
+		if (gap < -BOT_DEAD_ZONE) {
+			level.handleKeyReleased(KeyCode.DOWN);
+			level.handleKeyPressed(KeyCode.UP);
+		} else if (gap > BOT_DEAD_ZONE) {
+			level.handleKeyReleased(KeyCode.UP);
+			level.handleKeyPressed(KeyCode.DOWN);
+		} else {
+			level.handleKeyReleased(KeyCode.UP);
+			level.handleKeyReleased(KeyCode.DOWN);
+		}
+	}
+
+	/**
+	 * Starts the JavaFX platform the levels' controls need, without showing anything.
+	 */
+	private static void startPlatform() {
+		Platform.setImplicitExit(false);
+		try {
+			Platform.startup(() -> {
+			});
+		} catch (IllegalStateException e) {
+			// Already running
+		}
+	}
+
+	/**
+	 * Writes one line per run to a CSV file.
+	 *
+	 * @param results the results of the runs.
+	 * @param file    the file to write.
+	 * @throws IOException if the file cannot be written.
+	 */
+	private static void writeCsv(List<Result> results, Path file) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write("seed,outcome,ticks,seconds,peakEntities,ticksPerSecond");
+			writer.newLine();
+			for (Result result : results) {
+				writer.write(result.seed() + "," + result.outcome() + "," + result.ticks() + ","
+						+ result.seconds() + "," + result.peakEntities() + "," + Math.round(rate(result.ticks(), result.nanos())));
+				writer.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Works out a share as a percentage.
+	 *
+	 * @param part  the part.
+	 * @param total the whole.
+	 * @return the percentage, or 0 if the whole is 0.
+	 */
+	private static double percent(int part, int total) {
+		return total == 0 ? 0 : 100.0 * part / total;
+	}
+
+	/**
+	 * Picks a percentile from sorted values, by the nearest-rank method.
+	 *
+	 * @param sorted     the values, in ascending order; at least one.
+	 * @param percentile the percentile, from 0 to 100.
+	 * @return the value.
+	 */
+	private static double percentile(double[] sorted, int percentile) {
+		int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	/**
+	 * Works out a tick rate.
+	 *
+	 * @param ticks the ticks simulated.
+	 * @param nanos the time taken, in nanoseconds.
+	 * @return the ticks per second, or 0 if no time was taken.
+	 */
+	private static double rate(long ticks, long nanos) {
+		return nanos == 0 ? 0 : ticks * 1e9 / nanos;
+	}
+}
@@ -0,0 +1,47 @@
+package Levels;
+
+/**
+ * The drawing layers of a level, listed from back to front.
+ * <p>
+ * Each level creates one group per layer when it is built and stacks them in this order under
+ * its root. Nodes are inserted into the layer they belong to, so the stacking order is fixed by
+ * the layer and never has to be corrected with {@code toFront()} while the game runs.
+ * </p>
+ */
+public enum Layer {
+
+	/**
+	 * The level background.
+	 */
+	BACKGROUND,
+
+	/**
+	 * Enemy planes and bosses, with their shields and health bars.
+	 */
+	ENEMIES,
+
+	/**
+	 * Projectiles fired by the player and by enemies.
+	 */
+	PROJECTILES,
+
+	/**
+	 * The player's plane.
+	 */
+	PLAYER,
+
+	/**
+	 * Items the player can collect, such as hearts.
+	 */
+	PICKUPS,
+
+	/**
+	 * The heads-up display: hearts, kill progress and indicators.
+	 */
+	HUD,
+
+	/**
+	 * Menus and end-of-game screens shown above everything else.
+	 */
+	OVERLAYS
+}
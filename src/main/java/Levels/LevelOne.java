@@ -1,11 +1,11 @@
 package Levels;
 
 import Core.ActiveActorDestructible;
+import Core.GameRandom;
 import Entities.EnemyPlane;
+import Ui.BitmapText;
+import Ui.TextBuffer;
 import javafx.scene.control.ProgressBar;
-import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.Text;
 import sounds.MusicPlayer;
 
 /**
@@ -35,14 +35,21 @@ public class LevelOne extends LevelParent {
 	/**
 	 * The number of kills required to advance to the next level.
 	 * Players must achieve this target to progress in the game.
+	 * Can be set with {@code -DlevelOne.killsToAdvance} when tuning the level.
 	 */
-	private static final int KILLS_TO_ADVANCE = 10;
+	private static final int KILLS_TO_ADVANCE = Integer.getInteger("levelOne.killsToAdvance", 10);
+
+	/**
+	 * The number of characters the kill progress text is preallocated for.
+	 */
+	private static final int KILL_PROGRESS_CAPACITY = 16;
 
 	/**
 	 * The probability of spawning a new enemy during each game update cycle.
 	 * Determines the likelihood of enemy planes appearing on the screen.
+	 * Can be set with {@code -DlevelOne.enemySpawnProbability} when tuning the level.
 	 */
-	private static final double ENEMY_SPAWN_PROBABILITY = 0.20;
+	private static final double ENEMY_SPAWN_PROBABILITY = Double.parseDouble(System.getProperty("levelOne.enemySpawnProbability", "0.20"));
 
 	/**
 	 * The initial health of the player's plane at the start of the level.
@@ -60,7 +67,12 @@ public class LevelOne extends LevelParent {
 	 * A text element used to display detailed progress information for the player's kills.
 	 * Shows the current number of kills compared to the target number of kills required to advance.
 	 */
-	private final Text killProgressText;
+	private final BitmapText killProgressText;
+
+	/**
+	 * The reusable buffer the kill progress is formatted into.
+	 */
+	private final TextBuffer killProgressChars = new TextBuffer(KILL_PROGRESS_CAPACITY);
 
 
 	/**
@@ -82,14 +94,13 @@ public class LevelOne extends LevelParent {
 		killProgressBar.setLayoutX(20); // Adjusted position
 		killProgressBar.setLayoutY(screenHeight - 70);
 
-		killProgressText = new Text("Kills: 0 / " + KILLS_TO_ADVANCE);
-		killProgressText.setFont(new Font("Arial", 16));
-		killProgressText.setFill(Color.WHITE);
+		killProgressText = new BitmapText(KILL_PROGRESS_CAPACITY);
 		killProgressText.setLayoutX(250);
 		killProgressText.setLayoutY(screenHeight - 60); // Align with progress bar
 
-		// Add progress bar and text to the scene root
-		getRoot().getChildren().addAll(killProgressBar, killProgressText);
+		// Add progress bar and text to the HUD layer
+		getLayer(Layer.HUD).getChildren().addAll(killProgressBar, killProgressText);
+		getKillCounter().bind(this::showKillProgress);
 	}
 
 	/**
@@ -104,31 +115,32 @@ public class LevelOne extends LevelParent {
 		} else if (userHasReachedKillTarget()) {
 			goToNextLevel(NEXT_LEVEL);
 		}
-		updateKillProgress();
 	}
 
 	/**
-	 * Initializes friendly units, specifically the user's plane, and adds it to the game root.
+	 * Initializes friendly units, specifically the user's plane, and adds it to the player layer.
 	 */
 	@Override
 	protected void initializeFriendlyUnits() {
-		getRoot().getChildren().add(getUser());
+		getLayer(Layer.PLAYER).getChildren().add(getUser());
 	}
 
 	/**
 	 * Spawns enemy planes in the game. The total number of enemies is capped at a predefined limit.
-	 * Each enemy's spawn probability is determined by a random chance.
+	 * Each free slot is refilled after a random delay scheduled on the level's timer wheel.
 	 */
 	@Override
 	protected void spawnEnemyUnits() {
-		int currentNumberOfEnemies = getCurrentNumberOfEnemies();
-		for (int i = 0; i < TOTAL_ENEMIES - currentNumberOfEnemies; i++) {
-			if (Math.random() < ENEMY_SPAWN_PROBABILITY) {
-				double newEnemyInitialYPosition = Math.random() * getEnemyMaximumYPosition();
-				ActiveActorDestructible newEnemy = new EnemyPlane(getScreenWidth(), newEnemyInitialYPosition, getRoot());
-				addEnemyUnit(newEnemy);
-			}
-		}
+		scheduleEnemySpawns(TOTAL_ENEMIES, ENEMY_SPAWN_PROBABILITY, this::spawnEnemy);
+	}
+
+	/**
+	 * Spawns an enemy plane at a random height on the right edge of the screen.
+	 */
+	private void spawnEnemy() {
+		double newEnemyInitialYPosition = GameRandom.random() * getEnemyMaximumYPosition();
+		ActiveActorDestructible newEnemy = new EnemyPlane(getScreenWidth(), newEnemyInitialYPosition, getRoot());
+		addEnemyUnit(newEnemy);
 	}
 
 	/**
@@ -138,7 +150,7 @@ public class LevelOne extends LevelParent {
 	 */
 	@Override
 	protected LevelView instantiateLevelView() {
-		return new LevelView(getRoot(), PLAYER_INITIAL_HEALTH);
+		return new LevelView(getLayer(Layer.HUD), getLayer(Layer.OVERLAYS), PLAYER_INITIAL_HEALTH);
 	}
 
 	/**
@@ -151,15 +163,14 @@ public class LevelOne extends LevelParent {
 	}
 
 	/**
-	 * Updates the kill progress bar and the corresponding text.
+	 * Updates the kill progress bar and the corresponding text. Bound to the kill counter,
+	 * so it only runs when the kill count changes.
+	 *
+	 * @param kills the user's kill count.
 	 */
-	private void updateKillProgress() {
-		int kills = getUser().getNumberOfKills();
+	private void showKillProgress(int kills) {
 		double progress = (double) kills / KILLS_TO_ADVANCE;
 		killProgressBar.setProgress(progress);
-		killProgressText.setText("Kills: " + kills + " / " + KILLS_TO_ADVANCE);
-		killProgressBar.toFront();
-		killProgressText.toFront();
-		System.out.println("Updated progress: " + progress + ", Kills: " + kills);
+		killProgressText.setText(killProgressChars.clear().append("Kills: ").append(kills).append(" / ").append(KILLS_TO_ADVANCE));
 	}
 }
@@ -0,0 +1,22 @@
+package Levels;
+
+/**
+ * How a level has ended, if it has.
+ */
+public enum LevelOutcome {
+
+	/**
+	 * The level is still being played.
+	 */
+	PLAYING,
+
+	/**
+	 * The player cleared the level, by winning the game or moving on to the next level.
+	 */
+	WON,
+
+	/**
+	 * The player's plane was destroyed.
+	 */
+	LOST
+}
@@ -1,27 +1,51 @@
 package Levels;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
+import Assets.SpriteCache;
 import Core.ActiveActor;
 import Core.ActiveActorDestructible;
+import Core.Archetype;
+import Core.CollisionSystem;
 import Core.FighterPlane;
+import Core.EntityBudget;
+import Core.FrameSnapshot;
+import Core.GameRandom;
+import Core.InputScript;
+import Core.InputState;
+import Core.MovementSystem;
+import Core.QualityGovernor;
+import Core.RewindBuffer;
+import Core.SceneSync;
+import Core.SimulationLoop;
+import Core.StateSnapshot;
+import Core.StateTrace;
+import Core.TickScheduler;
+import Core.TimerWheel;
+import Core.TripleBuffer;
+import Core.Weapon;
+import Core.World;
 import Entities.Boss;
+import Entities.BossProjectile;
+import Entities.EnemyPlane;
+import Entities.EnemyProjectile;
+import Entities.MutationBoss1;
 import Entities.UserPlane;
 import Entities.Heart;
+import Entities.UserProjectile;
 import javafx.animation.*;
 import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.image.*;
 import javafx.scene.input.*;
 import javafx.scene.Node;
-import javafx.scene.text.Text; // 新增
-import javafx.scene.text.Font; // 新增
-import javafx.scene.paint.Color; // 新增
-import javafx.scene.control.Button; // 新增
 import javafx.scene.layout.VBox;
 import javafx.util.Duration;
-import Entities.MutationBoss1;
+import Ui.HudCounter;
+import Ui.OverlayCache;
+import Ui.PauseMenu;
 
 /**
  * Abstract base class for all game levels.
@@ -48,6 +72,54 @@ public abstract class LevelParent extends Observable {
 	 * Determines the update frequency of the game logic and rendering.
 	 */
 	private static final int MILLISECOND_DELAY = 40;
+	/**
+	 * The number of simulation ticks per second.
+	 */
+	static final double TICKS_PER_SECOND = 1000.0 / MILLISECOND_DELAY;
+	/**
+	 * How often per second spawning and heart expiry run.
+	 */
+	private static final double SPAWN_RATE_HZ = 5;
+	/**
+	 * How often per second the values shown by the HUD are sampled.
+	 */
+	private static final double HUD_RATE_HZ = 10;
+	/**
+	 * How often per second the HUD values are sampled while the governor has reduced the HUD rate.
+	 */
+	private static final double REDUCED_HUD_RATE_HZ = 2.5;
+	/**
+	 * The time budget of one rendered frame, in milliseconds, matching the 60 Hz JavaFX pulse.
+	 */
+	private static final double RENDER_BUDGET_MILLIS = 1000.0 / 60;
+	/**
+	 * How often per second the level checks whether the game is won or lost.
+	 */
+	private static final double GAME_OVER_RATE_HZ = 5;
+	/**
+	 * Time in milliseconds a heart takes to drift across the screen.
+	 */
+	private static final double HEART_CROSSING_MILLIS = 5000;
+	/**
+	 * The chance of a heart appearing on any one tick.
+	 */
+	private static final double HEART_SPAWN_PROBABILITY = 0.01;
+	/**
+	 * X-coordinate of the pause menu's top-left corner.
+	 */
+	private static final double PAUSE_MENU_X_POSITION = 500;
+	/**
+	 * Y-coordinate of the pause menu's top-left corner.
+	 */
+	private static final double PAUSE_MENU_Y_POSITION = 100;
+	/**
+	 * The size of the rewind buffer's ring, unless set with {@code -Drewind.bytes}.
+	 */
+	private static final int REWIND_BYTES = 4 << 20;
+	/**
+	 * The number of seconds between two keyframes in the rewind buffer.
+	 */
+	private static final double REWIND_KEYFRAME_SECONDS = 1;
 	/**
 	 * The height of the game screen.
 	 * Used for positioning and movement calculations.
@@ -69,20 +141,133 @@ public abstract class LevelParent extends Observable {
 	 */
 	public final Group root;
 	/**
-	 * The timeline responsible for running the game loop.
-	 * Manages the periodic execution of game logic and rendering updates.
+	 * The drawing layers of the level, stacked under the root in {@link Layer} order.
+	 */
+	private final Map<Layer, Group> layers = new EnumMap<>(Layer.class);
+	/**
+	 * The loop responsible for running the game simulation.
+	 * Ticks the game logic at a fixed rate, on its own thread unless threading is disabled.
+	 */
+	private final SimulationLoop simulation;
+	/**
+	 * Hands the state of each finished tick from the simulation to the renderer.
+	 */
+	private final TripleBuffer<FrameSnapshot> frames;
+	/**
+	 * Copies the latest simulated frame onto the scene graph once per rendered frame.
+	 */
+	private final AnimationTimer renderer;
+	/**
+	 * Writes simulated frames onto the scene graph, skipping properties that did not change.
+	 */
+	private final SceneSync sceneSync = new SceneSync();
+	/**
+	 * The keys held down, set by the JavaFX thread and sampled by the simulation once per tick.
 	 */
-	private final Timeline timeline;
+	private final InputState input = new InputState();
+	/**
+	 * Scene graph changes queued by the simulation, run by the renderer on the JavaFX thread.
+	 */
+	private final Queue<Runnable> pendingSceneChanges = new ConcurrentLinkedQueue<>();
+	/**
+	 * Runs the phases of each tick, each at its own rate, and measures their cost.
+	 */
+	private final TickScheduler phases = new TickScheduler();
+	/**
+	 * The phase sampling the HUD values, slowed down when the governor reduces the HUD rate.
+	 */
+	private TickScheduler.Phase hudPhase;
+	/**
+	 * The phase checking heart pickups, run every other tick when the governor reduces hitbox precision.
+	 */
+	private TickScheduler.Phase pickupPhase;
+	/**
+	 * Watches the rendered frame times and reduces optional work while the game runs over budget.
+	 */
+	private final QualityGovernor governor = new QualityGovernor(RENDER_BUDGET_MILLIS);
+	/**
+	 * The governor's quality step last applied by the simulation.
+	 */
+	private int appliedQuality;
+	/**
+	 * The time of the previous renderer pulse, in nanoseconds, or 0 before the first.
+	 */
+	private long lastPulseNanos;
+	/**
+	 * The number of renderer pulses, used to skip every other one at reduced render rate.
+	 */
+	private long pulses;
+	/**
+	 * Wakes enemy fire, boss shields and spawns on the tick they are due. Advanced once per tick.
+	 */
+	private final TimerWheel timers = new TimerWheel();
+	/**
+	 * Caps the number of live shots, enemies and pickups.
+	 */
+	private final EntityBudget budget = new EntityBudget();
+	/**
+	 * The entities of the level: planes and shots as rows of dense component arrays.
+	 */
+	private final World world = new World();
+	/**
+	 * Moves the shots of the world along their velocities.
+	 */
+	private final MovementSystem movement = new MovementSystem();
+	/**
+	 * Finds overlapping planes and shots in the world and damages them.
+	 */
+	private final CollisionSystem collisions = new CollisionSystem();
+	/**
+	 * The level's recent history, recorded every tick once rewinding is enabled, or {@code null}.
+	 */
+	private RewindBuffer rewind;
+	/**
+	 * The state of each tick as recorded into the rewind buffer and state trace, and as restored
+	 * from the rewind buffer.
+	 */
+	private final StateSnapshot historyState = new StateSnapshot();
+	/**
+	 * The hash of every tick's state, recorded once a trace is set, or {@code null}.
+	 */
+	private StateTrace stateTrace;
+	/**
+	 * The scripted input played in place of the keyboard, or {@code null}.
+	 */
+	private InputScript inputScript;
+	/**
+	 * How the level has ended, if it has.
+	 */
+	private volatile LevelOutcome outcome = LevelOutcome.PLAYING;
+	/**
+	 * Whether the level is stepped by {@link #stepHeadless()} without a scene or simulation
+	 * loop, as in batch runs. Endings are then only recorded.
+	 */
+	private boolean headless;
+	/**
+	 * The number of enemy spawns scheduled on the timer wheel but not yet made.
+	 */
+	private int pendingSpawns;
+	/**
+	 * The user's health as last sampled for the HUD.
+	 */
+	private int hudHealth;
+	/**
+	 * The user's kill count as last sampled for the HUD.
+	 */
+	private int hudKills;
+	/**
+	 * The number of ticks simulated so far.
+	 */
+	private long tick;
+	/**
+	 * The tick of the frame most recently applied to the scene graph.
+	 */
+	private long renderedTick = -1;
 	/**
 	 * The player's plane object.
 	 * Represents the player's character in the game.
 	 */
 	private final UserPlane user;
-	/**
-	 * The JavaFX Scene object representing the level.
-	 * Contains all visual elements and handles user input.
-	 */
-	private final Scene scene;
 	/**
 	 * The background image of the level.
 	 * Provides the visual backdrop for the game environment.
@@ -123,6 +308,14 @@ public abstract class LevelParent extends Observable {
 	 * Manages the display of UI elements such as the player's health bar.
 	 */
 	private LevelView levelView;
+	/**
+	 * The user's health as shown on the HUD. The heart display is bound to it.
+	 */
+	private final HudCounter healthCounter;
+	/**
+	 * The user's kill count as shown on the HUD. Levels bind their progress widgets to it.
+	 */
+	private final HudCounter killCounter;
 	/**
 	 * Indicates whether the scene has been initialized.
 	 * Ensures that initialization logic is only executed once.
@@ -140,14 +333,15 @@ public abstract class LevelParent extends Observable {
 	protected boolean isPaused = false; // 是否暂停的标志位
 	/**
 	 * The pause menu displayed when the game is paused.
-	 * Provides options to resume or quit the game.
+	 * Provides options to resume or quit the game. Fetched from the {@link OverlayCache}
+	 * the first time the level is paused, so it stays {@code null} until then.
 	 */
 	protected VBox pauseMenu;          // 暂停菜单
 	/**
 	 * Constructs a new instance of {@code LevelParent} with the specified parameters.
 	 * This constructor initializes the game level with a background image, screen dimensions,
 	 * initial player health, and various game components such as friendly units, enemy units,
-	 * projectiles, and a timeline for the game loop.
+	 * projectiles, and a simulation loop for the game.
 	 *
 	 * @param backgroundImageName the file path to the background image.
 	 * @param screenHeight the height of the game screen.
@@ -157,25 +351,112 @@ public abstract class LevelParent extends Observable {
 
 	public LevelParent(String backgroundImageName, double screenHeight, double screenWidth, int playerInitialHealth) {
 		this.root = new Group();
-		this.scene = new Scene(root, screenWidth, screenHeight);
-		this.timeline = new Timeline();
+		for (Layer layer : Layer.values()) {
+			Group group = new Group();
+			layers.put(layer, group);
+			root.getChildren().add(group);
+		}
+		this.simulation = new SimulationLoop(MILLISECOND_DELAY, this::updateScene);
+		this.frames = new TripleBuffer<>(FrameSnapshot::new);
+		this.renderer = new AnimationTimer() {
+			@Override
+			public void handle(long now) {
+				if (lastPulseNanos != 0) {
+					governor.sample(now - lastPulseNanos);
+				}
+				lastPulseNanos = now;
+				if (governor.isReduced(QualityGovernor.Option.RENDER_RATE) && (++pulses & 1) == 0) {
+					return; // Copy frames to the scene on every other pulse only
+				}
+				renderFrame();
+			}
+		};
 		this.user = new UserPlane(playerInitialHealth, root);
+		this.user.setSyncDeferred(SimulationLoop.isThreaded());
 		this.friendlyUnits = new ArrayList<>();
 		this.enemyUnits = new ArrayList<>();
 		this.userProjectiles = new ArrayList<>();
 		this.enemyProjectiles = new ArrayList<>();
 		this.hearts = new ArrayList<>(); // 初始化心形道具列表
 
-		this.background = new ImageView(new Image(getClass().getResource(backgroundImageName).toExternalForm()));
+		this.background = new ImageView(SpriteCache.get(backgroundImageName, screenWidth, screenHeight));
 		this.screenHeight = screenHeight;
 		this.screenWidth = screenWidth;
 		this.enemyMaximumYPosition = screenHeight - SCREEN_HEIGHT_ADJUSTMENT;
 		this.levelView = instantiateLevelView();
+		this.healthCounter = new HudCounter(playerInitialHealth);
+		this.killCounter = new HudCounter(0);
+		healthCounter.bind(hearts -> levelView.setHearts(hearts));
 		this.currentNumberOfEnemies = 0;
-		initializeTimeline();
 		friendlyUnits.add(user);
-		// 初始化暂停菜单
-		initializePauseMenu();
+		world.spawn(user);
+		world.setWeapon(user.getEntity(), user.getWeapon());
+		this.hudHealth = playerInitialHealth;
+		timers.repeatRandomly(HEART_SPAWN_PROBABILITY, () -> {
+			spawnHeart();
+			return true;
+		});
+		registerPhases();
+	}
+
+	/**
+	 * Registers the phases of a tick with the scheduler, in the order they run.
+	 * <p>
+	 * Phases that move, hit or remove actors, and the kill count that must see each destroyed
+	 * enemy before it is removed, run on every tick, after the governor's latest quality step
+	 * has been applied. Spawning, heart expiry, the HUD sample and
+	 * the game-over check do not need the full tick rate and run less often, staggered so they
+	 * do not share a tick.
+	 * </p>
+	 */
+	private void registerPhases() {
+		phases.register("quality", 1, this::applyQuality);
+		phases.register("input", 1, this::applyInput);
+		phases.register("cleanup", 1, this::removeAllDestroyedActors);
+		phases.register("spawn", ticksPerRun(SPAWN_RATE_HZ), this::spawnEnemyUnits);
+		phases.register("timers", 1, timers::advance);
+		phases.register("hearts", ticksPerRun(SPAWN_RATE_HZ), this::removeExpiredHearts);
+		phases.register("actors", 1, this::updateActors);
+		pickupPhase = phases.register("pickups", 1, this::handleHeartCollisions);
+		phases.register("enemies", ticksPerRun(SPAWN_RATE_HZ), this::updateNumberOfEnemies);
+		phases.register("penetration", 1, this::handleEnemyPenetration);
+		phases.register("collisions", 1, () -> {
+			world.syncDriven();
+			handleUserProjectileCollisions();
+			handleEnemyProjectileCollisions();
+			handlePlaneCollisions();
+		});
+		phases.register("kills", 1, this::updateKillCount);
+		hudPhase = phases.register("hud", ticksPerRun(HUD_RATE_HZ), this::sampleHud);
+		phases.register("gameOver", ticksPerRun(GAME_OVER_RATE_HZ), this::checkIfGameOver);
+		phases.register("publish", 1, this::publishFrame);
+		phases.register("history", 1, this::recordHistory);
+	}
+
+	/**
+	 * Applies the quality governor's latest step to the simulation when it has changed:
+	 * the heart shake effect, the HUD sample rate and the pickup collision rate.
+	 */
+	private void applyQuality() {
+		int step = governor.getReducedCount();
+		if (step == appliedQuality) {
+			return;
+		}
+		appliedQuality = step;
+		boolean effects = !governor.isReduced(QualityGovernor.Option.EFFECTS);
+		hearts.forEach(heart -> heart.setShaking(effects));
+		hudPhase.setDivisor(ticksPerRun(governor.isReduced(QualityGovernor.Option.HUD_RATE) ? REDUCED_HUD_RATE_HZ : HUD_RATE_HZ));
+		pickupPhase.setDivisor(governor.isReduced(QualityGovernor.Option.HITBOX_PRECISION) ? 2 : 1);
+	}
+
+	/**
+	 * Converts a rate to the number of ticks between two runs of a phase.
+	 *
+	 * @param hertz the desired number of runs per second.
+	 * @return the rate divisor, at least 1.
+	 */
+	private static int ticksPerRun(double hertz) {
+		return (int) Math.max(1, Math.round(TICKS_PER_SECOND / hertz));
 	}
 
 	/**
@@ -210,15 +491,15 @@ public abstract class LevelParent extends Observable {
 
 
 	/**
-	 * Initializes the game scene with necessary components and event listeners.
+	 * Initializes the level content and mounts it into the shared scene.
 	 * <p>
 	 * This method ensures that the background, friendly units, and visual elements like
-	 * the heart display are initialized. It also adds a key press listener to handle
-	 * user input for pausing the game. If the scene is already initialized, it avoids
-	 * reinitializing the components.
+	 * the heart display are initialized, then mounts the level root into the persistent
+	 * {@link SceneShell}. The shell owns the input bindings and forwards key events to the
+	 * mounted level. If the scene is already initialized, it avoids reinitializing the components.
 	 * </p>
 	 *
-	 * @return the initialized {@link Scene} object for the game level.
+	 * @return the shared {@link Scene} the level has been mounted into.
 	 */
 
 	public Scene initializeScene() {
@@ -232,53 +513,59 @@ public abstract class LevelParent extends Observable {
 			System.out.println("Scene is already initialized.");
 		}
 
-		// 添加键盘事件监听
-		scene.setOnKeyPressed(e -> {
-			if (e.getCode() == KeyCode.P) {
-				togglePause();
-			}
-		});
+		SceneShell shell = SceneShell.getInstance(screenWidth, screenHeight);
+		shell.mount(this);
+		return shell.getScene();
+	}
 
-		return scene;
+	/**
+	 * Handles a key press forwarded by the {@link SceneShell}.
+	 * Arrow keys move the user's plane, SPACE fires and P toggles the pause menu.
+	 * P is handled straight away; the other keys are recorded in the input state, which the
+	 * simulation samples at the start of its next tick, so key repeats do not fire extra shots.
+	 *
+	 * @param kc the code of the pressed key.
+	 */
+	void handleKeyPressed(KeyCode kc) {
+		if (kc == KeyCode.P) {
+			togglePause();
+			return;
+		}
+		input.press(kc);
+	}
+
+	/**
+	 * Handles a key release forwarded by the {@link SceneShell}.
+	 * Releasing an arrow key stops the user's plane along that axis, from the simulation's next tick.
+	 *
+	 * @param kc the code of the released key.
+	 */
+	void handleKeyReleased(KeyCode kc) {
+		input.release(kc);
 	}
 
 	/**
-	 * Initializes the pause menu UI and adds it to the game root.
+	 * Attaches the shared pause menu to this level.
 	 * <p>
-	 * The pause menu consists of a styled {@link VBox} containing a text label
-	 * ("Game Paused"), a resume button to resume the game, and a quit button to exit
-	 * the application. The menu is hidden by default and can be displayed when the game
-	 * is paused.
+	 * The menu is taken from the {@link OverlayCache}, which builds it on first use. Its resume
+	 * action is pointed at this level and it is added to the overlay layer, detaching it from the
+	 * level that used it before.
 	 * </p>
 	 */
-	private void initializePauseMenu() {
-		pauseMenu = new VBox(10); // 垂直布局，间隔 10 像素
-		pauseMenu.setStyle("-fx-background-color: rgba(0, 0, 0, 0.7); -fx-padding: 20;"); // 设置样式
-		pauseMenu.setPrefSize(300, 200); // 设置菜单宽度和高度
-
-		// 修改菜单位置，直接指定坐标
-		pauseMenu.setLayoutX(500); // 设置菜单左上角的 X 坐标
-		pauseMenu.setLayoutY(100); // 设置菜单左上角的 Y 坐标
-
-		Text pauseText = new Text("Game Paused");
-		pauseText.setFont(new Font(20));
-		pauseText.setFill(Color.WHITE);
-
-		Button resumeButton = new Button("Resume");
-		resumeButton.setOnAction(e -> togglePause()); // 点击恢复按钮，切换暂停状态
-
-		Button quitButton = new Button("Quit");
-		quitButton.setOnAction(e -> System.exit(0)); // 退出游戏
-
-		pauseMenu.getChildren().addAll(pauseText, resumeButton, quitButton);
-		pauseMenu.setVisible(false); // 初始隐藏
-		root.getChildren().add(pauseMenu);
+	private void attachPauseMenu() {
+		PauseMenu menu = OverlayCache.getPauseMenu(PAUSE_MENU_X_POSITION, PAUSE_MENU_Y_POSITION);
+		menu.setOnResume(this::togglePause); // 点击恢复按钮，切换暂停状态
+		Group overlays = getLayer(Layer.OVERLAYS);
+		if (!overlays.getChildren().contains(menu)) {
+			overlays.getChildren().add(menu);
+		}
+		pauseMenu = menu;
 	}
 	/**
 	 * Toggles the game's pause state.
 	 * <p>
-	 * When the game is paused, the timeline is stopped, and the pause menu is displayed.
-	 * Resuming the game hides the pause menu and restarts the timeline. This method ensures
+	 * When the game is paused, the simulation is suspended, and the pause menu is displayed.
+	 * Resuming the game hides the pause menu and resumes the simulation. This method ensures
 	 * the pause and resume actions are reflected visually and logically.
 	 * </p>
 	 */
@@ -288,43 +575,100 @@ public abstract class LevelParent extends Observable {
 		isPaused = !isPaused; // 切换暂停状态
 		if (isPaused) {
 			System.out.println("Game paused.");
-			timeline.pause(); // 暂停游戏逻辑
-			pauseMenu.setVisible(true); // 显示暂停菜单
-			pauseMenu.toFront(); // 确保菜单在最前
+			simulation.pause(); // 暂停游戏逻辑
+			attachPauseMenu();
+			pauseMenu.setVisible(true); // 显示暂停菜单，覆盖层始终在最前
 		} else {
 			System.out.println("Game resumed.");
-			timeline.play(); // 恢复游戏逻辑
+			simulation.start(); // 恢复游戏逻辑
 			pauseMenu.setVisible(false); // 隐藏暂停菜单
 		}
 	}
 
 	/**
-	 * Starts the game by focusing on the background and playing the game timeline.
+	 * Starts the game by focusing on the background and starting the simulation.
 	 * <p>
-	 * If the game timeline is not already running, this method sets the focus on the
-	 * background element and starts the timeline animation, which drives the game loop.
+	 * This method sets the focus on the background element, starts the renderer that copies
+	 * simulated frames onto the scene, and starts the simulation loop if it is not already running.
 	 * </p>
 	 */
 
 	public void startGame() {
 		background.requestFocus();
-		if (timeline.getStatus() != Animation.Status.RUNNING) {
-			timeline.play();
+		renderer.start();
+		simulation.start();
+	}
+	/**
+	 * Prepares the level to be simulated without a scene or simulation loop, one tick per call
+	 * to {@link #stepHeadless()}, for example by the {@link BatchRunner}. The player's plane is
+	 * set up but nothing is mounted or rendered, and winning, losing or moving on to the next
+	 * level only records the {@link #getOutcome() outcome}. The level is then used from the
+	 * calling thread only.
+	 */
+	public void startHeadless() {
+		headless = true;
+		initializeFriendlyUnits();
+	}
+
+	/**
+	 * Simulates one tick of a level started with {@link #startHeadless()}.
+	 *
+	 * @return the outcome after the tick.
+	 * @throws IllegalStateException if the level was not started headless.
+	 */
+	public LevelOutcome stepHeadless() {
+		if (!headless) {
+			throw new IllegalStateException("The level was not started headless");
 		}
+		phases.tick();
+		return outcome;
+	}
+
+	/**
+	 * Gets how the level has ended, if it has.
+	 *
+	 * @return the outcome.
+	 */
+	public LevelOutcome getOutcome() {
+		return outcome;
 	}
+
+	/**
+	 * Gets the number of ticks simulated so far.
+	 *
+	 * @return the tick count.
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * Gets the number of entities in the level's world: the planes and projectiles in play.
+	 *
+	 * @return the entity count.
+	 */
+	public int getEntityCount() {
+		return world.size();
+	}
+
 	/**
 	 * Transitions to the specified next game level.
 	 * <p>
 	 * This method handles the level-switching logic, ensuring that the current level is cleaned
 	 * up before moving to the next one. It prevents duplicate calls by using a flag and uses a
 	 * {@link Timeline} for delayed execution of the level transition. Observers are notified of the
-	 * next level's name to facilitate the transition.
+	 * next level's name to facilitate the transition. When called from the simulation, the cleanup
+	 * and notification are handed to the JavaFX thread.
 	 * </p>
 	 *
 	 * @param levelName the fully qualified class name of the next level to load.
 	 */
 
 	public void goToNextLevel(String levelName) {
+		outcome = LevelOutcome.WON;
+		if (headless) {
+			return;
+		}
 		if (isLevelSwitching) {
 			System.out.println("Already switching levels. Ignoring call.");
 			return; // 防止重复调用
@@ -334,24 +678,24 @@ public abstract class LevelParent extends Observable {
 		isLevelSwitching = true; // 设置标志位，防止重复调用
 
 		// 停止当前的游戏循环
-		if (timeline != null && timeline.getStatus() == Animation.Status.RUNNING) {
-			timeline.stop();
-		}
-
-		// 清理当前关卡资源
-		cleanUpLevel();
-
-		// 延迟执行关卡切换，确保资源完全清理完成
-		Timeline switchTimeline = new Timeline(new KeyFrame(Duration.millis(2), e -> {
-			try {
-				setChanged();
-				notifyObservers(levelName); // 通知观察者切换关卡
-			} finally {
-				isLevelSwitching = false; // 切换完成后重置标志位
-			}
-		}));
-		switchTimeline.setCycleCount(1);
-		switchTimeline.play();
+		simulation.stopAndWait();
+
+		runOnScene(() -> {
+			// 清理当前关卡资源
+			cleanUpLevel();
+
+			// 延迟执行关卡切换，确保资源完全清理完成
+			Timeline switchTimeline = new Timeline(new KeyFrame(Duration.millis(2), e -> {
+				try {
+					setChanged();
+					notifyObservers(levelName); // 通知观察者切换关卡
+				} finally {
+					isLevelSwitching = false; // 切换完成后重置标志位
+				}
+			}));
+			switchTimeline.setCycleCount(1);
+			switchTimeline.play();
+		});
 	}
 
 
@@ -359,7 +703,8 @@ public abstract class LevelParent extends Observable {
 	 * Cleans up resources and resets the current level state.
 	 * <p>
 	 * This method clears all actors, projectiles, and other game objects from the scene graph
-	 * and associated lists. It ensures that the current level's resources are fully released
+	 * and associated lists, and unmounts the level from the shared scene so it no longer
+	 * receives input. It ensures that the current level's resources are fully released
 	 * before transitioning to a new level.
 	 * </p>
 	 */
@@ -367,8 +712,11 @@ public abstract class LevelParent extends Observable {
 	public void cleanUpLevel() {
 		System.out.println("Cleaning up current level...");
 
+		SceneShell.getInstance(screenWidth, screenHeight).unmount(this);
+		renderer.stop();
+
 		// 停止动画和清理场景资源
-		root.getChildren().clear();
+		layers.values().forEach(layer -> layer.getChildren().clear());
 
 		// 清空所有单位列表
 		friendlyUnits.clear();
@@ -376,59 +724,371 @@ public abstract class LevelParent extends Observable {
 		userProjectiles.clear();
 		enemyProjectiles.clear();
 		hearts.clear();
+		world.clear();
 
 		System.out.println("Level cleaned up successfully.");
 	}
 
 	/**
-	 * Updates the game scene during each frame of the timeline.
+	 * Captures the state of the level into a snapshot: the user's plane, then every enemy,
+	 * projectile and heart, each as one record keyed by its entity id. The snapshot is cleared
+	 * first and records the current frame tick. Must run on the simulation thread between
+	 * ticks, for example from a tick phase.
+	 *
+	 * @param snapshot the snapshot to fill.
+	 */
+	public void captureState(StateSnapshot snapshot) {
+		snapshot.clear(tick);
+		user.saveState(snapshot, snapshot.add(Archetype.USER_PLANE, user.getEntity()));
+		for (ActiveActorDestructible enemy : enemyUnits) {
+			enemy.saveState(snapshot, snapshot.add(enemy.getArchetype(), enemy.getEntity()));
+		}
+		for (ActiveActorDestructible projectile : userProjectiles) {
+			projectile.saveState(snapshot, snapshot.add(projectile.getArchetype(), projectile.getEntity()));
+		}
+		for (ActiveActorDestructible projectile : enemyProjectiles) {
+			projectile.saveState(snapshot, snapshot.add(projectile.getArchetype(), projectile.getEntity()));
+		}
+		for (Heart heart : hearts) {
+			// Hearts are not in the world; their serials are kept apart from entity ids by sign
+			heart.saveState(snapshot, snapshot.addHeart(-1 - heart.getSerial()));
+		}
+	}
+
+	/**
+	 * Puts the level back into the state captured in a snapshot. The user's plane is restored
+	 * in place; every other actor is taken off the scene and the actors of the snapshot are
+	 * created afresh by {@link #createActor(Archetype, StateSnapshot, int)}. Enemies fire on
+	 * new random delays, while a boss's shield keeps the ticks it had left. The frame tick keeps
+	 * counting on. Must run on the simulation thread between ticks, for example from a tick phase.
+	 *
+	 * @param snapshot the snapshot to restore.
+	 */
+	public void restoreState(StateSnapshot snapshot) {
+		removeAllActorsForRestore();
+		for (int record = 0; record < snapshot.size(); record++) {
+			if (snapshot.isHeart(record)) {
+				Heart heart = new Heart(snapshot.getLayoutX(record), snapshot.getLayoutY(record), snapshot.getVelocityX(record));
+				heart.restoreState(snapshot, record);
+				addHeart(heart);
+				continue;
+			}
+			Archetype archetype = snapshot.getArchetype(record);
+			if (archetype == Archetype.USER_PLANE) {
+				user.restoreState(snapshot, record);
+				if (!friendlyUnits.contains(user)) {
+					// Taken off the scene since it was destroyed
+					friendlyUnits.add(user);
+					world.spawn(user);
+					world.setWeapon(user.getEntity(), user.getWeapon());
+					runOnScene(() -> getLayer(Layer.PLAYER).getChildren().add(user));
+				}
+				continue;
+			}
+			ActiveActorDestructible actor = createActor(archetype, snapshot, record);
+			actor.restoreState(snapshot, record);
+			switch (archetype.getRole()) {
+				case ENEMY_PLANE:
+					addEnemyUnit(actor);
+					break;
+				case FRIENDLY_SHOT:
+					addUserProjectile(actor);
+					break;
+				default:
+					addEnemyProjectile(actor);
+					break;
+			}
+		}
+		world.syncDriven();
+		System.out.println("Level restored to tick " + snapshot.getTick() + " (" + snapshot.size() + " actors)");
+	}
+
+	/**
+	 * Starts recording the level's history every tick, so it can be rewound.
+	 *
+	 * @param seconds how far back the level can be rewound, while the ring has room.
+	 */
+	protected void enableRewind(double seconds) {
+		rewind = new RewindBuffer((int) Math.round(seconds * TICKS_PER_SECOND), ticksPerRun(1 / REWIND_KEYFRAME_SECONDS),
+				Integer.getInteger("rewind.bytes", REWIND_BYTES));
+	}
+
+	/**
+	 * Puts the level back to how it was some seconds ago, or as far back as the rewind buffer
+	 * reaches. Must run on the simulation thread between ticks, for example from a tick phase.
+	 *
+	 * @param seconds how far to go back.
+	 * @return {@code false} if rewinding is not enabled or nothing is recorded yet.
+	 */
+	protected boolean rewind(double seconds) {
+		if (rewind == null || rewind.getFrameCount() == 0) {
+			return false;
+		}
+		long target = Math.max(rewind.getOldestTick(), tick - Math.round(seconds * TICKS_PER_SECOND));
+		if (!rewind.restore(target, historyState)) {
+			return false;
+		}
+		restoreState(historyState);
+		return true;
+	}
+
+	/**
+	 * Gets the level's recent history, for example to save it with a bug report.
+	 *
+	 * @return the rewind buffer, or {@code null} if rewinding is not enabled.
+	 */
+	protected RewindBuffer getRewindBuffer() {
+		return rewind;
+	}
+
+	/**
+	 * Starts hashing the level's state every tick into a trace, to compare the run with another
+	 * or with a golden trace. The hash covers the state of the random generator, so runs only
+	 * match when they start from the same {@link GameRandom} seed and get the same input.
+	 *
+	 * @param trace the trace to record into, or {@code null} to stop.
+	 */
+	public void setStateTrace(StateTrace trace) {
+		this.stateTrace = trace;
+	}
+
+	/**
+	 * Plays scripted input into the level in place of the keyboard, from its next tick on.
+	 * Events at tick {@code n} are played before tick {@code n} is simulated.
+	 *
+	 * @param script the script, or {@code null} to stop playing one.
+	 */
+	public void setInputScript(InputScript script) {
+		this.inputScript = script;
+	}
+
+	/**
+	 * Records the state of the tick just published into the rewind buffer and the state trace,
+	 * capturing it once for both.
+	 */
+	private void recordHistory() {
+		if (rewind == null && stateTrace == null) {
+			return;
+		}
+		captureState(historyState);
+		if (rewind != null) {
+			rewind.record(historyState);
+		}
+		if (stateTrace != null) {
+			stateTrace.record(tick, StateTrace.hash(historyState, GameRandom.current().getState()));
+		}
+	}
+
+	/**
+	 * Creates an actor to restore a record of a snapshot into. Levels that keep their own
+	 * instances, such as their bosses, return those instead.
+	 *
+	 * @param archetype the archetype of the record.
+	 * @param snapshot  the snapshot being restored.
+	 * @param record    the record.
+	 * @return the actor, placed where the record was laid out.
+	 * @throws IllegalArgumentException if the level cannot create actors of the archetype.
+	 */
+	protected ActiveActorDestructible createActor(Archetype archetype, StateSnapshot snapshot, int record) {
+		double x = snapshot.getLayoutX(record);
+		double y = snapshot.getLayoutY(record);
+		switch (archetype) {
+			case ENEMY_PLANE:
+				return new EnemyPlane(x, y, getRoot());
+			case BOSS:
+				return new Boss();
+			case MUTATION_BOSS:
+				return new MutationBoss1();
+			case USER_PROJECTILE:
+				return new UserProjectile(x, y, getRoot());
+			case ENEMY_PROJECTILE:
+				return new EnemyProjectile(x, y);
+			case BOSS_PROJECTILE:
+				return new BossProjectile(x, y, snapshot.getVelocityX(record), snapshot.getVelocityY(record));
+			default:
+				throw new IllegalArgumentException("Cannot restore a " + archetype);
+		}
+	}
+
+	/**
+	 * Takes every actor but the user's plane out of the level before a restore. Enemies stop
+	 * their timers and keep whether they were destroyed, so a level holding on to them still
+	 * sees how far it has got.
+	 */
+	private void removeAllActorsForRestore() {
+		List<Node> removed = new ArrayList<>();
+		for (ActiveActorDestructible enemy : enemyUnits) {
+			if (enemy instanceof FighterPlane) {
+				((FighterPlane) enemy).cancelTimers();
+			}
+			if (enemy instanceof Boss) {
+				removed.add(((Boss) enemy).getShieldImage());
+				removed.add(((Boss) enemy).getHealthBar());
+			}
+		}
+		removed.addAll(enemyUnits);
+		removed.addAll(userProjectiles);
+		removed.addAll(enemyProjectiles);
+		removed.addAll(hearts);
+		enemyUnits.forEach(world::despawn);
+		userProjectiles.forEach(world::despawn);
+		enemyProjectiles.forEach(world::despawn);
+		enemyUnits.clear();
+		userProjectiles.clear();
+		enemyProjectiles.clear();
+		hearts.clear();
+		runOnScene(() -> removeFromScene(removed));
+	}
+
+	/**
+	 * Updates the game scene during each tick of the simulation.
 	 * <p>
-	 * This method handles various aspects of the game loop, including:
+	 * The tick runs the phases registered in {@link #registerPhases()} that are due:
 	 * <ul>
+	 *   <li>Sampling the player input and firing the weapon when it is ready</li>
 	 *   <li>Removing destroyed actors</li>
-	 *   <li>Spawning enemy units and power-ups</li>
+	 *   <li>Spawning enemy units</li>
+	 *   <li>Firing the timers that are due, for enemy fire, boss shields and spawns</li>
 	 *   <li>Updating actor positions</li>
 	 *   <li>Handling collisions and interactions</li>
-	 *   <li>Updating kill counts and the level view</li>
+	 *   <li>Updating kill counts and sampling the HUD values</li>
 	 *   <li>Checking for game-over conditions</li>
+	 *   <li>Publishing the resulting frame to the renderer</li>
 	 * </ul>
 	 */
 	private void updateScene() {
-		removeAllDestroyedActors();
-		spawnEnemyUnits();
-		spawnHearts(); // 调用生成心形道具的方法
-		updateActors();
-		handleHeartCollisions();
-		generateEnemyFire();
-		updateNumberOfEnemies();
-		handleEnemyPenetration();
-		handleUserProjectileCollisions();
-		handleEnemyProjectileCollisions();
-		handlePlaneCollisions();
-		updateKillCount();
-		updateLevelView();
-		checkIfGameOver();
-	}
-	/**
-	 * Initializes the game timeline for managing the game loop.
+		phases.tick();
+	}
+
+	/**
+	 * Samples the keys held down for this tick, steers the user's plane by them and lets its
+	 * weapon decide whether it fires. Opposing arrow keys held together cancel out. A shot due
+	 * while the player-shot budget is full is held back before the weapon fires it, so it costs
+	 * neither a cooldown nor a shot of the burst.
+	 */
+	private void applyInput() {
+		if (inputScript != null) {
+			inputScript.play(tick + 1, input);
+		}
+		input.sample();
+		int vertical = input.axis(InputState.Action.UP, InputState.Action.DOWN);
+		if (vertical < 0) {
+			user.moveUp();
+		} else if (vertical > 0) {
+			user.moveDown();
+		} else {
+			user.stopVertical();
+		}
+		int horizontal = input.axis(InputState.Action.LEFT, InputState.Action.RIGHT);
+		if (horizontal < 0) {
+			user.moveLeft();
+		} else if (horizontal > 0) {
+			user.moveRight();
+		} else {
+			user.stopHorizontal();
+		}
+		Weapon weapon = user.getWeapon();
+		boolean triggerHeld = input.isHeld(InputState.Action.FIRE);
+		boolean triggerPressed = input.wasPressed(InputState.Action.FIRE);
+		if (weapon.isDue(triggerHeld, triggerPressed)
+				&& !budget.admit(EntityBudget.Category.PLAYER_SHOTS, userProjectiles, this::removeEvicted)) {
+			weapon.hold();
+		} else if (weapon.update(triggerHeld, triggerPressed)) {
+			fireProjectile();
+		}
+	}
+
+	/**
+	 * Samples the user's health and kill count for the HUD. Runs at the HUD rate, so the HUD
+	 * is not fed more often than it can usefully change.
+	 */
+	private void sampleHud() {
+		hudHealth = user.getHealth();
+		hudKills = user.getNumberOfKills();
+	}
+
+	/**
+	 * Records the positions of all actors and the last sampled HUD values into the back frame and hands it to the renderer.
+	 */
+	private void publishFrame() {
+		FrameSnapshot frame = frames.back();
+		frame.clear(++tick);
+		friendlyUnits.forEach(unit -> unit.publish(frame));
+		enemyUnits.forEach(unit -> unit.publish(frame));
+		userProjectiles.forEach(projectile -> projectile.publish(frame));
+		enemyProjectiles.forEach(projectile -> projectile.publish(frame));
+		hearts.forEach(heart -> heart.publish(frame));
+		frame.setHud(hudHealth, hudKills);
+		frames.publish();
+	}
+
+	/**
+	 * Brings the scene graph up to date with the simulation. Called by the renderer on every JavaFX pulse.
 	 * <p>
-	 * This method creates a {@link Timeline} with an indefinite cycle count and associates a
-	 * {@link KeyFrame} that updates the game scene at regular intervals defined by the
-	 * {@code MILLISECOND_DELAY}.
+	 * Queued scene changes are applied first, so nodes added during a tick exist before the frame
+	 * that positions them. The newest frame is then applied only if it has not been rendered yet.
 	 * </p>
 	 */
+	private void renderFrame() {
+		Runnable change;
+		while ((change = pendingSceneChanges.poll()) != null) {
+			change.run();
+		}
+		FrameSnapshot frame = frames.latest();
+		if (frame.getTick() != renderedTick) {
+			renderedTick = frame.getTick();
+			frame.apply(sceneSync);
+			updateHud(frame);
+		}
+	}
 
-	private void initializeTimeline() {
-		timeline.setCycleCount(Timeline.INDEFINITE);
-		KeyFrame gameLoop = new KeyFrame(Duration.millis(MILLISECOND_DELAY), e -> updateScene());
-		timeline.getKeyFrames().add(gameLoop);
+	/**
+	 * Updates the HUD from a simulated frame. Runs on the JavaFX thread.
+	 * <p>
+	 * The frame's values are fed to the HUD counters, and only the widgets bound to a counter
+	 * whose value changed are updated.
+	 * </p>
+	 *
+	 * @param frame the frame being rendered.
+	 */
+	protected void updateHud(FrameSnapshot frame) {
+		healthCounter.set(frame.getHealth());
+		killCounter.set(frame.getKills());
+		healthCounter.refresh();
+		killCounter.refresh();
 	}
 
 	/**
-	 * Initializes the game background and sets up input listeners.
+	 * Retrieves the HUD counter tracking the user's kill count.
+	 *
+	 * @return the kill counter, for binding HUD widgets.
+	 */
+	protected HudCounter getKillCounter() {
+		return killCounter;
+	}
+
+	/**
+	 * Runs a change to the scene graph on the JavaFX thread.
 	 * <p>
-	 * This method ensures that the background is correctly displayed and interactive. It assigns
-	 * keyboard input listeners for controlling the user's plane and firing projectiles. If the
+	 * Changes made by the simulation thread are queued for the renderer; any other caller, such as the
+	 * JavaFX thread itself or level setup before the simulation starts, applies the change straight away.
+	 * </p>
+	 *
+	 * @param change the scene graph change.
+	 */
+	protected void runOnScene(Runnable change) {
+		if (simulation.isSimulationThread()) {
+			pendingSceneChanges.add(change);
+		} else {
+			change.run();
+		}
+	}
+
+	/**
+	 * Initializes the game background.
+	 * <p>
+	 * This method ensures that the background is correctly sized and added to the background layer.
+	 * Keyboard input is handled by the {@link SceneShell}, not by the background node. If the
 	 * background has already been initialized, this method logs a message and skips reinitialization.
 	 * </p>
 	 */
@@ -439,22 +1099,7 @@ public abstract class LevelParent extends Observable {
 			background.setFitHeight(screenHeight);
 			background.setFitWidth(screenWidth);
 
-			background.setOnKeyPressed(e -> {
-				KeyCode kc = e.getCode();
-				if (kc == KeyCode.UP) user.moveUp();
-				if (kc == KeyCode.DOWN) user.moveDown();
-				if (kc == KeyCode.LEFT) user.moveLeft();
-				if (kc == KeyCode.RIGHT) user.moveRight();
-				if (kc == KeyCode.SPACE) fireProjectile();
-			});
-
-			background.setOnKeyReleased(e -> {
-				KeyCode kc = e.getCode();
-				if (kc == KeyCode.UP || kc == KeyCode.DOWN) user.stopVertical();
-				if (kc == KeyCode.LEFT || kc == KeyCode.RIGHT) user.stopHorizontal();
-			});
-
-			root.getChildren().add(background);
+			getLayer(Layer.BACKGROUND).getChildren().add(background);
 			isBackgroundInitialized = true;
 		} else {
 			System.out.println("Background already initialized.");
@@ -466,63 +1111,77 @@ public abstract class LevelParent extends Observable {
 	 * <p>
 	 * This method invokes the user's `fireProjectile` method to create a new projectile.
 	 * If a projectile is successfully created, it is added to the scene and the list of
-	 * active user projectiles.
+	 * active user projectiles. The caller has already made sure the player-shot budget has room.
 	 * </p>
 	 */
 	private void fireProjectile() {
 		ActiveActorDestructible projectile = user.fireProjectile();
 		if (projectile != null) {
-			root.getChildren().add(projectile);
-			/*if (projectile instanceof UserProjectile) {
-				((UserProjectile) projectile).visualizeHitbox(root);
-			}*/
-			userProjectiles.add(projectile);
+			addUserProjectile(projectile);
 		}
 	}
+
+	/**
+	 * Adds a projectile fired by the user to the scene, the list of active user projectiles and the world.
+	 *
+	 * @param projectile the projectile to add.
+	 */
+	private void addUserProjectile(ActiveActorDestructible projectile) {
+		projectile.setSyncDeferred(SimulationLoop.isThreaded());
+		runOnScene(() -> getLayer(Layer.PROJECTILES).getChildren().add(projectile));
+		/*if (projectile instanceof UserProjectile) {
+			((UserProjectile) projectile).visualizeHitbox(root);
+		}*/
+		userProjectiles.add(projectile);
+		world.spawn(projectile);
+	}
 	/**
-	 * Spawns heart items randomly on the screen.
+	 * Spawns a heart item on the right edge of the screen. Called by the heart timer, which
+	 * spaces hearts as if their spawn probability were rolled every tick.
 	 * <p>
-	 * This method generates heart items with a specified probability. Hearts are
-	 * added to the scene and move from right to left while oscillating vertically.
-	 * When the movement animation completes, the heart is removed from the scene
-	 * and the list of hearts.
+	 * Hearts are added to the scene and move from right to left while oscillating vertically,
+	 * driven by their own {@link Heart#updateActor()}. No heart spawns while the pickup budget is full.
 	 * </p>
 	 */
+	private void spawnHeart() {
+		if (!budget.admit(EntityBudget.Category.PICKUPS, hearts.size())) {
+			return;
+		}
+		double xPos = screenWidth; // 心形从屏幕右边生成
+		double yPos = GameRandom.random() * (screenHeight - SCREEN_HEIGHT_ADJUSTMENT); // 随机生成 y 坐标
 
-	private void spawnHearts() {
-		double spawnProbability = 0.01; // 心形生成的概率
-		if (Math.random() < spawnProbability) {
-			double xPos = screenWidth; // 心形从屏幕右边生成
-			double yPos = Math.random() * (screenHeight - SCREEN_HEIGHT_ADJUSTMENT); // 随机生成 y 坐标
-
-			Heart heart = new Heart(xPos, yPos); // 创建心形对象
-			hearts.add(heart); // 添加到心形列表
-			root.getChildren().add(heart); // 将心形添加到场景
-
-			// 创建从右向左移动的水平动画
-			TranslateTransition horizontalTransition = new TranslateTransition(Duration.seconds(5), heart);
-			horizontalTransition.setFromX(0); // 初始位置
-			horizontalTransition.setToX(-screenWidth); // 最终位置（移动到屏幕外）
-
-			// 创建上下抖动的垂直动画
-			Timeline verticalShake = new Timeline(new KeyFrame(Duration.millis(200), e -> {
-				heart.setTranslateY(heart.getTranslateY() + 5); // 向下移动
-			}), new KeyFrame(Duration.millis(400), e -> {
-				heart.setTranslateY(heart.getTranslateY() - 5); // 向上移动
-			}));
-			verticalShake.setCycleCount(Animation.INDEFINITE); // 无限循环
+		// 五秒内从右向左移出屏幕
+		Heart heart = new Heart(xPos, yPos, -screenWidth * MILLISECOND_DELAY / HEART_CROSSING_MILLIS); // 创建心形对象
+		addHeart(heart);
+		System.out.println("Heart spawned at: " + xPos + ", " + yPos); // 调试输出
+	}
 
-			// 当水平动画结束时停止抖动并清理
-			horizontalTransition.setOnFinished(e -> {
-				verticalShake.stop(); // 停止抖动动画
-				hearts.remove(heart); // 从列表中移除
-				root.getChildren().remove(heart); // 从场景中移除
-			});
+	/**
+	 * Adds a heart to the scene and the list of hearts, shaking unless effects are reduced.
+	 *
+	 * @param heart the heart to add.
+	 */
+	private void addHeart(Heart heart) {
+		heart.setSyncDeferred(SimulationLoop.isThreaded());
+		heart.setShaking(!governor.isReduced(QualityGovernor.Option.EFFECTS));
+		hearts.add(heart); // 添加到心形列表
+		runOnScene(() -> getLayer(Layer.PICKUPS).getChildren().add(heart)); // 将心形添加到场景
+	}
 
-			// 开始动画
-			horizontalTransition.play();
-			verticalShake.play();
-			System.out.println("Heart spawned at: " + xPos + ", " + yPos); // 调试输出
+	/**
+	 * Removes hearts that have crossed the screen from the scene and the list of hearts.
+	 */
+	private void removeExpiredHearts() {
+		// 移除已经穿过屏幕的心形
+		List<Heart> expiredHearts = new ArrayList<>();
+		for (Heart heart : hearts) {
+			if (heart.isExpired()) {
+				expiredHearts.add(heart);
+			}
+		}
+		if (!expiredHearts.isEmpty()) {
+			hearts.removeAll(expiredHearts); // 从列表中移除
+			runOnScene(() -> getLayer(Layer.PICKUPS).getChildren().removeAll(expiredHearts)); // 从场景中移除
 		}
 	}
 
@@ -530,82 +1189,64 @@ public abstract class LevelParent extends Observable {
 	 * Handles collisions between the user's plane and hearts.
 	 * <p>
 	 * This method detects collisions between the user's plane and heart items.
-	 * When a collision is detected, the user's health is incremented, the level view
-	 * is updated to reflect the new health, and the heart is removed from the scene
-	 * and the list of hearts.
+	 * When a collision is detected, the user's health is incremented and the heart is
+	 * removed from the scene and the list of hearts. The heart display picks up the
+	 * new health when the frame is rendered.
 	 * </p>
 	 */
 	private void handleHeartCollisions() {
 		List<Heart> collectedHearts = new ArrayList<>();
 		for (Heart heart : hearts) {
-			if (user.getHitbox().getBoundsInParent().intersects(heart.getBoundsInParent())) {
-				user.incrementHealth(); // 玩家生命值增加
-				levelView.addHearts(user.getHealth()); // 更新左上角爱心
+			if (user.getHitbox().getBoundsInParent().intersects(heart.getCollisionBounds())) {
+				user.incrementHealth(); // 玩家生命值增加，左上角爱心在下一帧更新
 				collectedHearts.add(heart);
-				root.getChildren().remove(heart); // 从场景中移除心形
 			}
 		}
-		hearts.removeAll(collectedHearts); // 从列表中移除收集的心形
+		if (!collectedHearts.isEmpty()) {
+			hearts.removeAll(collectedHearts); // 从列表中移除收集的心形
+			runOnScene(() -> getLayer(Layer.PICKUPS).getChildren().removeAll(collectedHearts)); // 从场景中移除心形
+		}
 	}
 
 	/**
-	 * Generates projectiles fired by enemy units.
-	 * <p>
-	 * This method iterates through all enemy units and calls their respective
-	 * `fireProjectile` methods to create projectiles. The projectiles are added
-	 * to the scene and the list of active enemy projectiles.
-	 * </p>
-	 * <p>
-	 * Specific behaviors are implemented for {@link MutationBoss1} and {@link Boss},
-	 * while other {@link FighterPlane} enemies follow a default firing behavior.
-	 * </p>
+	 * Adds a projectile fired by an enemy to the scene and the list of active enemy projectiles.
+	 * When the enemy-shot budget is full, the lowest-priority, oldest shot makes room for it.
+	 *
+	 * @param projectile the projectile to add.
 	 */
-	private void generateEnemyFire() {
-		enemyUnits.forEach(enemy -> {
-			if (enemy instanceof MutationBoss1) {
-				((MutationBoss1) enemy).fireProjectile(root, enemyProjectiles); // 调用 MutationBoss1 特定的方法
-			} else if (enemy instanceof Boss) {
-				System.out.println("Boss detected. Calling its fireProjectile method...");
-				ActiveActorDestructible projectile = ((Boss) enemy).fireProjectile(); // 调用 Boss 的方法
-				if (projectile != null) {
-					root.getChildren().add(projectile); // 添加到场景中
-					enemyProjectiles.add(projectile);   // 添加到子弹列表
-				}
-			} else if (enemy instanceof FighterPlane) {
-				ActiveActorDestructible projectile = ((FighterPlane) enemy).fireProjectile(); // 默认行为
-				if (projectile != null) {
-					root.getChildren().add(projectile); // 添加到场景中
-					enemyProjectiles.add(projectile);   // 添加到子弹列表
-				}
-			} else {
-				System.out.println("Unknown enemy type: " + enemy.getClass().getSimpleName());
-			}
-		});
+	private void addEnemyProjectile(ActiveActorDestructible projectile) {
+		if (!budget.admit(EntityBudget.Category.ENEMY_SHOTS, enemyProjectiles, this::removeEvicted)) {
+			return;
+		}
+		projectile.setSyncDeferred(SimulationLoop.isThreaded());
+		runOnScene(() -> getLayer(Layer.PROJECTILES).getChildren().add(projectile)); // 添加到场景中
+		enemyProjectiles.add(projectile);   // 添加到子弹列表
+		world.spawn(projectile);
 	}
 
 	/**
 	 * Updates the state of all active actors in the scene.
 	 * <p>
-	 * This method updates the positions and logic for all friendly units, enemy units,
-	 * user projectiles, and enemy projectiles. It also removes enemy projectiles that
-	 * exit the screen.
+	 * Planes and hearts run their own logic. Projectiles fly at a fixed velocity, so they are
+	 * moved together by the {@link MovementSystem} in one pass over the world. Enemy projectiles
+	 * that exit the screen are removed.
 	 * </p>
 	 */
 
 	private void updateActors() {
 		friendlyUnits.forEach(unit -> unit.updateActor());
 		enemyUnits.forEach(unit -> unit.updateActor());
-		userProjectiles.forEach(projectile -> projectile.updateActor());
-		enemyProjectiles.forEach(projectile -> {
-			projectile.updateActor(); // 调用子弹的更新逻辑
-
-
+		hearts.forEach(Heart::updateActor);
+		movement.update(world);
+		enemyProjectiles.removeIf(projectile -> {
 			// 如果子弹超出屏幕，移除它
-			if (projectile.getLayoutX() < 0) {
-				root.getChildren().remove(projectile);
-				enemyProjectiles.remove(projectile);
-				System.out.println("Projectile removed for leaving screen bounds.");
+			if (projectile.getLayoutX() >= 0) {
+				return false;
 			}
+			runOnScene(() -> getLayer(Layer.PROJECTILES).getChildren().remove(projectile));
+			world.despawn(projectile);
+			System.out.println("Projectile removed for leaving screen bounds.");
+			return true;
 		});
 	}
 
@@ -636,8 +1277,11 @@ public abstract class LevelParent extends Observable {
 		List<ActiveActorDestructible> destroyedActors = actors.stream()
 				.filter(ActiveActorDestructible::isDestroyed)
 				.collect(Collectors.toList());
-		root.getChildren().removeAll(destroyedActors);
-		actors.removeAll(destroyedActors);
+		if (!destroyedActors.isEmpty()) {
+			runOnScene(() -> removeFromScene(destroyedActors));
+			actors.removeAll(destroyedActors);
+			destroyedActors.forEach(world::despawn);
+		}
 	}
 
 	/**
@@ -649,7 +1293,7 @@ public abstract class LevelParent extends Observable {
 	 * </p>
 	 */
 	private void handlePlaneCollisions() {
-		handleCollisions(friendlyUnits, enemyUnits);
+		collisions.collide(world, Archetype.Role.FRIENDLY_PLANE, Archetype.Role.ENEMY_PLANE);
 	}
 
 	/**
@@ -661,7 +1305,7 @@ public abstract class LevelParent extends Observable {
 	 * </p>
 	 */
 	private void handleUserProjectileCollisions() {
-		handleCollisions(userProjectiles, enemyUnits);
+		collisions.collide(world, Archetype.Role.FRIENDLY_SHOT, Archetype.Role.ENEMY_PLANE);
 	}
 
 	/**
@@ -672,34 +1316,7 @@ public abstract class LevelParent extends Observable {
 	 * </p>
 	 */
 	private void handleEnemyProjectileCollisions() {
-		handleCollisions(enemyProjectiles, friendlyUnits);
-	}
-
-	/**
-	 * Generalized collision handling between two groups of actors.
-	 * <p>
-	 * This method iterates through two lists of actors and checks for intersections between their hitboxes.
-	 * If a collision is detected, both actors take damage, and are marked as destroyed if their health reaches zero.
-	 * </p>
-	 *
-	 * @param actors1 the first list of actors to check for collisions.
-	 * @param actors2 the second list of actors to check for collisions.
-	 */
-	private void handleCollisions(List<ActiveActorDestructible> actors1, List<ActiveActorDestructible> actors2) {
-		for (ActiveActorDestructible actor : actors2) {
-			for (ActiveActorDestructible otherActor : actors1) {
-				if (actor instanceof ActiveActor && otherActor instanceof ActiveActor) {
-					Node actorHitbox = ((ActiveActor) actor).getHitbox();
-					Node otherActorHitbox = ((ActiveActor) otherActor).getHitbox();
-					if (actorHitbox.getBoundsInParent().intersects(otherActorHitbox.getBoundsInParent())) {
-						actor.takeDamage();
-						otherActor.takeDamage();
-						if (actor.isDestroyed()) actor.destroy();
-						if (otherActor.isDestroyed()) otherActor.destroy();
-					}
-				}
-			}
-		}
+		collisions.collide(world, Archetype.Role.ENEMY_SHOT, Archetype.Role.FRIENDLY_PLANE);
 	}
 
 	/**
@@ -742,18 +1359,7 @@ public abstract class LevelParent extends Observable {
 	 */
 
 	private boolean actorHasPenetratedDefenses(ActiveActorDestructible actor) {
-		return Math.abs(actor.getTranslateX()) > 1000;
-	}
-	/**
-	 * Updates the level view to reflect changes in the user's state.
-	 * <p>
-	 * This method synchronizes the visual elements of the level view, such as hearts or health indicators,
-	 * based on the user's current health.
-	 * </p>
-	 */
-
-	private void updateLevelView() {
-		levelView.removeHearts(user.getHealth());
+		return Math.abs(((ActiveActor) actor).getOffsetX()) > 1000;
 	}
 	/**
 	 * Updates the kill count based on destroyed enemies.
@@ -772,8 +1378,10 @@ public abstract class LevelParent extends Observable {
 			user.incrementKillCount();
 		}
 
-		enemyUnits.removeAll(destroyedEnemies);
-		root.getChildren().removeAll(destroyedEnemies);
+		if (!destroyedEnemies.isEmpty()) {
+			enemyUnits.removeAll(destroyedEnemies);
+			runOnScene(() -> getLayer(Layer.ENEMIES).getChildren().removeAll(destroyedEnemies));
+		}
 
 		currentNumberOfEnemies = enemyUnits.size();
 	}
@@ -789,29 +1397,37 @@ public abstract class LevelParent extends Observable {
 	 */
 
 	private boolean enemyHasPenetratedDefenses(ActiveActorDestructible enemy) {
-		return Math.abs(enemy.getTranslateX()) > screenWidth;
+		return Math.abs(((ActiveActor) enemy).getOffsetX()) > screenWidth;
 	}
 	/**
 	 * Triggers the win game sequence.
 	 * <p>
-	 * This method stops the game timeline and displays a win image to indicate that the user has won the game.
+	 * This method stops the simulation and displays a win image to indicate that the user has won the game.
 	 * </p>
 	 */
 
 	protected void winGame() {
-		timeline.stop();
-		levelView.showWinImage();
+		outcome = LevelOutcome.WON;
+		if (headless) {
+			return;
+		}
+		simulation.stop();
+		runOnScene(levelView::showWinImage);
 	}
 	/**
 	 * Triggers the lose game sequence.
 	 * <p>
-	 * This method stops the game timeline and displays a game-over image to indicate that the user has lost the game.
+	 * This method stops the simulation and displays a game-over image to indicate that the user has lost the game.
 	 * </p>
 	 */
 
 	protected void loseGame() {
-		timeline.stop();
-		levelView.showGameOverImage();
+		outcome = LevelOutcome.LOST;
+		if (headless) {
+			return;
+		}
+		simulation.stop();
+		runOnScene(levelView::showGameOverImage);
 	}
 	/**
 	 * Retrieves the user's plane.
@@ -831,6 +1447,37 @@ public abstract class LevelParent extends Observable {
 	protected Group getRoot() {
 		return root;
 	}
+	/**
+	 * Retrieves one of the level's drawing layers.
+	 *
+	 * @param layer the layer to retrieve.
+	 * @return the {@link Group} holding the nodes drawn in that layer.
+	 */
+
+	protected Group getLayer(Layer layer) {
+		return layers.get(layer);
+	}
+	/**
+	 * Removes actors from whichever layer holds them. Must run on the JavaFX thread.
+	 *
+	 * @param actors the actors to remove.
+	 */
+	private void removeFromScene(Collection<? extends Node> actors) {
+		for (Node actor : actors) {
+			if (actor.getParent() instanceof Group) {
+				((Group) actor.getParent()).getChildren().remove(actor);
+			}
+		}
+	}
+	/**
+	 * Takes an actor evicted by the entity budget off the scene.
+	 *
+	 * @param actor the evicted actor, already removed from its list.
+	 */
+	private void removeEvicted(ActiveActorDestructible actor) {
+		world.despawn(actor);
+		runOnScene(() -> removeFromScene(List.of(actor)));
+	}
 	/**
 	 * Retrieves the current number of enemy units in the game.
 	 *
@@ -843,7 +1490,9 @@ public abstract class LevelParent extends Observable {
 	/**
 	 * Adds an enemy unit to the game scene and enemy list.
 	 * <p>
-	 * This method ensures that the enemy is added to the scene graph and the list of active enemy units.
+	 * This method ensures that the enemy is added to the scene graph and the list of active enemy units,
+	 * and schedules the enemy's firing on the level's timer wheel. The enemy is not added while the
+	 * enemy budget is full.
 	 * If the enemy is a boss, it also ensures the boss's shield image and health bar are added to the scene.
 	 * </p>
 	 *
@@ -856,26 +1505,56 @@ public abstract class LevelParent extends Observable {
 			return;
 		}
 
+		if (!budget.admit(EntityBudget.Category.ENEMIES, enemyUnits, this::removeEvicted)) {
+			return;
+		}
+		enemy.setSyncDeferred(SimulationLoop.isThreaded());
 		enemyUnits.add(enemy);
-		root.getChildren().add(enemy);
-		System.out.println("Enemy added: " + enemy.getClass().getSimpleName());
+		world.spawn(enemy);
+		if (enemy instanceof FighterPlane) {
+			((FighterPlane) enemy).scheduleTimers(timers, this::addEnemyProjectile);
+		}
+		runOnScene(() -> {
+			Group enemies = getLayer(Layer.ENEMIES);
+			enemies.getChildren().add(enemy);
+			System.out.println("Enemy added: " + enemy.getClass().getSimpleName());
 
-		if (enemy instanceof Boss) {
-			Boss boss = (Boss) enemy;
+			if (enemy instanceof Boss) {
+				Boss boss = (Boss) enemy;
 
-			if (!root.getChildren().contains(boss.getShieldImage())) {
-				root.getChildren().add(boss.getShieldImage());
-				System.out.println("Shield image added for Boss.");
-			}
-			if (!root.getChildren().contains(boss.getHealthBar())) {
-				root.getChildren().add(boss.getHealthBar());
-				System.out.println("Health bar added for Boss.");
+				if (!enemies.getChildren().contains(boss.getShieldImage())) {
+					enemies.getChildren().add(boss.getShieldImage());
+					System.out.println("Shield image added for Boss.");
+				}
+				if (!enemies.getChildren().contains(boss.getHealthBar())) {
+					enemies.getChildren().add(boss.getHealthBar());
+					System.out.println("Health bar added for Boss.");
+				}
 			}
-		}
+		});
 
 
 	}
 
+	/**
+	 * Keeps one spawn timer pending for every free enemy slot. Each timer fires after a delay
+	 * sampled as if the spawn probability were rolled for its slot every tick, so a level
+	 * calling this every tick spawns enemies at the same rate as rolling for each free slot.
+	 *
+	 * @param maxEnemies       the maximum number of enemies on screen at once.
+	 * @param spawnProbability the chance of a free slot being filled on any one tick.
+	 * @param spawn            spawns one enemy when a timer fires.
+	 */
+	protected void scheduleEnemySpawns(int maxEnemies, double spawnProbability, Runnable spawn) {
+		for (int slot = getCurrentNumberOfEnemies() + pendingSpawns; slot < maxEnemies; slot++) {
+			pendingSpawns++;
+			timers.schedule(timers.newTimer(() -> {
+				pendingSpawns--;
+				spawn.run();
+			}), TimerWheel.randomDelay(spawnProbability));
+		}
+	}
+
 	/**
 	 * Retrieves the maximum Y position allowed for enemy units.
 	 *
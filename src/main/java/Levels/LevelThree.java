@@ -1,5 +1,8 @@
 package Levels;
 
+import Core.ActiveActorDestructible;
+import Core.Archetype;
+import Core.StateSnapshot;
 import Entities.Boss;
 import Entities.MutationBoss1;
 
@@ -20,6 +23,16 @@ public class LevelThree extends LevelParent {
 	 */
 	private static final int PLAYER_INITIAL_HEALTH = 5;
 
+	/**
+	 * How far back the level is rewound when the player's plane is destroyed.
+	 */
+	private static final double REWIND_SECONDS = 10;
+
+	/**
+	 * The number of times the level is rewound instead of the game being lost.
+	 */
+	private static final int REWINDS = 1;
+
 	/**
 	 * The primary boss enemy for this level.
 	 */
@@ -27,14 +40,20 @@ public class LevelThree extends LevelParent {
 
 	/**
 	 * The secondary MutationBoss1 enemy for this level.
+	 * Replaced by a fresh one when the level is restored to before it appeared.
 	 */
-	private final MutationBoss1 mutationBoss1;
+	private MutationBoss1 mutationBoss1;
 
 	/**
 	 * The view object responsible for managing UI elements for this level.
 	 */
 	private LevelViewLevelTwo levelView;
 
+	/**
+	 * The number of rewinds left.
+	 */
+	private int rewindsLeft = REWINDS;
+
 	/**
 	 * Constructs a new LevelThree instance with specified screen dimensions.
 	 *
@@ -45,6 +64,7 @@ public class LevelThree extends LevelParent {
 		super(BACKGROUND_IMAGE_NAME, screenHeight, screenWidth, PLAYER_INITIAL_HEALTH);
 		boss = new Boss();
 		mutationBoss1 = new MutationBoss1();
+		enableRewind(REWIND_SECONDS);
 	}
 
 	/**
@@ -53,18 +73,23 @@ public class LevelThree extends LevelParent {
 	 */
 	@Override
 	protected void initializeFriendlyUnits() {
-		getRoot().getChildren().add(getUser());
+		getLayer(Layer.PLAYER).getChildren().add(getUser());
 	}
 
 	/**
 	 * Checks if the game is over in this level.
-	 * Ends the game with a loss if the player's plane is destroyed,
-	 * or a win if the MutationBoss1 is defeated.
+	 * The first time the player's plane is destroyed, the level rewinds ten seconds instead;
+	 * after that it ends the game with a loss. A defeated MutationBoss1 wins the game.
 	 */
 	@Override
 	protected void checkIfGameOver() {
 		if (userIsDestroyed()) {
-			loseGame();
+			if (rewindsLeft > 0 && rewind(REWIND_SECONDS)) {
+				rewindsLeft--;
+				System.out.println("Player destroyed, rewound " + REWIND_SECONDS + " seconds. Rewinds left: " + rewindsLeft);
+			} else {
+				loseGame();
+			}
 		} else if (mutationBoss1.isDestroyed()) {
 			winGame();
 		}
@@ -86,6 +111,41 @@ public class LevelThree extends LevelParent {
 		}
 	}
 
+	/**
+	 * Restores the level's own bosses rather than creating new ones, so that the level keeps
+	 * following their progress after a restore.
+	 *
+	 * @param archetype the archetype of the record.
+	 * @param snapshot  the snapshot being restored.
+	 * @param record    the record.
+	 * @return the level's boss or mutation, or a new actor for any other archetype.
+	 */
+	@Override
+	protected ActiveActorDestructible createActor(Archetype archetype, StateSnapshot snapshot, int record) {
+		switch (archetype) {
+			case BOSS:
+				return boss;
+			case MUTATION_BOSS:
+				return mutationBoss1;
+			default:
+				return super.createActor(archetype, snapshot, record);
+		}
+	}
+
+	/**
+	 * Restores the level from a snapshot. A snapshot taken while the first boss was still
+	 * fighting has no mutation in it, so the mutation starts afresh.
+	 *
+	 * @param snapshot the snapshot to restore.
+	 */
+	@Override
+	public void restoreState(StateSnapshot snapshot) {
+		super.restoreState(snapshot);
+		if (!boss.isDestroyed() && !enemyUnits.contains(mutationBoss1)) {
+			mutationBoss1 = new MutationBoss1();
+		}
+	}
+
 	/**
 	 * Instantiates the level view for this level.
 	 * Responsible for managing UI elements such as health display and level-specific details.
@@ -94,7 +154,7 @@ public class LevelThree extends LevelParent {
 	 */
 	@Override
 	protected LevelView instantiateLevelView() {
-		levelView = new LevelViewLevelTwo(getRoot(), PLAYER_INITIAL_HEALTH);
+		levelView = new LevelViewLevelTwo(getLayer(Layer.HUD), getLayer(Layer.OVERLAYS), PLAYER_INITIAL_HEALTH);
 		return levelView;
 	}
 
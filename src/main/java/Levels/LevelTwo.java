@@ -1,11 +1,11 @@
 package Levels;
 
 import Core.ActiveActorDestructible;
+import Core.GameRandom;
 import Entities.EnemyPlane;
+import Ui.BitmapText;
+import Ui.TextBuffer;
 import javafx.scene.control.ProgressBar;
-import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.Text;
 
 /**
  * Represents the second level of the game.
@@ -33,14 +33,21 @@ public class LevelTwo extends LevelParent {
     /**
      * Number of kills required for the player to advance to the next level.
      * Players must reach this target to progress.
+     * Can be set with {@code -DlevelTwo.killsToAdvance} when tuning the level.
      */
-    private static final int KILLS_TO_ADVANCE = 15;
+    private static final int KILLS_TO_ADVANCE = Integer.getInteger("levelTwo.killsToAdvance", 15);
+
+    /**
+     * The number of characters the kill progress text is preallocated for.
+     */
+    private static final int KILL_PROGRESS_CAPACITY = 16;
 
     /**
      * Probability of spawning a new enemy during each game tick.
      * A higher value increases the likelihood of spawning enemies.
+     * Can be set with {@code -DlevelTwo.enemySpawnProbability} when tuning the level.
      */
-    private static final double ENEMY_SPAWN_PROBABILITY = 0.30;
+    private static final double ENEMY_SPAWN_PROBABILITY = Double.parseDouble(System.getProperty("levelTwo.enemySpawnProbability", "0.30"));
 
     /**
      * Initial health of the player's plane at the start of this level.
@@ -57,7 +64,12 @@ public class LevelTwo extends LevelParent {
      * Text to display the current kill count and target kills.
      * Provides feedback to the player on their progress in the level.
      */
-    private final Text killProgressText;
+    private final BitmapText killProgressText;
+
+    /**
+     * The reusable buffer the kill progress is formatted into.
+     */
+    private final TextBuffer killProgressChars = new TextBuffer(KILL_PROGRESS_CAPACITY);
 
 
     /**
@@ -75,14 +87,13 @@ public class LevelTwo extends LevelParent {
         killProgressBar.setLayoutX(20);
         killProgressBar.setLayoutY(screenHeight - 70);
 
-        killProgressText = new Text("Kills: 0 / " + KILLS_TO_ADVANCE);
-        killProgressText.setFont(new Font("Arial", 16));
-        killProgressText.setFill(Color.WHITE);
+        killProgressText = new BitmapText(KILL_PROGRESS_CAPACITY);
         killProgressText.setLayoutX(250);
         killProgressText.setLayoutY(screenHeight - 60); // Align with progress bar
 
-        // Add progress bar and text to the scene root
-        getRoot().getChildren().addAll(killProgressBar, killProgressText);
+        // Add progress bar and text to the HUD layer
+        getLayer(Layer.HUD).getChildren().addAll(killProgressBar, killProgressText);
+        getKillCounter().bind(this::showKillProgress);
     }
 
     /**
@@ -97,7 +108,6 @@ public class LevelTwo extends LevelParent {
         } else if (userHasReachedKillTarget()) {
             goToNextLevel(NEXT_LEVEL);
         }
-        updateKillProgress();
     }
 
     /**
@@ -105,24 +115,26 @@ public class LevelTwo extends LevelParent {
      */
     @Override
     protected void initializeFriendlyUnits() {
-        getRoot().getChildren().add(getUser());
+        getLayer(Layer.PLAYER).getChildren().add(getUser());
     }
 
     /**
      * Spawns enemy units for this level.
      * Ensures that the total number of enemies does not exceed the maximum allowed
-     * and spawns new enemies based on a random probability.
+     * and refills free slots after random delays scheduled on the level's timer wheel.
      */
     @Override
     protected void spawnEnemyUnits() {
-        int currentNumberOfEnemies = getCurrentNumberOfEnemies();
-        for (int i = 0; i < TOTAL_ENEMIES - currentNumberOfEnemies; i++) {
-            if (Math.random() < ENEMY_SPAWN_PROBABILITY) {
-                double newEnemyInitialYPosition = Math.random() * getEnemyMaximumYPosition();
-                ActiveActorDestructible newEnemy = new EnemyPlane(getScreenWidth(), newEnemyInitialYPosition, getRoot());
-                addEnemyUnit(newEnemy);
-            }
-        }
+        scheduleEnemySpawns(TOTAL_ENEMIES, ENEMY_SPAWN_PROBABILITY, this::spawnEnemy);
+    }
+
+    /**
+     * Spawns an enemy plane at a random height on the right edge of the screen.
+     */
+    private void spawnEnemy() {
+        double newEnemyInitialYPosition = GameRandom.random() * getEnemyMaximumYPosition();
+        ActiveActorDestructible newEnemy = new EnemyPlane(getScreenWidth(), newEnemyInitialYPosition, getRoot());
+        addEnemyUnit(newEnemy);
     }
 
     /**
@@ -133,7 +145,7 @@ public class LevelTwo extends LevelParent {
      */
     @Override
     protected LevelView instantiateLevelView() {
-        return new LevelView(getRoot(), PLAYER_INITIAL_HEALTH);
+        return new LevelView(getLayer(Layer.HUD), getLayer(Layer.OVERLAYS), PLAYER_INITIAL_HEALTH);
     }
 
     /**
@@ -146,15 +158,14 @@ public class LevelTwo extends LevelParent {
     }
 
     /**
-     * Updates the kill progress bar and the corresponding text.
+     * Updates the kill progress bar and the corresponding text. Bound to the kill counter,
+     * so it only runs when the kill count changes.
+     *
+     * @param kills the user's kill count.
      */
-    private void updateKillProgress() {
-        int kills = getUser().getNumberOfKills();
+    private void showKillProgress(int kills) {
         double progress = (double) kills / KILLS_TO_ADVANCE;
         killProgressBar.setProgress(progress);
-        killProgressText.setText("Kills: " + kills + " / " + KILLS_TO_ADVANCE);
-        killProgressBar.toFront();
-        killProgressText.toFront();
-        System.out.println("Updated progress: " + progress + ", Kills: " + kills);
+        killProgressText.setText(killProgressChars.clear().append("Kills: ").append(kills).append(" / ").append(KILLS_TO_ADVANCE));
     }
 }
@@ -2,6 +2,7 @@ package Levels;
 
 import Ui.GameOverImage;
 import Ui.HeartDisplay;
+import Ui.OverlayCache;
 import Ui.WinImage;
 import javafx.scene.Group;
 
@@ -42,19 +43,14 @@ public class LevelView {
 	private static final int LOSS_SCREEN_Y_POSITION = -375;
 
 	/**
-	 * The root container of the scene where all UI elements will be added.
+	 * The container the heart display is added to.
 	 */
-	private final Group root;
+	private final Group hudLayer;
 
 	/**
-	 * The win image displayed when the player wins the level.
+	 * The container the win and game over screens are added to.
 	 */
-	private final WinImage winImage;
-
-	/**
-	 * The game over image displayed when the player loses the level.
-	 */
-	private final GameOverImage gameOverImage;
+	private final Group overlayLayer;
 
 	/**
 	 * The heart display showing the player's remaining health.
@@ -63,58 +59,80 @@ public class LevelView {
 
 	/**
 	 * Constructs a LevelView instance with the specified root group and initial number of hearts.
+	 * The win and game over screens are not built here; they are fetched from the
+	 * {@link OverlayCache} when first shown.
 	 *
 	 * @param root            the root container of the scene where the UI elements will be added.
 	 * @param heartsToDisplay the initial number of hearts to display.
 	 */
 	public LevelView(Group root, int heartsToDisplay) {
-		this.root = root;
+		this(root, root, heartsToDisplay);
+	}
+
+	/**
+	 * Constructs a LevelView instance that places the heart display and the end-of-game screens
+	 * in separate layers of the level.
+	 *
+	 * @param hudLayer        the container the heart display is added to.
+	 * @param overlayLayer    the container the win and game over screens are added to.
+	 * @param heartsToDisplay the initial number of hearts to display.
+	 */
+	public LevelView(Group hudLayer, Group overlayLayer, int heartsToDisplay) {
+		this.hudLayer = hudLayer;
+		this.overlayLayer = overlayLayer;
 		this.heartDisplay = new HeartDisplay(HEART_DISPLAY_X_POSITION, HEART_DISPLAY_Y_POSITION, heartsToDisplay);
-		this.winImage = new WinImage(WIN_IMAGE_X_POSITION, WIN_IMAGE_Y_POSITION);
-		this.gameOverImage = new GameOverImage(LOSS_SCREEN_X_POSITION, LOSS_SCREEN_Y_POSITION);
 	}
 
 	/**
 	 * Displays the heart display in the scene, showing the player's remaining health.
-	 * Ensures the heart display is only added once to the root container.
+	 * Ensures the heart display is only added once to the HUD layer.
 	 */
 	public void showHeartDisplay() {
-		if (!root.getChildren().contains(heartDisplay.getContainer())) {
-			root.getChildren().add(heartDisplay.getContainer());
+		if (!hudLayer.getChildren().contains(heartDisplay.getContainer())) {
+			hudLayer.getChildren().add(heartDisplay.getContainer());
 		}
 	}
 
 	/**
 	 * Displays the win image on the screen when the player wins the level.
-	 * Ensures the win image is only added once to the root container.
+	 * Ensures the win image is only added once to the overlay layer.
 	 */
 	public void showWinImage() {
-		if (!root.getChildren().contains(winImage)) {
-			root.getChildren().add(winImage);
+		WinImage winImage = OverlayCache.getWinImage(WIN_IMAGE_X_POSITION, WIN_IMAGE_Y_POSITION);
+		if (!overlayLayer.getChildren().contains(winImage)) {
+			overlayLayer.getChildren().add(winImage);
 			winImage.showWinImage();
 		}
 	}
 
 	/**
 	 * Displays the game over image on the screen when the player loses the game.
-	 * Ensures the game over image is only added once to the root container.
+	 * Ensures the game over image is only added once to the overlay layer.
 	 */
 	public void showGameOverImage() {
-		if (!root.getChildren().contains(gameOverImage)) {
-			root.getChildren().add(gameOverImage);
+		GameOverImage gameOverImage = OverlayCache.getGameOverImage(LOSS_SCREEN_X_POSITION, LOSS_SCREEN_Y_POSITION);
+		if (!overlayLayer.getChildren().contains(gameOverImage)) {
+			overlayLayer.getChildren().add(gameOverImage);
 		}
 	}
 
+	/**
+	 * Shows exactly the given number of hearts in the heart display.
+	 *
+	 * @param hearts the number of hearts to display.
+	 */
+	public void setHearts(int hearts) {
+		heartDisplay.setHeartCount(hearts);
+	}
+
 	/**
 	 * Removes hearts from the heart display when the player's health decreases.
 	 *
 	 * @param heartsRemaining the current number of hearts to display after removal.
 	 */
 	public void removeHearts(int heartsRemaining) {
-		int currentNumberOfHearts = heartDisplay.getContainer().getChildren().size();
-		int heartsToRemove = currentNumberOfHearts - heartsRemaining;
-		for (int i = 0; i < heartsToRemove; i++) {
-			heartDisplay.removeHeart();
+		if (heartsRemaining < heartDisplay.getHeartCount()) {
+			heartDisplay.setHeartCount(heartsRemaining);
 		}
 	}
 
@@ -124,10 +142,8 @@ public class LevelView {
 	 * @param heartsRemaining the current number of hearts to display after addition.
 	 */
 	public void addHearts(int heartsRemaining) {
-		int currentNumberOfHearts = heartDisplay.getContainer().getChildren().size();
-		int heartsToAdd = heartsRemaining - currentNumberOfHearts;
-		for (int i = 0; i < heartsToAdd; i++) {
-			heartDisplay.addHeart();
+		if (heartsRemaining > heartDisplay.getHeartCount()) {
+			heartDisplay.setHeartCount(heartsRemaining);
 		}
 	}
 }
@@ -20,9 +20,9 @@ public class LevelViewLevelTwo extends LevelView {
 	private static final int SHIELD_Y_POSITION = 500;
 
 	/**
-	 * The root container of the scene where all UI elements are added.
+	 * The HUD container the shield image is added to.
 	 */
-	private final Group root;
+	private final Group hudLayer;
 
 	/**
 	 * The shield image displayed in Level Two.
@@ -30,24 +30,25 @@ public class LevelViewLevelTwo extends LevelView {
 	private final ShieldImage shieldImage;
 
 	/**
-	 * Constructs a LevelViewLevelTwo instance with the specified root and number of hearts to display.
-	 * Initializes the shield image and adds it to the root.
+	 * Constructs a LevelViewLevelTwo instance with the specified layers and number of hearts to display.
+	 * Initializes the shield image and adds it to the HUD layer.
 	 *
-	 * @param root            the root container of the scene where the UI elements will be added.
+	 * @param hudLayer        the container the heart display and shield image are added to.
+	 * @param overlayLayer    the container the win and game over screens are added to.
 	 * @param heartsToDisplay the initial number of hearts to display.
 	 */
-	public LevelViewLevelTwo(Group root, int heartsToDisplay) {
-		super(root, heartsToDisplay);
-		this.root = root;
+	public LevelViewLevelTwo(Group hudLayer, Group overlayLayer, int heartsToDisplay) {
+		super(hudLayer, overlayLayer, heartsToDisplay);
+		this.hudLayer = hudLayer;
 		this.shieldImage = new ShieldImage(SHIELD_X_POSITION, SHIELD_Y_POSITION);
 		addImagesToRoot();
 	}
 
 	/**
-	 * Adds the shield image to the root container, ensuring it is displayed in the scene.
+	 * Adds the shield image to the HUD layer, ensuring it is displayed in the scene.
 	 */
 	private void addImagesToRoot() {
-		root.getChildren().addAll(shieldImage);
+		hudLayer.getChildren().addAll(shieldImage);
 	}
 
 	/**
@@ -0,0 +1,138 @@
+package Levels;
+
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyEvent;
+
+/**
+ * The persistent scene shared by every level of the game.
+ * <p>
+ * The shell owns a single {@link Scene} with a fixed set of layer groups. Levels are
+ * mounted into the level layer when they start and unmounted when they end, so switching
+ * levels only swaps children instead of replacing the whole scene. Keyboard input is bound
+ * once on the scene and forwarded to whichever level is currently mounted.
+ * </p>
+ */
+public class SceneShell {
+
+	/**
+	 * Singleton instance of the shell, shared by all levels.
+	 */
+	private static SceneShell instance;
+
+	/**
+	 * The scene that stays attached to the stage for the lifetime of the game.
+	 */
+	private final Scene scene;
+
+	/**
+	 * The layer holding the root group of the currently mounted level.
+	 */
+	private final Group levelLayer;
+
+	/**
+	 * The layer drawn above the level, used for screens shared between levels.
+	 */
+	private final Group overlayLayer;
+
+	/**
+	 * The level that currently receives keyboard input, or {@code null} if none is mounted.
+	 */
+	private LevelParent activeLevel;
+
+	/**
+	 * Creates the shell scene with its layer groups and installs the input bindings.
+	 *
+	 * @param screenWidth  the width of the scene.
+	 * @param screenHeight the height of the scene.
+	 */
+	private SceneShell(double screenWidth, double screenHeight) {
+		this.levelLayer = new Group();
+		this.overlayLayer = new Group();
+		this.scene = new Scene(new Group(levelLayer, overlayLayer), screenWidth, screenHeight);
+		scene.addEventHandler(KeyEvent.KEY_PRESSED, this::forwardKeyPressed);
+		scene.addEventHandler(KeyEvent.KEY_RELEASED, this::forwardKeyReleased);
+	}
+
+	/**
+	 * Retrieves the shell, creating it with the given size on first use.
+	 * Later calls return the existing shell regardless of the size passed in.
+	 *
+	 * @param screenWidth  the width of the scene.
+	 * @param screenHeight the height of the scene.
+	 * @return the shared shell instance.
+	 */
+	public static synchronized SceneShell getInstance(double screenWidth, double screenHeight) {
+		if (instance == null) {
+			instance = new SceneShell(screenWidth, screenHeight);
+		}
+		return instance;
+	}
+
+	/**
+	 * Mounts a level into the shell, replacing any previously mounted level.
+	 *
+	 * @param level the level to display and route input to.
+	 */
+	void mount(LevelParent level) {
+		if (activeLevel == level) {
+			return;
+		}
+		levelLayer.getChildren().setAll(level.root);
+		activeLevel = level;
+		System.out.println("Mounted level: " + level.getClass().getSimpleName());
+	}
+
+	/**
+	 * Unmounts a level from the shell if it is the one currently mounted.
+	 *
+	 * @param level the level to remove.
+	 */
+	void unmount(LevelParent level) {
+		if (activeLevel != level) {
+			return;
+		}
+		levelLayer.getChildren().remove(level.root);
+		activeLevel = null;
+	}
+
+	/**
+	 * Gets the persistent scene.
+	 *
+	 * @return the scene shared by all levels.
+	 */
+	public Scene getScene() {
+		return scene;
+	}
+
+	/**
+	 * Gets the layer drawn above the mounted level.
+	 *
+	 * @return the overlay layer group.
+	 */
+	public Group getOverlayLayer() {
+		return overlayLayer;
+	}
+
+	/**
+	 * Forwards a key press to the mounted level.
+	 *
+	 * @param event the key event raised by the scene.
+	 */
+	private void forwardKeyPressed(KeyEvent event) {
+		if (activeLevel != null) {
+			activeLevel.handleKeyPressed(event.getCode());
+		}
+	}
+
+	/**
+	 * Forwards a key release to the mounted level.
+	 *
+	 * @param event the key event raised by the scene.
+	 */
+	private void forwardKeyReleased(KeyEvent event) {
+		if (activeLevel != null) {
+			activeLevel.handleKeyReleased(event.getCode());
+		}
+	}
+}
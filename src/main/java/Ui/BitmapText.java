@@ -0,0 +1,200 @@
+package Ui;
+
+import Assets.SpriteAtlas;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.util.Arrays;
+
+/**
+ * HUD text drawn from the font glyphs packed into the sprite atlas.
+ * <p>
+ * Each character is an {@link ImageView} showing its glyph's region of the shared atlas.
+ * The views are pooled and only the characters that differ from the previous text get a new
+ * viewport, so updating a number costs a few property writes instead of a text layout and
+ * glyph rasterization. Text is passed in as a {@link TextBuffer}, so no string is created
+ * either. The layout origin is the baseline of the first character, as for {@link Text}.
+ * Glyphs are white, which suits every HUD label; popups and damage numbers can reuse the
+ * class and be tinted with an effect on the group.
+ * </p>
+ * <p>
+ * When no atlas was built, the text falls back to a JavaFX {@link Text} node in the same
+ * font, updated only when the characters change.
+ * </p>
+ */
+public class BitmapText extends Group {
+
+	/**
+	 * The font used when no glyph atlas is available, matching the font the glyphs come from.
+	 */
+	private static final Font FALLBACK_FONT = new Font("Arial", 16);
+
+	/**
+	 * The glyph regions in atlas pixels, indexed by character minus {@link SpriteAtlas#FIRST_GLYPH},
+	 * or {@code null} until loaded. Empty when the atlas has no glyphs.
+	 */
+	private static Rectangle2D[] glyphs;
+
+	/**
+	 * The views showing each character, created as needed and reused.
+	 */
+	private ImageView[] views = new ImageView[0];
+
+	/**
+	 * The characters currently shown.
+	 */
+	private char[] shown;
+
+	/**
+	 * The number of characters currently shown.
+	 */
+	private int shownLength;
+
+	/**
+	 * The width of the text currently shown, in display pixels.
+	 */
+	private double textWidth;
+
+	/**
+	 * The node drawing the text when there are no glyphs, or {@code null} when drawing from the atlas.
+	 */
+	private final Text fallback;
+
+	/**
+	 * Creates an empty text.
+	 *
+	 * @param capacity the number of characters to preallocate views for.
+	 */
+	public BitmapText(int capacity) {
+		this.shown = new char[Math.max(1, capacity)];
+		if (loadGlyphs().length == 0) {
+			fallback = new Text();
+			fallback.setFont(FALLBACK_FONT);
+			fallback.setFill(Color.WHITE);
+			getChildren().add(fallback);
+		} else {
+			fallback = null;
+			ensureViews(capacity);
+		}
+	}
+
+	/**
+	 * Looks up the glyph regions in the atlas once for all texts.
+	 *
+	 * @return the glyph regions, empty if the atlas has no glyphs.
+	 */
+	private static synchronized Rectangle2D[] loadGlyphs() {
+		if (glyphs == null) {
+			Rectangle2D[] regions = new Rectangle2D[SpriteAtlas.LAST_GLYPH - SpriteAtlas.FIRST_GLYPH + 1];
+			for (char c = SpriteAtlas.FIRST_GLYPH; c <= SpriteAtlas.LAST_GLYPH; c++) {
+				regions[c - SpriteAtlas.FIRST_GLYPH] = SpriteAtlas.region(SpriteAtlas.glyphName(c));
+				if (regions[c - SpriteAtlas.FIRST_GLYPH] == null) {
+					System.out.println("No HUD glyphs in the sprite atlas, drawing HUD text with JavaFX text");
+					regions = new Rectangle2D[0];
+					break;
+				}
+			}
+			glyphs = regions;
+		}
+		return glyphs;
+	}
+
+	/**
+	 * Shows the contents of a buffer. Characters outside the printable ASCII range are drawn as
+	 * {@code '?'}.
+	 *
+	 * @param text the characters to show.
+	 */
+	public void setText(TextBuffer text) {
+		int length = text.length();
+		char[] chars = text.array();
+		if (length == shownLength && Arrays.equals(chars, 0, length, shown, 0, length)) {
+			return;
+		}
+		if (fallback != null) {
+			remember(chars, length);
+			fallback.setText(text.toString());
+			textWidth = fallback.getLayoutBounds().getWidth();
+			return;
+		}
+
+		ensureViews(length);
+		double scale = SpriteAtlas.getScale();
+		double x = 0;
+		for (int i = 0; i < length; i++) {
+			char c = chars[i];
+			if (c < SpriteAtlas.FIRST_GLYPH || c > SpriteAtlas.LAST_GLYPH) {
+				c = '?';
+			}
+			Rectangle2D glyph = glyphs[c - SpriteAtlas.FIRST_GLYPH];
+			ImageView view = views[i];
+			if (i >= shownLength || shown[i] != chars[i]) {
+				view.setViewport(glyph);
+				view.setFitWidth(glyph.getWidth() / scale);
+				view.setFitHeight(glyph.getHeight() / scale);
+			}
+			if (view.getLayoutX() != x) {
+				view.setLayoutX(x);
+			}
+			if (!view.isVisible()) {
+				view.setVisible(true);
+			}
+			x += glyph.getWidth() / scale;
+		}
+		for (int i = length; i < shownLength; i++) {
+			views[i].setVisible(false);
+		}
+		remember(chars, length);
+		textWidth = x;
+	}
+
+	/**
+	 * Gets the width of the text currently shown, for example to centre a popup.
+	 *
+	 * @return the width in display pixels.
+	 */
+	public double getTextWidth() {
+		return textWidth;
+	}
+
+	/**
+	 * Records the characters now shown, growing the record if needed.
+	 *
+	 * @param chars  the characters.
+	 * @param length the number of characters.
+	 */
+	private void remember(char[] chars, int length) {
+		if (shown.length < length) {
+			shown = Arrays.copyOf(shown, Math.max(length, shown.length * 2));
+		}
+		System.arraycopy(chars, 0, shown, 0, length);
+		shownLength = length;
+	}
+
+	/**
+	 * Makes sure there is a view for each of the given number of characters.
+	 *
+	 * @param count the number of characters to show.
+	 */
+	private void ensureViews(int count) {
+		if (count <= views.length) {
+			return;
+		}
+		Image atlas = SpriteAtlas.getImage();
+		double baseline = -(double) SpriteAtlas.getGlyphAscent() / SpriteAtlas.getScale();
+		int first = views.length;
+		views = Arrays.copyOf(views, Math.max(count, views.length * 2));
+		for (int i = first; i < views.length; i++) {
+			ImageView view = new ImageView(atlas);
+			view.setLayoutY(baseline);
+			view.setVisible(false);
+			views[i] = view;
+			getChildren().add(view);
+		}
+	}
+}
@@ -1,7 +1,7 @@
 package Ui;
 
+import Assets.SpriteCache;
 import javafx.scene.control.Button;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 
@@ -51,7 +51,7 @@ public class GameOverImage extends Pane {
 	 */
 	public GameOverImage(double xPosition, double yPosition) {
 		// Setup game over image
-		gameOverImage = new ImageView(new Image(getClass().getResource(IMAGE_NAME).toExternalForm()));
+		gameOverImage = new ImageView(SpriteCache.get(IMAGE_NAME, WIDTH, HEIGHT));
 		gameOverImage.setFitHeight(HEIGHT);
 		gameOverImage.setFitWidth(WIDTH);
 		gameOverImage.setLayoutX(0);
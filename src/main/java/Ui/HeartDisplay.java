@@ -1,11 +1,17 @@
 package Ui;
 
-import javafx.scene.image.Image;
+import Assets.SpriteAtlas;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 
 /**
  * Manages the display of hearts in the game, allowing for dynamic addition and removal of hearts.
+ * <p>
+ * The heart icons are created once, up front, and kept in the container for the life of the
+ * display. Adding or removing a heart only toggles the visibility of the last icon in the row,
+ * so a change in health neither decodes an image nor changes the container's children and
+ * forces a new layout.
+ * </p>
  */
 public class HeartDisplay {
 
@@ -22,10 +28,10 @@ public class HeartDisplay {
 	private static final int HEART_HEIGHT = 50;
 
 	/**
-	 * Index of the first item in the container.
-	 * Used for removing hearts from the display starting from the first element.
+	 * The number of heart icons preallocated when the display is built.
+	 * The pool grows past this only if the player collects more hearts than fit.
 	 */
-	private static final int INDEX_OF_FIRST_ITEM = 0;
+	private static final int HEART_POOL_SIZE = 10;
 
 	/**
 	 * The container that holds all the heart images.
@@ -45,6 +51,11 @@ public class HeartDisplay {
 	 */
 	private double containerYPosition;
 
+	/**
+	 * The number of heart icons currently shown, from the start of the row.
+	 */
+	private int visibleHearts;
+
 
 	/**
 	 * Constructs a HeartDisplay object, initializing the heart container and the hearts to be displayed.
@@ -70,33 +81,72 @@ public class HeartDisplay {
 	}
 
 	/**
-	 * Initializes the specified number of hearts and adds them to the container.
+	 * Preallocates the pool of heart icons and shows the specified number of them.
 	 *
 	 * @param heartsToDisplay the initial number of hearts to display
 	 */
 	private void initializeHearts(int heartsToDisplay) {
-		for (int i = 0; i < heartsToDisplay; i++) {
-			addHeart();
+		for (int i = 0; i < Math.max(HEART_POOL_SIZE, heartsToDisplay); i++) {
+			ImageView heart = createHeart();
+			heart.setVisible(false);
+			container.getChildren().add(heart);
 		}
+		setHeartCount(heartsToDisplay);
 	}
 
 	/**
-	 * Removes the first heart from the container, representing the loss of a life.
+	 * Creates a heart icon.
+	 *
+	 * @return the icon, not yet added to the container
 	 */
-	public void removeHeart() {
-		if (!container.getChildren().isEmpty()) {
-			container.getChildren().remove(INDEX_OF_FIRST_ITEM);
+	private ImageView createHeart() {
+		ImageView heart = new ImageView();
+		SpriteAtlas.show(heart, HEART_IMAGE_NAME, 0, HEART_HEIGHT);
+		heart.setFitHeight(HEART_HEIGHT);
+		heart.setPreserveRatio(true);
+		return heart;
+	}
+
+	/**
+	 * Shows the given number of hearts, hiding the rest of the pool.
+	 * Only the icons whose visibility changes are touched.
+	 *
+	 * @param hearts the number of hearts to show
+	 */
+	public void setHeartCount(int hearts) {
+		int target = Math.max(0, hearts);
+		while (container.getChildren().size() < target) {
+			ImageView heart = createHeart();
+			heart.setVisible(false);
+			container.getChildren().add(heart); // Only when health outgrows the pool
+		}
+		for (int i = Math.min(visibleHearts, target); i < Math.max(visibleHearts, target); i++) {
+			container.getChildren().get(i).setVisible(i < target);
 		}
+		visibleHearts = target;
 	}
 
 	/**
-	 * Dynamically adds a new heart to the container, representing the gain of a life.
+	 * Gets the number of hearts currently shown.
+	 *
+	 * @return the number of visible heart icons
+	 */
+	public int getHeartCount() {
+		return visibleHearts;
+	}
+
+	/**
+	 * Hides the last visible heart, representing the loss of a life.
+	 */
+	public void removeHeart() {
+		setHeartCount(visibleHearts - 1);
+	}
+
+	/**
+	 * Shows one more heart, representing the gain of a life.
 	 */
 	public void addHeart() {
-		ImageView heart = new ImageView(new Image(getClass().getResource(HEART_IMAGE_NAME).toExternalForm()));
-		heart.setFitHeight(HEART_HEIGHT);
-		heart.setPreserveRatio(true);
-		container.getChildren().add(heart);
+		setHeartCount(visibleHearts + 1);
 	}
 
 	/**
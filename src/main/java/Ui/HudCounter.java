@@ -0,0 +1,102 @@
+package Ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * A versioned game-state value that HUD widgets are bound to.
+ * <p>
+ * The game feeds the counter every frame, but its version only advances when the value
+ * actually changes. {@link #refresh()} pushes the value to the bound widgets only when the
+ * version has moved on since the last push, so an unchanged HUD costs no text rebuilding
+ * or node updates.
+ * </p>
+ */
+public final class HudCounter {
+
+	/**
+	 * The current value.
+	 */
+	private int value;
+
+	/**
+	 * Incremented every time the value changes.
+	 */
+	private long version;
+
+	/**
+	 * The version last pushed to the widgets.
+	 */
+	private long renderedVersion;
+
+	/**
+	 * The widgets showing this value.
+	 */
+	private final List<IntConsumer> bindings = new ArrayList<>();
+
+	/**
+	 * Creates a counter with an initial value.
+	 *
+	 * @param initialValue the value shown before the first update.
+	 */
+	public HudCounter(int initialValue) {
+		this.value = initialValue;
+	}
+
+	/**
+	 * Binds a widget to the counter and shows it the current value straight away.
+	 *
+	 * @param widget updates the widget with a new value.
+	 */
+	public void bind(IntConsumer widget) {
+		bindings.add(widget);
+		widget.accept(value);
+	}
+
+	/**
+	 * Updates the value, advancing the version only if it changed.
+	 *
+	 * @param newValue the latest value.
+	 */
+	public void set(int newValue) {
+		if (newValue != value) {
+			value = newValue;
+			version++;
+		}
+	}
+
+	/**
+	 * Pushes the value to the bound widgets if it changed since the last push.
+	 *
+	 * @return {@code true} if the widgets were updated.
+	 */
+	public boolean refresh() {
+		if (renderedVersion == version) {
+			return false;
+		}
+		renderedVersion = version;
+		for (IntConsumer widget : bindings) {
+			widget.accept(value);
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the current value.
+	 *
+	 * @return the value.
+	 */
+	public int get() {
+		return value;
+	}
+
+	/**
+	 * Gets the version of the current value.
+	 *
+	 * @return the number of times the value has changed.
+	 */
+	public long getVersion() {
+		return version;
+	}
+}
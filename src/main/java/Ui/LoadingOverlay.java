@@ -0,0 +1,62 @@
+package Ui;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * Represents the loading screen shown while game assets are preloaded.
+ * Displays a progress bar and a percentage label.
+ */
+public class LoadingOverlay extends VBox {
+
+	/**
+	 * The width of the progress bar, in pixels.
+	 */
+	private static final int BAR_WIDTH = 400;
+
+	/**
+	 * The progress bar reflecting the fraction of assets loaded.
+	 */
+	private final ProgressBar progressBar;
+
+	/**
+	 * The label showing the loading percentage.
+	 */
+	private final Text progressText;
+
+	/**
+	 * Constructs a LoadingOverlay covering a screen of the given size.
+	 *
+	 * @param screenWidth  the width of the screen.
+	 * @param screenHeight the height of the screen.
+	 */
+	public LoadingOverlay(double screenWidth, double screenHeight) {
+		super(10);
+		this.setPrefSize(screenWidth, screenHeight);
+		this.setAlignment(Pos.CENTER);
+		this.setStyle("-fx-background-color: black;");
+
+		progressText = new Text("Loading... 0%");
+		progressText.setFont(new Font("Arial", 20));
+		progressText.setFill(Color.WHITE);
+
+		progressBar = new ProgressBar(0);
+		progressBar.setPrefWidth(BAR_WIDTH);
+
+		this.getChildren().addAll(progressText, progressBar);
+	}
+
+	/**
+	 * Updates the displayed progress. Must be called on the JavaFX application thread.
+	 *
+	 * @param progress the fraction of assets loaded, between 0 and 1.
+	 */
+	public void setProgress(double progress) {
+		progressBar.setProgress(progress);
+		progressText.setText("Loading... " + Math.round(progress * 100) + "%");
+	}
+}
@@ -0,0 +1,75 @@
+package Ui;
+
+/**
+ * Process-wide cache for the full-screen overlays (win, game over and pause screens).
+ * <p>
+ * Each overlay is built the first time a level asks for it and then reused by every later
+ * level. A cached overlay is reattached to the asking level's root, which detaches it from
+ * the previous one, so no level pays for decoding overlay images it never shows.
+ * </p>
+ */
+public final class OverlayCache {
+
+	/**
+	 * The cached "You Win" screen, or {@code null} until first requested.
+	 */
+	private static WinImage winImage;
+
+	/**
+	 * The cached game over screen, or {@code null} until first requested.
+	 */
+	private static GameOverImage gameOverImage;
+
+	/**
+	 * The cached pause menu, or {@code null} until first requested.
+	 */
+	private static PauseMenu pauseMenu;
+
+	/**
+	 * Prevents instantiation of this utility class.
+	 */
+	private OverlayCache() {
+	}
+
+	/**
+	 * Gets the shared "You Win" screen, building it on first use.
+	 *
+	 * @param xPosition the x-coordinate used when the screen is first built.
+	 * @param yPosition the y-coordinate used when the screen is first built.
+	 * @return the shared win screen.
+	 */
+	public static synchronized WinImage getWinImage(double xPosition, double yPosition) {
+		if (winImage == null) {
+			winImage = new WinImage(xPosition, yPosition);
+		}
+		return winImage;
+	}
+
+	/**
+	 * Gets the shared game over screen, building it on first use.
+	 *
+	 * @param xPosition the x-coordinate used when the screen is first built.
+	 * @param yPosition the y-coordinate used when the screen is first built.
+	 * @return the shared game over screen.
+	 */
+	public static synchronized GameOverImage getGameOverImage(double xPosition, double yPosition) {
+		if (gameOverImage == null) {
+			gameOverImage = new GameOverImage(xPosition, yPosition);
+		}
+		return gameOverImage;
+	}
+
+	/**
+	 * Gets the shared pause menu, building it on first use.
+	 *
+	 * @param xPosition the x-coordinate used when the menu is first built.
+	 * @param yPosition the y-coordinate used when the menu is first built.
+	 * @return the shared pause menu.
+	 */
+	public static synchronized PauseMenu getPauseMenu(double xPosition, double yPosition) {
+		if (pauseMenu == null) {
+			pauseMenu = new PauseMenu(xPosition, yPosition);
+		}
+		return pauseMenu;
+	}
+}
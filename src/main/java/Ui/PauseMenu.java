@@ -0,0 +1,75 @@
+package Ui;
+
+import javafx.scene.control.Button;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * Represents the pause menu shown while the game is paused.
+ * Includes a "Game Paused" label, a resume button and a quit button.
+ */
+public class PauseMenu extends VBox {
+
+	/**
+	 * The spacing between the menu items, in pixels.
+	 */
+	private static final int SPACING = 10;
+
+	/**
+	 * The preferred width of the menu, in pixels.
+	 */
+	private static final int WIDTH = 300;
+
+	/**
+	 * The preferred height of the menu, in pixels.
+	 */
+	private static final int HEIGHT = 200;
+
+	/**
+	 * The action run when the resume button is clicked.
+	 * Points at the level that currently owns the menu.
+	 */
+	private Runnable onResume;
+
+	/**
+	 * Constructs a PauseMenu instance at the specified position. The menu is hidden initially.
+	 *
+	 * @param xPosition the x-coordinate of the menu's top-left corner.
+	 * @param yPosition the y-coordinate of the menu's top-left corner.
+	 */
+	public PauseMenu(double xPosition, double yPosition) {
+		super(SPACING);
+		this.setStyle("-fx-background-color: rgba(0, 0, 0, 0.7); -fx-padding: 20;");
+		this.setPrefSize(WIDTH, HEIGHT);
+		this.setLayoutX(xPosition);
+		this.setLayoutY(yPosition);
+
+		Text pauseText = new Text("Game Paused");
+		pauseText.setFont(new Font(20));
+		pauseText.setFill(Color.WHITE);
+
+		Button resumeButton = new Button("Resume");
+		resumeButton.setOnAction(e -> {
+			if (onResume != null) {
+				onResume.run();
+			}
+		});
+
+		Button quitButton = new Button("Quit");
+		quitButton.setOnAction(e -> System.exit(0)); // Exit the application on click
+
+		this.getChildren().addAll(pauseText, resumeButton, quitButton);
+		this.setVisible(false); // Initially hidden
+	}
+
+	/**
+	 * Sets the action run when the resume button is clicked.
+	 *
+	 * @param onResume the action that resumes the owning level.
+	 */
+	public void setOnResume(Runnable onResume) {
+		this.onResume = onResume;
+	}
+}
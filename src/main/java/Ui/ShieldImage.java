@@ -1,6 +1,7 @@
 package Ui;
 
-import javafx.scene.image.Image;
+import Assets.AssetPack;
+import Assets.SpriteAtlas;
 import javafx.scene.image.ImageView;
 
 /**
@@ -32,11 +33,11 @@ public class ShieldImage extends ImageView {
 		this.setLayoutY(yPosition);
 
 		// Debugging code: Check if the image path is successfully loaded
-		java.net.URL shieldImageUrl = getClass().getResource(IMAGE_NAME);
-		System.out.println("Shield Image URL: " + shieldImageUrl); // Print the URL
+		boolean shieldImageFound = AssetPack.exists(IMAGE_NAME);
+		System.out.println("Shield Image found: " + shieldImageFound); // Print the lookup result
 
-		if (shieldImageUrl != null) {
-			this.setImage(new Image(shieldImageUrl.toExternalForm()));
+		if (shieldImageFound) {
+			SpriteAtlas.show(this, IMAGE_NAME, SHIELD_SIZE, SHIELD_SIZE);
 		} else {
 			System.out.println("Shield image not found at the specified path.");
 		}
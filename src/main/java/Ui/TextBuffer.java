@@ -0,0 +1,151 @@
+package Ui;
+
+import java.util.Arrays;
+
+/**
+ * A reusable character buffer that HUD text is formatted into.
+ * <p>
+ * Unlike string concatenation, appending labels and numbers writes straight into one
+ * preallocated {@code char[]}, so formatting a counter every frame allocates nothing. The
+ * buffer is handed to a {@link BitmapText} to be drawn.
+ * </p>
+ */
+public final class TextBuffer {
+
+	/**
+	 * Enough room for the digits and sign of any {@code int}.
+	 */
+	private static final int MAX_INT_CHARS = 11;
+
+	/**
+	 * The formatted characters.
+	 */
+	private char[] chars;
+
+	/**
+	 * The number of characters in use.
+	 */
+	private int length;
+
+	/**
+	 * Creates an empty buffer.
+	 *
+	 * @param capacity the number of characters the buffer holds before it has to grow.
+	 */
+	public TextBuffer(int capacity) {
+		this.chars = new char[Math.max(1, capacity)];
+	}
+
+	/**
+	 * Empties the buffer, keeping its storage.
+	 *
+	 * @return this buffer, for chaining.
+	 */
+	public TextBuffer clear() {
+		length = 0;
+		return this;
+	}
+
+	/**
+	 * Appends a character.
+	 *
+	 * @param c the character.
+	 * @return this buffer, for chaining.
+	 */
+	public TextBuffer append(char c) {
+		ensureCapacity(length + 1);
+		chars[length++] = c;
+		return this;
+	}
+
+	/**
+	 * Appends the characters of a label. Labels are constants, so no string is created.
+	 *
+	 * @param label the characters to append.
+	 * @return this buffer, for chaining.
+	 */
+	public TextBuffer append(String label) {
+		int count = label.length();
+		ensureCapacity(length + count);
+		label.getChars(0, count, chars, length);
+		length += count;
+		return this;
+	}
+
+	/**
+	 * Appends the decimal digits of a number.
+	 *
+	 * @param value the number.
+	 * @return this buffer, for chaining.
+	 */
+	public TextBuffer append(int value) {
+		ensureCapacity(length + MAX_INT_CHARS);
+		if (value < 0) {
+			chars[length++] = '-';
+		}
+		int start = length;
+		do {
+			chars[length++] = (char) ('0' + Math.abs(value % 10)); // abs per digit also handles Integer.MIN_VALUE
+			value /= 10;
+		} while (value != 0);
+		for (int i = start, j = length - 1; i < j; i++, j--) {
+			char swap = chars[i];
+			chars[i] = chars[j];
+			chars[j] = swap;
+		}
+		return this;
+	}
+
+	/**
+	 * Gets the number of characters in the buffer.
+	 *
+	 * @return the length.
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Gets the character at an index.
+	 *
+	 * @param index an index below {@link #length()}.
+	 * @return the character.
+	 */
+	public char charAt(int index) {
+		if (index >= length) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		return chars[index];
+	}
+
+	/**
+	 * Gets the backing array. Only the first {@link #length()} characters are meaningful, and
+	 * the array may be replaced when the buffer grows.
+	 *
+	 * @return the backing array.
+	 */
+	char[] array() {
+		return chars;
+	}
+
+	/**
+	 * Creates a string of the contents. Meant for debugging and tests, not for the frame loop.
+	 *
+	 * @return the formatted text.
+	 */
+	@Override
+	public String toString() {
+		return new String(chars, 0, length);
+	}
+
+	/**
+	 * Grows the backing array to hold at least the given number of characters.
+	 *
+	 * @param capacity the number of characters needed.
+	 */
+	private void ensureCapacity(int capacity) {
+		if (capacity > chars.length) {
+			chars = Arrays.copyOf(chars, Math.max(capacity, chars.length * 2));
+		}
+	}
+}
@@ -1,7 +1,7 @@
 package Ui;
 
+import Assets.SpriteCache;
 import javafx.scene.control.Button;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 
@@ -43,7 +43,7 @@ public class WinImage extends Pane {
 	 */
 	public WinImage(double xPosition, double yPosition) {
 		// Setup win image
-		winImage = new ImageView(new Image(getClass().getResource(IMAGE_NAME).toExternalForm()));
+		winImage = new ImageView(SpriteCache.get(IMAGE_NAME, WIDTH, HEIGHT));
 		winImage.setFitHeight(HEIGHT);
 		winImage.setFitWidth(WIDTH);
 		winImage.setLayoutX(0);
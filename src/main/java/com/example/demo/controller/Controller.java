@@ -3,12 +3,17 @@ package com.example.demo.controller;
 import java.lang.reflect.Constructor;
 import java.util.Observable;
 import java.util.Observer;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.stage.Stage;
+import Assets.AssetPreloader;
+import Assets.StartupBenchmark;
 import Levels.LevelParent;
+import Levels.SceneShell;
+import Ui.LoadingOverlay;
 
 /**
  * The Controller class manages the flow of the game, including level transitions and error handling.
@@ -43,15 +48,34 @@ public class Controller implements Observer {
     }
 
     /**
-     * Launches the game by displaying the stage and loading the first level.
+     * Launches the game by displaying the stage, preloading assets and loading the first level.
+     * <p>
+     * A loading screen is shown in the shared scene while the {@link AssetPreloader} decodes
+     * every asset in the background. The first level is only shown once the preloader has
+     * filled the sprite cache, so no actor decodes its image during play.
+     * </p>
      * This method ensures the game starts in the JavaFX application thread.
      */
     public void launchGame() {
         Platform.runLater(() -> {
             try {
                 System.out.println("Launching game...");
+                SceneShell shell = SceneShell.getInstance(stage.getWidth(), stage.getHeight());
+                LoadingOverlay loadingOverlay = new LoadingOverlay(stage.getWidth(), stage.getHeight());
+                shell.getOverlayLayer().getChildren().add(loadingOverlay);
+                stage.setScene(shell.getScene());
                 stage.show(); // Ensure the stage is visible
-                goToLevel(LEVEL_ONE_CLASS_NAME); // Load the first level
+
+                AssetPreloader.preload(progress -> Platform.runLater(() -> loadingOverlay.setProgress(progress)))
+                        .whenComplete((result, error) -> Platform.runLater(() -> {
+                            shell.getOverlayLayer().getChildren().remove(loadingOverlay);
+                            try {
+                                goToLevel(LEVEL_ONE_CLASS_NAME); // Load the first level
+                                recordFirstFrame();
+                            } catch (Exception e) {
+                                showAlert("Error launching game", e);
+                            }
+                        }));
             } catch (Exception e) {
                 e.printStackTrace();
                 showAlert("Error launching game", e);
@@ -59,9 +83,25 @@ public class Controller implements Observer {
         });
     }
 
+    /**
+     * Reports the time-to-first-frame to the {@link StartupBenchmark} once the next frame,
+     * the first one showing the level, is rendered.
+     */
+    private void recordFirstFrame() {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                StartupBenchmark.recordFirstFrame();
+            }
+        }.start();
+    }
+
     /**
      * Switches to the specified level by its class name.
      * If the level is already loaded, no action is taken.
+     * All levels share one persistent scene, so the stage only receives a scene once;
+     * later switches mount the new level into that scene instead.
      *
      * @param className the fully qualified class name of the level to switch to
      * @throws Exception if the level cannot be loaded or instantiated
@@ -77,7 +117,9 @@ public class Controller implements Observer {
         currentLevel.addObserver(this);
 
         Scene scene = currentLevel.initializeScene();
-        stage.setScene(scene);
+        if (stage.getScene() != scene) {
+            stage.setScene(scene);
+        }
         currentLevel.startGame();
     }
 
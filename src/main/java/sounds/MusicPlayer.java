@@ -1,7 +1,13 @@
 package sounds;
 
+import Assets.AssetPack;
+
 import javax.sound.sampled.*;
+import java.io.BufferedInputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The MusicPlayer class is a singleton utility for managing background music
@@ -16,6 +22,17 @@ public class MusicPlayer {
      */
     private static MusicPlayer instance; // Singleton instance
 
+    /**
+     * Contents of sound effects loaded ahead of time, keyed by resource path.
+     * Effects found here are played without opening the resource again.
+     */
+    private static final Map<String, ByteBuffer> effectCache = new ConcurrentHashMap<>();
+
+    /**
+     * Whether all sound is turned off.
+     */
+    private static volatile boolean muted = Boolean.getBoolean("sound.muted");
+
     /**
      * Represents the audio clip for playing sound or music.
      * This variable holds the audio data and provides methods to control playback such as start, stop, and loop.
@@ -36,7 +53,7 @@ public class MusicPlayer {
      */
     private MusicPlayer(String resourcePath) {
         try {
-            InputStream soundStream = getClass().getResourceAsStream(resourcePath);
+            InputStream soundStream = AssetPack.openStream(resourcePath);
             if (soundStream == null) {
                 throw new IllegalArgumentException("File not found: " + resourcePath);
             }
@@ -72,7 +89,7 @@ public class MusicPlayer {
      * Starts playing the audio clip in a continuous loop.
      */
     public void play() {
-        if (clip != null) {
+        if (clip != null && !muted) {
             clip.start();
             clip.loop(Clip.LOOP_CONTINUOUSLY);
         }
@@ -103,6 +120,26 @@ public class MusicPlayer {
         }
     }
 
+    /**
+     * Turns all sound on or off. Batch simulations mute the game, since they play many levels
+     * at once and faster than real time. Sound starts muted when {@code -Dsound.muted=true} is set.
+     *
+     * @param muted {@code true} to play nothing.
+     */
+    public static void setMuted(boolean muted) {
+        MusicPlayer.muted = muted;
+    }
+
+    /**
+     * Stores the contents of a sound effect so later plays skip the resource lookup.
+     *
+     * @param resourcePath the path to the audio resource.
+     * @param data         the complete contents of the audio file.
+     */
+    public static void cacheEffect(String resourcePath, ByteBuffer data) {
+        effectCache.put(resourcePath, data);
+    }
+
     /**
      * Plays a one-time sound effect with the specified volume.
      *
@@ -110,14 +147,20 @@ public class MusicPlayer {
      * @param volume       a value between 0.0 (minimum volume) and 1.0 (maximum volume).
      */
     public static void playEffect(String resourcePath, float volume) {
+        if (muted) {
+            return;
+        }
         try {
             System.out.println("Attempting to load resource: " + resourcePath); // Debug information
-            InputStream soundStream = MusicPlayer.class.getResourceAsStream(resourcePath);
+            ByteBuffer cached = effectCache.get(resourcePath);
+            InputStream soundStream = cached != null
+                    ? AssetPack.asStream(cached)
+                    : AssetPack.openStream(resourcePath);
             if (soundStream == null) {
                 throw new IllegalArgumentException("File not found: " + resourcePath);
             }
 
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(soundStream);
+            AudioInputStream audioStream = AudioSystem.getAudioInputStream(new BufferedInputStream(soundStream));
             Clip clip = AudioSystem.getClip();
             clip.open(audioStream);
 
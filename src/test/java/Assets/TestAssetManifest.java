@@ -0,0 +1,56 @@
+package Assets;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestAssetManifest {
+
+    @Test
+    void testParseSkipsCommentsAndBlankLines() throws IOException {
+        String text = "# sprites\nuserplane.png\n\n  heart.png  \n# sounds\nexplosion.wav\n";
+        AssetManifest manifest = AssetManifest.parse(new BufferedReader(new StringReader(text)));
+
+        List<String> paths = manifest.getResourcePaths();
+        assertEquals(3, paths.size(), "Only asset lines should be kept.");
+        assertEquals("/com/example/demo/images/userplane.png", paths.get(0), "Paths should be prefixed with the asset location.");
+        assertEquals("/com/example/demo/images/heart.png", paths.get(1), "Surrounding whitespace should be trimmed.");
+    }
+
+    @Test
+    void testParseDisplaySizes() throws IOException {
+        String text = "enemyplane.png 150\nshield.png 200x120\nexplosion.wav\n";
+        List<AssetManifest.Entry> entries = AssetManifest.parse(new BufferedReader(new StringReader(text))).getEntries();
+
+        assertEquals(0, entries.get(0).getWidth(), "A single size should leave the width to the aspect ratio.");
+        assertEquals(150, entries.get(0).getHeight(), "A single size should be read as the height.");
+        assertEquals(200, entries.get(1).getWidth(), "WIDTHxHEIGHT should set the width.");
+        assertEquals(120, entries.get(1).getHeight(), "WIDTHxHEIGHT should set the height.");
+        assertEquals(0, entries.get(2).getHeight(), "Entries without a size should keep their natural size.");
+    }
+
+    @Test
+    void testParseRejectsMalformedSize() {
+        String text = "heart.png fifty\n";
+        assertThrows(IOException.class, () -> AssetManifest.parse(new BufferedReader(new StringReader(text))));
+    }
+
+    @Test
+    void testBundledManifestListsExistingResources() throws IOException {
+        for (String path : AssetManifest.load().getResourcePaths()) {
+            assertNotNull(AssetManifest.class.getResource(path), "Manifest entry should exist: " + path);
+        }
+    }
+
+    @Test
+    void testAssetKinds() {
+        assertTrue(AssetManifest.isImage("/a/b.png"));
+        assertTrue(AssetManifest.isSound("/a/b.wav"));
+        assertFalse(AssetManifest.isImage("/a/b.wav"));
+    }
+}
@@ -0,0 +1,76 @@
+package Assets;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestAssetPack {
+
+    private static Map<String, ByteBuffer> build(List<String> names, List<byte[]> payloads) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AssetPackBuilder.write(names, payloads, out);
+        return AssetPack.index(ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    @Test
+    void testIndexServesAlignedPayloads() throws IOException {
+        Map<String, ByteBuffer> entries = build(List.of("/a.png", "/b.wav"),
+                List.of("first".getBytes(StandardCharsets.UTF_8), "second payload".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, entries.size(), "Every payload should be indexed.");
+        ByteBuffer second = entries.get("/b.wav");
+        assertEquals("second payload", StandardCharsets.UTF_8.decode(second.duplicate()).toString(), "Payloads should round-trip.");
+        assertTrue(second.isReadOnly(), "Served slices should be read-only.");
+    }
+
+    @Test
+    void testPayloadsStartOnAlignedOffsets() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AssetPackBuilder.write(List.of("/odd-name.png"), List.of(new byte[]{42}), out);
+        byte[] pack = out.toByteArray();
+
+        assertEquals(AssetPack.ALIGNMENT + 1, pack.length, "The directory should be padded to the alignment.");
+        assertEquals(42, pack[AssetPack.ALIGNMENT], "The payload should start on an aligned offset.");
+    }
+
+    @Test
+    void testIndexRejectsForeignData() {
+        ByteBuffer data = ByteBuffer.wrap("not a pack at all".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> AssetPack.index(data));
+    }
+
+    @Test
+    void testStreamSupportsMarkAndReset() throws IOException {
+        InputStream stream = AssetPack.asStream(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}));
+
+        assertTrue(stream.markSupported(), "Audio decoders need mark and reset.");
+        stream.mark(4);
+        assertEquals(1, stream.read());
+        assertEquals(2, stream.read());
+        stream.reset();
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, stream.readAllBytes(), "Reset should rewind to the mark.");
+        assertEquals(-1, stream.read(), "The stream should end with the buffer.");
+    }
+
+    @Test
+    void testBundledPackMatchesLooseResources() throws IOException {
+        String manifestPath = AssetManifest.ASSET_LOCATION + "assets.manifest";
+        ByteBuffer packed = AssetPack.open(manifestPath);
+        byte[] loose;
+        try (InputStream stream = TestAssetPack.class.getResourceAsStream(manifestPath)) {
+            assertNotNull(stream, "The manifest should be on the class path.");
+            loose = stream.readAllBytes();
+        }
+        byte[] contents = new byte[packed.remaining()];
+        packed.get(contents);
+        assertArrayEquals(loose, contents, "The pack should serve the same bytes as the class path.");
+    }
+}
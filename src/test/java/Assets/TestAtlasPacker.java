@@ -0,0 +1,52 @@
+package Assets;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestAtlasPacker {
+
+    @Test
+    void testPackPlacesSpritesWithoutOverlap() {
+        List<AtlasPacker.Sprite> sprites = List.of(
+                new AtlasPacker.Sprite("a.png", null, 300, 200),
+                new AtlasPacker.Sprite("b.png", null, 500, 150),
+                new AtlasPacker.Sprite("c.png", null, 400, 100),
+                new AtlasPacker.Sprite("d.png", null, 50, 50));
+        int height = AtlasPacker.pack(sprites, 1024, 2);
+
+        assertEquals(1, Integer.bitCount(height), "The atlas height should be a power of two.");
+        for (AtlasPacker.Sprite sprite : sprites) {
+            assertTrue(sprite.x >= 2 && sprite.x + sprite.width <= 1024 - 2, sprite.name + " should fit horizontally.");
+            assertTrue(sprite.y >= 2 && sprite.y + sprite.height <= height - 2, sprite.name + " should fit vertically.");
+            for (AtlasPacker.Sprite other : sprites) {
+                if (other != sprite) {
+                    boolean apart = sprite.x + sprite.width + 2 <= other.x || other.x + other.width + 2 <= sprite.x
+                            || sprite.y + sprite.height + 2 <= other.y || other.y + other.height + 2 <= sprite.y;
+                    assertTrue(apart, sprite.name + " and " + other.name + " should be padded apart.");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPackRejectsSpriteWiderThanAtlas() {
+        List<AtlasPacker.Sprite> sprites = List.of(new AtlasPacker.Sprite("wide.png", null, 2000, 10));
+        assertThrows(IllegalArgumentException.class, () -> AtlasPacker.pack(sprites, 1024, 2));
+    }
+
+    @Test
+    void testManifestMarksAtlasSprites() throws IOException {
+        String text = "heart.png 50 atlas\nbackground1.png 1300x750\n";
+        List<AssetManifest.Entry> entries = AssetManifest.parse(new BufferedReader(new StringReader(text))).getEntries();
+
+        assertTrue(entries.get(0).isPacked(), "Entries marked atlas should be packed.");
+        assertEquals("heart.png", entries.get(0).getFileName(), "The file name should drop the directory.");
+        assertFalse(entries.get(1).isPacked(), "Unmarked entries should stay loose.");
+    }
+}
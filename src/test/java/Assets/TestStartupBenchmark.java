@@ -0,0 +1,26 @@
+package Assets;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestStartupBenchmark {
+
+    @Test
+    void testAverageSeparatesColdAndWarmRuns() {
+        List<String> lines = List.of("cold,900", "warm,300", "cold,1100", "warm,100", "warm,200");
+
+        assertEquals("1000 ms over 2 runs", StartupBenchmark.average(lines, "cold"), "Cold runs should be averaged together.");
+        assertEquals("200 ms over 3 runs", StartupBenchmark.average(lines, "warm"), "Warm runs should be averaged together.");
+    }
+
+    @Test
+    void testAverageSkipsForeignLines() {
+        List<String> lines = List.of("mode,millis", "warm,abc", "", "warm,250");
+
+        assertEquals("250 ms over 1 run", StartupBenchmark.average(lines, "warm"), "Malformed lines should be ignored.");
+        assertEquals("no runs", StartupBenchmark.average(lines, "cold"), "A missing kind should report no runs.");
+    }
+}
@@ -0,0 +1,58 @@
+package Core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestBulkKernel {
+
+    @Test
+    void testScalarKernelFindsTouchingBoxes() {
+        BulkKernel kernel = BulkKernels.scalar();
+        double[] minX = {0, 10, 30};
+        double[] minY = {0, 0, 0};
+        double[] maxX = {5, 20, 40};
+        double[] maxY = {5, 5, 5};
+        int[] hits = new int[3];
+
+        int found = kernel.overlaps(5, 0, 10, 5, minX, minY, maxX, maxY, 3, hits);
+
+        assertEquals(2, found, "Boxes touching at an edge should overlap.");
+        assertArrayEquals(new int[]{0, 1}, Arrays.copyOf(hits, found), "The overlapping boxes should be listed in order.");
+    }
+
+    @Test
+    void testVectorKernelMatchesScalarKernel() {
+        BulkKernel vector = BulkKernels.vector();
+        assertNotNull(vector, "Tests run with the Vector API module, so the vector kernel should load.");
+        BulkKernel scalar = BulkKernels.scalar();
+        Random random = new Random(42);
+        for (int count : new int[]{0, 1, 7, 64, 1001}) {
+            double[] minX = new double[count];
+            double[] minY = new double[count];
+            double[] maxX = new double[count];
+            double[] maxY = new double[count];
+            for (int i = 0; i < count; i++) {
+                minX[i] = random.nextInt(200);
+                minY[i] = random.nextInt(200);
+                maxX[i] = minX[i] + random.nextInt(30);
+                maxY[i] = minY[i] + random.nextInt(30);
+            }
+            int[] scalarHits = new int[count];
+            int[] vectorHits = new int[count];
+            int scalarFound = scalar.overlaps(50, 60, 120, 100, minX, minY, maxX, maxY, count, scalarHits);
+            int vectorFound = vector.overlaps(50, 60, 120, 100, minX, minY, maxX, maxY, count, vectorHits);
+            assertArrayEquals(Arrays.copyOf(scalarHits, scalarFound), Arrays.copyOf(vectorHits, vectorFound),
+                    "Both kernels should find the same boxes for " + count + " boxes.");
+
+            double[] scalarSums = minX.clone();
+            double[] vectorSums = minX.clone();
+            scalar.add(scalarSums, maxY, count);
+            vector.add(vectorSums, maxY, count);
+            assertArrayEquals(scalarSums, vectorSums, "Both kernels should add the same values for " + count + " elements.");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package Core;
+
+import Entities.EnemyProjectile;
+import Entities.UserProjectile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestCollisionSystem {
+
+    /**
+     * Fills a world with shots scattered over the screen, the same ones for the same seed.
+     */
+    private static List<ActiveActorDestructible> scatter(World world, long seed) {
+        Random random = new Random(seed);
+        List<ActiveActorDestructible> shots = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            shots.add(new UserProjectile(random.nextInt(1300), random.nextInt(700), null));
+            shots.add(new EnemyProjectile(random.nextInt(1300), random.nextInt(700)));
+        }
+        shots.forEach(world::spawn);
+        return shots;
+    }
+
+    @Test
+    void testParallelSearchMatchesSerialSearch() {
+        World serialWorld = new World();
+        World parallelWorld = new World();
+        List<ActiveActorDestructible> serialShots = scatter(serialWorld, 7);
+        List<ActiveActorDestructible> parallelShots = scatter(parallelWorld, 7);
+        CollisionSystem serial = new CollisionSystem(BulkKernels.scalar(), Integer.MAX_VALUE);
+        CollisionSystem parallel = new CollisionSystem(BulkKernels.scalar(), 1);
+
+        int serialHits = serial.collide(serialWorld, Archetype.Role.FRIENDLY_SHOT, Archetype.Role.ENEMY_SHOT);
+        int parallelHits = parallel.collide(parallelWorld, Archetype.Role.FRIENDLY_SHOT, Archetype.Role.ENEMY_SHOT);
+
+        assertTrue(serialHits > 0, "The scattered shots should collide somewhere.");
+        assertEquals(serialHits, parallelHits, "Both searches should find the same number of contacts.");
+        assertEquals(0, serial.getParallelChecks(), "The serial system should never search in parallel.");
+        assertEquals(1, parallel.getParallelChecks(), "The parallel system should search in parallel above its threshold.");
+        for (int i = 0; i < serialShots.size(); i++) {
+            assertEquals(serialShots.get(i).isDestroyed(), parallelShots.get(i).isDestroyed(),
+                    "Both searches should destroy the same shots.");
+        }
+    }
+}
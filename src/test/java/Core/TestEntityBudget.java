@@ -0,0 +1,51 @@
+package Core;
+
+import Entities.BossProjectile;
+import Entities.EnemyProjectile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestEntityBudget {
+
+    @Test
+    void testRejectingCategoryStopsAtItsLimit() {
+        EntityBudget budget = new EntityBudget();
+        int limit = budget.getLimit(EntityBudget.Category.PICKUPS);
+
+        assertTrue(budget.admit(EntityBudget.Category.PICKUPS, limit - 1), "A spawn under the limit should be admitted.");
+        assertFalse(budget.admit(EntityBudget.Category.PICKUPS, limit), "A spawn at the limit should be rejected.");
+        assertEquals(1, budget.getRejected(EntityBudget.Category.PICKUPS), "The rejection should be counted.");
+    }
+
+    @Test
+    void testEvictingCategoryRemovesLowestPriorityOldestFirst() {
+        EntityBudget budget = new EntityBudget();
+        int limit = budget.getLimit(EntityBudget.Category.ENEMY_SHOTS);
+        List<ActiveActorDestructible> shots = new ArrayList<>();
+        for (int i = 0; i < limit - 2; i++) {
+            shots.add(new EnemyProjectile(0, i));
+        }
+        BossProjectile angledOld = new BossProjectile(0, 0, -12, 5);
+        BossProjectile angledNew = new BossProjectile(0, 0, -12, -5);
+        shots.add(angledOld);
+        shots.add(angledNew);
+        List<ActiveActorDestructible> evicted = new ArrayList<>();
+
+        assertTrue(budget.admit(EntityBudget.Category.ENEMY_SHOTS, shots, evicted::add),
+                "A full evicting category should still admit the new shot.");
+
+        assertEquals(List.of(angledOld), evicted, "The oldest of the lowest-priority shots should be evicted.");
+        assertTrue(angledOld.isDestroyed(), "The evicted shot should be destroyed.");
+        assertEquals(limit - 1, shots.size(), "The evicted shot should leave the live list.");
+    }
+
+    @Test
+    void testRejectingByCountNeedsRejectPolicy() {
+        EntityBudget budget = new EntityBudget();
+        assertThrows(IllegalArgumentException.class, () -> budget.admit(EntityBudget.Category.ENEMY_SHOTS, 0));
+    }
+}
@@ -0,0 +1,75 @@
+package Core;
+
+import Entities.Boss;
+import Entities.BossProjectile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestFixed {
+
+    @AfterEach
+    void leaveFixedPointMode() {
+        Fixed.setEnabled(false);
+        GameRandom.bind(null);
+    }
+
+    @Test
+    void testConversionsRoundAndStayExact() {
+        assertEquals(-12 * Fixed.ONE, Fixed.fromInt(-12), "Whole pixels should shift into place.");
+        assertEquals(6554, Fixed.fromDouble(0.1), "Fractions should round to the nearest step.");
+        assertEquals(-1, Fixed.fromDouble(-0.5 / Fixed.ONE), "Halves should round away from zero.");
+        assertEquals(1.5, Fixed.toDouble(Fixed.fromDouble(1.5)), "Representable values should convert back exactly.");
+        assertEquals(Fixed.fromInt(6), Fixed.multiply(Fixed.fromInt(-12), Fixed.fromDouble(-0.5)), "Products should keep the point.");
+        assertEquals(Fixed.fromDouble(2.5), Fixed.divide(Fixed.fromInt(5), Fixed.fromInt(2)), "Quotients should keep the point.");
+        assertThrows(ArithmeticException.class, () -> Fixed.fromDouble(40000));
+    }
+
+    @Test
+    void testWorldIntegratesOnIntegersWithEitherKernel() {
+        Fixed.setEnabled(true);
+        BulkKernel vector = BulkKernels.vector();
+        assertNotNull(vector, "Tests run with the Vector API module, so the vector kernel should load.");
+        World scalarWorld = new World();
+        World vectorWorld = new World();
+        BossProjectile[] scalarShots = new BossProjectile[9];
+        BossProjectile[] vectorShots = new BossProjectile[9];
+        for (int i = 0; i < scalarShots.length; i++) {
+            scalarShots[i] = new BossProjectile(1000.3, 100 + i, -12, 5 + 0.1 * i);
+            vectorShots[i] = new BossProjectile(1000.3, 100 + i, -12, 5 + 0.1 * i);
+            scalarWorld.spawn(scalarShots[i]);
+            vectorWorld.spawn(vectorShots[i]);
+        }
+        MovementSystem scalar = new MovementSystem(BulkKernels.scalar());
+        MovementSystem vectorMovement = new MovementSystem(vector);
+
+        for (int tick = 0; tick < 50; tick++) {
+            scalar.update(scalarWorld);
+            vectorMovement.update(vectorWorld);
+        }
+
+        for (int i = 0; i < scalarShots.length; i++) {
+            int expectedY = Fixed.fromDouble(100 + i) + 50 * Fixed.fromDouble(5 + 0.1 * i);
+            assertEquals(Fixed.fromDouble(1000.3) + 50 * Fixed.fromInt(-12), scalarShots[i].getFixedPositionX(),
+                    "Fifty steps should add up exactly.");
+            assertEquals(expectedY, scalarShots[i].getFixedPositionY(), "Fractional velocities should not drift.");
+            assertEquals(scalarShots[i].getFixedPositionY(), vectorShots[i].getFixedPositionY(), "Both kernels should agree to the bit.");
+            assertEquals(Fixed.toDouble(expectedY), scalarWorld.getY(scalarShots[i].getEntity()), "The world should mirror the fixed position.");
+        }
+    }
+
+    @Test
+    void testBossMovesInWholeFixedPointSteps() {
+        Fixed.setEnabled(true);
+        GameRandom.bind(new GameRandom(3));
+        Boss boss = new Boss();
+        int startY = boss.getFixedPositionY();
+
+        for (int tick = 0; tick < 200; tick++) {
+            boss.updateActor();
+            assertEquals(0, (boss.getFixedPositionY() - startY) % Fixed.fromInt(8), "The boss should only move in whole steps of its pattern.");
+        }
+        assertEquals(Fixed.toDouble(boss.getFixedPositionY()), boss.getPositionY(), "The node position should mirror the fixed position.");
+    }
+}
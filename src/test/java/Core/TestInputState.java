@@ -0,0 +1,65 @@
+package Core;
+
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestInputState {
+
+    @Test
+    void testKeyRepeatsAreOnePress() {
+        InputState input = new InputState();
+        input.press(KeyCode.SPACE);
+        input.press(KeyCode.SPACE);
+        input.sample();
+
+        assertTrue(input.isHeld(InputState.Action.FIRE), "The fire key should be held.");
+        assertTrue(input.wasPressed(InputState.Action.FIRE), "The fire key should be newly pressed.");
+
+        input.press(KeyCode.SPACE);
+        input.sample();
+
+        assertTrue(input.isHeld(InputState.Action.FIRE), "The fire key should still be held.");
+        assertFalse(input.wasPressed(InputState.Action.FIRE), "A key repeat should not count as a new press.");
+    }
+
+    @Test
+    void testTapBetweenSamplesIsNotLost() {
+        InputState input = new InputState();
+        input.press(KeyCode.UP);
+        input.press(KeyCode.DOWN);
+        input.release(KeyCode.SPACE);
+        input.press(KeyCode.SPACE);
+        input.release(KeyCode.SPACE);
+        input.sample();
+
+        assertFalse(input.isHeld(InputState.Action.FIRE), "The released fire key should not be held.");
+        assertTrue(input.wasPressed(InputState.Action.FIRE), "A tap between samples should still be seen.");
+        assertEquals(0, input.axis(InputState.Action.UP, InputState.Action.DOWN), "Opposing keys should cancel out.");
+        assertFalse(input.press(KeyCode.A), "Unbound keys should be ignored.");
+    }
+
+    @Test
+    void testScriptPlaysEventsWhenDue() {
+        InputState input = new InputState();
+        InputScript script = new InputScript()
+                .press(2, KeyCode.SPACE)
+                .release(3, KeyCode.SPACE)
+                .press(3, KeyCode.UP);
+
+        script.play(1, input);
+        input.sample();
+        assertFalse(input.isHeld(InputState.Action.FIRE), "No event should be due yet.");
+
+        script.play(2, input);
+        input.sample();
+        assertTrue(input.wasPressed(InputState.Action.FIRE), "The press should be played at its tick.");
+
+        script.play(3, input);
+        input.sample();
+        assertFalse(input.isHeld(InputState.Action.FIRE), "The release should be played at its tick.");
+        assertTrue(input.isHeld(InputState.Action.UP), "Events at the same tick should all be played.");
+        assertThrows(IllegalArgumentException.class, () -> script.press(1, KeyCode.DOWN));
+    }
+}
@@ -0,0 +1,48 @@
+package Core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestQualityGovernor {
+
+    private static final long MILLIS = 1_000_000;
+
+    private static void feed(QualityGovernor governor, int frames, long frameNanos) {
+        for (int i = 0; i < frames; i++) {
+            governor.sample(frameNanos);
+        }
+    }
+
+    @Test
+    void testReducesOneOptionPerWindowWhileOverBudget() {
+        QualityGovernor governor = new QualityGovernor(10);
+
+        feed(governor, 60, 20 * MILLIS);
+        assertTrue(governor.isReduced(QualityGovernor.Option.EFFECTS), "Effects should go first once a window is over budget.");
+        assertFalse(governor.isReduced(QualityGovernor.Option.HUD_RATE), "Only one option should be reduced per window.");
+
+        feed(governor, 59, 20 * MILLIS);
+        assertEquals(1, governor.getReducedCount(), "The next step should wait for a full window.");
+        feed(governor, 1, 20 * MILLIS);
+        assertEquals(2, governor.getReducedCount(), "The HUD rate should be reduced after another slow window.");
+
+        feed(governor, 600, 20 * MILLIS);
+        assertEquals(QualityGovernor.Option.values().length, governor.getReducedCount(), "Reduction should stop at the last option.");
+    }
+
+    @Test
+    void testRestoresOnlyAfterSustainedHeadroom() {
+        QualityGovernor governor = new QualityGovernor(10);
+        feed(governor, 120, 20 * MILLIS);
+        assertEquals(2, governor.getReducedCount());
+
+        feed(governor, 600, 12 * MILLIS);
+        assertEquals(2, governor.getReducedCount(), "Frames between the two thresholds should neither reduce nor restore.");
+
+        feed(governor, 60 * 3 + 59, 9 * MILLIS);
+        assertEquals(1, governor.getReducedCount(), "An option should be restored after three windows with headroom.");
+        assertFalse(governor.isReduced(QualityGovernor.Option.HUD_RATE), "The last option reduced should be restored first.");
+        assertTrue(governor.isReduced(QualityGovernor.Option.EFFECTS));
+    }
+}
@@ -0,0 +1,84 @@
+package Core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestRewindBuffer {
+
+    /**
+     * Builds the state of a tick: a plane plus shots that spawn every third tick, fly at
+     * fractional speeds and despawn after twenty ticks.
+     */
+    private static StateSnapshot stateAt(int tick) {
+        StateSnapshot state = new StateSnapshot();
+        state.clear(tick);
+        int plane = state.add(Archetype.USER_PLANE, 0);
+        state.setLayout(plane, 5, 300);
+        state.setOffset(plane, Math.sin(tick) * 40, tick * 0.37);
+        state.setHealth(plane, 5 - tick / 40);
+        state.setSlot(plane, 0, tick / 7);
+        for (int born = Math.max(0, tick - 19); born <= tick; born++) {
+            if (born % 3 == 0) {
+                int shot = state.add(Archetype.BOSS_PROJECTILE, 1000 + born);
+                state.setLayout(shot, 1000, born * 2);
+                state.setVelocity(shot, -12.3, born % 2 == 0 ? 5 : -5);
+                state.setOffset(shot, (tick - born) * -12.3, (tick - born) * (born % 2 == 0 ? 5 : -5));
+                state.setDestroyed(shot, tick - born == 19);
+            }
+        }
+        return state;
+    }
+
+    @Test
+    void testRestoresEveryTickInTheWindow() {
+        RewindBuffer rewind = new RewindBuffer(60, 10, 1 << 20);
+        List<StateSnapshot> recorded = new ArrayList<>();
+        for (int tick = 1; tick <= 100; tick++) {
+            StateSnapshot state = stateAt(tick);
+            recorded.add(state);
+            rewind.record(state);
+        }
+
+        assertTrue(rewind.getOldestTick() <= 41, "The whole window should be kept.");
+        assertFalse(rewind.restore(rewind.getOldestTick() - 1, new StateSnapshot()), "Ticks before the window are gone.");
+        StateSnapshot restored = new StateSnapshot();
+        double tolerance = 0.5 / RewindBuffer.POSITION_STEPS_PER_PIXEL + 1e-9;
+        for (long tick = rewind.getOldestTick(); tick <= 100; tick++) {
+            assertTrue(rewind.restore(tick, restored), "Tick " + tick + " should be restorable.");
+            StateSnapshot expected = recorded.get((int) tick - 1);
+            assertEquals(tick, restored.getTick());
+            assertEquals(expected.size(), restored.size(), "Tick " + tick + " should have the same actors.");
+            for (int record = 0; record < expected.size(); record++) {
+                assertEquals(expected.getKey(record), restored.getKey(record));
+                assertEquals(expected.getArchetype(record), restored.getArchetype(record));
+                assertEquals(expected.getOffsetX(record), restored.getOffsetX(record), tolerance);
+                assertEquals(expected.getOffsetY(record), restored.getOffsetY(record), tolerance);
+                assertEquals(expected.getLayoutY(record), restored.getLayoutY(record));
+                assertEquals(expected.getVelocityY(record), restored.getVelocityY(record));
+                assertEquals(expected.getHealth(record), restored.getHealth(record));
+                assertEquals(expected.isDestroyed(record), restored.isDestroyed(record));
+                assertEquals(expected.getSlot(record, 0), restored.getSlot(record, 0));
+            }
+        }
+    }
+
+    @Test
+    void testMemoryStaysWithinTheRing() {
+        int capacity = 16 * 1024;
+        RewindBuffer rewind = new RewindBuffer(250, 25, capacity);
+        for (int tick = 1; tick <= 1000; tick++) {
+            rewind.record(stateAt(tick));
+            assertTrue(rewind.getUsedBytes() <= capacity, "The frames should fit in the ring.");
+        }
+
+        assertEquals(1000, rewind.getNewestTick());
+        assertTrue(rewind.getOldestTick() > 750, "A small ring should hold less than the window.");
+        StateSnapshot restored = new StateSnapshot();
+        assertTrue(rewind.restore(rewind.getOldestTick(), restored), "The oldest kept tick should be restorable.");
+        assertEquals(stateAt((int) rewind.getOldestTick()).size(), restored.size());
+    }
+}
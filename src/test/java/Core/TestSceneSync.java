@@ -0,0 +1,42 @@
+package Core;
+
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestSceneSync {
+
+    @Test
+    void testOnlyChangedPropertiesAreWritten() {
+        SceneSync sync = new SceneSync();
+        Rectangle node = new Rectangle(100, 10);
+
+        sync.setTranslateX(node, 5);
+        sync.setTranslateY(node, 0);
+        sync.setVisible(node, true);
+        sync.setWidth(node, 80);
+        sync.endFrame();
+
+        assertEquals(5, node.getTranslateX(), "A changed translation should be written.");
+        assertEquals(80, node.getWidth(), "A changed width should be written.");
+        assertEquals(2, sync.getLastWrites(), "Only the two changed properties should be written.");
+        assertEquals(2, sync.getLastSkipped(), "The two unchanged properties should be skipped.");
+    }
+
+    @Test
+    void testSnapshotOfUnmovedNodeWritesNothing() {
+        SceneSync sync = new SceneSync();
+        Rectangle node = new Rectangle(100, 10);
+        FrameSnapshot frame = new FrameSnapshot();
+        frame.clear(0);
+        frame.add(node, 3, 4, true, 50);
+
+        frame.apply(sync);
+        assertEquals(3, sync.getLastWrites(), "The first frame should write the moved and resized properties.");
+
+        frame.apply(sync);
+        assertEquals(0, sync.getLastWrites(), "Applying the same frame again should write nothing.");
+        assertEquals(4, sync.getLastSkipped(), "Every property should be counted as skipped.");
+    }
+}
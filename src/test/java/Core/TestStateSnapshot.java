@@ -0,0 +1,84 @@
+package Core;
+
+import Entities.Boss;
+import Entities.UserPlane;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestStateSnapshot {
+
+    @Test
+    void testRecordsSurviveGrowingAndCopying() {
+        StateSnapshot snapshot = new StateSnapshot(4);
+        snapshot.clear(42);
+        for (int i = 0; i < 300; i++) {
+            int record = i % 10 == 0 ? snapshot.addHeart(i) : snapshot.add(Archetype.ENEMY_PROJECTILE, i);
+            snapshot.setOffset(record, i, -i);
+            snapshot.setHealth(record, i);
+            snapshot.setSlot(record, StateSnapshot.SLOT_COUNT - 1, i * 7);
+        }
+
+        StateSnapshot copy = new StateSnapshot();
+        copy.copyFrom(snapshot);
+
+        assertEquals(42, copy.getTick(), "The copy should record the same tick.");
+        assertEquals(300, copy.size(), "The copy should hold every record.");
+        assertTrue(copy.isHeart(250), "Hearts should keep their kind.");
+        assertEquals(Archetype.ENEMY_PROJECTILE, copy.getArchetype(251), "Actors should keep their archetype.");
+        assertEquals(-251, copy.getOffsetY(251), 1e-9, "Offsets should be copied.");
+        assertEquals(251 * 7, copy.getSlot(251, StateSnapshot.SLOT_COUNT - 1), "Slots should be copied.");
+        assertEquals(snapshot.asReadOnlyBuffer(), copy.asReadOnlyBuffer(), "The copy should match byte for byte.");
+        assertThrows(IndexOutOfBoundsException.class, () -> copy.getHealth(300));
+    }
+
+    @Test
+    void testMovePatternsPackIntoOneSlot() {
+        List<Integer> moves = new ArrayList<>(List.of(8, -8, 0, 0, 8, -8, -8, 8, 0, 8, 0, -8, 8, 0, -8));
+        int packed = StateSnapshot.packMoves(moves, 8);
+        List<Integer> unpacked = new ArrayList<>(List.of(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0));
+
+        StateSnapshot.unpackMoves(packed, 8, unpacked);
+
+        assertEquals(moves, unpacked, "The moves should unpack in order.");
+        assertThrows(IllegalArgumentException.class, () -> StateSnapshot.packMoves(List.of(5), 8));
+    }
+
+    @Test
+    void testBossAndUserPlaneRestoreTheirSavedState() {
+        Boss boss = new Boss();
+        UserPlane user = new UserPlane(5);
+        for (int i = 0; i < 13; i++) {
+            boss.updateActor();
+        }
+        boss.takeDamage();
+        user.moveDown();
+        user.updateActor();
+        user.takeDamage();
+        user.incrementKillCount();
+        user.getWeapon().update(true, true);
+
+        StateSnapshot saved = new StateSnapshot();
+        saved.clear(7);
+        boss.saveState(saved, saved.add(Archetype.BOSS, 1));
+        user.saveState(saved, saved.add(Archetype.USER_PLANE, 2));
+
+        Boss restoredBoss = new Boss();
+        UserPlane restoredUser = new UserPlane(5);
+        restoredBoss.restoreState(saved, 0);
+        restoredUser.restoreState(saved, 1);
+        StateSnapshot resaved = new StateSnapshot();
+        resaved.clear(7);
+        restoredBoss.saveState(resaved, resaved.add(Archetype.BOSS, 1));
+        restoredUser.saveState(resaved, resaved.add(Archetype.USER_PLANE, 2));
+
+        assertEquals(saved.asReadOnlyBuffer(), resaved.asReadOnlyBuffer(), "Restored actors should save the same state.");
+        assertEquals(boss.getPositionY(), restoredBoss.getPositionY(), 1e-9, "The boss should be back where it was.");
+        assertEquals(4, restoredUser.getHealth(), "The user should keep the damage taken.");
+        assertEquals(1, restoredUser.getNumberOfKills(), "The user should keep its kills.");
+        assertTrue(restoredUser.isMoving(), "The user should keep moving.");
+    }
+}
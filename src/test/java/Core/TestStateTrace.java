@@ -0,0 +1,75 @@
+package Core;
+
+import Entities.Boss;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestStateTrace {
+
+    @AfterEach
+    void unbindRandom() {
+        GameRandom.bind(null);
+    }
+
+    /**
+     * Flies a boss for 60 ticks from a seed, hashing its state every tick.
+     *
+     * @param seed       the random seed.
+     * @param damageTick the tick to damage the boss at, or -1.
+     * @return the trace of the run.
+     */
+    private StateTrace run(long seed, long damageTick) {
+        GameRandom random = new GameRandom(seed);
+        GameRandom.bind(random);
+        Boss boss = new Boss();
+        StateSnapshot state = new StateSnapshot();
+        StateTrace trace = new StateTrace();
+        for (long tick = 1; tick <= 60; tick++) {
+            boss.updateActor();
+            if (tick == damageTick) {
+                boss.takeDamage();
+            }
+            state.clear(tick);
+            boss.saveState(state, state.add(Archetype.BOSS, 1));
+            trace.record(tick, StateTrace.hash(state, random.getState()));
+        }
+        return trace;
+    }
+
+    @Test
+    void testSeededRunsMatchUntilTheyDiverge() {
+        StateTrace first = run(7, -1);
+        StateTrace second = run(7, -1);
+        StateTrace damaged = run(7, 30);
+
+        assertEquals(60, first.size(), "Every tick should be recorded.");
+        assertEquals(first.getRollingHash(), second.getRollingHash(), "Runs from the same seed should hash the same.");
+        assertEquals(-1, first.firstDivergence(second), "Runs from the same seed should not diverge.");
+        assertEquals(30, first.firstDivergence(damaged), "The run should diverge at the tick of the damage.");
+        assertEquals(30, damaged.firstDivergence(first), "Divergence should not depend on the order compared.");
+        assertNotEquals(first.getRollingHash(), damaged.getRollingHash(), "Diverged runs should roll up differently.");
+        assertEquals(1, first.firstDivergence(run(8, -1)), "Another seed should diverge from the first tick.");
+    }
+
+    @Test
+    void testGoldenTraceReadsBack(@TempDir Path dir) throws IOException {
+        StateTrace golden = run(11, -1);
+        Path file = dir.resolve("golden.trace");
+        golden.write(file);
+
+        StateTrace read = StateTrace.read(file);
+
+        assertEquals(golden.getRollingHash(), read.getRollingHash(), "The trace should read back unchanged.");
+        assertEquals(-1, read.firstDivergence(run(11, -1)), "A repeated run should match the golden trace.");
+        StateTrace shorter = new StateTrace();
+        shorter.record(read.getTick(0), read.getHash(0));
+        assertEquals(2, shorter.firstDivergence(read), "A trace that stops early should diverge where it stops.");
+        assertThrows(IllegalArgumentException.class, () -> shorter.record(1, 0));
+    }
+}
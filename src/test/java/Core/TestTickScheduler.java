@@ -0,0 +1,63 @@
+package Core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTickScheduler {
+
+    @Test
+    void testPhasesRunAtTheirRate() {
+        TickScheduler scheduler = new TickScheduler();
+        int[] runs = new int[2];
+        TickScheduler.Phase everyTick = scheduler.register("every", 1, () -> runs[0]++);
+        TickScheduler.Phase everyFifth = scheduler.register("fifth", 5, () -> runs[1]++);
+
+        for (int i = 0; i < 100; i++) {
+            scheduler.tick();
+        }
+
+        assertEquals(100, runs[0], "A divisor of 1 should run the phase every tick.");
+        assertEquals(20, runs[1], "A divisor of 5 should run the phase every fifth tick.");
+        assertEquals(100, everyTick.getRuns(), "The phase should record every run.");
+        assertEquals(20, everyFifth.getRuns(), "The reduced-rate phase should record its runs.");
+        assertTrue(everyTick.getAverageMicros() >= 0, "The measured cost should be available.");
+    }
+
+    @Test
+    void testReducedRatePhasesAreStaggered() {
+        TickScheduler scheduler = new TickScheduler();
+        List<Integer> busyTicks = new ArrayList<>();
+        int[] tick = new int[1];
+        scheduler.register("clock", 1, () -> tick[0]++);
+        for (int i = 0; i < 4; i++) {
+            scheduler.register("phase" + i, 5, () -> busyTicks.add(tick[0]));
+        }
+        scheduler.register("hud", 3, () -> busyTicks.add(tick[0]));
+
+        for (int i = 0; i < 15; i++) {
+            scheduler.tick();
+        }
+
+        long distinctFifthOffsets = scheduler.getPhases().stream()
+                .filter(phase -> phase.getDivisor() == 5)
+                .mapToInt(TickScheduler.Phase::getOffset)
+                .distinct()
+                .count();
+        assertEquals(4, distinctFifthOffsets, "Phases sharing a rate should get different tick offsets.");
+        long mostOnOneTick = busyTicks.stream()
+                .collect(Collectors.groupingBy(t -> t, Collectors.counting()))
+                .values().stream().mapToLong(Long::longValue).max().orElse(0);
+        assertTrue(mostOnOneTick <= 2, "No tick should run more than two of the reduced-rate phases.");
+    }
+
+    @Test
+    void testRejectsDivisorBelowOne() {
+        TickScheduler scheduler = new TickScheduler();
+        assertThrows(IllegalArgumentException.class, () -> scheduler.register("broken", 0, () -> { }));
+    }
+}
@@ -0,0 +1,86 @@
+package Core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTimerWheel {
+
+    @Test
+    void testTimersFireOnTheirDeadline() {
+        TimerWheel wheel = new TimerWheel();
+        List<Long> firedAt = new ArrayList<>();
+        long[] delays = {1, 63, 64, 65, 500, 4096, 10_000};
+        for (long delay : delays) {
+            wheel.schedule(wheel.newTimer(() -> firedAt.add(wheel.getTick())), delay);
+        }
+        assertEquals(delays.length, wheel.size(), "Every scheduled timer should be pending.");
+
+        for (int i = 0; i < 10_000; i++) {
+            wheel.advance();
+        }
+
+        assertEquals(List.of(1L, 63L, 64L, 65L, 500L, 4096L, 10_000L), firedAt,
+                "Timers in coarse levels should cascade down and fire exactly on their deadline.");
+        assertEquals(0, wheel.size(), "No timers should remain after all have fired.");
+    }
+
+    @Test
+    void testCancelAndReschedule() {
+        TimerWheel wheel = new TimerWheel();
+        int[] count = new int[1];
+        TimerWheel.Timer cancelled = wheel.newTimer(() -> count[0] += 100);
+        TimerWheel.Timer moved = wheel.newTimer(() -> count[0]++);
+        wheel.schedule(cancelled, 10);
+        wheel.schedule(moved, 10);
+        wheel.schedule(moved, 200);
+        cancelled.cancel();
+
+        for (int i = 0; i < 199; i++) {
+            wheel.advance();
+        }
+        assertEquals(0, count[0], "A cancelled or rescheduled timer should not fire at its old deadline.");
+        assertTrue(moved.isPending(), "The rescheduled timer should still be pending.");
+
+        wheel.advance();
+        assertEquals(1, count[0], "The rescheduled timer should fire at its new deadline.");
+        assertFalse(moved.isPending(), "A fired timer should no longer be pending.");
+    }
+
+    @Test
+    void testMaxDelayAcrossTopLevelBoundary() {
+        TimerWheel wheel = new TimerWheel();
+        wheel.advance();
+        long[] firedAt = {-1};
+        TimerWheel.Timer timer = wheel.newTimer(() -> firedAt[0] = wheel.getTick());
+        wheel.schedule(timer, TimerWheel.MAX_DELAY);
+        assertEquals(1 + TimerWheel.MAX_DELAY, timer.getDeadline(),
+                "Scheduling the longest delay after the first tick should not shorten it.");
+
+        while (wheel.getTick() < TimerWheel.MAX_DELAY) {
+            wheel.advance();
+        }
+        assertEquals(-1, firedAt[0], "The timer should not fire before its deadline.");
+        wheel.advance();
+        assertEquals(1 + TimerWheel.MAX_DELAY, firedAt[0],
+                "A deadline past the top level's range should still fire exactly on time.");
+        assertEquals(0, wheel.size(), "No timers should remain after the timer has fired.");
+    }
+
+    @Test
+    void testRandomDelayMatchesPerTickRate() {
+        double probability = 0.05;
+        int samples = 20_000;
+        double total = 0;
+        for (int i = 0; i < samples; i++) {
+            long delay = TimerWheel.randomDelay(probability);
+            assertTrue(delay >= 1, "A delay should be at least one tick.");
+            total += delay;
+        }
+        assertEquals(1 / probability, total / samples, 1.0,
+                "The mean delay should match rolling the probability every tick.");
+    }
+}
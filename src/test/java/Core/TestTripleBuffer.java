@@ -0,0 +1,59 @@
+package Core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTripleBuffer {
+
+    @Test
+    void testConsumerSeesLatestPublishedSlot() {
+        TripleBuffer<AtomicLong> buffer = new TripleBuffer<>(AtomicLong::new);
+
+        buffer.back().set(1);
+        buffer.publish();
+        buffer.back().set(2);
+        buffer.publish();
+
+        assertEquals(2, buffer.latest().get(), "The consumer should skip to the newest published value.");
+        assertEquals(2, buffer.latest().get(), "Without a new publish the consumer should keep its slot.");
+    }
+
+    @Test
+    void testProducerNeverWritesTheFrontSlot() {
+        TripleBuffer<AtomicLong> buffer = new TripleBuffer<>(AtomicLong::new);
+
+        buffer.back().set(1);
+        buffer.publish();
+        AtomicLong front = buffer.latest();
+        for (int i = 0; i < 10; i++) {
+            assertNotSame(front, buffer.back(), "The producer should never be handed the slot being read.");
+            buffer.back().set(100 + i);
+            buffer.publish();
+        }
+        assertEquals(1, front.get(), "The slot being read should not change under the consumer.");
+    }
+
+    @Test
+    void testValuesArriveInOrderAcrossThreads() throws InterruptedException {
+        TripleBuffer<AtomicLong> buffer = new TripleBuffer<>(AtomicLong::new);
+        int count = 100_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 1; i <= count; i++) {
+                buffer.back().set(i);
+                buffer.publish();
+            }
+        });
+        producer.start();
+
+        long last = 0;
+        while (last < count) {
+            long value = buffer.latest().get();
+            assertTrue(value >= last, "The consumer should never see an older value than before.");
+            last = value;
+        }
+        producer.join();
+    }
+}
@@ -0,0 +1,66 @@
+package Core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestWeapon {
+
+    @Test
+    void testHeldTriggerFiresOncePerCooldown() {
+        Weapon weapon = new Weapon(4, 1, 1, true);
+        int shots = 0;
+        for (int tick = 0; tick < 20; tick++) {
+            if (weapon.update(true, tick == 0)) {
+                shots++;
+            }
+        }
+
+        assertEquals(5, shots, "A held trigger should fire once every cooldown.");
+        assertEquals(5, weapon.getShotsFired(), "Every shot should be counted.");
+    }
+
+    @Test
+    void testBurstFiresItsShotsThenCoolsDown() {
+        Weapon weapon = new Weapon(10, 3, 2, false);
+        StringBuilder pattern = new StringBuilder();
+        for (int tick = 0; tick < 12; tick++) {
+            pattern.append(weapon.update(true, tick == 0) ? 'x' : '.');
+        }
+
+        assertEquals("x.x.x.......", pattern.toString(), "A burst should fire its shots a gap apart, then cool down.");
+    }
+
+    @Test
+    void testWithoutAutofireTheTriggerMustBePulledAgain() {
+        Weapon weapon = new Weapon(1, 1, 1, false);
+
+        assertTrue(weapon.update(true, true), "Pulling the trigger should fire.");
+        assertFalse(weapon.update(true, false), "Holding the trigger should not fire again.");
+        assertTrue(weapon.update(true, true), "Pulling the trigger again should fire.");
+    }
+
+    @Test
+    void testShotHeldBackByFullBudgetIsNotSpent() {
+        EntityBudget budget = new EntityBudget();
+        int limit = budget.getLimit(EntityBudget.Category.PLAYER_SHOTS);
+        Weapon weapon = new Weapon(4, 3, 2, false);
+        StringBuilder pattern = new StringBuilder();
+        for (int tick = 0; tick < 7; tick++) {
+            int liveShots = tick == 2 || tick == 3 ? limit : 0;
+            if (weapon.isDue(true, tick == 0)
+                    && !budget.admit(EntityBudget.Category.PLAYER_SHOTS, liveShots)) {
+                weapon.hold();
+                pattern.append('-');
+            } else {
+                pattern.append(weapon.update(true, tick == 0) ? 'x' : '.');
+            }
+        }
+
+        assertEquals("x.--x.x", pattern.toString(),
+                "A shot due while the budget is full should wait for room instead of being used up.");
+        assertEquals(3, weapon.getShotsFired(), "Only the shots actually fired should be counted.");
+        assertEquals(2, budget.getRejected(EntityBudget.Category.PLAYER_SHOTS),
+                "Each tick the due shot was held back should count as a rejection.");
+    }
+}
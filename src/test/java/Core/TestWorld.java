@@ -0,0 +1,63 @@
+package Core;
+
+import Entities.EnemyProjectile;
+import Entities.UserProjectile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestWorld {
+
+    @Test
+    void testDestroyedIdsGoStaleWhenSlotsAreReused() {
+        World world = new World();
+        EnemyProjectile first = new EnemyProjectile(100, 100);
+        EnemyProjectile second = new EnemyProjectile(200, 200);
+        int firstId = world.spawn(first);
+        int secondId = world.spawn(second);
+
+        world.despawn(first);
+        int reusedId = world.spawn(new EnemyProjectile(300, 300));
+
+        assertEquals(World.NONE, first.getEntity(), "A despawned actor should have no entity.");
+        assertFalse(world.isAlive(firstId), "The destroyed id should be stale.");
+        assertNotEquals(firstId, reusedId, "A reused slot should get a new generation.");
+        assertTrue(world.isAlive(secondId), "The moved entity should keep its id.");
+        assertSame(second, world.getSprite(secondId), "The moved entity should keep its components.");
+        assertEquals(200, world.getX(secondId), 1e-9, "The moved entity should keep its position.");
+        assertEquals(2, world.size(), "Two entities should be alive.");
+    }
+
+    @Test
+    void testMovementSystemMovesProjectilesAndTheirActors() {
+        World world = new World();
+        EnemyProjectile projectile = new EnemyProjectile(500, 100);
+        int id = world.spawn(projectile);
+
+        new MovementSystem().update(world);
+
+        assertEquals(500 + projectile.getVelocityX(), world.getX(id), 1e-9, "The entity should move by its velocity.");
+        assertEquals(world.getX(id), projectile.getPositionX(), 1e-9, "The actor should follow its entity.");
+    }
+
+    @Test
+    void testCollisionSystemDamagesOverlappingEntities() {
+        World world = new World();
+        UserProjectile shot = new UserProjectile(0, 0, null);
+        double hitboxX = shot.getHitbox().getBoundsInParent().getMinX();
+        double hitboxY = shot.getHitbox().getBoundsInParent().getMinY();
+        EnemyProjectile overlapping = new EnemyProjectile(hitboxX, hitboxY);
+        EnemyProjectile distant = new EnemyProjectile(1000, 1000);
+        world.spawn(shot);
+        world.spawn(overlapping);
+        world.spawn(distant);
+
+        int hits = new CollisionSystem().collide(world, Archetype.Role.FRIENDLY_SHOT, Archetype.Role.ENEMY_SHOT);
+
+        assertEquals(1, hits, "Only the overlapping pair should hit.");
+        assertTrue(shot.isDestroyed(), "The shot should take damage.");
+        assertTrue(overlapping.isDestroyed(), "The overlapping projectile should take damage.");
+        assertFalse(distant.isDestroyed(), "The distant projectile should be untouched.");
+        assertEquals(0, world.getHealth(shot.getEntity()), "The destroyed shot should have no health left.");
+    }
+}
@@ -0,0 +1,83 @@
+package Levels;
+
+import Core.ActiveActorDestructible;
+import Core.GameRandom;
+import Entities.EnemyPlane;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestBatchRunner {
+
+    /**
+     * A small level without JavaFX controls, so it can be built without the JavaFX platform:
+     * cleared after three kills.
+     */
+    public static class DrillLevel extends LevelParent {
+
+        public DrillLevel(double screenHeight, double screenWidth) {
+            super("/com/example/demo/images/background1.png", screenHeight, screenWidth, 5);
+        }
+
+        @Override
+        protected void initializeFriendlyUnits() {
+            getLayer(Layer.PLAYER).getChildren().add(getUser());
+        }
+
+        @Override
+        protected void checkIfGameOver() {
+            if (userIsDestroyed()) {
+                loseGame();
+            } else if (getUser().getNumberOfKills() >= 3) {
+                winGame();
+            }
+        }
+
+        @Override
+        protected void spawnEnemyUnits() {
+            scheduleEnemySpawns(3, 0.5, () -> {
+                ActiveActorDestructible enemy = new EnemyPlane(getScreenWidth(), GameRandom.random() * getEnemyMaximumYPosition(), getRoot());
+                addEnemyUnit(enemy);
+            });
+        }
+
+        @Override
+        protected LevelView instantiateLevelView() {
+            return new LevelView(getLayer(Layer.HUD), getLayer(Layer.OVERLAYS), 5);
+        }
+    }
+
+    @Test
+    void testRunsWithTheSameSeedPlayOutTheSame() throws Exception {
+        BatchRunner runner = new BatchRunner(DrillLevel.class.getName(), BatchRunner.Player.BOT, 120);
+
+        List<BatchRunner.Result> results = runner.runAll(5, 4, 2);
+        BatchRunner.Result again = runner.run(6);
+
+        assertEquals(4, results.size(), "Every run should report.");
+        for (BatchRunner.Result result : results) {
+            assertNotEquals(LevelOutcome.PLAYING, result.outcome(), "The bot should finish the drill within two minutes.");
+            assertTrue(result.peakEntities() > 1, "Enemies should have been in play.");
+        }
+        assertEquals(results.get(1).ticks(), again.ticks(), "A run replayed with its seed should take as long.");
+        assertEquals(results.get(1).outcome(), again.outcome(), "A run replayed with its seed should end the same.");
+    }
+
+    @Test
+    void testReportSumsUpTheRuns() {
+        List<BatchRunner.Result> results = List.of(
+                new BatchRunner.Result(1, LevelOutcome.WON, 250, 10, 1_000_000),
+                new BatchRunner.Result(2, LevelOutcome.WON, 500, 20, 1_000_000),
+                new BatchRunner.Result(3, LevelOutcome.LOST, 100, 30, 1_000_000),
+                new BatchRunner.Result(4, LevelOutcome.PLAYING, 1500, 40, 1_000_000));
+
+        String report = BatchRunner.report(results, 2_000_000, 60);
+
+        assertTrue(report.contains("won 2 (50.0%), lost 1, timed out 1"), report);
+        assertTrue(report.contains("mean 15.0 s, median 10.0 s, p90 20.0 s, fastest 10.0 s"), report);
+        assertTrue(report.contains("peak entities: mean 25.0, max 40"), report);
+        assertTrue(report.contains("2350 ticks"), report);
+    }
+}
@@ -58,6 +58,21 @@ class TestLevelView {
                 "Root should contain GameOverImage.");
     }
 
+    @Test
+    void testLayersSeparateHudFromOverlays() {
+        Group hudLayer = new Group();
+        Group overlayLayer = new Group();
+        LevelView layeredView = new LevelView(hudLayer, overlayLayer, 3);
+
+        layeredView.showHeartDisplay();
+        layeredView.showGameOverImage();
+
+        // 爱心显示在 HUD 层，结束画面在覆盖层
+        assertEquals(1, hudLayer.getChildren().size(), "HUD layer should contain only the heart display.");
+        assertTrue(overlayLayer.getChildren().stream().anyMatch(node -> node instanceof GameOverImage),
+                "Overlay layer should contain GameOverImage.");
+    }
+
 
 
 }
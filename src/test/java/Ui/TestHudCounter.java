@@ -0,0 +1,39 @@
+package Ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestHudCounter {
+
+    @Test
+    void testBindShowsCurrentValue() {
+        HudCounter counter = new HudCounter(5);
+        List<Integer> shown = new ArrayList<>();
+
+        counter.bind(shown::add);
+
+        assertEquals(List.of(5), shown, "A widget should show the value as soon as it is bound.");
+    }
+
+    @Test
+    void testWidgetsOnlyUpdateWhenValueChanges() {
+        HudCounter counter = new HudCounter(0);
+        List<Integer> shown = new ArrayList<>();
+        counter.bind(shown::add);
+
+        counter.set(0);
+        assertFalse(counter.refresh(), "An unchanged value should not update the widgets.");
+
+        counter.set(1);
+        counter.set(2);
+        assertTrue(counter.refresh(), "A changed value should update the widgets.");
+        assertFalse(counter.refresh(), "A second refresh without changes should do nothing.");
+
+        assertEquals(List.of(0, 2), shown, "Widgets should only see the latest value once.");
+        assertEquals(2, counter.getVersion(), "Every change should advance the version.");
+    }
+}
@@ -0,0 +1,29 @@
+package Ui;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestTextBuffer {
+
+    @Test
+    void testAppendFormatsLabelsAndNumbers() {
+        TextBuffer buffer = new TextBuffer(4);
+        buffer.append("Kills: ").append(7).append(" / ").append(15);
+        assertEquals("Kills: 7 / 15", buffer.toString(), "Labels and numbers should be formatted in order, growing the buffer.");
+
+        buffer.clear().append(-42).append(' ').append(0).append(' ').append(Integer.MIN_VALUE);
+        assertEquals("-42 0 -2147483648", buffer.toString(), "Negative numbers, zero and the minimum int should be formatted.");
+    }
+
+    @Test
+    void testClearReusesStorage() {
+        TextBuffer buffer = new TextBuffer(16);
+        char[] storage = buffer.append("Score ").append(123).array();
+        buffer.clear().append("Score ").append(456);
+
+        assertSame(storage, buffer.array(), "Formatting into a large enough buffer should not allocate.");
+        assertEquals(9, buffer.length(), "The length should cover only the new text.");
+        assertEquals('4', buffer.charAt(6), "The new digits should replace the old ones.");
+    }
+}